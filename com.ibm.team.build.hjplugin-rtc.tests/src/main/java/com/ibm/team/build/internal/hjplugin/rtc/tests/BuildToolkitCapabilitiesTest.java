@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc.tests;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.ibm.team.build.internal.hjplugin.rtc.BuildToolkitCapabilities;
+
+/**
+ * Tests for BuildToolkitCapabilities, with stand-ins for the 701 build toolkit classes
+ */
+public class BuildToolkitCapabilitiesTest {
+
+	/**
+	 * Stands in for BuildScmLoadOptions
+	 */
+	public static class StubLoadOptions {
+	}
+
+	/**
+	 * Stands in for IBuildLogListener
+	 */
+	public interface StubBuildLogListener {
+	}
+
+	/**
+	 * Stands in for the BuildScmLoadOptions factory of a toolkit without getBuildScmLoadOptions
+	 */
+	public static class StubLoadOptionsFactory {
+		public static StubLoadOptionsFactory getInstance() {
+			return new StubLoadOptionsFactory();
+		}
+	}
+
+	private static BuildToolkitCapabilities probe(String loadOptionsClassName) {
+		return new BuildToolkitCapabilities(BuildToolkitCapabilitiesTest.class.getClassLoader(), loadOptionsClassName,
+				StubLoadOptionsFactory.class.getName(), StubBuildLogListener.class.getName());
+	}
+
+	/**
+	 * A toolkit without the BuildScmLoadOptions class is a pre-701 toolkit
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testMissingClass() throws Exception {
+		assertFalse(probe("com.ibm.team.build.internal.scm.NoBuildScmLoadOptions").supportsBuildScmLoadOptions());
+	}
+
+	/**
+	 * A toolkit with the BuildScmLoadOptions class is a 701 toolkit even when one of the
+	 * methods to use it is missing, the load reports what is missing
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testMissingMethod() throws Exception {
+		assertTrue(probe(StubLoadOptions.class.getName()).supportsBuildScmLoadOptions());
+	}
+}
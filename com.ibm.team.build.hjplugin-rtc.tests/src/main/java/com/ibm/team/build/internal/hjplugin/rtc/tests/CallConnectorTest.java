@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import com.ibm.team.build.internal.hjplugin.rtc.CallConnector;
+
+/**
+ *
+ * Tests for CallConnector class
+ *
+ */
+public class CallConnectorTest {
+
+	/**
+	 * Test that a value can be taken once with its token
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testTakeOnce() throws Exception {
+		CallConnector<String> connector = new CallConnector<String>(10);
+		String token1 = connector.put("value1");
+		String token2 = connector.put("value2");
+		assertFalse(token1.equals(token2));
+		assertEquals(2, connector.size());
+
+		assertEquals("value2", connector.take(token2));
+		assertEquals("value1", connector.take(token1));
+		assertNull(connector.take(token1));
+		assertNull(connector.take("unknown"));
+		assertNull(connector.take(null));
+
+		assertEquals(0, connector.size());
+		assertEquals(2, connector.getPutCount());
+		assertEquals(2, connector.getTakenCount());
+		assertEquals(3, connector.getMissedCount());
+	}
+
+	/**
+	 * Test that a value that was not taken in time can not be taken
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testExpiry() throws Exception {
+		CallConnector<String> connector = new CallConnector<String>(10);
+		String token = connector.put("value", 0);
+		Thread.sleep(5);
+		assertNull(connector.take(token));
+		assertEquals(1, connector.getExpiredCount());
+		assertEquals(0, connector.getTakenCount());
+	}
+
+	/**
+	 * Test that the number of values is bounded and that expired values
+	 * are discarded before values that could still be taken
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testBounded() throws Exception {
+		CallConnector<String> connector = new CallConnector<String>(2);
+		String expiring = connector.put("expiring", 0);
+		String first = connector.put("first");
+		Thread.sleep(5);
+
+		// the expired value makes room
+		String second = connector.put("second", CallConnector.DEFAULT_TIMEOUT + 60000);
+		assertEquals(2, connector.size());
+		assertEquals(1, connector.getExpiredCount());
+		assertNull(connector.take(expiring));
+
+		// the value closest to expiring makes room
+		String third = connector.put("third", CallConnector.DEFAULT_TIMEOUT * 2);
+		assertEquals(2, connector.size());
+		assertEquals(1, connector.getEvictedCount());
+		assertNull(connector.take(first));
+		assertEquals("second", connector.take(second));
+		assertEquals("third", connector.take(third));
+	}
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.ibm.team.build.internal.hjplugin.rtc.ComponentBaselines;
+
+/**
+ * Tests for ComponentBaselines
+ */
+public class ComponentBaselinesTest {
+
+	private static Map<String, String> baselines(String... componentBaselines) {
+		Map<String, String> result = new LinkedHashMap<String, String>();
+		for (int i = 0; i < componentBaselines.length; i += 2) {
+			result.put(componentBaselines[i], componentBaselines[i + 1]);
+		}
+		return result;
+	}
+
+	/**
+	 * No component changed when no baseline changed, whatever the order of the components
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testUnchangedSnapshot() throws Exception {
+		Map<String, String> current = baselines("c1", "b1", "c2", "b2", "c3", "b3");
+		Map<String, String> previous = baselines("c3", "b3", "c1", "b1", "c2", "b2");
+
+		assertTrue(ComponentBaselines.getChangedComponents(current, previous).isEmpty());
+	}
+
+	/**
+	 * Only the components with a new baseline, added or removed changed, the components of
+	 * the current snapshot first
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testOnlyChangedComponents() throws Exception {
+		Map<String, String> current = baselines("c1", "b1", "c2", "b2-new", "c3", "b3", "c5", "b5");
+		Map<String, String> previous = baselines("c1", "b1", "c2", "b2", "c3", "b3", "c4", "b4");
+
+		assertEquals(Arrays.asList("c2", "c5", "c4"), ComponentBaselines.getChangedComponents(current, previous));
+	}
+
+	/**
+	 * The changed components are in the order of the current snapshot
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testChangedComponentsInSnapshotOrder() throws Exception {
+		Map<String, String> current = new LinkedHashMap<String, String>();
+		Map<String, String> previous = new LinkedHashMap<String, String>();
+		for (int i = 49; i >= 0; i--) {
+			current.put("c" + i, "new" + i);
+			previous.put("c" + i, (i % 5 == 0) ? "new" + i : "old" + i);
+		}
+
+		List<String> changed = ComponentBaselines.getChangedComponents(current, previous);
+		assertEquals(40, changed.size());
+		int last = Integer.MAX_VALUE;
+		for (String componentUUID : changed) {
+			int i = Integer.parseInt(componentUUID.substring(1));
+			assertTrue(i % 5 != 0 && i < last);
+			last = i;
+		}
+	}
+
+	/**
+	 * Every component changed when the previous snapshot had none
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testAllComponentsChangedWithEmptyPrevious() throws Exception {
+		Map<String, String> current = baselines("c1", "b1", "c2", "b2");
+
+		assertEquals(Arrays.asList("c1", "c2"), ComponentBaselines.getChangedComponents(current,
+				Collections.<String, String>emptyMap()));
+	}
+}
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.junit.Test;
+
+import com.ibm.team.build.internal.hjplugin.rtc.ComponentComparisons;
+import com.ibm.team.build.internal.hjplugin.rtc.ComponentComparisons.ComponentComparer;
+import com.ibm.team.repository.common.TeamRepositoryException;
+
+/**
+ * Tests for ComponentComparisons, with a stand-in for the repository that counts the
+ * comparisons it is asked for
+ */
+public class ComponentComparisonsTest {
+
+	/**
+	 * Stands in for the repository, returns the component it compared
+	 */
+	private static class CountingComparer implements ComponentComparer<String> {
+		private final AtomicInteger calls = new AtomicInteger();
+		private final Map<String, Integer> callsPerComponent = new ConcurrentHashMap<String, Integer>();
+		private final Random random = new Random();
+
+		@Override
+		public String compare(String componentUUID, IProgressMonitor progress) throws TeamRepositoryException {
+			calls.incrementAndGet();
+			callsPerComponent.merge(componentUUID, 1, Integer::sum);
+			try {
+				// finish in a different order than asked
+				Thread.sleep(random.nextInt(20));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return componentUUID;
+		}
+	}
+
+	private static List<String> components(int count) {
+		List<String> components = new ArrayList<String>();
+		for (int i = 0; i < count; i++) {
+			components.add("c" + i);
+		}
+		return components;
+	}
+
+	/**
+	 * Nothing is compared when no component is given
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testNoComponents() throws Exception {
+		CountingComparer comparer = new CountingComparer();
+
+		List<String> results = ComponentComparisons.compare(Collections.<String>emptyList(), 4, comparer, null);
+
+		assertTrue(results.isEmpty());
+		assertEquals(0, comparer.calls.get());
+	}
+
+	/**
+	 * Each component is compared once and the results are in the order of the components
+	 * whatever the order the comparisons finish in
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testResultsAreInComponentOrder() throws Exception {
+		List<String> components = components(40);
+
+		for (int threads : new int[] {1, 4, 16}) {
+			CountingComparer comparer = new CountingComparer();
+			List<String> results = ComponentComparisons.compare(components, threads, comparer, null);
+			assertEquals(components, results);
+			assertEquals(40, comparer.calls.get());
+			for (String componentUUID : results) {
+				assertEquals(Integer.valueOf(1), comparer.callsPerComponent.get(componentUUID));
+			}
+		}
+	}
+
+	/**
+	 * A component that cannot be compared fails the comparison
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testComparisonFailureIsReported() throws Exception {
+		final TeamRepositoryException failure = new TeamRepositoryException("c2 cannot be compared");
+		try {
+			ComponentComparisons.compare(Arrays.asList("c1", "c2"), 2, new ComponentComparer<String>() {
+				@Override
+				public String compare(String componentUUID, IProgressMonitor progress) throws TeamRepositoryException {
+					if ("c2".equals(componentUUID)) {
+						throw failure;
+					}
+					return componentUUID;
+				}
+			}, null);
+			fail("Expected the comparison to fail");
+		} catch (TeamRepositoryException e) {
+			assertSame(failure, e);
+		}
+	}
+
+	/**
+	 * Canceling the progress monitor cancels the comparisons in progress, which see the
+	 * cancellation in their own monitor, and does not start the others
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testCancellation() throws Exception {
+		final NullProgressMonitor progress = new NullProgressMonitor();
+		final CountDownLatch started = new CountDownLatch(2);
+		final AtomicInteger calls = new AtomicInteger();
+		final AtomicInteger canceled = new AtomicInteger();
+		Thread canceler = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					started.await(30, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				progress.setCanceled(true);
+			}
+		});
+		canceler.start();
+
+		try {
+			ComponentComparisons.compare(components(20), 2, new ComponentComparer<String>() {
+				@Override
+				public String compare(String componentUUID, IProgressMonitor monitor) throws TeamRepositoryException {
+					calls.incrementAndGet();
+					started.countDown();
+					// a comparison that only ends when canceled
+					while (!monitor.isCanceled()) {
+						try {
+							Thread.sleep(10);
+						} catch (InterruptedException e) {
+							break;
+						}
+					}
+					canceled.incrementAndGet();
+					throw new OperationCanceledException();
+				}
+			}, progress);
+			fail("Expected the comparison to be canceled");
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+		canceler.join();
+
+		// only the comparisons in progress were started, and they ended
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+		while (canceled.get() < 2 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(2, canceled.get());
+		assertEquals(2, calls.get());
+	}
+
+	/**
+	 * Nothing is compared when the progress monitor is already canceled
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testCanceledBeforeStart() throws Exception {
+		NullProgressMonitor progress = new NullProgressMonitor();
+		progress.setCanceled(true);
+		CountingComparer comparer = new CountingComparer();
+		try {
+			ComponentComparisons.compare(Arrays.asList("c1", "c2"), 2, comparer, progress);
+			fail("Expected the comparison to be canceled");
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+		assertEquals(0, comparer.calls.get());
+	}
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+// Mockito is not shipped in p2 repo, see BuildConfigurationTest
+import org.mockito.Mockito;
+
+import com.ibm.team.build.internal.hjplugin.rtc.ItemNameCache;
+import com.ibm.team.repository.client.ITeamRepository;
+import com.ibm.team.repository.common.IItemHandle;
+import com.ibm.team.repository.common.UUID;
+import com.ibm.team.scm.common.IWorkspace;
+
+/**
+ * Tests for ItemNameCache, with stand-ins for the repositories the names are resolved in
+ */
+public class ItemNameCacheTest {
+
+	private static final String[] PROPERTIES = {ItemNameCache.TTL_PROPERTY, ItemNameCache.NEGATIVE_TTL_PROPERTY};
+
+	private ItemNameCache cache;
+	private ITeamRepository repository;
+
+	private static ITeamRepository repository(String repositoryURI, String userId) {
+		ITeamRepository repository = Mockito.mock(ITeamRepository.class);
+		Mockito.when(repository.getRepositoryURI()).thenReturn(repositoryURI);
+		Mockito.when(repository.getUserId()).thenReturn(userId);
+		return repository;
+	}
+
+	private static IItemHandle stream() {
+		return IWorkspace.ITEM_TYPE.createItemHandle(UUID.generate(), null);
+	}
+
+	@Before
+	public void setUp() {
+		cache = new ItemNameCache();
+		repository = repository("https://localhost:9443/ccm", "builder");
+	}
+
+	@After
+	public void tearDown() {
+		for (String property : PROPERTIES) {
+			System.clearProperty(property);
+		}
+	}
+
+	/**
+	 * A name resolves to the item it was resolved to, in the same repository, for the same
+	 * user and scope only
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testResolvedName() throws Exception {
+		IItemHandle stream = stream();
+		cache.put(repository, ItemNameCache.KIND_STREAM, "_owner", "Build Stream", stream);
+
+		ItemNameCache.Entry entry = cache.get(repository, ItemNameCache.KIND_STREAM, "_owner", "Build Stream");
+		assertNotNull(entry);
+		assertFalse(entry.isMissing());
+		assertTrue(stream.sameItemId(entry.getItemHandle()));
+
+		assertNull(cache.get(repository, ItemNameCache.KIND_STREAM, null, "Build Stream"));
+		assertNull(cache.get(repository, ItemNameCache.KIND_WORKSPACE, "_owner", "Build Stream"));
+		assertNull(cache.get(repository("https://localhost:9443/ccm", "other"), ItemNameCache.KIND_STREAM, "_owner", "Build Stream"));
+		assertNull(cache.get(repository("https://otherhost:9443/ccm", "builder"), ItemNameCache.KIND_STREAM, "_owner", "Build Stream"));
+
+		cache.invalidate(repository, ItemNameCache.KIND_STREAM, "_owner", "Build Stream");
+		assertNull(cache.get(repository, ItemNameCache.KIND_STREAM, "_owner", "Build Stream"));
+	}
+
+	/**
+	 * Names and scopes that contain separators do not find the items of other names
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testNamesWithSeparators() throws Exception {
+		cache.put(repository, ItemNameCache.KIND_STREAM, "A#B", "C", stream());
+		assertNull(cache.get(repository, ItemNameCache.KIND_STREAM, "A", "B#C"));
+		cache.put(repository, ItemNameCache.KIND_STREAM, "1:A", "B", stream());
+		assertNull(cache.get(repository, ItemNameCache.KIND_STREAM, "1", "A1:B"));
+		cache.put(repository, ItemNameCache.KIND_WORKSPACE, null, "Build Workspace", stream());
+		assertNull(cache.get(repository, ItemNameCache.KIND_WORKSPACE, "null", "Build Workspace"));
+		assertNotNull(cache.get(repository, ItemNameCache.KIND_STREAM, "A#B", "C"));
+	}
+
+	/**
+	 * A resolved name expires after the TTL, and is not kept with a TTL of 0
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testTTL() throws Exception {
+		System.setProperty(ItemNameCache.TTL_PROPERTY, "1");
+		cache.put(repository, ItemNameCache.KIND_STREAM, null, "Build Stream", stream());
+		assertNotNull(cache.get(repository, ItemNameCache.KIND_STREAM, null, "Build Stream"));
+
+		Thread.sleep(1100);
+		assertNull(cache.get(repository, ItemNameCache.KIND_STREAM, null, "Build Stream"));
+		assertEquals(0, cache.size());
+
+		System.setProperty(ItemNameCache.TTL_PROPERTY, "0");
+		cache.put(repository, ItemNameCache.KIND_STREAM, null, "Build Stream", stream());
+		assertNull(cache.get(repository, ItemNameCache.KIND_STREAM, null, "Build Stream"));
+	}
+
+	/**
+	 * A name that was not found is kept for the negative TTL, never longer than the TTL,
+	 * and not at all with a negative TTL of 0
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testNegativeTTL() throws Exception {
+		System.setProperty(ItemNameCache.NEGATIVE_TTL_PROPERTY, "1");
+		cache.putMissing(repository, ItemNameCache.KIND_SNAPSHOT, null, "Missing");
+		cache.put(repository, ItemNameCache.KIND_SNAPSHOT, null, "Found", stream());
+		ItemNameCache.Entry entry = cache.get(repository, ItemNameCache.KIND_SNAPSHOT, null, "Missing");
+		assertNotNull(entry);
+		assertTrue(entry.isMissing());
+
+		Thread.sleep(1100);
+		assertNull(cache.get(repository, ItemNameCache.KIND_SNAPSHOT, null, "Missing"));
+		assertNotNull(cache.get(repository, ItemNameCache.KIND_SNAPSHOT, null, "Found"));
+
+		// bounded by the TTL
+		System.setProperty(ItemNameCache.TTL_PROPERTY, "1");
+		System.setProperty(ItemNameCache.NEGATIVE_TTL_PROPERTY, "300");
+		cache.putMissing(repository, ItemNameCache.KIND_SNAPSHOT, null, "Missing");
+		assertNotNull(cache.get(repository, ItemNameCache.KIND_SNAPSHOT, null, "Missing"));
+		Thread.sleep(1100);
+		assertNull(cache.get(repository, ItemNameCache.KIND_SNAPSHOT, null, "Missing"));
+
+		System.clearProperty(ItemNameCache.TTL_PROPERTY);
+		System.setProperty(ItemNameCache.NEGATIVE_TTL_PROPERTY, "0");
+		cache.putMissing(repository, ItemNameCache.KIND_SNAPSHOT, null, "Missing");
+		assertNull(cache.get(repository, ItemNameCache.KIND_SNAPSHOT, null, "Missing"));
+	}
+
+	/**
+	 * When the cache is full the expired entries are dropped first, and all entries if none
+	 * expired
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testMaxEntries() throws Exception {
+		// names that will expire
+		System.setProperty(ItemNameCache.TTL_PROPERTY, "1");
+		for (int i = 0; i < ItemNameCache.MAX_ENTRIES / 2; i++) {
+			cache.put(repository, ItemNameCache.KIND_WORKSPACE, null, "Expiring " + i, stream());
+		}
+		System.clearProperty(ItemNameCache.TTL_PROPERTY);
+		for (int i = ItemNameCache.MAX_ENTRIES / 2; i < ItemNameCache.MAX_ENTRIES; i++) {
+			cache.put(repository, ItemNameCache.KIND_WORKSPACE, null, "Workspace " + i, stream());
+		}
+		assertEquals(ItemNameCache.MAX_ENTRIES, cache.size());
+		Thread.sleep(1100);
+
+		// only the expired names are dropped
+		cache.put(repository, ItemNameCache.KIND_WORKSPACE, null, "Added", stream());
+		assertEquals(ItemNameCache.MAX_ENTRIES - ItemNameCache.MAX_ENTRIES / 2 + 1, cache.size());
+		assertNotNull(cache.get(repository, ItemNameCache.KIND_WORKSPACE, null, "Workspace " + (ItemNameCache.MAX_ENTRIES - 1)));
+		assertNotNull(cache.get(repository, ItemNameCache.KIND_WORKSPACE, null, "Added"));
+
+		// none expired, all are dropped
+		for (int i = 0; cache.size() < ItemNameCache.MAX_ENTRIES; i++) {
+			cache.put(repository, ItemNameCache.KIND_STREAM, null, "Stream " + i, stream());
+		}
+		cache.put(repository, ItemNameCache.KIND_STREAM, null, "Last", stream());
+		assertEquals(1, cache.size());
+		assertNotNull(cache.get(repository, ItemNameCache.KIND_STREAM, null, "Last"));
+		assertNull(cache.get(repository, ItemNameCache.KIND_WORKSPACE, null, "Added"));
+	}
+}
@@ -388,6 +388,66 @@ public class ListFilesAPIIT {
 		}
 	}
 	
+	@Test
+	public void testListFilesPaged() throws Exception {
+		TestSetupTearDownUtil testClient = getTestSetupTearDownUtil();
+		ConnectionDetails connectionDetails = testClient.getConnectionDetails(serverURI, 
+				userId, password, timeout);
+		RepositoryConnection connection = testClient.getRepositoryConnection(connectionDetails);
+		connection.ensureLoggedIn(getProgressMonitor());
+		try {
+			ConsoleOutputHelper consoleOutput = new ConsoleOutputHelper();
+			String logFileNameToMatch = "log-10.*.txt";
+			
+			// First page has 4 logs and points to the next page
+			Map<String, Object> retMap = RTCBuildUtils.getInstance().
+					listFiles(buildResultUUID, logFileNameToMatch, null, 
+					Constants.RTCBuildUtils_LOG_TYPE_KEY, 0, 4, 
+					connection.getTeamRepository(), consoleOutput, 
+					Locale.getDefault(), getProgressMonitor());
+			@SuppressWarnings("unchecked")
+			List<List<String>> fileInfos = (List<List<String>>) 
+							retMap.get(Constants.RTCBuildUtils_FILEINFOS_KEY);
+			Assert.assertEquals(4, fileInfos.size());
+			validateFileInfo(fileInfos.get(0), "log-10-90.txt", "log-10-90 log");
+			validateFileInfo(fileInfos.get(3), "log-102-902.txt", "log-102-902 log");
+			int nextStartIndex = (Integer) retMap.get(Constants.RTCBuildUtils_NEXT_START_INDEX_KEY);
+			Assert.assertTrue(nextStartIndex > 0);
+			
+			// Second page has the remaining 2 logs and no further pages
+			retMap = RTCBuildUtils.getInstance().
+					listFiles(buildResultUUID, logFileNameToMatch, null, 
+					Constants.RTCBuildUtils_LOG_TYPE_KEY, nextStartIndex, 4, 
+					connection.getTeamRepository(), consoleOutput, 
+					Locale.getDefault(), getProgressMonitor());
+			@SuppressWarnings("unchecked")
+			List<List<String>> nextFileInfos = (List<List<String>>) 
+							retMap.get(Constants.RTCBuildUtils_FILEINFOS_KEY);
+			Assert.assertEquals(2, nextFileInfos.size());
+			validateFileInfo(nextFileInfos.get(0), "log-103-903.txt", "log-103-903 log");
+			validateFileInfo(nextFileInfos.get(1), "log-104-904.txt", "log-104-904 log");
+			Assert.assertEquals(-1, 
+					((Integer) retMap.get(Constants.RTCBuildUtils_NEXT_START_INDEX_KEY)).intValue());
+			
+			// Negative start index is rejected
+			try {
+				RTCBuildUtils.getInstance().
+					listFiles(buildResultUUID, logFileNameToMatch, null, 
+					Constants.RTCBuildUtils_LOG_TYPE_KEY, -1, 4, 
+					connection.getTeamRepository(), consoleOutput, 
+					Locale.getDefault(), getProgressMonitor());
+				Assert.fail("Exception expected");
+			} catch (RTCConfigurationException exp) {
+				Assert.assertEquals(Messages.getDefault().RTCBuildUtils_startIndex_is_invalid(-1), 
+						exp.getMessage());
+			}
+		} finally {
+			if (scratchFolder != null) {
+				scratchFolder.delete();
+			}
+		}
+	}
+	
 	@Test
 	public void testListFilesFileNamePatternMultiMatchNoComponent() throws Exception {
 		TestSetupTearDownUtil testClient = getTestSetupTearDownUtil();
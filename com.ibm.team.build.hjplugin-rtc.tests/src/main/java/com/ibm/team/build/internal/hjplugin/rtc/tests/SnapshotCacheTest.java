@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+// Mockito is not shipped in p2 repo, see BuildConfigurationTest
+import org.mockito.Mockito;
+
+import com.ibm.team.build.internal.hjplugin.rtc.SnapshotCache;
+import com.ibm.team.repository.client.ITeamRepository;
+import com.ibm.team.repository.common.IItemHandle;
+import com.ibm.team.repository.common.UUID;
+import com.ibm.team.scm.common.IBaselineSet;
+
+/**
+ * Tests for SnapshotCache, with stand-ins for the repository and the snapshots
+ */
+public class SnapshotCacheTest {
+
+	private static final String[] PROPERTIES = {SnapshotCache.TTL_PROPERTY, SnapshotCache.MAX_ENTRIES_PROPERTY,
+			SnapshotCache.MAX_BASELINES_PROPERTY};
+
+	private SnapshotCache cache;
+	private ITeamRepository repository;
+
+	private static IBaselineSet snapshot(UUID itemId) {
+		IBaselineSet snapshot = Mockito.mock(IBaselineSet.class);
+		Mockito.when(snapshot.getItemId()).thenReturn(itemId);
+		Mockito.when(snapshot.getStateId()).thenReturn(UUID.generate());
+		return snapshot;
+	}
+
+	private static IBaselineSet snapshot(UUID itemId, int baselines) {
+		IBaselineSet snapshot = snapshot(itemId);
+		Mockito.when(snapshot.getBaselines()).thenReturn(Collections.nCopies(baselines, null));
+		return snapshot;
+	}
+
+	private static IItemHandle handle(IBaselineSet snapshot) {
+		return IBaselineSet.ITEM_TYPE.createItemHandle(snapshot.getItemId(), null);
+	}
+
+	@Before
+	public void setUp() {
+		cache = new SnapshotCache();
+		repository = Mockito.mock(ITeamRepository.class);
+		Mockito.when(repository.getRepositoryURI()).thenReturn("https://localhost:9443/ccm");
+		Mockito.when(repository.getUserId()).thenReturn("builder");
+	}
+
+	@After
+	public void tearDown() {
+		for (String property : PROPERTIES) {
+			System.clearProperty(property);
+		}
+	}
+
+	/**
+	 * A kept snapshot is found by a handle without state, and the lookups are counted
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testHitsAndMisses() throws Exception {
+		IBaselineSet snapshot = snapshot(UUID.generate());
+		assertNull(cache.get(repository, handle(snapshot)));
+
+		cache.put(repository, snapshot);
+		assertSame(snapshot, cache.get(repository, handle(snapshot)));
+		assertSame(snapshot, cache.get(repository, handle(snapshot)));
+
+		cache.invalidate(repository, snapshot);
+		assertNull(cache.get(repository, handle(snapshot)));
+
+		assertEquals(2, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(0, cache.getEvictionCount());
+	}
+
+	/**
+	 * A handle with a state only finds the snapshot in that state, and the snapshot in
+	 * another state is dropped
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testStateMismatch() throws Exception {
+		IBaselineSet snapshot = snapshot(UUID.generate());
+		cache.put(repository, snapshot);
+
+		IItemHandle sameState = IBaselineSet.ITEM_TYPE.createItemHandle(snapshot.getItemId(), snapshot.getStateId());
+		assertSame(snapshot, cache.get(repository, sameState));
+
+		IItemHandle otherState = IBaselineSet.ITEM_TYPE.createItemHandle(snapshot.getItemId(), UUID.generate());
+		assertNull(cache.get(repository, otherState));
+		assertNull(cache.get(repository, handle(snapshot)));
+
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+	}
+
+	/**
+	 * A snapshot expires after the TTL, and is not kept with a TTL of 0
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testTTL() throws Exception {
+		System.setProperty(SnapshotCache.TTL_PROPERTY, "1");
+		IBaselineSet snapshot = snapshot(UUID.generate());
+		cache.put(repository, snapshot);
+		assertSame(snapshot, cache.get(repository, handle(snapshot)));
+
+		Thread.sleep(1100);
+		assertNull(cache.get(repository, handle(snapshot)));
+
+		System.setProperty(SnapshotCache.TTL_PROPERTY, "0");
+		cache.put(repository, snapshot);
+		assertNull(cache.get(repository, handle(snapshot)));
+		assertEquals(0, cache.getEvictionCount());
+	}
+
+	/**
+	 * Beyond the size limit, the least recently used snapshot is dropped
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testLRUEviction() throws Exception {
+		System.setProperty(SnapshotCache.MAX_ENTRIES_PROPERTY, "3");
+		IBaselineSet first = snapshot(UUID.generate());
+		IBaselineSet second = snapshot(UUID.generate());
+		IBaselineSet third = snapshot(UUID.generate());
+		cache.put(repository, first);
+		cache.put(repository, second);
+		cache.put(repository, third);
+
+		// the first becomes the most recently used
+		assertSame(first, cache.get(repository, handle(first)));
+
+		IBaselineSet fourth = snapshot(UUID.generate());
+		cache.put(repository, fourth);
+		assertEquals(1, cache.getEvictionCount());
+		assertNull(cache.get(repository, handle(second)));
+		assertSame(first, cache.get(repository, handle(first)));
+		assertSame(third, cache.get(repository, handle(third)));
+		assertSame(fourth, cache.get(repository, handle(fourth)));
+
+		// putting a kept snapshot again does not evict
+		cache.put(repository, third);
+		assertEquals(1, cache.getEvictionCount());
+
+		IBaselineSet fifth = snapshot(UUID.generate());
+		cache.put(repository, fifth);
+		assertEquals(2, cache.getEvictionCount());
+		assertNull(cache.get(repository, handle(first)));
+	}
+
+	/**
+	 * Beyond the baseline limit, the least recently used snapshots are dropped, and a
+	 * snapshot over the limit on its own is not kept
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testBaselineLimit() throws Exception {
+		// each snapshot counts as one more than its baselines
+		System.setProperty(SnapshotCache.MAX_BASELINES_PROPERTY, "30");
+		IBaselineSet first = snapshot(UUID.generate(), 9);
+		IBaselineSet second = snapshot(UUID.generate(), 9);
+		IBaselineSet third = snapshot(UUID.generate(), 9);
+		cache.put(repository, first);
+		cache.put(repository, second);
+		cache.put(repository, third);
+		assertEquals(0, cache.getEvictionCount());
+
+		IBaselineSet fourth = snapshot(UUID.generate(), 19);
+		cache.put(repository, fourth);
+		assertEquals(2, cache.getEvictionCount());
+		assertNull(cache.get(repository, handle(first)));
+		assertNull(cache.get(repository, handle(second)));
+		assertSame(third, cache.get(repository, handle(third)));
+		assertSame(fourth, cache.get(repository, handle(fourth)));
+
+		// putting a kept snapshot again does not count its baselines twice
+		cache.put(repository, fourth);
+		assertEquals(2, cache.getEvictionCount());
+
+		IBaselineSet large = snapshot(UUID.generate(), 30);
+		cache.put(repository, large);
+		assertNull(cache.get(repository, handle(large)));
+		assertSame(third, cache.get(repository, handle(third)));
+		assertEquals(2, cache.getEvictionCount());
+	}
+}
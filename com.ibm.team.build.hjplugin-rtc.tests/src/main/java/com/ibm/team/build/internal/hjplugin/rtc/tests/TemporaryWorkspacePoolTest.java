@@ -0,0 +1,499 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ibm.team.build.internal.hjplugin.rtc.TemporaryWorkspacePool;
+import com.ibm.team.build.internal.hjplugin.rtc.TemporaryWorkspacePool.WorkspaceStore;
+import com.ibm.team.repository.common.TeamRepositoryException;
+
+/**
+ * Tests for TemporaryWorkspacePool, with a stand-in for the workspaces of a user in a repository
+ */
+public class TemporaryWorkspacePoolTest {
+
+	private static final String REPOSITORY = "https://localhost:9443/ccm#builder";
+	private static final String PREFIX = "HJP";
+	private static final String POOL = "0123456789abcdef";
+	private static final String COMMENT = "Temporary workspace of a build";
+
+	private static final String[] PROPERTIES = {TemporaryWorkspacePool.MAX_SIZE_PROPERTY,
+			TemporaryWorkspacePool.IDLE_MINUTES_PROPERTY, TemporaryWorkspacePool.MAX_LEASE_MINUTES_PROPERTY,
+			TemporaryWorkspacePool.SWEEP_MINUTES_PROPERTY};
+
+	/**
+	 * A workspace of the stand-in repository
+	 */
+	private static final class Workspace {
+		private final String id;
+		private final String name;
+		private String description;
+		private long modified = System.currentTimeMillis();
+		private int resets;
+
+		Workspace(String id, String name, String description) {
+			this.id = id;
+			this.name = name;
+			this.description = description;
+		}
+	}
+
+	/**
+	 * Stands in for the workspaces of the user in the repository
+	 */
+	private static final class StubStore implements WorkspaceStore<Workspace> {
+		private final Map<String, Workspace> workspaces = new LinkedHashMap<String, Workspace>();
+		private final List<String> deleted = new ArrayList<String>();
+		private int created;
+		private boolean failReset;
+		private Error resetError;
+		// the name of a workspace another pool creates right before this pool
+		private String createdElsewhere;
+
+		@Override
+		public Workspace get(String workspaceId) {
+			return workspaces.get(workspaceId);
+		}
+
+		@Override
+		public List<Workspace> find(String name) {
+			List<Workspace> found = new ArrayList<Workspace>();
+			for (Workspace workspace : workspaces.values()) {
+				if (workspace.name.equals(name)) {
+					found.add(workspace);
+				}
+			}
+			return found;
+		}
+
+		@Override
+		public List<Workspace> findAll(String namePrefix) {
+			List<Workspace> found = new ArrayList<Workspace>();
+			for (Workspace workspace : workspaces.values()) {
+				if (workspace.name.startsWith(namePrefix)) {
+					found.add(workspace);
+				}
+			}
+			return found;
+		}
+
+		@Override
+		public Workspace create(String name, String description) {
+			if (name.equals(createdElsewhere)) {
+				createdElsewhere = null;
+				create(name, lease("other", System.currentTimeMillis()));
+			}
+			Workspace workspace = new Workspace("_ws" + (++created), name, description);
+			workspaces.put(workspace.id, workspace);
+			return workspace;
+		}
+
+		@Override
+		public void reset(Workspace workspace) throws TeamRepositoryException {
+			if (failReset) {
+				throw new TeamRepositoryException("Unable to replace the components");
+			}
+			if (resetError != null) {
+				throw resetError;
+			}
+			workspace.resets++;
+			workspace.modified = System.currentTimeMillis();
+		}
+
+		@Override
+		public void setDescription(Workspace workspace, String description) {
+			workspace.description = description;
+			workspace.modified = System.currentTimeMillis();
+		}
+
+		@Override
+		public void delete(Workspace workspace) {
+			workspaces.remove(workspace.id);
+			deleted.add(workspace.name);
+		}
+
+		@Override
+		public String getId(Workspace workspace) {
+			return workspace.id;
+		}
+
+		@Override
+		public String getName(Workspace workspace) {
+			return workspace.name;
+		}
+
+		@Override
+		public String getDescription(Workspace workspace) {
+			return workspace.description;
+		}
+
+		@Override
+		public long getModified(Workspace workspace) {
+			return workspace.modified;
+		}
+
+		Workspace add(String name, String description, long age) {
+			Workspace workspace = create(name, description);
+			workspace.modified = System.currentTimeMillis() - age;
+			return workspace;
+		}
+	}
+
+	private TemporaryWorkspacePool pool;
+	private StubStore store;
+
+	@Before
+	public void setUp() {
+		pool = new TemporaryWorkspacePool();
+		store = new StubStore();
+		// sweep on every lease
+		System.setProperty(TemporaryWorkspacePool.SWEEP_MINUTES_PROPERTY, "0");
+	}
+
+	@After
+	public void tearDown() {
+		for (String property : PROPERTIES) {
+			System.clearProperty(property);
+		}
+	}
+
+	private static String slotName(int i) {
+		return PREFIX + TemporaryWorkspacePool.POOL_INFIX + POOL + "_" + i;
+	}
+
+	private static String lease(String token, long since) {
+		return COMMENT + "\n[pooled workspace lease " + token + " " + since + "]";
+	}
+
+	private Workspace lease(int poolSize) {
+		return pool.lease(store, REPOSITORY, PREFIX, POOL, poolSize, COMMENT);
+	}
+
+	private void release(Workspace workspace) {
+		assertTrue(pool.release(store, REPOSITORY, workspace.id, pool.getLeaseToken(REPOSITORY, workspace.id)));
+	}
+
+	/**
+	 * The workspace of a pool is created on the first lease, and reset and reused after it is released
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testLeaseReleaseReuse() throws Exception {
+		Workspace workspace = lease(2);
+		assertNotNull(workspace);
+		assertEquals(slotName(0), workspace.name);
+		assertEquals(0, workspace.resets);
+		String token = pool.getLeaseToken(REPOSITORY, workspace.id);
+		assertNotNull(token);
+		assertTrue(workspace.description.startsWith(COMMENT));
+		assertTrue(workspace.description.contains(token));
+
+		release(workspace);
+		assertNull(pool.getLeaseToken(REPOSITORY, workspace.id));
+		assertEquals(COMMENT, workspace.description);
+
+		assertSame(workspace, lease(2));
+		assertEquals(1, workspace.resets);
+		assertEquals(1, store.created);
+	}
+
+	/**
+	 * A leased workspace is not given out again, at most the pool size are created
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testPoolSize() throws Exception {
+		Workspace first = lease(2);
+		Workspace second = lease(2);
+		assertNotNull(second);
+		assertNotSame(first, second);
+		assertEquals(slotName(1), second.name);
+		// all in use, the caller creates a temporary workspace
+		assertNull(lease(2));
+		assertEquals(2, store.created);
+
+		release(second);
+		assertSame(second, lease(2));
+	}
+
+	/**
+	 * The pool size is bounded by the system property, 0 disables the pools
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testMaxSize() throws Exception {
+		System.setProperty(TemporaryWorkspacePool.MAX_SIZE_PROPERTY, "1");
+		assertNotNull(lease(5));
+		assertNull(lease(5));
+
+		System.setProperty(TemporaryWorkspacePool.MAX_SIZE_PROPERTY, "0");
+		assertNull(new TemporaryWorkspacePool().lease(store, REPOSITORY, PREFIX, POOL, 5, COMMENT));
+		assertEquals(1, store.created);
+	}
+
+	/**
+	 * A workspace leased by a pool in another class loader, JVM or agent is not taken
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testLeaseRecordedOnWorkspaceIsHonoured() throws Exception {
+		Workspace other = store.add(slotName(0), lease("other", System.currentTimeMillis()), 0);
+		Workspace workspace = lease(2);
+		assertEquals(slotName(1), workspace.name);
+		assertEquals(0, other.resets);
+
+		// another pool sharing the workspaces
+		TemporaryWorkspacePool otherPool = new TemporaryWorkspacePool();
+		assertNull(otherPool.lease(store, REPOSITORY, PREFIX, POOL, 2, COMMENT));
+	}
+
+	/**
+	 * A lease that was not renewed for the max lease time is taken back
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testExpiredLeaseIsTakenBack() throws Exception {
+		long twoDays = TimeUnit.DAYS.toMillis(2);
+		Workspace abandoned = store.add(slotName(0), lease("other", System.currentTimeMillis() - twoDays), 0);
+		Workspace workspace = lease(1);
+		assertSame(abandoned, workspace);
+		assertEquals(1, workspace.resets);
+		assertTrue(workspace.description.contains(pool.getLeaseToken(REPOSITORY, workspace.id)));
+
+		// and in the same pool
+		System.setProperty(TemporaryWorkspacePool.MAX_LEASE_MINUTES_PROPERTY, "0");
+		assertSame(workspace, lease(1));
+		assertEquals(2, workspace.resets);
+	}
+
+	/**
+	 * Renewing the lease records the time on the workspace
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testRenew() throws Exception {
+		Workspace workspace = lease(1);
+		String token = pool.getLeaseToken(REPOSITORY, workspace.id);
+		long before = System.currentTimeMillis();
+		workspace.description = lease(token, 0);
+
+		pool.renew(store, REPOSITORY, workspace.id, token);
+		String since = workspace.description.substring(workspace.description.lastIndexOf(' ') + 1, workspace.description.length() - 1);
+		assertTrue(Long.parseLong(since) >= before);
+		assertEquals(lease(token, Long.parseLong(since)), workspace.description);
+
+		// the lease of someone else is left alone
+		pool.renew(store, REPOSITORY, workspace.id, "other");
+		assertEquals(lease(token, Long.parseLong(since)), workspace.description);
+	}
+
+	/**
+	 * A pooled workspace leased by another class loader is still known as pooled and its
+	 * lease is cleared, other workspaces are for the caller to delete
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testReleaseUnknownToThisPool() throws Exception {
+		Workspace leased = store.add(slotName(0), lease("token", System.currentTimeMillis()), 0);
+		assertTrue(pool.release(store, REPOSITORY, leased.id, "token"));
+		assertEquals(COMMENT, leased.description);
+
+		// the lease was taken back by someone else, it is not cleared
+		String otherLease = lease("other", System.currentTimeMillis());
+		Workspace takenBack = store.add(slotName(1), otherLease, 0);
+		assertTrue(pool.release(store, REPOSITORY, takenBack.id, "token"));
+		assertEquals(otherLease, takenBack.description);
+
+		Workspace temporary = store.add(PREFIX + "_1234", COMMENT, 0);
+		assertFalse(pool.release(store, REPOSITORY, temporary.id, null));
+		assertFalse(pool.release(store, REPOSITORY, "_deleted", null));
+	}
+
+	/**
+	 * A failure to reset gives the slot back and lets the caller create a workspace
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testFailureFreesSlot() throws Exception {
+		Workspace workspace = lease(1);
+		release(workspace);
+		store.failReset = true;
+		assertNull(lease(1));
+		assertNull(pool.getLeaseToken(REPOSITORY, workspace.id));
+
+		store.failReset = false;
+		assertSame(workspace, lease(1));
+	}
+
+	/**
+	 * A failure that is not a repository failure still gives the slot back
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testErrorFreesSlot() throws Exception {
+		Workspace workspace = lease(1);
+		release(workspace);
+		store.resetError = new LinkageError("Missing class");
+		try {
+			lease(1);
+			fail("Expected the error");
+		} catch (LinkageError e) {
+			// expected
+		}
+		assertNull(pool.getLeaseToken(REPOSITORY, workspace.id));
+
+		store.resetError = null;
+		assertSame(workspace, lease(1));
+	}
+
+	/**
+	 * When another pool creates a workspace with the same name at the same time, the
+	 * workspace with the lowest UUID is kept and this pool deletes its own and moves on
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testConcurrentCreate() throws Exception {
+		store.createdElsewhere = slotName(0);
+		Workspace workspace = lease(2);
+		assertEquals(slotName(1), workspace.name);
+
+		List<String> expected = new ArrayList<String>();
+		expected.add(slotName(0));
+		assertEquals(expected, store.deleted);
+		assertEquals(1, store.find(slotName(0)).size());
+		// the workspace of the other pool
+		assertTrue(store.find(slotName(0)).get(0).description.contains("lease other "));
+	}
+
+	/**
+	 * Of the workspaces that have the name of a slot, the one with the lowest UUID is used
+	 * and the others are swept once they are not leased
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testDuplicateNames() throws Exception {
+		System.setProperty(TemporaryWorkspacePool.SWEEP_MINUTES_PROPERTY, "60");
+		Workspace first = store.add(slotName(0), COMMENT, 0);
+		Workspace duplicate = store.add(slotName(0), lease("other", System.currentTimeMillis()), 0);
+
+		// the duplicate is leased elsewhere, it is not swept yet
+		Workspace workspace = lease(1);
+		assertSame(first, workspace);
+		assertSame(duplicate, store.get(duplicate.id));
+		release(workspace);
+
+		// given back, it is swept on the next lease, the duplicate was seen
+		duplicate.description = COMMENT;
+		assertSame(first, lease(1));
+		List<String> expected = new ArrayList<String>();
+		expected.add(slotName(0));
+		assertEquals(expected, store.deleted);
+		assertNull(store.get(duplicate.id));
+	}
+
+	/**
+	 * The sweep deletes the pooled workspaces of the user that are idle or beyond the size of
+	 * the pool, and leaves leased workspaces and other workspaces alone
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testSweep() throws Exception {
+		long twoDays = TimeUnit.DAYS.toMillis(2);
+		long now = System.currentTimeMillis();
+		// left behind by a pool that is gone
+		store.add(PREFIX + TemporaryWorkspacePool.POOL_INFIX + "fedcba9876543210_0", COMMENT, twoDays);
+		// idle, but leased by a build elsewhere that renewed it
+		Workspace leasedElsewhere = store.add(PREFIX + TemporaryWorkspacePool.POOL_INFIX + "fedcba9876543210_1", lease("other", now), twoDays);
+		// recently used
+		Workspace recent = store.add(PREFIX + TemporaryWorkspacePool.POOL_INFIX + "fedcba9876543210_2", COMMENT, 0);
+		// beyond the size of the pool
+		store.add(slotName(3), COMMENT, 0);
+		// not a pooled workspace
+		Workspace other = store.add(PREFIX + "_1234", COMMENT, twoDays);
+
+		Workspace workspace = lease(2);
+		assertEquals(slotName(0), workspace.name);
+
+		List<String> expected = new ArrayList<String>();
+		expected.add(PREFIX + TemporaryWorkspacePool.POOL_INFIX + "fedcba9876543210_0");
+		expected.add(slotName(3));
+		assertEquals(expected, store.deleted);
+		assertSame(leasedElsewhere, store.get(leasedElsewhere.id));
+		assertSame(recent, store.get(recent.id));
+		assertSame(other, store.get(other.id));
+	}
+
+	/**
+	 * A workspace leased from this pool is not swept, even when idle
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testSweepSkipsLeased() throws Exception {
+		System.setProperty(TemporaryWorkspacePool.IDLE_MINUTES_PROPERTY, "0");
+		Workspace workspace = lease(2);
+		workspace.description = COMMENT;
+		workspace.modified -= TimeUnit.DAYS.toMillis(2);
+
+		Workspace second = lease(2);
+		assertNotNull(second);
+		assertTrue(store.deleted.isEmpty());
+		assertSame(workspace, store.get(workspace.id));
+	}
+
+	/**
+	 * The sweep runs at most once per sweep interval
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testSweepInterval() throws Exception {
+		System.setProperty(TemporaryWorkspacePool.SWEEP_MINUTES_PROPERTY, "60");
+		long twoDays = TimeUnit.DAYS.toMillis(2);
+		Workspace workspace = lease(1);
+		release(workspace);
+
+		store.add(PREFIX + TemporaryWorkspacePool.POOL_INFIX + "fedcba9876543210_0", COMMENT, twoDays);
+		assertSame(workspace, lease(1));
+		assertTrue(store.deleted.isEmpty());
+	}
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ibm.team.build.internal.hjplugin.rtc.Messages;
+import com.ibm.team.build.internal.hjplugin.rtc.WorkItemUtils;
+import com.ibm.team.build.internal.hjplugin.rtc.WorkItemUtils.WorkItemStore;
+import com.ibm.team.repository.common.TeamRepositoryException;
+
+/**
+ * Tests for WorkItemUtils, with a stand-in for the work items of a repository
+ */
+public class WorkItemUtilsTest {
+
+	private static final String URL = "https://localhost:8080/job/test/1/";
+
+	/**
+	 * Stands in for the work items of the repository, the work items are their ids
+	 */
+	private static final class StubStore implements WorkItemStore<Integer> {
+		private final Set<Integer> workItems = new HashSet<Integer>();
+		private final Set<Integer> failSave = new HashSet<Integer>();
+		private final List<Integer> found = Collections.synchronizedList(new ArrayList<Integer>());
+		private final List<Integer> linked = Collections.synchronizedList(new ArrayList<Integer>());
+		// when set, looking up a work item waits for it
+		private CountDownLatch started;
+		private CountDownLatch blocked;
+
+		StubStore(Integer... workItems) {
+			this.workItems.addAll(Arrays.asList(workItems));
+		}
+
+		@Override
+		public Integer find(int workItemId) throws TeamRepositoryException {
+			found.add(workItemId);
+			if (blocked != null) {
+				started.countDown();
+				try {
+					blocked.await();
+				} catch (InterruptedException e) {
+					throw new TeamRepositoryException(e);
+				}
+			}
+			return workItems.contains(workItemId) ? Integer.valueOf(workItemId) : null;
+		}
+
+		@Override
+		public void saveLink(Integer workItem) throws TeamRepositoryException {
+			if (failSave.contains(workItem)) {
+				throw new TeamRepositoryException("Unable to save the link of " + workItem);
+			}
+			linked.add(workItem);
+		}
+	}
+
+	@Before
+	public void setUp() {
+		System.setProperty(WorkItemUtils.LINK_THREADS_PROPERTY, "2");
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(WorkItemUtils.LINK_THREADS_PROPERTY);
+	}
+
+	private static void link(StubStore store, Integer... workItemIds) throws TeamRepositoryException {
+		WorkItemUtils.addRelatedLinkToWorkItems(store, Arrays.asList(workItemIds), URL, Locale.getDefault());
+	}
+
+	private static List<Integer> sorted(List<Integer> ids) {
+		List<Integer> sorted = new ArrayList<Integer>(ids);
+		Collections.sort(sorted);
+		return sorted;
+	}
+
+	/**
+	 * Every work item is linked, once, even when its id is given more than once
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testLinkEachOnce() throws Exception {
+		StubStore store = new StubStore(1, 2, 3);
+		link(store, 3, 1, 2, 1, 3);
+		assertEquals(Arrays.asList(1, 2, 3), sorted(store.found));
+		assertEquals(Arrays.asList(1, 2, 3), sorted(store.linked));
+	}
+
+	/**
+	 * No work items, no lookups
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testNoWorkItems() throws Exception {
+		StubStore store = new StubStore(1);
+		link(store);
+		assertTrue(store.found.isEmpty());
+	}
+
+	/**
+	 * A work item that is not found or whose link cannot be saved does not stop the others.
+	 * All the failed ids are in one exception, caused by the first failure.
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testFailuresContinueAndAreAggregated() throws Exception {
+		StubStore store = new StubStore(1, 2, 4, 5);
+		store.failSave.add(4);
+		try {
+			link(store, 1, 2, 3, 4, 5, 3);
+			fail("Expected the failed work items");
+		} catch (TeamRepositoryException e) {
+			assertEquals(Messages.get(Locale.getDefault()).WorkItemUtils_unable_to_link_work_items("[3, 4]", URL), e.getMessage());
+			assertNotNull(e.getCause());
+			assertEquals(Messages.get(Locale.getDefault()).WorkItemUtils_work_item_not_found("3"), e.getCause().getMessage());
+		}
+		assertEquals(Arrays.asList(1, 2, 3, 4, 5), sorted(store.found));
+		assertEquals(Arrays.asList(1, 2, 5), sorted(store.linked));
+	}
+
+	/**
+	 * Interrupting the caller stops the linking and keeps the interrupt
+	 *
+	 * @throws Exception Throw all exceptions back to JUnit
+	 */
+	@Test
+	public void testInterrupted() throws Exception {
+		final StubStore store = new StubStore(1, 2, 3);
+		store.started = new CountDownLatch(1);
+		store.blocked = new CountDownLatch(1);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		final AtomicReference<Boolean> interrupted = new AtomicReference<Boolean>();
+		Thread caller = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					link(store, 1, 2, 3);
+				} catch (Throwable e) {
+					failure.set(e);
+				}
+				interrupted.set(Thread.currentThread().isInterrupted());
+			}
+		});
+		caller.start();
+		try {
+			assertTrue(store.started.await(30, TimeUnit.SECONDS));
+			caller.interrupt();
+			caller.join(TimeUnit.SECONDS.toMillis(30));
+			assertTrue(!caller.isAlive());
+		} finally {
+			store.blocked.countDown();
+		}
+
+		assertTrue(failure.get() instanceof TeamRepositoryException);
+		assertEquals(Messages.get(Locale.getDefault()).WorkItemUtils_link_interrupted(URL), failure.get().getMessage());
+		assertTrue(failure.get().getCause() instanceof InterruptedException);
+		assertSame(Boolean.TRUE, interrupted.get());
+		assertTrue(store.linked.isEmpty());
+	}
+}
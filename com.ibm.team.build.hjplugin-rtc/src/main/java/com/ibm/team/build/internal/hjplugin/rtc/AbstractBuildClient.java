@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2014 IBM Corporation and others.
+ * Copyright (c) 2013, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -63,6 +63,22 @@ public abstract class AbstractBuildClient {
 	 */
 	public abstract RepositoryConnection removeRepositoryConnection(ConnectionDetails connectionDetails);
 
+	/**
+	 * Removes the cached repository connections that are no longer logged in.
+	 * They are created again when next needed.
+	 * 
+	 * @return The number of cached connections that are logged in
+	 * @ShortOp
+	 */
+	public abstract int checkRepositoryConnections();
+
+	/**
+	 * Logs out and removes all the cached repository connections.
+	 * 
+	 * @ShortOp
+	 */
+	public abstract void removeAllRepositoryConnections();
+
 	/**
 	 * Determines the password to use when connecting to a repository from a file.
 	 * If the password file is invalid (doesn't exist, contents are not an obfuscated password) its an error.
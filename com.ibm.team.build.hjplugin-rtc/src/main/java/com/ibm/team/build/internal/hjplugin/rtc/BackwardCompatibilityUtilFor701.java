@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 IBM Corporation and others.
+ * Copyright (c) 2020, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -165,33 +165,9 @@ public class BackwardCompatibilityUtilFor701 {
 						.isEmpty())) {
 			componentLoadConfig = Constants.COMPONENT_LOAD_CONFIG_LOAD_ALL_COMPONENTS;
 		}
-		// Invoke using reflection
-		Class<?> buildScmLoadOptionsFactoryClass = Class
-				.forName("com.ibm.team.build.internal.scm.BuildScmLoadOptions$JenkinsBuildScmLoadOptionsFactory");
-		Method buildScmLoadOptionsFactoryGetInstanceMethod = buildScmLoadOptionsFactoryClass
-				.getMethod("getInstance");
-		Method getBuildScmLoadOptionsMethod = buildScmLoadOptionsFactoryClass
-				.getMethod("getBuildScmLoadOptions", IWorkspaceConnection.class, // workspaceConnection
-						boolean.class, // synchronizeLoad
-						String.class, // fetchDestination
-						boolean.class, // deleteDestinationBeforeFetch
-						String.class, // loadMethod
-						String.class, // loadPolicy
-						boolean.class, // createFoldersForComponents
-						String.class, // componentLoadConfig
-						boolean.class, // includeComponents
-						String.class, // componentUuids
-						String.class, // componentLoadRuleUuids
-						Collection.class, // dynamicLoadRules
-						ILoadRule2.class, // dynamicLoadRule
-						boolean.class, // preserveFileTimestamps
-						boolean.class, // expandKeywords
-						ITeamRepository.class, // repository
-						IProgressMonitor.class); // monitor
-		Object buildScmLoadOptionsFactoryInstance = buildScmLoadOptionsFactoryGetInstanceMethod
-				.invoke(null);
-		Object buildScmLoadOptionsInstance = getBuildScmLoadOptionsMethod
-				.invoke(buildScmLoadOptionsFactoryInstance,
+		// The 701 API is not available at compile time, use the handles looked up when the facade was loaded
+		BuildToolkitCapabilities capabilities = BuildToolkitCapabilities.get();
+		Object buildScmLoadOptionsInstance = capabilities.getBuildScmLoadOptions(
 						workspaceConnection, // workspaceConnection
 						synchronizeLoad, // synchronizeLoad
 						fetchDestination, // fetchDestination
@@ -211,7 +187,7 @@ public class BackwardCompatibilityUtilFor701 {
 						repository, // repository
 						monitor); // monitor
 
-		Class<?> buildLogListenerInterface = Class.forName("com.ibm.team.build.internal.IBuildLogListener");
+		Class<?> buildLogListenerInterface = capabilities.getBuildLogListenerInterface();
 
 		Object buildLogListenerProxy = Proxy.newProxyInstance(buildLogListenerInterface.getClassLoader(), new Class[] { buildLogListenerInterface },
 				new JenkinsBuildLogListener(consoleOutput));
@@ -221,9 +197,7 @@ public class BackwardCompatibilityUtilFor701 {
 					+ "in 701 build toolkit.");
 		}
 
-		Method updateFileCopyAreaMethod = SourceControlUtility.class.getMethod("updateFileCopyArea",
-				Class.forName("com.ibm.team.build.internal.scm.BuildScmLoadOptions"), buildLogListenerInterface, IProgressMonitor.class);
-		updateFileCopyAreaMethod.invoke(null, buildScmLoadOptionsInstance, buildLogListenerProxy, monitor);
+		capabilities.updateFileCopyArea(buildScmLoadOptionsInstance, buildLogListenerProxy, monitor);
 	}
 	
 	private static class JenkinsBuildLogListener implements InvocationHandler {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2014 IBM Corporation and others.
+ * Copyright (c) 2013, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,7 @@ package com.ibm.team.build.internal.hjplugin.rtc;
 
 import java.io.File;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.logging.Level;
@@ -133,6 +134,33 @@ public class BuildClient extends AbstractBuildClient {
 		return null;
 	}
 
+	@Override
+	public synchronized int checkRepositoryConnections() {
+		int loggedIn = 0;
+		for (Iterator<RepositoryConnection> it = fRepositoryConnections.values().iterator(); it.hasNext(); ) {
+			RepositoryConnection repositoryConnection = it.next();
+			if (repositoryConnection.getTeamRepository().loggedIn()) {
+				loggedIn++;
+			} else {
+				it.remove();
+				LOGGER.finer("Removed connection " + repositoryConnection.getConnectionDetails().getHashKey() + " that is not logged in"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		return loggedIn;
+	}
+
+	@Override
+	public synchronized void removeAllRepositoryConnections() {
+		for (RepositoryConnection repositoryConnection : fRepositoryConnections.values()) {
+			ITeamRepository repository = repositoryConnection.getTeamRepository();
+			if (repository.loggedIn()) {
+				repository.logout();
+			}
+		}
+		fRepositoryConnections.clear();
+		LOGGER.finer("Removed all connections"); //$NON-NLS-1$
+	}
+
     /**
      * Creates the repository manager for the given connection details.
      * 
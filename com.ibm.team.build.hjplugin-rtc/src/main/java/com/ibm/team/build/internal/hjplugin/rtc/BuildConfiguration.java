@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2020 IBM Corporation and others.
+ * Copyright (c) 2013, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -57,6 +57,7 @@ import com.ibm.team.repository.common.InternalRepositoryException;
 import com.ibm.team.repository.common.ItemNotFoundException;
 import com.ibm.team.repository.common.PermissionDeniedException;
 import com.ibm.team.repository.common.TeamRepositoryException;
+import com.ibm.team.repository.common.UUID;
 import com.ibm.team.scm.client.IWorkspaceConnection;
 import com.ibm.team.scm.client.SCMPlatform;
 import com.ibm.team.scm.common.IBaselineSet;
@@ -91,6 +92,8 @@ public class BuildConfiguration {
 	private Map<String, String> buildProperties = new HashMap<String, String>();
 	private Map<String, String> temporaryRepositoryWorkspaceProperties = new HashMap<String, String>();
 	private boolean shouldDeleteTemporaryWorkspace = true;
+	private UUID pooledWorkspaceId;
+	private String poolLeaseToken;
 	private String loadPolicy;
 	private String componentLoadConfig;
 	private boolean isBuildDefinitionConfiguration = false;
@@ -746,6 +749,9 @@ public class BuildConfiguration {
 		LOGGER.finest("BuildConfiguration.tearDown : Enter");
 		SubMonitor progress = SubMonitor.convert(monitor, 5);
 		if (isSnapshotLoad() || isStreamLoad()) {
+			if (pooledWorkspaceId != null && TemporaryWorkspacePool.getDefault().release(getTeamRepository(), pooledWorkspaceId, poolLeaseToken)) {
+				return;
+			}
 			try {
 				if (forceDelete || shouldDeleteTemporaryWorkspace) {
 					IWorkspace workspaceToDelete = workspace.getWorkspace(repositoryManager, progress.newChild(50));
@@ -1064,6 +1070,18 @@ public class BuildConfiguration {
 	public boolean isStreamLoad() {
 		return (stream != null && workspace != null);
 	}
+
+	/**
+	 * Mark the temporary workspace of a stream load as taken from a {@link TemporaryWorkspacePool}.
+	 * It is given back to the pool instead of being deleted by {@link #tearDown}.
+	 * 
+	 * @param workspaceId The UUID of the temporary workspace
+	 * @param leaseToken The token of the lease of the workspace
+	 */
+	void setPooledWorkspace(UUID workspaceId, String leaseToken) {
+		this.pooledWorkspaceId = workspaceId;
+		this.poolLeaseToken = leaseToken;
+	}
 	
 	public String getLoadMethod() {
 		return loadMethod;
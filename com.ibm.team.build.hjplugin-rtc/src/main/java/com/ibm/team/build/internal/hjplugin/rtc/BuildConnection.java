@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2021 IBM Corporation and others.
+ * Copyright (c) 2013, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -23,9 +23,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -95,6 +99,82 @@ public class BuildConnection {
 	 */
 	public static final String PROPERTY_HUDSON_URL = "com.ibm.rational.connector.hudson.url"; //$NON-NLS-1$
 
+	/**
+	 * System property for the number of seconds the Jenkins root URL of a build engine
+	 * is kept. A changed root URL is seen for the builds of the engine after up to that
+	 * time. 0 disables the cache.
+	 */
+	public static final String ENGINE_ROOT_URL_CACHE_TTL_PROPERTY = "com.ibm.team.build.engineRootUrlCacheTTL"; //$NON-NLS-1$
+
+	private static final long DEFAULT_ENGINE_ROOT_URL_CACHE_TTL_SECONDS = 300;
+
+	/**
+	 * System property for the number of seconds the name of a contributor who requested
+	 * a build is kept. A renamed contributor is seen with the old name for up to that
+	 * time. 0 disables the cache.
+	 */
+	public static final String CONTRIBUTOR_NAME_CACHE_TTL_PROPERTY = "com.ibm.team.build.contributorNameCacheTTL"; //$NON-NLS-1$
+
+	private static final long DEFAULT_CONTRIBUTOR_NAME_CACHE_TTL_SECONDS = 600;
+
+	private static final int MAX_CACHED_ENGINE_ROOT_URLS = 100;
+
+	private static final int MAX_CACHED_CONTRIBUTOR_NAMES = 1000;
+
+	/**
+	 * The Jenkins root URL configured on build engines, by repository URI and engine UUID
+	 */
+	private static final Map<String, ItemValue> fgEngineRootUrls = Collections.synchronizedMap(
+			new RecentItemValues(MAX_CACHED_ENGINE_ROOT_URLS));
+
+	/**
+	 * The names of the contributors who requested builds, by repository URI and contributor UUID
+	 */
+	private static final Map<String, ItemValue> fgContributorNames = Collections.synchronizedMap(
+			new RecentItemValues(MAX_CACHED_CONTRIBUTOR_NAMES));
+
+	/**
+	 * Item values in access order, dropping the least recently used when there are too many
+	 */
+	private static final class RecentItemValues extends LinkedHashMap<String, ItemValue> {
+		private static final long serialVersionUID = 1L;
+
+		private final int maxEntries;
+
+		RecentItemValues(int maxEntries) {
+			super(16, 0.75f, true);
+			this.maxEntries = maxEntries;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ItemValue> eldest) {
+			return size() > maxEntries;
+		}
+	}
+
+	/**
+	 * A value read from an item, kept until the entry expires
+	 */
+	private static final class ItemValue {
+		private final String value;
+		private final long expiry;
+
+		ItemValue(String value, long expiry) {
+			this.value = value;
+			this.expiry = expiry;
+		}
+
+		boolean isExpired(long now) {
+			return expiry <= now;
+		}
+	}
+
+	/**
+	 * The properties of a build request needed to tell how the build was started
+	 */
+	private static final Collection<String> BUILD_REQUEST_INFO_PROPERTIES = Collections.unmodifiableList(Arrays.asList(
+			IBuildRequest.PROPERTY_BUILD_DEFINITION_PROPERTIES, IBuildRequest.PROPERTY_INITIATING_CONTRIBUTOR));
+
 	private static final String SLASH = "/"; //$NON-NLS-1$
 	private static final int MAX_RETRIES = 5;
 	private static final int RETRY_DELAY = 100; // in milliseconds
@@ -610,34 +690,7 @@ public class BuildConnection {
 			LOGGER.finer("Hudson/Jenkins root url has not been configured. Attempting to use the one specified by the RTC build engine for build " + buildUrl); //$NON-NLS-1$
 
 			// get the root url from the build engine
-			IBuildResult result = (IBuildResult) getTeamRepository()
-					.itemManager()
-					.fetchPartialItem(
-							resultHandle,
-							IItemManager.REFRESH,
-							Collections
-									.singleton(IBuildResult.PROPERTY_BUILD_REQUESTS),
-							monitor.newChild(5));
-            Collection<String> requestProperties = Arrays.asList(new String[] { IBuildRequest.PROPERTY_BUILD_ACTION,
-                    IBuildRequest.PROPERTY_HANDLER });
-            monitor.setWorkRemaining(50 + 10 * result.getBuildRequests().size());
-            for (IBuildRequestHandle buildRequestHandle : (List<IBuildRequestHandle>) result.getBuildRequests()) {
-                IBuildRequest buildRequest = (IBuildRequest) getTeamRepository().itemManager().fetchPartialItem(
-                        buildRequestHandle, IItemManager.REFRESH, requestProperties, monitor.newChild(5));
-                if (buildRequest.getBuildAction().getAction().equals(IBuildAction.REQUEST_BUILD)
-                        && buildRequest.getHandler() != null) {
-					IBuildEngine buildEngine = (IBuildEngine) getTeamRepository()
-							.itemManager()
-							.fetchPartialItem(
-									buildRequest.getHandler(),
-									IItemManager.REFRESH,
-									Collections
-											.singleton(IBuildEngine.PROPERTY_CONFIGURATION_ELEMENTS),
-									monitor.newChild(5));
-                    rootUrl = buildEngine.getConfigurationPropertyValue(HJ_ENGINE_ELEMENT_ID, PROPERTY_HUDSON_URL, null);
-                    break;
-                }
-            }
+			rootUrl = getBuildEngineRootUrl(resultHandle, monitor.newChild(50));
 		}
 		
 		if (rootUrl == null) {
@@ -646,27 +699,73 @@ public class BuildConnection {
 			if (!rootUrl.endsWith(SLASH)) {
 				rootUrl = rootUrl + SLASH;
 			}
-			addLinkContribution(Messages.getDefault().BuildConnection_hj_job(), rootUrl + projectUrl, resultHandle, monitor.newChild(25));
-			addLinkContribution(Messages.getDefault().BuildConnection_hj_build(), rootUrl + buildUrl, resultHandle, monitor.newChild(25));
+			// both links in one call
+			IBuildResultContribution[] contributions = new IBuildResultContribution[] {
+					createLinkContribution(Messages.getDefault().BuildConnection_hj_job(), rootUrl + projectUrl),
+					createLinkContribution(Messages.getDefault().BuildConnection_hj_build(), rootUrl + buildUrl) };
+			getTeamBuildClient().addBuildResultContributions(resultHandle, contributions, monitor.newChild(50));
 		}
 	}
 
-    private void addLinkContribution(String label, String url, IBuildResultHandle resultHandle,
-    		IProgressMonitor monitor) throws TeamRepositoryException {
-    	// if no build result, we are done
-    	if (resultHandle == null) {
-    		return;
-    	}
+	/**
+	 * Get the Jenkins root URL configured on the engine that the build was requested of.
+	 * The URL is remembered by engine for {@link #ENGINE_ROOT_URL_CACHE_TTL_PROPERTY} seconds.
+	 * It is not checked against the current state of the engine, that would cost as much as
+	 * fetching the URL.
+	 * 
+	 * @param resultHandle The build result
+	 * @param progress Monitor to mark progress on
+	 * @return The root URL, <code>null</code> if the engine does not have one
+	 * @throws TeamRepositoryException Thrown if the engine can not be retrieved
+	 */
+	@SuppressWarnings("unchecked")
+	private String getBuildEngineRootUrl(IBuildResultHandle resultHandle, IProgressMonitor progress) throws TeamRepositoryException {
+		SubMonitor monitor = SubMonitor.convert(progress, 100);
+		IItemManager itemManager = getTeamRepository().itemManager();
+		IBuildResult result = (IBuildResult) itemManager.fetchPartialItem(resultHandle, IItemManager.REFRESH,
+				Collections.singleton(IBuildResult.PROPERTY_BUILD_REQUESTS), monitor.newChild(30));
+		if (result.getBuildRequests().isEmpty()) {
+			return null;
+		}
+		Collection<String> requestProperties = Arrays.asList(new String[] { IBuildRequest.PROPERTY_BUILD_ACTION,
+				IBuildRequest.PROPERTY_HANDLER });
+		List<IBuildRequest> buildRequests = itemManager.fetchPartialItems(result.getBuildRequests(), IItemManager.REFRESH,
+				requestProperties, monitor.newChild(30));
+		for (IBuildRequest buildRequest : buildRequests) {
+			if (buildRequest != null && buildRequest.getBuildAction().getAction().equals(IBuildAction.REQUEST_BUILD)
+					&& buildRequest.getHandler() != null) {
+				IBuildEngineHandle engineHandle = buildRequest.getHandler();
+				String key = getTeamRepository().getRepositoryURI() + "#" + engineHandle.getItemId().getUuidValue(); //$NON-NLS-1$
+				long now = System.currentTimeMillis();
+				ItemValue cached = fgEngineRootUrls.get(key);
+				if (cached != null && !cached.isExpired(now)) {
+					LOGGER.finest("Using the cached root url of build engine " + key); //$NON-NLS-1$
+					return cached.value;
+				}
+				IBuildEngine buildEngine = (IBuildEngine) itemManager.fetchPartialItem(engineHandle, IItemManager.REFRESH,
+						Collections.singleton(IBuildEngine.PROPERTY_CONFIGURATION_ELEMENTS), monitor.newChild(30));
+				String rootUrl = buildEngine.getConfigurationPropertyValue(HJ_ENGINE_ELEMENT_ID, PROPERTY_HUDSON_URL, null);
+				long ttl = TimeUnit.SECONDS.toMillis(Long.getLong(ENGINE_ROOT_URL_CACHE_TTL_PROPERTY, DEFAULT_ENGINE_ROOT_URL_CACHE_TTL_SECONDS));
+				if (ttl > 0) {
+					fgEngineRootUrls.put(key, new ItemValue(rootUrl, now + ttl));
+				} else {
+					fgEngineRootUrls.remove(key);
+				}
+				return rootUrl;
+			}
+		}
+		return null;
+	}
 
+	private static IBuildResultContribution createLinkContribution(String label, String url) {
 		IBuildResultContribution contribution = BuildItemFactory
 				.createBuildResultContribution();
 		contribution.setExtendedContributionTypeId(IBuildResultContribution.LINK_EXTENDED_CONTRIBUTION_ID);
 		contribution.setLabel(label);
 		contribution.setExtendedContributionProperty(
 				IBuildResultContribution.PROPERTY_NAME_URL, url);
-
-        getTeamBuildClient().addBuildResultContribution(resultHandle, contribution, monitor);
-    }
+		return contribution;
+	}
 
     /**
      * Provides information contained in the build result/request to the caller
@@ -685,18 +784,17 @@ public class BuildConnection {
 		IBuildRequestHandle buildRequestHandle = getBuildRequest(buildResult);
     	if (buildRequestHandle != null) {
         	try {
-		        IBuildRequest buildRequest = (IBuildRequest) itemManager.fetchCompleteItem(buildRequestHandle,
-		        		IItemManager.REFRESH, monitor.newChild(10));
+		        // only what is needed to tell how the build was started
+		        IBuildRequest buildRequest = (IBuildRequest) itemManager.fetchPartialItem(buildRequestHandle,
+		        		IItemManager.REFRESH, BUILD_REQUEST_INFO_PROPERTIES, monitor.newChild(10));
 		        boolean isScheduled = isScheduledRequest(buildRequest);
 		        buildResultInfo.setScheduled(isScheduled);
 	        	buildResultInfo.setPersonalBuild(buildResult.isPersonalBuild());
 		        
 	        	IContributorHandle requestor = buildRequest.getInitiatingContributor();
 	        	if (requestor != null) {
-	        		IContributor contributor;
 					try {
-						contributor = (IContributor) itemManager.fetchCompleteItem(requestor, IItemManager.DEFAULT, monitor.newChild(25));
-		        		buildResultInfo.setRequestor(contributor.getName());
+		        		buildResultInfo.setRequestor(getContributorName(requestor, monitor.newChild(25)));
 					} catch (TeamRepositoryException e) {
 						clientConsole.log(Messages.get(clientLocale).BuildConnection_unknown_contributor(e.getMessage()));
 					}
@@ -707,6 +805,34 @@ public class BuildConnection {
         }
 	}
 	
+	/**
+	 * Get the name of a contributor, from the cache if it was fetched in the last
+	 * {@link #CONTRIBUTOR_NAME_CACHE_TTL_PROPERTY} seconds. A cached name is not checked
+	 * against the current state of the contributor, that would cost as much as fetching the name.
+	 * 
+	 * @param contributorHandle The contributor
+	 * @param progress Monitor to mark progress on
+	 * @return The name of the contributor
+	 * @throws TeamRepositoryException Thrown if the contributor can not be retrieved
+	 */
+	private String getContributorName(IContributorHandle contributorHandle, IProgressMonitor progress) throws TeamRepositoryException {
+		String key = getTeamRepository().getRepositoryURI() + "#" + contributorHandle.getItemId().getUuidValue(); //$NON-NLS-1$
+		long now = System.currentTimeMillis();
+		ItemValue cached = fgContributorNames.get(key);
+		if (cached != null && !cached.isExpired(now)) {
+			return cached.value;
+		}
+		IContributor contributor = (IContributor) getTeamRepository().itemManager().fetchPartialItem(contributorHandle,
+				IItemManager.DEFAULT, Collections.singleton(IContributor.NAME_PROPERTY), progress);
+		long ttl = TimeUnit.SECONDS.toMillis(Long.getLong(CONTRIBUTOR_NAME_CACHE_TTL_PROPERTY, DEFAULT_CONTRIBUTOR_NAME_CACHE_TTL_SECONDS));
+		if (ttl > 0) {
+			fgContributorNames.put(key, new ItemValue(contributor.getName(), now + ttl));
+		} else {
+			fgContributorNames.remove(key);
+		}
+		return contributor.getName();
+	}
+
     /**
      * Determines if the build request is a scheduled request.
      * 
@@ -761,6 +887,33 @@ public class BuildConnection {
 		}
 	}
 
+	/**
+	 * Delete a batch of build results. A failure to delete one build result does 
+	 * not stop the deletion of the others.
+	 * 
+	 * @param buildResultUUIDs UUIDs of the build results to delete.
+	 * @param clientConsole The console to put messages
+	 * @param progress Monitor to mark progress on
+	 * @param clientLocale The locale of the caller
+	 * @return A map from the UUID of each build result that could not be deleted 
+	 * to the reason. Empty if all of them were deleted.
+	 */
+	public Map<String, String> deleteBuildResults(List<String> buildResultUUIDs,
+			IConsoleOutput clientConsole, IProgressMonitor progress,
+			Locale clientLocale) {
+		SubMonitor monitor = SubMonitor.convert(progress, buildResultUUIDs.size());
+		Map<String, String> failures = new HashMap<String, String>();
+		for (String buildResultUUID : buildResultUUIDs) {
+			try {
+				deleteBuildResult(buildResultUUID, clientConsole, monitor.newChild(1), clientLocale);
+			} catch (TeamRepositoryException | IllegalArgumentException e) {
+				LOGGER.log(Level.FINER, "Unable to delete build result " + buildResultUUID, e); //$NON-NLS-1$
+				failures.put(buildResultUUID, e.getMessage() == null ? e.getClass().getName() : e.getMessage());
+			}
+		}
+		return failures;
+	}
+
 	/**
 	 * Publish the metronome log to the Build Result 
 	 * 
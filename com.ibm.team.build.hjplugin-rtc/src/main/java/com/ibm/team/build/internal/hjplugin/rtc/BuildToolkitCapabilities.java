@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.ibm.team.build.common.model.IBuildResultHandle;
+import com.ibm.team.build.internal.publishing.WorkItemPublisher;
+import com.ibm.team.build.internal.scm.SourceControlUtility;
+import com.ibm.team.filesystem.client.operations.ILoadRule2;
+import com.ibm.team.repository.client.ITeamRepository;
+import com.ibm.team.scm.client.IWorkspaceConnection;
+import com.ibm.team.scm.common.IChangeSetHandle;
+
+/**
+ * What the build toolkit in context supports. The facade classes are loaded by a
+ * class loader per build toolkit, so the toolkit is probed once, the first time the
+ * capabilities are asked for, instead of on every load.
+ */
+@SuppressWarnings("restriction")
+public final class BuildToolkitCapabilities {
+
+	private static final Logger LOGGER = Logger.getLogger(BuildToolkitCapabilities.class.getName());
+
+	private static final String BUILD_SCM_LOAD_OPTIONS_CLASS = "com.ibm.team.build.internal.scm.BuildScmLoadOptions"; //$NON-NLS-1$
+	private static final String BUILD_SCM_LOAD_OPTIONS_FACTORY_CLASS = "com.ibm.team.build.internal.scm.BuildScmLoadOptions$JenkinsBuildScmLoadOptionsFactory"; //$NON-NLS-1$
+	private static final String BUILD_LOG_LISTENER_CLASS = "com.ibm.team.build.internal.IBuildLogListener"; //$NON-NLS-1$
+	private static final String UPDATE_FILE_COPY_AREA = "updateFileCopyArea"; //$NON-NLS-1$
+
+	private static final class Holder {
+		private static final BuildToolkitCapabilities INSTANCE = new BuildToolkitCapabilities();
+	}
+
+	private final boolean supportsLoadRules;
+	private final boolean supportsWorkItemLinkControl;
+	private final boolean supportsBuildScmLoadOptions;
+	private final Exception buildScmLoadOptionsFailure;
+	private final Class<?> buildLogListenerInterface;
+	private final MethodHandle getBuildScmLoadOptionsFactory;
+	private final MethodHandle getBuildScmLoadOptions;
+	private final MethodHandle updateFileCopyAreaWithLoadOptions;
+
+	private BuildToolkitCapabilities() {
+		this(BuildToolkitCapabilities.class.getClassLoader(), BUILD_SCM_LOAD_OPTIONS_CLASS, BUILD_SCM_LOAD_OPTIONS_FACTORY_CLASS,
+				BUILD_LOG_LISTENER_CLASS);
+	}
+
+	/**
+	 * Used only for testing purposes. The facade uses {@link #get()}.
+	 *
+	 * @param classLoader Loads the 701 classes
+	 * @param loadOptionsClassName The name of the BuildScmLoadOptions class
+	 * @param loadOptionsFactoryClassName The name of the BuildScmLoadOptions factory class
+	 * @param buildLogListenerClassName The name of the IBuildLogListener interface
+	 */
+	public BuildToolkitCapabilities(ClassLoader classLoader, String loadOptionsClassName, String loadOptionsFactoryClassName,
+			String buildLogListenerClassName) {
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+		// 603 added SourceControlUtility.updateFileCopyArea(IWorkspaceConnection, String, boolean, ILoadRule2, boolean, IProgressMonitor)
+		boolean loadRules = false;
+		try {
+			lookup.findStatic(SourceControlUtility.class, UPDATE_FILE_COPY_AREA, MethodType.methodType(void.class,
+					IWorkspaceConnection.class, String.class, boolean.class, ILoadRule2.class, boolean.class, IProgressMonitor.class));
+			loadRules = true;
+		} catch (ReflectiveOperationException | SecurityException e) {
+			if (LOGGER.isLoggable(Level.FINER)) {
+				LOGGER.finer("SourceControlUtility.updateFileCopyArea(IWorkspaceConnection, String, boolean, ILoadRule2, boolean, IProgressMonitor) " //$NON-NLS-1$
+						+ "method not found. Jenkins job should have been configured with a pre-603 build toolkit: " + e); //$NON-NLS-1$
+			}
+		}
+		supportsLoadRules = loadRules;
+
+		// 70 added WorkItemPublisher.publish(IBuildResultHandle, IChangeSetHandle[], boolean, ITeamRepository)
+		boolean workItemLinkControl = false;
+		try {
+			WorkItemPublisher.class.getMethod("publish", IBuildResultHandle.class, IChangeSetHandle[].class, boolean.class, ITeamRepository.class); //$NON-NLS-1$
+			workItemLinkControl = true;
+		} catch (NoSuchMethodException | SecurityException e) {
+			if (LOGGER.isLoggable(Level.FINER)) {
+				LOGGER.finer("WorkItemPublisher.publish(IBuildResult, IChangeSet[], boolean, ITeamRepository) not found"); //$NON-NLS-1$
+			}
+		}
+		supportsWorkItemLinkControl = workItemLinkControl;
+
+		// 701 added BuildScmLoadOptions and SourceControlUtility.updateFileCopyArea(BuildScmLoadOptions, IBuildLogListener, IProgressMonitor).
+		// As before the probe, a toolkit with the class is a 701 toolkit. If the methods cannot be
+		// resolved, the 701 load fails with the reason rather than falling back to a pre-701 load.
+		Class<?> loadOptionsClass = null;
+		try {
+			loadOptionsClass = Class.forName(loadOptionsClassName, true, classLoader);
+		} catch (ClassNotFoundException e) {
+			if (LOGGER.isLoggable(Level.FINER)) {
+				LOGGER.finer(loadOptionsClassName + " class not found. " //$NON-NLS-1$
+						+ "Jenkins job should have been configured with a pre-701 build toolkit: " //$NON-NLS-1$
+						+ e.getMessage());
+			}
+		}
+		supportsBuildScmLoadOptions = loadOptionsClass != null;
+
+		Exception failure = null;
+		Class<?> listenerInterface = null;
+		MethodHandle factory = null;
+		MethodHandle loadOptions = null;
+		MethodHandle updateWithLoadOptions = null;
+		if (loadOptionsClass != null) {
+			try {
+				Class<?> factoryClass = Class.forName(loadOptionsFactoryClassName, true, classLoader);
+				listenerInterface = Class.forName(buildLogListenerClassName, true, classLoader);
+				factory = lookup.unreflect(factoryClass.getMethod("getInstance")); //$NON-NLS-1$
+				loadOptions = lookup.unreflect(factoryClass.getMethod("getBuildScmLoadOptions", //$NON-NLS-1$
+						IWorkspaceConnection.class, // workspaceConnection
+						boolean.class, // synchronizeLoad
+						String.class, // fetchDestination
+						boolean.class, // deleteDestinationBeforeFetch
+						String.class, // loadMethod
+						String.class, // loadPolicy
+						boolean.class, // createFoldersForComponents
+						String.class, // componentLoadConfig
+						boolean.class, // includeComponents
+						String.class, // componentUuids
+						String.class, // componentLoadRuleUuids
+						Collection.class, // dynamicLoadRules
+						ILoadRule2.class, // dynamicLoadRule
+						boolean.class, // preserveFileTimestamps
+						boolean.class, // expandKeywords
+						ITeamRepository.class, // repository
+						IProgressMonitor.class)); // monitor
+				updateWithLoadOptions = lookup.findStatic(SourceControlUtility.class, UPDATE_FILE_COPY_AREA,
+						MethodType.methodType(void.class, loadOptionsClass, listenerInterface, IProgressMonitor.class));
+			} catch (ReflectiveOperationException | SecurityException e) {
+				LOGGER.warning(loadOptionsClassName + " found but not usable: " + e); //$NON-NLS-1$
+				failure = e;
+				listenerInterface = null;
+				factory = null;
+				loadOptions = null;
+				updateWithLoadOptions = null;
+			}
+		}
+		buildScmLoadOptionsFailure = failure;
+		buildLogListenerInterface = listenerInterface;
+		getBuildScmLoadOptionsFactory = factory;
+		getBuildScmLoadOptions = loadOptions;
+		updateFileCopyAreaWithLoadOptions = updateWithLoadOptions;
+
+		if (LOGGER.isLoggable(Level.FINE)) {
+			LOGGER.fine("Build toolkit capabilities: loadRules=" + supportsLoadRules //$NON-NLS-1$
+					+ ", workItemLinkControl=" + supportsWorkItemLinkControl //$NON-NLS-1$
+					+ ", buildScmLoadOptions=" + supportsBuildScmLoadOptions()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @return The capabilities of the build toolkit the facade was loaded from
+	 */
+	public static BuildToolkitCapabilities get() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * @return <code>true</code> if loads can be driven by load rules (603 and above)
+	 */
+	public boolean supportsLoadRules() {
+		return supportsLoadRules;
+	}
+
+	/**
+	 * @return <code>true</code> if publishing to work items can leave out the build
+	 * result links (70 and above)
+	 */
+	public boolean supportsWorkItemLinkControl() {
+		return supportsWorkItemLinkControl;
+	}
+
+	/**
+	 * @return <code>true</code> if loads are described by BuildScmLoadOptions, which
+	 * supports load policies and component load configurations (701 and above)
+	 */
+	public boolean supportsBuildScmLoadOptions() {
+		return supportsBuildScmLoadOptions;
+	}
+
+	/**
+	 * @return The IBuildLogListener interface. Only available when
+	 * {@link #supportsBuildScmLoadOptions()}
+	 */
+	Class<?> getBuildLogListenerInterface() {
+		return buildLogListenerInterface;
+	}
+
+	/**
+	 * Create the BuildScmLoadOptions for a load. Only available when
+	 * {@link #supportsBuildScmLoadOptions()}
+	 *
+	 * @throws Exception If the toolkit has the BuildScmLoadOptions class but
+	 * not the methods to use it
+	 */
+	Object getBuildScmLoadOptions(IWorkspaceConnection workspaceConnection, boolean synchronizeLoad, String fetchDestination,
+			boolean deleteDestinationBeforeFetch, String loadMethod, String loadPolicy, boolean createFoldersForComponents,
+			String componentLoadConfig, boolean includeComponents, String componentUuids, String componentLoadRuleUuids,
+			Collection<ILoadRule2> dynamicLoadRules, ILoadRule2 dynamicLoadRule, boolean preserveFileTimestamps, boolean expandKeywords,
+			ITeamRepository repository, IProgressMonitor monitor) throws Exception {
+		if (buildScmLoadOptionsFailure != null) {
+			throw buildScmLoadOptionsFailure;
+		}
+		try {
+			Object factory = getBuildScmLoadOptionsFactory.invoke();
+			return getBuildScmLoadOptions.invoke(factory, workspaceConnection, synchronizeLoad, fetchDestination,
+					deleteDestinationBeforeFetch, loadMethod, loadPolicy, createFoldersForComponents, componentLoadConfig,
+					includeComponents, componentUuids, componentLoadRuleUuids, dynamicLoadRules, dynamicLoadRule,
+					preserveFileTimestamps, expandKeywords, repository, monitor);
+		} catch (Exception | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RTCInternalException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Invoke SourceControlUtility.updateFileCopyArea(BuildScmLoadOptions, IBuildLogListener, IProgressMonitor).
+	 * Only available when {@link #supportsBuildScmLoadOptions()}
+	 */
+	void updateFileCopyArea(Object buildScmLoadOptions, Object buildLogListener, IProgressMonitor monitor) throws Exception {
+		if (buildScmLoadOptionsFailure != null) {
+			throw buildScmLoadOptionsFailure;
+		}
+		try {
+			updateFileCopyAreaWithLoadOptions.invoke(buildScmLoadOptions, buildLogListener, monitor);
+		} catch (Exception | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RTCInternalException(e.getMessage(), e);
+		}
+	}
+}
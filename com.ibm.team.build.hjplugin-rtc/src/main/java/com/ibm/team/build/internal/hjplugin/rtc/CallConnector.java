@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016 IBM Corporation and others.
+ * Copyright (c) 2016, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,80 +10,204 @@
  *******************************************************************************/
 package com.ibm.team.build.internal.hjplugin.rtc;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Class that connects to sequential calls on slave side to share some data.
  * Suppose call to Method1 on Slave is to be followed by call to Method2 on Slave, and some data
  * of type T is to be shared between these 2 calls, without letting this data flow
  * back to master. Then the usage should be as follows.
- * 
- * From within Method1, CallConnector should be instantiated, and started.
- * Method1 should make sure that its caller gets the id of CallConnector object instantiated.
- * This id should be made available to Method2. Method2 should then call static method getValue
+ *
+ * From within Method1, the data should be put in the connector, which returns a token.
+ * Method1 should make sure that its caller gets the token.
+ * This token should be made available to Method2. Method2 should then call take
  * to retrieve value of type T.
  *
+ * Data that is not taken before its timeout is discarded. The number of entries
+ * is bounded; when full, expired entries are discarded and then the entry closest
+ * to expiring.
  */
-public class CallConnector<T> extends Thread {
+public final class CallConnector<T> {
+
+	private static final Logger LOGGER = Logger.getLogger(CallConnector.class.getName());
 
 	public static final long DEFAULT_TIMEOUT = 3*60*1000; // 3 minutes
-	private T value;
-	List<T> container;
-	long timeout;
-	
-	public CallConnector(T value, long timeout) {
-		this.value = value;
-		this.timeout = timeout;
+
+	/**
+	 * System property for the maximum number of entries waiting to be taken
+	 */
+	public static final String MAX_ENTRIES_PROPERTY = "com.ibm.team.build.callConnector.maxEntries"; //$NON-NLS-1$
+
+	private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	// Expired entries are discarded at most this often when putting data
+	private static final long PURGE_INTERVAL = 30*1000; // 30 seconds
+
+	private static final CallConnector<CallConnectorData> DEFAULT = new CallConnector<CallConnectorData>(
+			Math.max(1, Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES)));
+
+	private static final class Entry<T> {
+		private final T value;
+		private final long expiry;
+
+		Entry(T value, long expiry) {
+			this.value = value;
+			this.expiry = expiry;
+		}
 	}
 
-	public CallConnector(T value) {
-		this(value, DEFAULT_TIMEOUT);
+	private final Map<String, Entry<T>> entries = new ConcurrentHashMap<String, Entry<T>>();
+	private final int maxEntries;
+	private volatile long nextPurge;
+
+	private final AtomicLong putCount = new AtomicLong();
+	private final AtomicLong takenCount = new AtomicLong();
+	private final AtomicLong expiredCount = new AtomicLong();
+	private final AtomicLong evictedCount = new AtomicLong();
+	private final AtomicLong missedCount = new AtomicLong();
+
+	/**
+	 * @param maxEntries The maximum number of entries waiting to be taken
+	 */
+	public CallConnector(int maxEntries) {
+		this.maxEntries = maxEntries;
 	}
 
 	/**
-	 * Start but wait, till a caller resumes by setting container.
-	 * If no caller does that, then time out.
+	 * @return The connector used to share data between accept and load
 	 */
-	@Override
-	public synchronized void run() {
-		try {
-			if (container == null) {
-				wait(timeout);
-			}
+	public static CallConnector<CallConnectorData> getDefault() {
+		return DEFAULT;
+	}
 
-			if (container != null) {
-				container.add(value);
-			}
-		} catch (InterruptedException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+	/**
+	 * Put the value to be taken by a later call
+	 * @param value The value
+	 * @return The token to take the value with
+	 */
+	public String put(T value) {
+		return put(value, DEFAULT_TIMEOUT);
+	}
+
+	/**
+	 * Put the value to be taken by a later call
+	 * @param value The value
+	 * @param timeout The number of milliseconds after which the value is discarded
+	 * if it was not taken
+	 * @return The token to take the value with
+	 */
+	public String put(T value, long timeout) {
+		long now = System.currentTimeMillis();
+		if (now >= nextPurge || entries.size() >= maxEntries) {
+			nextPurge = now + PURGE_INTERVAL;
+			purgeExpired(now);
 		}
+		while (entries.size() >= maxEntries) {
+			evictOne();
+		}
+		String token = UUID.randomUUID().toString();
+		entries.put(token, new Entry<T>(value, now + timeout));
+		putCount.incrementAndGet();
+		return token;
 	}
-	
-	public synchronized void resumeCall(List<T> container) {
-		this.container = container;
-		notify();
+
+	/**
+	 * Take the value put with the given token. A value can only be taken once.
+	 * @param token The token returned when the value was put
+	 * @return The value or <code>null</code> if there is no value for the token
+	 * or it has expired
+	 */
+	public T take(String token) {
+		Entry<T> entry = token == null ? null : entries.remove(token);
+		if (entry == null) {
+			missedCount.incrementAndGet();
+			LOGGER.finer("No value for token " + token); //$NON-NLS-1$
+			return null;
+		}
+		if (entry.expiry <= System.currentTimeMillis()) {
+			expiredCount.incrementAndGet();
+			LOGGER.finer("Value for token " + token + " expired"); //$NON-NLS-1$ //$NON-NLS-2$
+			return null;
+		}
+		takenCount.incrementAndGet();
+		return entry.value;
 	}
-	
-	public static Object getValue(long threadId) {
-		for (Thread t : Thread.getAllStackTraces().keySet()) {
-			if (t.getId() == threadId) {
-				if (t instanceof CallConnector) {
-					CallConnector c = (CallConnector)t;
-					List valueContainer = new ArrayList();
-					c.resumeCall(valueContainer);
-					try {
-						c.join();
-					} catch (InterruptedException e) {
-						e.printStackTrace();
-					}
-					if (valueContainer.size() > 0) {
-						return valueContainer.get(0);
-					}
-				}
+
+	private void purgeExpired(long now) {
+		int purged = 0;
+		for (Iterator<Entry<T>> it = entries.values().iterator(); it.hasNext(); ) {
+			if (it.next().expiry <= now) {
+				it.remove();
+				purged++;
 			}
 		}
-		return null;
+		if (purged > 0) {
+			expiredCount.addAndGet(purged);
+			LOGGER.fine("Discarded " + purged + " values that were not taken in time"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private void evictOne() {
+		String oldestToken = null;
+		long oldestExpiry = Long.MAX_VALUE;
+		for (Map.Entry<String, Entry<T>> e : entries.entrySet()) {
+			if (e.getValue().expiry < oldestExpiry) {
+				oldestExpiry = e.getValue().expiry;
+				oldestToken = e.getKey();
+			}
+		}
+		if (oldestToken != null && entries.remove(oldestToken) != null) {
+			evictedCount.incrementAndGet();
+			LOGGER.log(Level.WARNING, "Discarded a value that was not taken since the limit of " + maxEntries //$NON-NLS-1$
+					+ " values was reached. Set " + MAX_ENTRIES_PROPERTY + " to raise the limit."); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * @return The number of values waiting to be taken
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return The number of values put
+	 */
+	public long getPutCount() {
+		return putCount.get();
+	}
+
+	/**
+	 * @return The number of values taken
+	 */
+	public long getTakenCount() {
+		return takenCount.get();
+	}
+
+	/**
+	 * @return The number of values discarded because they were not taken in time
+	 */
+	public long getExpiredCount() {
+		return expiredCount.get();
+	}
+
+	/**
+	 * @return The number of values discarded to stay within the limit
+	 */
+	public long getEvictedCount() {
+		return evictedCount.get();
+	}
+
+	/**
+	 * @return The number of attempts to take a value for an unknown token
+	 */
+	public long getMissedCount() {
+		return missedCount.get();
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2021 IBM Corporation and others.
+ * Copyright (c) 2013, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -132,6 +132,20 @@ public class ChangeReportBuilder {
 			IBaselineSetHandle snapshot, String snapshotName, 
 			IChangeHistorySyncReport acceptReport, String previousBuildUrl, IConsoleOutput listener,
 			IProgressMonitor progress) throws TeamRepositoryException {
+		populateChangeReport(changeReport, workspaceHandle, streamName, snapshot, snapshotName,
+				SnapshotComparison.of(acceptReport), previousBuildUrl, listener, progress);
+	}
+
+	/**
+	 * Populates the given {@link ChangeReport} from the comparison of the snapshot with the
+	 * snapshot of the previous build. This is called in the context of accept from a stream
+	 * @see #populateChangeReport(ChangeReport, IWorkspaceHandle, String, IBaselineSetHandle, String, IChangeHistorySyncReport, String, IConsoleOutput, IProgressMonitor)
+	 */
+	void populateChangeReport(ChangeReport changeReport,
+			IWorkspaceHandle workspaceHandle, String streamName, 
+			IBaselineSetHandle snapshot, String snapshotName, 
+			SnapshotComparison acceptReport, String previousBuildUrl, IConsoleOutput listener,
+			IProgressMonitor progress) throws TeamRepositoryException {
 		
 		SubMonitor monitor = SubMonitor.convert(progress, 100);
 		
@@ -256,7 +270,7 @@ public class ChangeReportBuilder {
 	}
 	
 	private void fillChangeSetChanges(ChangeReport changeReport,
-			IChangeHistorySyncReport compareReport, IWorkspaceHandle workspaceHandle,
+			SnapshotComparison compareReport, IWorkspaceHandle workspaceHandle,
 			IConsoleOutput listener, IProgressMonitor progress) throws TeamRepositoryException {
 		List changeSetsAcceptedList = compareReport.outgoingChangeSets();
 		List changeSetsDisardedList = compareReport.incomingChangeSets();
@@ -402,7 +416,7 @@ public class ChangeReportBuilder {
 	}
 	
 	private void fillComponentChanges(ChangeReport changeReport,
-			IChangeHistorySyncReport compareReport, IConsoleOutput listener,
+			SnapshotComparison compareReport, IConsoleOutput listener,
 			IProgressMonitor progress) throws TeamRepositoryException {
 		List<IComponentHandle> componentAddsList = new ArrayList<IComponentHandle>();
 		List<IComponentHandle> componentRemovalsList = new ArrayList<IComponentHandle>();
@@ -740,6 +754,16 @@ public class ChangeReportBuilder {
 			IBaselineSet previousBaselineSet, String previousBaselineSetName,
 			IChangeHistorySyncReport acceptReport, IConsoleOutput listener,
 			IProgressMonitor progress) throws TeamRepositoryException {
+		populateChangeReport2(changeReport, workspaceHandle, workspaceName, baselineSet, baselineSetName,
+				previousBaselineSet, previousBaselineSetName, SnapshotComparison.of(acceptReport), listener, progress);
+	}
+
+	void populateChangeReport2(ChangeReport changeReport,
+			IWorkspaceHandle workspaceHandle, String workspaceName, 
+			IBaselineSet baselineSet, String baselineSetName,
+			IBaselineSet previousBaselineSet, String previousBaselineSetName,
+			SnapshotComparison acceptReport, IConsoleOutput listener,
+			IProgressMonitor progress) throws TeamRepositoryException {
     	LOGGER.entering(this.getClass().getName(), "populateChangeReport2 - previous snapshot");
 		SubMonitor monitor = SubMonitor.convert(progress, 100);
 		try {
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Works out the components that changed between two snapshots from the baseline of each
+ * component in each snapshot, a map of component UUID to baseline UUID. The map of a
+ * build's snapshot is kept with the Jenkins build, so that the next build only needs to
+ * fetch the baselines of its own snapshot and only asks the server to compare the
+ * components that changed, see {@link ComponentComparisons}.
+ */
+public final class ComponentBaselines {
+
+	private ComponentBaselines() {
+	}
+
+	/**
+	 * @param current The baseline of each component in the current snapshot
+	 * @param previous The baseline of each component in the previous snapshot
+	 * @return The components with a different baseline in the two snapshots or only in one of
+	 * them. The components of the current snapshot come first, in the order of <code>current</code>,
+	 * followed by the components only in the previous snapshot, in the order of <code>previous</code>.
+	 */
+	public static List<String> getChangedComponents(Map<String, String> current, Map<String, String> previous) {
+		List<String> changed = new ArrayList<String>();
+		for (Map.Entry<String, String> entry : current.entrySet()) {
+			String previousBaseline = previous.get(entry.getKey());
+			if (previousBaseline == null || !previousBaseline.equals(entry.getValue())) {
+				changed.add(entry.getKey());
+			}
+		}
+		for (String componentUUID : previous.keySet()) {
+			if (!current.containsKey(componentUUID)) {
+				changed.add(componentUUID);
+			}
+		}
+		return changed;
+	}
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import com.ibm.team.repository.common.TeamRepositoryException;
+
+/**
+ * Compares two snapshots one component at a time, a few components at a time on threads of
+ * their own, for {@link SnapshotComparison}. The results are merged in the order the components
+ * are given in, whatever the order the comparisons finish in.
+ */
+public final class ComponentComparisons {
+
+	/**
+	 * Compares the history of one component in the two snapshots
+	 * @param <T> The result of the comparison
+	 */
+	public interface ComponentComparer<T> {
+		/**
+		 * @param componentUUID The component to compare
+		 * @param progress A progress monitor, canceled when the comparison of the snapshots is.
+		 * Called on a thread of its own, only its cancellation is looked at.
+		 * @return The result of the comparison
+		 * @throws TeamRepositoryException If the component cannot be compared
+		 */
+		T compare(String componentUUID, IProgressMonitor progress) throws TeamRepositoryException;
+	}
+
+	/**
+	 * How often the comparisons in progress look whether they have been canceled
+	 */
+	private static final long CANCEL_CHECK_MILLIS = 200;
+
+	private static final AtomicInteger fgThreadCount = new AtomicInteger();
+
+	private ComponentComparisons() {
+	}
+
+	/**
+	 * Compare the components, up to <code>threads</code> components at a time. When the progress
+	 * monitor is canceled, the comparisons in progress are canceled and the others are not started.
+	 *
+	 * @param componentUUIDs The components to compare
+	 * @param threads The largest number of components compared at the same time
+	 * @param comparer Compares one component
+	 * @param progress A progress monitor, may be <code>null</code>
+	 * @return The results of the comparisons, in the order of <code>componentUUIDs</code>,
+	 * whatever the order the comparisons finish in
+	 * @throws TeamRepositoryException If a component cannot be compared
+	 */
+	public static <T> List<T> compare(List<String> componentUUIDs, int threads, final ComponentComparer<T> comparer,
+			IProgressMonitor progress) throws TeamRepositoryException {
+		List<T> merged = new ArrayList<T>(componentUUIDs.size());
+		if (componentUUIDs.isEmpty()) {
+			return merged;
+		}
+		final SubMonitor monitor = SubMonitor.convert(progress, componentUUIDs.size());
+		// the monitor is not thread safe, the comparisons only look at whether it is canceled
+		final IProgressMonitor workerMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return super.isCanceled() || monitor.isCanceled();
+			}
+		};
+		List<Callable<T>> comparisons = new ArrayList<Callable<T>>(componentUUIDs.size());
+		for (final String componentUUID : componentUUIDs) {
+			comparisons.add(new Callable<T>() {
+				@Override
+				public T call() throws TeamRepositoryException {
+					if (workerMonitor.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					return comparer.compare(componentUUID, workerMonitor);
+				}
+			});
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, componentUUIDs.size())), r -> {
+			Thread thread = new Thread(r, "EWM snapshot compare " + fgThreadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<T>> results = new ArrayList<Future<T>>(comparisons.size());
+			for (Callable<T> comparison : comparisons) {
+				results.add(executor.submit(comparison));
+			}
+			// merge in submission order
+			for (Future<T> result : results) {
+				while (true) {
+					if (monitor.isCanceled()) {
+						workerMonitor.setCanceled(true);
+						for (Future<T> pending : results) {
+							pending.cancel(true);
+						}
+						throw new OperationCanceledException();
+					}
+					try {
+						merged.add(result.get(CANCEL_CHECK_MILLIS, TimeUnit.MILLISECONDS));
+						break;
+					} catch (TimeoutException e) {
+						// look again whether canceled
+					}
+				}
+				monitor.worked(1);
+			}
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof TeamRepositoryException) {
+				throw (TeamRepositoryException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new TeamRepositoryException(cause);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} finally {
+			executor.shutdownNow();
+			monitor.done();
+		}
+		return merged;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright © 2017, 2021 IBM Corporation and others.
+ * Copyright © 2017, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -17,6 +17,7 @@ import com.ibm.team.build.common.model.BuildStatus;
 public class Constants {
 	public static final String TEAM_SCM_ACCEPT_PHASE_OVER = "team.scm.acceptPhaseOver"; //$NON-NLS-1$
 	public static final String BUILD_PROPERTIES = "buildProperties"; //$NON-NLS-1$
+	public static final String COMPONENT_BASELINES = "componentBaselines"; //$NON-NLS-1$
 	public static final String CONNECTOR_ID = "connectorId"; //$NON-NLS-1$
 	public static final String PARENT_ACTIVITY_ID = "parentActivityId"; //$NON-NLS-1$
 	public static final String TEAM_SCM_SNAPSHOT_OWNER = "team.scm.snapshotOwner"; //$NON-NLS-1$
@@ -24,6 +25,8 @@ public class Constants {
 	public static final String STREAM_DATA_SNAPSHOTUUID = "buildStreamDataSnapshotUUID"; //$NON-NLS-1$
 	public static final String STREAM_DATA_WORKSPACEUUID = "buildStreamDataWorkspaceUUID"; //$NON-NLS-1$
 	public static final String STREAM_DATA = "buildStreamData"; //$NON-NLS-1$
+	// The token of the lease of a workspace taken from a pool, see TemporaryWorkspacePool
+	public static final String STREAM_DATA_POOLED_WORKSPACE = "buildStreamDataPooledWorkspace"; //$NON-NLS-1$
 	public static final String BUILD_DEFINITION_ID = "buildDefinitionId"; //$NON-NLS-1$
 	public static final String DFLT_ENCODING = "UTF-8"; //$NON-NLS-1$
 	public static final String PROCESS_AREA_PATH_SEPARATOR = "/"; //$NON-NLS-1$
@@ -161,12 +164,30 @@ public class Constants {
 	
     static final String METRONOME_OPTIONS_PROPERTY_NAME = "metronomeOptions";
 
+	/**
+	 * Names of the options that ask for the temporary workspaces of a build stream to be
+	 * kept in a pool, see {@link TemporaryWorkspacePool}
+	 */
+	static final String TEMPORARY_WORKSPACE_POOL_KEY = "temporaryWorkspacePoolKey"; //$NON-NLS-1$
+	static final String TEMPORARY_WORKSPACE_POOL_SIZE = "temporaryWorkspacePoolSize"; //$NON-NLS-1$
+
+	/**
+	 * Name of the option that carries the baseline UUID of each component UUID in the previous
+	 * snapshot, as returned in {@link #COMPONENT_BASELINES} for it
+	 */
+	static final String PREVIOUS_COMPONENT_BASELINES = "previousComponentBaselines"; //$NON-NLS-1$
+
 	/**
 	 * Name of the property that holds the metronome data in the result object
 	 */
 	public static final String METRONOME_DATA_PROPERTY_NAME = "metronomeData"; //$NON-NLS-1$
 	public static final String STATISTICS_REPORT_PROPERTY_NAME = "statisticsReport"; //$NON-NLS-1$
 	public static final String STATISTICS_DATA_PROPERTY_NAME = "statisticsData"; //$NON-NLS-1$
+
+	/**
+	 * Name of the property that holds the {@link TimingRecorder} spans in the result object
+	 */
+	public static final String TIMINGS_PROPERTY_NAME = "timings"; //$NON-NLS-1$
 	public static final String TEAM_BUILD_REPORT_STATISTICS_PROPERTY_NAME = 
 			"team.build.reportStatistics"; //$NON-NLS-1$
 	
@@ -255,6 +276,13 @@ public class Constants {
 	 */
 	public static final String RTCBuildUtils_FILEINFOS_KEY = "fileInfos";
 	
+	/**
+	 * Key for identifying the start index of the next page of logs or 
+	 * artifacts in a map. The value is <code>-1</code> if there are no 
+	 * more pages.
+	 */
+	public static final String RTCBuildUtils_NEXT_START_INDEX_KEY = "nextStartIndex";
+	
 	/**
 	 * Key to identify the name of a file that is downloaded from the 
 	 * repository, in a map.
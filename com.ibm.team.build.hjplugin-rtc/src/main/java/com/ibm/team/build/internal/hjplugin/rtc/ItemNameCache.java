@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.team.repository.client.ITeamRepository;
+import com.ibm.team.repository.common.IItemHandle;
+import com.ibm.team.repository.common.IItemType;
+import com.ibm.team.repository.common.UUID;
+
+/**
+ * Remembers which item a stream, workspace, snapshot or project/team area name was
+ * resolved to, so that jobs configured by name do not search the repository for it
+ * on every poll, accept, load and validation. Names are resolved per repository and
+ * user, since the user determines the items that can be seen.
+ *
+ * The callers confirm a remembered item by fetching it by its UUID and checking its
+ * name, and {@link #invalidate} the entry if that fails. A name that was not found is
+ * also remembered, for a shorter time, see {@link #NEGATIVE_TTL_PROPERTY}.
+ */
+public final class ItemNameCache {
+
+	private static final Logger LOGGER = Logger.getLogger(ItemNameCache.class.getName());
+
+	/**
+	 * System property for the number of seconds a resolved name is kept. 0 disables the cache.
+	 */
+	public static final String TTL_PROPERTY = "com.ibm.team.build.nameCacheTTL"; //$NON-NLS-1$
+
+	/**
+	 * System property for the number of seconds a name that was not found is kept.
+	 * 0 does not keep them.
+	 */
+	public static final String NEGATIVE_TTL_PROPERTY = "com.ibm.team.build.nameCacheNegativeTTL"; //$NON-NLS-1$
+
+	public static final String KIND_STREAM = "stream"; //$NON-NLS-1$
+	public static final String KIND_WORKSPACE = "workspace"; //$NON-NLS-1$
+	public static final String KIND_PROCESS_AREA = "processArea"; //$NON-NLS-1$
+	public static final String KIND_SNAPSHOT = "snapshot"; //$NON-NLS-1$
+
+	private static final long DEFAULT_TTL_SECONDS = 300;
+	private static final long DEFAULT_NEGATIVE_TTL_SECONDS = 15;
+
+	/**
+	 * The largest number of names kept. When there are more, the expired entries are dropped
+	 * and, if that is not enough, all of them.
+	 */
+	public static final int MAX_ENTRIES = 1000;
+
+	private static final ItemNameCache DEFAULT = new ItemNameCache();
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+	/**
+	 * What a name was resolved to
+	 */
+	public static final class Entry {
+		private final IItemType itemType;
+		private final UUID itemId;
+		private final long expiry;
+
+		Entry(IItemType itemType, UUID itemId, long expiry) {
+			this.itemType = itemType;
+			this.itemId = itemId;
+			this.expiry = expiry;
+		}
+
+		/**
+		 * @return <code>true</code> if the name was not found
+		 */
+		public boolean isMissing() {
+			return itemId == null;
+		}
+
+		/**
+		 * @return A handle to the item the name was resolved to. Only for an entry
+		 * that is not {@link #isMissing()}
+		 */
+		public IItemHandle getItemHandle() {
+			return itemType.createItemHandle(itemId, null);
+		}
+	}
+
+	/**
+	 * Used only for testing purposes
+	 */
+	public ItemNameCache() {
+	}
+
+	/**
+	 * @return The cache shared by the lookups in this facade
+	 */
+	static ItemNameCache getDefault() {
+		return DEFAULT;
+	}
+
+	private static String getKey(ITeamRepository repository, String kind, String owner, String name) {
+		StringBuilder key = new StringBuilder();
+		appendPart(key, repository.getRepositoryURI());
+		appendPart(key, repository.getUserId());
+		appendPart(key, kind);
+		appendPart(key, owner);
+		appendPart(key, name);
+		return key.toString();
+	}
+
+	/**
+	 * Append a part of a key with its length first, so that the parts cannot run into
+	 * each other whatever characters the names contain
+	 */
+	private static void appendPart(StringBuilder key, String part) {
+		if (part == null) {
+			key.append('-');
+			return;
+		}
+		key.append(part.length()).append(':').append(part);
+	}
+
+	/**
+	 * @param repository The repository the name is resolved in
+	 * @param kind The kind of item
+	 * @param owner What the search for the name is scoped to, <code>null</code> if not scoped
+	 * @param name The name
+	 * @return What the name was resolved to, <code>null</code> if it is not known
+	 */
+	public Entry get(ITeamRepository repository, String kind, String owner, String name) {
+		String key = getKey(repository, kind, owner, name);
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expiry <= System.currentTimeMillis()) {
+			entries.remove(key, entry);
+			return null;
+		}
+		if (LOGGER.isLoggable(Level.FINEST)) {
+			LOGGER.finest("Using the cached resolution of " + kind + " \"" + name + "\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		return entry;
+	}
+
+	/**
+	 * Remember the item a name was resolved to
+	 * @param repository The repository the name is resolved in
+	 * @param kind The kind of item
+	 * @param owner What the search for the name is scoped to, <code>null</code> if not scoped
+	 * @param name The name
+	 * @param item The item found
+	 */
+	public void put(ITeamRepository repository, String kind, String owner, String name, IItemHandle item) {
+		put(getKey(repository, kind, owner, name), item.getItemType(), item.getItemId(), getTTLMillis(TTL_PROPERTY, DEFAULT_TTL_SECONDS));
+	}
+
+	/**
+	 * Remember that no item has the name
+	 * @param repository The repository the name is resolved in
+	 * @param kind The kind of item
+	 * @param owner What the search for the name is scoped to, <code>null</code> if not scoped
+	 * @param name The name
+	 */
+	public void putMissing(ITeamRepository repository, String kind, String owner, String name) {
+		put(getKey(repository, kind, owner, name), null, null,
+				Math.min(getTTLMillis(TTL_PROPERTY, DEFAULT_TTL_SECONDS), getTTLMillis(NEGATIVE_TTL_PROPERTY, DEFAULT_NEGATIVE_TTL_SECONDS)));
+	}
+
+	/**
+	 * Forget what the name was resolved to, for example because the item no longer
+	 * exists or has been renamed
+	 * @param repository The repository the name is resolved in
+	 * @param kind The kind of item
+	 * @param owner What the search for the name is scoped to, <code>null</code> if not scoped
+	 * @param name The name
+	 */
+	public void invalidate(ITeamRepository repository, String kind, String owner, String name) {
+		String key = getKey(repository, kind, owner, name);
+		if (entries.remove(key) != null) {
+			LOGGER.finer("Discarded the cached resolution of " + kind + " \"" + name + "\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	/**
+	 * Forget all names
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * @return The number of names kept, including those that expired and were not looked up since
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	private void put(String key, IItemType itemType, UUID itemId, long ttl) {
+		if (ttl <= 0) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		if (entries.size() >= MAX_ENTRIES) {
+			for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+				if (it.next().expiry <= now) {
+					it.remove();
+				}
+			}
+			if (entries.size() >= MAX_ENTRIES) {
+				// a lookup that is not cached only costs a search
+				entries.clear();
+			}
+		}
+		entries.put(key, new Entry(itemType, itemId, now + ttl));
+	}
+
+	private static long getTTLMillis(String property, long defaultSeconds) {
+		return TimeUnit.SECONDS.toMillis(Long.getLong(property, defaultSeconds));
+	}
+}
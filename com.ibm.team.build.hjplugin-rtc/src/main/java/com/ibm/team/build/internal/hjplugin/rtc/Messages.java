@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2021 IBM Corporation and others.
+ * Copyright (c) 2013, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -1152,6 +1152,15 @@ public class Messages {
 		return MessageFormat.format(getString("RTCBuildUtils_maxResults_is_invalid"), 
 								Integer.toString(arg1), Integer.toString(arg2));
 	}
+	
+	/**
+	 * The value "{0}" specified for "startIndex" parameter is invalid. 
+	 * Provide a non negative integer.
+	 */
+	public String RTCBuildUtils_startIndex_is_invalid(int arg1) {
+		return MessageFormat.format(getString("RTCBuildUtils_startIndex_is_invalid"), 
+								Integer.toString(arg1));
+	}
 	/**
 	 * The value "{0}" specified for "extendedContributionTypeId" parameter is invalid.
 	 */
@@ -1261,6 +1270,35 @@ public class Messages {
 	public String RepositoryConnection_unable_to_publish_metronome_log() {
 		return getString("RepositoryConnection_unable_to_publish_metronome_log");
 	}
+
+	/**
+	 * The temporary workspace is taken from the pool of the job and goes back to it at the end of the load. It is not kept for the rest of the build.
+	 */
+	public String RepositoryConnection_pooled_workspace_not_kept() {
+		return getString("RepositoryConnection_pooled_workspace_not_kept");
+	}
+
+	/**
+	 * Work item {0} was not found.
+	 */
+	public String WorkItemUtils_work_item_not_found(String arg1) {
+		return MessageFormat.format(getString("WorkItemUtils_work_item_not_found"), arg1);
+	}
+
+	/**
+	 * Interrupted while linking work items to "{0}".
+	 */
+	public String WorkItemUtils_link_interrupted(String arg1) {
+		return MessageFormat.format(getString("WorkItemUtils_link_interrupted"), arg1);
+	}
+
+	/**
+	 * Unable to link work items {0} to "{1}".
+	 */
+	public String WorkItemUtils_unable_to_link_work_items(String arg1, String arg2) {
+		return MessageFormat.format(getString("WorkItemUtils_unable_to_link_work_items"), arg1, arg2);
+	}
+
 	/**
      * Get the message from the bundle
      * 
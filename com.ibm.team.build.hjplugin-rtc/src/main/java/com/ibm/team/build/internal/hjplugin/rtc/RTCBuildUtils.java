@@ -621,6 +621,59 @@ public class RTCBuildUtils {
 						ITeamRepository teamRepository, IConsoleOutput listener, 
 						Locale clientLocale, IProgressMonitor progress) throws TeamRepositoryException, 
 								RTCConfigurationException {
+		return listFiles(buildResultUUID, fileNameOrPattern, componentName, contributionType, 
+						0, maxResults, teamRepository, listener, clientLocale, progress);
+	}
+
+	/**
+	 * Page based variant of {@link #listFiles(String, String, String, String, int, 
+	 * ITeamRepository, IConsoleOutput, Locale, IProgressMonitor)}.
+	 * 
+	 * Contributions are scanned starting at <code>startIndex</code> in the list of 
+	 * contributions of the given type. Scanning stops once <code>maxResults</code> 
+	 * matching contributions have been collected. The position from where the next 
+	 * page should be scanned is returned under {@link Constants#RTCBuildUtils_NEXT_START_INDEX_KEY}.
+	 * If there are no more contributions to be scanned, the value is <code>-1</code>.
+	 * 
+	 * To list all matching files, call this method with <code>startIndex</code> 
+	 * <code>0</code> and then with the returned next start index, with the same filters, 
+	 * until <code>-1</code> is returned.
+	 * 
+	 * @param buildResultUUID    The UUID of the build result. Cannot be 
+	 *                           <code>null</code>
+	 * @param fileNameOrPattern  The file name to match, can be a pattern. 
+     *                           Can be <code>null</code>.
+	 * @param componentName      The name of the component that the contribution 
+	 *                           should belong to. Can be <code>null</code>.
+	 * @param fileType           The type of the contribution. Valid values are 
+	 *                           <code>log</code> and <code>artifact</code>.
+	 * @param startIndex         The position in the contribution list from where 
+	 *                           scanning should start. Should not be negative.
+	 * @param maxResults         The maximum number of results to be provided in the 
+	 *                           return value. Should be less than 
+	 *                           {@link Constants#LIST_FILES_MAX_RESULTS}
+	 * @param teamRepository     An instance of {@link ITeamRepository}. Ensure that the server 
+	 *                           is logged into before calling this API.
+	 * @param consoleOutput      An output stream to send messages into. This will be 
+	 *                           in the build log.
+	 * @param clientLocale       The locale in which user visible messages should be output
+	 * @param progress           A progress monitor
+	 * @return                   A map in the following format
+	 *                           key 1 - {@link Constants#RTCBuildUtils_FILEINFOS_KEY}
+	 *                           value - An {@link List} of {@link List<String>}. See 
+	 *                                   {@link #listFiles(String, String, String, String, int, 
+	 *                                   ITeamRepository, IConsoleOutput, Locale, IProgressMonitor)}
+	 *                           key 2 - {@link Constants#RTCBuildUtils_NEXT_START_INDEX_KEY}
+	 *                           value - An {@link Integer} with the start index of the next page
+	 *                                   or <code>-1</code> if there are no more pages.
+	 * @throws TeamRepositoryException   If there is an issue in service calls to the EWM server
+	 * @throws RTCConfigurationException If any of the input fails validation.
+	 */
+	public Map<String, Object> listFiles(String buildResultUUID, String fileNameOrPattern,
+						String componentName, String contributionType, int startIndex, int maxResults, 
+						ITeamRepository teamRepository, IConsoleOutput listener, 
+						Locale clientLocale, IProgressMonitor progress) throws TeamRepositoryException, 
+								RTCConfigurationException {
 		LOGGER.entering(this.getClass().getName(), "listFiles");
 		SubMonitor monitor = SubMonitor.convert(progress, 100);
 		try {
@@ -629,11 +682,12 @@ public class RTCBuildUtils {
 			validateBuildResultUUIDParam(buildResultUUID);
 			
 			// Validate proper regex for fileNameOrPattern
+			// The compiled pattern is reused for matching every contribution
 			fileNameOrPattern = Utils.fixEmptyAndTrim(fileNameOrPattern);
+			Pattern fileNamePattern = null;
 			if (fileNameOrPattern != null) {
 				try {
-					@SuppressWarnings("unused")
-					Pattern p = Pattern.compile(fileNameOrPattern);
+					fileNamePattern = Pattern.compile(fileNameOrPattern);
 				} catch (PatternSyntaxException exp) {
 						throw new RTCConfigurationException(
 							 Messages.getDefault().
@@ -653,28 +707,38 @@ public class RTCBuildUtils {
 								maxResults, LIST_FILES_MAX_RESULTS));				
 			}
 			
+			// validate startIndex >= 0
+			if (startIndex < 0) {
+				throw new RTCConfigurationException(
+						Messages.getDefault().RTCBuildUtils_startIndex_is_invalid(startIndex));
+			}
+			
 			ITeamBuildClient buildClient = (ITeamBuildClient) teamRepository.
 												getClientLibrary(ITeamBuildClient.class);
 			IBuildResultHandle brHandle = (IBuildResultHandle) IBuildResult.ITEM_TYPE.
 								createItemHandle(UUID.valueOf(buildResultUUID), null);
 			
-			// Validate the build result first and then fetch the contributions
-			// Although this looks wasteful, we will get a better exception message
-			// if the build result is not found.
-			IBuildResult buildResult = getBuildResultWithValidation(brHandle,
-						new String[] {IBuildResult.PROPERTY_LABEL},
-						teamRepository, monitor.newChild(1));
+			// Fetch the contributions directly. Only if there are none, validate 
+			// the build result so that we get a better exception message if the 
+			// build result is not found. This saves a round trip in the common case.
 			IBuildResultContribution[] contributions = getBuildResultContributions(
-								buildClient, (IBuildResultHandle) buildResult.getItemHandle(), 
-								contributionType, monitor.newChild(19));
+								buildClient, brHandle, contributionType, monitor.newChild(19));
+			if (contributions == null || contributions.length == 0) {
+				getBuildResultWithValidation(brHandle, new String[] {IBuildResult.PROPERTY_LABEL},
+						teamRepository, monitor.newChild(1));
+				contributions = new IBuildResultContribution[0];
+			}
 
 			List<IBuildResultContribution> filteredContributions = new ArrayList<>();
-			for (IBuildResultContribution contribution : contributions) {
-				// If the number of filtered contributions is greater than maxResults,
-				// quit the loop. 
+			int nextStartIndex = -1;
+			for (int i = startIndex; i < contributions.length; i++) {
+				// If the number of filtered contributions has reached maxResults,
+				// remember where to resume from and quit the loop. 
 				if (filteredContributions.size() >= maxResults) {
+					nextStartIndex = i;
 					break;
 				}
+				IBuildResultContribution contribution = contributions[i];
 				
 				// Once the contributions are fetched, filter out the ones that have 
 				// PROPERTY_FILE_NAME set and extenedContributionData not null 
@@ -698,7 +762,7 @@ public class RTCBuildUtils {
 				}
 				
 				boolean fileNameOrPatternMatch = true;
-				if (fileNameOrPattern != null && !contributionFileName.matches(fileNameOrPattern)) {
+				if (fileNamePattern != null && !fileNamePattern.matcher(contributionFileName).matches()) {
 					LOGGER.finest(String.format("Contribution's file name %s did not match %s", 
 												contributionFileName, fileNameOrPattern));
 					fileNameOrPatternMatch = false;
@@ -735,6 +799,7 @@ public class RTCBuildUtils {
 			monitor.worked(40);
 			Map<String, Object> properties = new HashMap<>();
 			properties.put(Constants.RTCBuildUtils_FILEINFOS_KEY, filteredFiles);
+			properties.put(Constants.RTCBuildUtils_NEXT_START_INDEX_KEY, Integer.valueOf(nextStartIndex));
 			return properties;
 		} finally {
 			monitor.done();
@@ -1,6 +1,6 @@
 /*******************************************************************************
  * Licensed Materials - Property of IBM
- * (c) Copyright IBM Corporation 2013, 2024. All Rights Reserved.
+ * (c) Copyright IBM Corporation 2013, 2025. All Rights Reserved.
  * 
  * Note to U.S. Government Users Restricted Rights:  Use,
  * duplication or disclosure restricted by GSA ADP Schedule 
@@ -30,6 +30,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 
 import com.ibm.team.build.internal.hjplugin.rtc.RTCSnapshotUtils.BuildSnapshotContext;
+import com.ibm.team.repository.client.TeamPlatform;
 import com.ibm.team.repository.common.ItemNotFoundException;
 import com.ibm.team.repository.common.TeamRepositoryException;
 
@@ -57,6 +58,39 @@ public class RTCFacade {
 		return fBuildClient;
 	}
 	
+	/**
+	 * Prepares the facade for builds ahead of time by starting the team platform
+	 */
+	public void warmUp() {
+		getBuildClient();
+	}
+
+	/**
+	 * Checks the connections kept by the facade, dropping the ones no longer logged in
+	 * @return The number of connections that are logged in
+	 */
+	public int checkConnections() {
+		return getBuildClient().checkRepositoryConnections();
+	}
+
+	/**
+	 * Logs out of and drops the connections kept by the facade, before the facade is discarded
+	 */
+	public void releaseConnections() {
+		getBuildClient().removeAllRepositoryConnections();
+	}
+
+	/**
+	 * Logs out of and drops the connections kept by the facade and shuts down the team
+	 * platform of the facade's class loader, before the class loader is closed
+	 */
+	public void shutdown() {
+		releaseConnections();
+		if (TeamPlatform.isStarted()) {
+			TeamPlatform.shutdown();
+		}
+	}
+
 	/**
 	 * Logs into the repository to test the connection. Essentially exercises the configuration parameters supplied.
 	 * @param serverURI The address of the repository server
@@ -487,27 +521,33 @@ public class RTCFacade {
 			final Object listener, Locale clientLocale, String callConnectorTimeout, 
 			boolean acceptBeforeLoad, boolean addLinksToWorkItems, Map<String, String> buildURLMap,
 			String temporaryWorkspaceComment, Map<String, Object> options) throws Exception {
-		IProgressMonitor monitor = getProgressMonitor();
-		AbstractBuildClient buildClient = getBuildClient(); 
-		ConnectionDetails connectionDetails = buildClient.getConnectionDetails(serverURI, userId, password, timeout);
-		IConsoleOutput clientConsole = getConsoleOutput(listener);
-		RepositoryConnection repoConnection = buildClient.getRepositoryConnection(connectionDetails);
-		ChangeReport report = null;
-		if (changeLog != null) {
-			report = new ChangeReport(changeLog);
-		}
-		try	{
+		TimingRecorder timings = TimingRecorder.bind();
+		try (TimingRecorder.Span span = TimingRecorder.start("accept")) { //$NON-NLS-1$
+			IProgressMonitor monitor = getProgressMonitor();
+			AbstractBuildClient buildClient = getBuildClient(); 
+			ConnectionDetails connectionDetails = buildClient.getConnectionDetails(serverURI, userId, password, timeout);
+			IConsoleOutput clientConsole = getConsoleOutput(listener);
+			RepositoryConnection repoConnection = buildClient.getRepositoryConnection(connectionDetails);
+			ChangeReport report = null;
+			if (changeLog != null) {
+				report = new ChangeReport(changeLog);
+			}
 			if (buildURLMap == null) {
 				buildURLMap = new HashMap<String, String>();
 			}
 			// create the BuildSnaphotContextMap instance from the context map and pass it to accept
-			return repoConnection.accept(processArea, buildResultUUID, buildWorkspace, new BuildSnapshotContext(buildSnapshotContextMap),
+			Map<String, Object> result = repoConnection.accept(processArea, buildResultUUID, buildWorkspace, new BuildSnapshotContext(buildSnapshotContextMap),
 					buildSnapshot, buildStream, hjWorkspacePath, report, isCustomSnapshotName, snapshotName, previousSnapshotUUID, clientConsole, monitor, clientLocale,
 					callConnectorTimeout, acceptBeforeLoad, addLinksToWorkItems, buildURLMap, temporaryWorkspaceComment, options);
+			span.end();
+			result.put(Constants.TIMINGS_PROPERTY_NAME, timings.getSpans());
+			return result;
 		} catch (OperationCanceledException e) {
 			throw Utils.checkForCancellation(e);
 		} catch (TeamRepositoryException e) {
 			throw Utils.checkForCancellation(e);
+		} finally {
+			TimingRecorder.unbind();
 		}
 	}
 
@@ -562,22 +602,28 @@ public class RTCFacade {
 			boolean createFoldersForComponents, boolean acceptBeforeLoad, String temporaryWorkpsaceComment, boolean shouldDeleteTemporaryWorkspace,
 			Map<String, Object> options)
 			throws Exception {
-		IProgressMonitor monitor = getProgressMonitor();
-		AbstractBuildClient buildClient = getBuildClient();
-		ConnectionDetails connectionDetails = buildClient.getConnectionDetails(serverURI, userId, password, timeout);
-		IConsoleOutput clientConsole = getConsoleOutput(listener);
-		RepositoryConnection repoConnection = buildClient.getRepositoryConnection(connectionDetails);
-		try	{
+		TimingRecorder timings = TimingRecorder.bind();
+		try (TimingRecorder.Span span = TimingRecorder.start("load")) { //$NON-NLS-1$
+			IProgressMonitor monitor = getProgressMonitor();
+			AbstractBuildClient buildClient = getBuildClient();
+			ConnectionDetails connectionDetails = buildClient.getConnectionDetails(serverURI, userId, password, timeout);
+			IConsoleOutput clientConsole = getConsoleOutput(listener);
+			RepositoryConnection repoConnection = buildClient.getRepositoryConnection(connectionDetails);
 			// create the BuildSnapshotContext instance from the Map and pass it to load
-			return repoConnection.load(processArea, buildResultUUID, buildWorkspace, new BuildSnapshotContext(buildSnapshotContextMap),
+			Map<String, Object> result = repoConnection.load(processArea, buildResultUUID, buildWorkspace, new BuildSnapshotContext(buildSnapshotContextMap),
 					buildSnapshot, buildStream, buildStreamData, hjWorkspacePath, isCustomSnapshotName, snapshotName, clientConsole, monitor,
 					clientLocale, parentActivityId, connectorId, extProvider, logger, loadPolicy, componentLoadConfig, componentsToExclude,
 					pathToLoadRuleFile, isDeleteNeeded, createFoldersForComponents, acceptBeforeLoad, temporaryWorkpsaceComment,
 					shouldDeleteTemporaryWorkspace, options);
+			span.end();
+			result.put(Constants.TIMINGS_PROPERTY_NAME, timings.getSpans());
+			return result;
 		} catch (OperationCanceledException e) {
 			throw Utils.checkForCancellation(e);
 		} catch (TeamRepositoryException e) {
 			throw Utils.checkForCancellation(e);
+		} finally {
+			TimingRecorder.unbind();
 		}
 	}
 	
@@ -695,6 +741,41 @@ public class RTCFacade {
 		
 	}
 
+	/**
+	 * Delete a batch of build results using a single connection
+	 * @param serverURI The address of the repository server
+	 * @param userId The user id to use when logging into the server
+	 * @param password The password to use when logging into the server.
+	 * @param timeout The timeout period for requests made to the server
+	 * @param buildResultUUIDs The UUIDs of the build results to delete
+	 * @param listener A listener that will be notified of the progress and errors encountered.
+	 * This is defined as an Object due to class loader issues. It is expected to implement
+	 * {@link TaskListener}.
+	 * @param clientLocale The locale of the requesting client
+	 * @return A map from the UUID of each build result that could not be deleted
+	 * to the reason. Empty if all of them were deleted.
+	 */
+	public Map<String, String> deleteBuildResults(String serverURI,
+							String userId,
+							String password,
+							int timeout,
+							List<String> buildResultUUIDs,
+							final Object listener,
+							Locale clientLocale) throws Exception {
+		IProgressMonitor monitor = getProgressMonitor();
+		IConsoleOutput clientConsole = getConsoleOutput(listener);
+		AbstractBuildClient buildClient = getBuildClient(); 
+		ConnectionDetails connectionDetails = buildClient.getConnectionDetails(serverURI, userId, password, timeout);
+		RepositoryConnection repoConnection = buildClient.getRepositoryConnection(connectionDetails);
+		try	{
+			return repoConnection.deleteBuildResults(buildResultUUIDs, clientConsole, monitor, clientLocale);
+		} catch (OperationCanceledException e) {
+			throw Utils.checkForCancellation(e);
+		} catch (TeamRepositoryException e) {
+			throw Utils.checkForCancellation(e);
+		}
+	}
+
 	/**
 	 * Validate if the project area/team area exists.
 	 * 
@@ -1255,6 +1336,53 @@ public class RTCFacade {
 		}
 	}
 	
+	/**
+	 * 
+	 * See {@link RepositoryConnection#listFiles(String, String, String, String, int, int, 
+	 * IConsoleOutput, Locale, SubMonitor)} for a description of this method's behavior
+	 *
+	 * @param serverURI The RTC server in which the repository workspace resides
+	 * @param userId The user Id for the repository
+	 * @param password The password for the user ID
+	 * @param timeout The timeout period for requests made to the server
+	 * @param buildResultUUID    The UUID of the build result. Cannot be 
+	 *                           <code>null</code>
+	 * @param fileNameOrPattern  The file name to match, can be a pattern. 
+     *                           Can be <code>null</code>.
+	 * @param componentName      The name of the component that the contribution 
+	 *                           should belong to. Can be <code>null</code>.
+	 * @param fileType           The type of the contribution. Valid values are 
+	 *                           <code>log</code> and <code>artifact</code>.
+	 * @param startIndex         The position in the contribution list from where 
+	 *                           scanning should start. 
+	 * @param maxResults         The maximum number of results to be provided in the 
+	 *                           return value. Should be less than 
+	 *                           {@link Constants#LIST_FILES_MAX_RESULTS}
+	 * @param listener           An output stream to send messages into. This will be 
+	 *                           in the build log.
+	 * @param clientLocale       The locale in which user visible messages should be formatted
+	 * @return                   A map with keys {@link Constants#RTCBuildUtils_FILEINFOS_KEY}
+	 *                           and {@link Constants#RTCBuildUtils_NEXT_START_INDEX_KEY}
+	 * @throws TeamRepositoryException   If there is an issue in service calls to the EWM server
+	 * @throws RTCConfigurationException If any of the input fails validation.
+	 */
+	public Map<String, Object> listFiles(String serverURI, String userId, String password, int timeout, 
+			String buildResultUUID, String fileNameOrPattern, String componentName, String contributionType, 
+			int startIndex, int maxResults, Object listener, Locale clientLocale) throws Exception {
+		SubMonitor monitor = getProgressMonitor(); 
+		AbstractBuildClient buildClient = getBuildClient();
+		ConnectionDetails connectionDetails = buildClient.getConnectionDetails(serverURI, 
+											userId, password, timeout);
+		RepositoryConnection repoConnection = buildClient.getRepositoryConnection(connectionDetails);
+		try {
+			return repoConnection.listFiles(buildResultUUID, fileNameOrPattern, componentName, 
+								contributionType, startIndex, maxResults, getConsoleOutput(listener), 
+								clientLocale, monitor);
+		} catch (OperationCanceledException e) {
+			throw Utils.checkForCancellation(e);
+		}
+	}
+	
 	/**
 	 * See {@link RepositoryConnection#downloadFile} for a description of this method's behavior
 	 * 
@@ -1358,6 +1486,24 @@ public class RTCFacade {
 			String password, int timeout, String snapshotUUID,
 			String workspaceUUID, String previousSnapshotUUID, OutputStream changelog, 
 			Object listener, Locale clientLocale) throws Exception {
+		return generateChangelog(serverURI, userId, password, timeout, snapshotUUID, workspaceUUID, 
+				previousSnapshotUUID, null, changelog, listener, clientLocale);
+	}
+
+	/**
+	 * Generate a changelog, comparing only the components whose baseline changed since the
+	 * previous snapshot. 
+	 * 
+	 * @param previousComponentBaselines     The baseline UUID of each component UUID in the previous snapshot, 
+	 *                                       as returned for the previous build. May be <code>null</code>.
+	 * @return                               A map which contains the build properties and the baseline UUID
+	 *                                       of each component UUID in the snapshot, if they are known.
+	 * @see #generateChangelog(String, String, String, int, String, String, String, OutputStream, Object, Locale)
+	 */
+	public Map<String, Object> generateChangelog(String serverURI, String userId, 
+			String password, int timeout, String snapshotUUID,
+			String workspaceUUID, String previousSnapshotUUID, Map<String, String> previousComponentBaselines,
+			OutputStream changelog, Object listener, Locale clientLocale) throws Exception {
 		LOGGER.entering(this.getClass().getName(), "generateChangelog");
 		SubMonitor monitor = getProgressMonitor();
 		try {
@@ -1366,7 +1512,7 @@ public class RTCFacade {
 												userId, password, timeout);
 			RepositoryConnection repoConnection = buildClient.getRepositoryConnection(connectionDetails);
 			return repoConnection.generateChangelog(snapshotUUID,  
-						workspaceUUID, previousSnapshotUUID, changelog, getConsoleOutput(listener), clientLocale,
+						workspaceUUID, previousSnapshotUUID, previousComponentBaselines, changelog, getConsoleOutput(listener), clientLocale,
 						monitor.newChild(100));
 		} catch (OperationCanceledException exp) {
 			throw Utils.checkForCancellation(exp);
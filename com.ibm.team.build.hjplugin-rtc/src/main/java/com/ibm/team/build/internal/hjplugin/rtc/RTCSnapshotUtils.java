@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2021 IBM Corporation and others.
+ * Copyright (c) 2016, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,22 +16,31 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 
 import com.ibm.team.process.common.IProcessArea;
 import com.ibm.team.process.common.IProjectArea;
 import com.ibm.team.repository.client.ITeamRepository;
+import com.ibm.team.repository.client.ServerVersionCheckException;
 import com.ibm.team.repository.client.internal.ItemManager;
 import com.ibm.team.repository.common.IItemHandle;
+import com.ibm.team.repository.common.ItemNotFoundException;
+import com.ibm.team.repository.common.PermissionDeniedException;
 import com.ibm.team.repository.common.TeamRepositoryException;
 import com.ibm.team.repository.common.UUID;
+import com.ibm.team.scm.client.IWorkspaceConnection;
 import com.ibm.team.scm.client.SCMPlatform;
+import com.ibm.team.scm.common.BaselineSetFlags;
 import com.ibm.team.scm.common.IBaselineSet;
 import com.ibm.team.scm.common.IBaselineSetHandle;
+import com.ibm.team.scm.common.IWorkspaceHandle;
 import com.ibm.team.scm.common.dto.IBaselineSetSearchCriteria;
 
 /**
@@ -51,6 +60,17 @@ public final class RTCSnapshotUtils {
 	public static final String PROCESS_AREA_OF_OWNING_STREAM_KEY = "processAreaOfOwningStream"; //$NON-NLS-1$
 	public static final String OWNING_STREAM_KEY = "owningStream"; //$NON-NLS-1$
 	public static final String OWNING_WORKSPACE_KEY = "owningWorkspace"; //$NON-NLS-1$
+
+	/**
+	 * System property to always snapshot a build stream through a temporary workspace
+	 */
+	public static final String DISABLE_DIRECT_STREAM_SNAPSHOT_PROPERTY = "com.ibm.team.build.disableDirectStreamSnapshot"; //$NON-NLS-1$
+
+	// how long a repository that refused a snapshot created on a stream is not asked again
+	private static final long DIRECT_STREAM_SNAPSHOT_RETRY_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+	// repository URI to the time it refused a snapshot created on a stream
+	private static final Map<String, Long> fgNoDirectStreamSnapshot = new ConcurrentHashMap<String, Long>();
 	
 	/**
 	 * Class defining the snapshot context configuration data.
@@ -163,12 +183,18 @@ public final class RTCSnapshotUtils {
 		IBaselineSetSearchCriteria criteria = IBaselineSetSearchCriteria.FACTORY.newInstance().setExactName(snapshotName);
 		buildSnapshotContext = BuildSnapshotContext.fixNullReference(buildSnapshotContext);
 		IProcessArea processArea = null;
+		IWorkspaceHandle owningWorkspaceOrStream = null;
+		// the items the search is scoped to, identifying the search in the name cache
+		StringBuilder owner = new StringBuilder();
 		if (buildSnapshotContext.isSnapshotOwnedByWorkspace()) {
 			// though the snapshot owner is set to "workspace", the workspace name can still be null or blank
 			if (buildSnapshotContext.owningWorkspace != null) {
 				monitor.setWorkRemaining(150);
-				criteria = criteria.setOwnerWorkspaceOptional(RTCWorkspaceUtils.getInstance().getWorkspace(buildSnapshotContext.owningWorkspace,
-						repository, monitor.newChild(50), clientLocale));
+				IWorkspaceHandle owningWorkspace = RTCWorkspaceUtils.getInstance().getWorkspace(buildSnapshotContext.owningWorkspace,
+						repository, monitor.newChild(50), clientLocale);
+				criteria = criteria.setOwnerWorkspaceOptional(owningWorkspace);
+				owningWorkspaceOrStream = owningWorkspace;
+				owner.append(owningWorkspace.getItemId().getUuidValue());
 			}
 		} else if (buildSnapshotContext.isSnapshotOwnedByStream()) {
 			// see if a project or team area is provided
@@ -177,16 +203,43 @@ public final class RTCSnapshotUtils {
 				processArea = RTCWorkspaceUtils.getInstance().getProcessAreaByName(buildSnapshotContext.processAreaOfOwningStream, repository,
 						monitor.newChild(50), clientLocale);
 				criteria = criteria.setProcessArea(processArea);
+				owner.append(processArea.getItemId().getUuidValue());
 			}
 			// though the snapshot owner is set to "stream", the stream name can still be null or blank
 			if (buildSnapshotContext.owningStream != null) {
 				monitor.setWorkRemaining(150);
-				criteria = criteria.setOwnerWorkspaceOptional(RTCWorkspaceUtils.getInstance().getStream(
+				IWorkspaceHandle owningStream = RTCWorkspaceUtils.getInstance().getStream(
 						buildSnapshotContext.processAreaOfOwningStream, processArea, buildSnapshotContext.owningStream, repository,
-						monitor.newChild(50), clientLocale));
+						monitor.newChild(50), clientLocale);
+				criteria = criteria.setOwnerWorkspaceOptional(owningStream);
+				owningWorkspaceOrStream = owningStream;
+				owner.append('/').append(owningStream.getItemId().getUuidValue());
 			}
 		}
 		monitor.setWorkRemaining(100);
+
+		// the snapshot the name was resolved to recently, if it still has the name and is still 
+		// in the scope of the search
+		ItemNameCache nameCache = ItemNameCache.getDefault();
+		String ownerKey = owner.length() == 0 ? null : owner.toString();
+		ItemNameCache.Entry resolved = nameCache.get(repository, ItemNameCache.KIND_SNAPSHOT, ownerKey, snapshotName);
+		if (resolved != null) {
+			if (resolved.isMissing()) {
+				handleSnapshotNotFound(buildSnapshotContext, buildSnapshotContext.processAreaOfOwningStream, processArea, snapshotName, clientLocale);
+			}
+			try {
+				IBaselineSet baselineSet = getSnapshotByHandle(repository, resolved.getItemHandle(), monitor.newChild(25));
+				if (snapshotName.equals(baselineSet.getName())
+						&& isInScope(repository, baselineSet, owningWorkspaceOrStream, processArea, monitor.newChild(25))) {
+					return baselineSet;
+				}
+			} catch (ItemNotFoundException e) {
+				LOGGER.finer("The snapshot resolved for \"" + snapshotName + "\" no longer exists"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			nameCache.invalidate(repository, ItemNameCache.KIND_SNAPSHOT, ownerKey, snapshotName);
+			monitor.setWorkRemaining(100);
+		}
+
 		// Run the query
 		@SuppressWarnings("unchecked")
 		List<IBaselineSetHandle> baselineSetHandles = (List<IBaselineSetHandle>)SCMPlatform.getWorkspaceManager(repository).findBaselineSets(
@@ -197,9 +250,41 @@ public final class RTCSnapshotUtils {
 		}
 
 		if (baselineSetHandles.size() == 0) {
+			nameCache.putMissing(repository, ItemNameCache.KIND_SNAPSHOT, ownerKey, snapshotName);
 			handleSnapshotNotFound(buildSnapshotContext, buildSnapshotContext.processAreaOfOwningStream, processArea, snapshotName, clientLocale);
 		}
-		return getSnapshotByUUID(repository, baselineSetHandles.get(0).getItemId(), progress, clientLocale);
+		nameCache.put(repository, ItemNameCache.KIND_SNAPSHOT, ownerKey, snapshotName, baselineSetHandles.get(0));
+		return getSnapshotByHandle(repository, baselineSetHandles.get(0), progress);
+	}
+
+	/**
+	 * Confirm that a snapshot would still be found by a search scoped to the given owner
+	 * 
+	 * @param repository The repository of the snapshot
+	 * @param snapshot The snapshot
+	 * @param owningWorkspaceOrStream The workspace or stream the search is scoped to. 
+	 * 			May be <code>null</code>
+	 * @param processArea The project or team area owning the streams the search is scoped to.
+	 * 			May be <code>null</code>
+	 * @param progress A progress monitor
+	 * @return <code>true</code> if the snapshot is owned by the workspace or stream, or by a 
+	 * 			stream of the project or team area when only that is given
+	 * @throws TeamRepositoryException If the owner of the snapshot cannot be retrieved
+	 */
+	private static boolean isInScope(ITeamRepository repository, IBaselineSet snapshot, IWorkspaceHandle owningWorkspaceOrStream,
+			IProcessArea processArea, IProgressMonitor progress) throws TeamRepositoryException {
+		if (owningWorkspaceOrStream == null && processArea == null) {
+			return true;
+		}
+		if (snapshot.getOwner() == null) {
+			return false;
+		}
+		if (owningWorkspaceOrStream != null) {
+			return owningWorkspaceOrStream.sameItemId(snapshot.getOwner());
+		}
+		IWorkspaceConnection owningStream = SCMPlatform.getWorkspaceManager(repository).getWorkspaceConnection(
+				snapshot.getOwner(), progress);
+		return owningStream.isStream() && processArea.sameItemId(owningStream.getOwner());
 	}
 
 	private static void handleSnapshotNameNotUnique(BuildSnapshotContext buildSnapshotContext, String processAreaPath, IProcessArea processArea,
@@ -367,14 +452,126 @@ public final class RTCSnapshotUtils {
 	*/
 	private static IBaselineSet getSnapshotByUUID(ITeamRepository repository, 
 					UUID snapshotUUID, IProgressMonitor progress, Locale clientLocale) throws TeamRepositoryException {
+		IItemHandle itemHandle = IBaselineSet.ITEM_TYPE.createItemHandle(snapshotUUID, null);
+		return getSnapshotByHandle(repository, itemHandle, progress);
+	}
+
+	/**
+	 * Given a handle to a snapshot, return the {@link IBaselineSet}, from the {@link SnapshotCache}
+	 * if it has been fetched recently
+	 * @param repository
+	 * @param snapshotHandle If the handle has a state, the snapshot is fetched again unless
+	 *            the cached snapshot is in that state
+	 * @param progress
+	 * @return a {@link IBaselineSet} if there is a valid snapshot
+	 * @throws TeamRepositoryException
+	 */
+	private static IBaselineSet getSnapshotByHandle(ITeamRepository repository,
+					IItemHandle snapshotHandle, IProgressMonitor progress) throws TeamRepositoryException {
+		SnapshotCache snapshotCache = SnapshotCache.getDefault();
+		IBaselineSet baselineSet = snapshotCache.get(repository, snapshotHandle);
+		if (baselineSet != null) {
+			return baselineSet;
+		}
 		SubMonitor monitor = SubMonitor.convert(progress, 100);
 		try {
-			IItemHandle itemHandle = IBaselineSet.ITEM_TYPE.createItemHandle(snapshotUUID, null);
-			IBaselineSet baselineSet = (IBaselineSet) repository.itemManager().fetchCompleteItem(itemHandle, 
+			baselineSet = (IBaselineSet) repository.itemManager().fetchCompleteItem(snapshotHandle, 
 											ItemManager.REFRESH, monitor);
+			snapshotCache.put(repository, baselineSet);
 			return baselineSet;
+		} catch (ItemNotFoundException exp) {
+			snapshotCache.invalidate(repository, snapshotHandle);
+			throw exp;
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * @param repository The repository of a stream
+	 * @return <code>true</code> if {@link #createStreamSnapshot} may create a snapshot on a stream
+	 *         of the repository, <code>false</code> if it is disabled or the repository refused it recently
+	 */
+	public static boolean canCreateStreamSnapshot(ITeamRepository repository) {
+		if (Boolean.getBoolean(DISABLE_DIRECT_STREAM_SNAPSHOT_PROPERTY)) {
+			return false;
+		}
+		String repositoryURI = repository.getRepositoryURI();
+		Long refused = fgNoDirectStreamSnapshot.get(repositoryURI);
+		if (refused != null) {
+			if (System.currentTimeMillis() - refused < DIRECT_STREAM_SNAPSHOT_RETRY_MILLIS) {
+				return false;
+			}
+			fgNoDirectStreamSnapshot.remove(repositoryURI, refused);
+		}
+		return true;
+	}
+
+	/**
+	 * Create a snapshot of a stream directly on the stream, without creating a temporary
+	 * repository workspace from the stream to snapshot. The snapshot is owned by the stream.
+	 * A repository that refuses this as not supported is remembered, and not asked again for
+	 * a while. Other failures, which may be transient, only fall back for this snapshot.
+	 * 
+	 * @param repository The repository of the stream
+	 * @param streamConnection The stream
+	 * @param snapshotName The name of the snapshot
+	 * @param progress A progress monitor
+	 * @return The snapshot, or <code>null</code> if the repository does not create snapshots
+	 *         on streams. The caller then snapshots a temporary workspace created from the stream.
+	 * @throws TeamRepositoryException If the stream cannot be snapshot at all
+	 */
+	public static IBaselineSetHandle createStreamSnapshot(ITeamRepository repository, IWorkspaceConnection streamConnection,
+									String snapshotName, IProgressMonitor progress) throws TeamRepositoryException {
+		if (!canCreateStreamSnapshot(repository)) {
+			return null;
+		}
+		String repositoryURI = repository.getRepositoryURI();
+		SubMonitor monitor = SubMonitor.convert(progress, 100);
+		try {
+			return streamConnection.createBaselineSet(null, snapshotName, null, BaselineSetFlags.DEFAULT, monitor.newChild(100));
+		} catch (PermissionDeniedException | ItemNotFoundException exp) {
+			// the temporary workspace flow would fail the same way
+			throw exp;
+		} catch (OperationCanceledException exp) {
+			throw exp;
+		} catch (TeamRepositoryException | RuntimeException exp) {
+			if (isNotSupported(exp)) {
+				fgNoDirectStreamSnapshot.put(repositoryURI, System.currentTimeMillis());
+			}
+			if (LOGGER.isLoggable(Level.FINE)) {
+				LOGGER.log(Level.FINE, "Unable to create a snapshot directly on stream '" + streamConnection.getName() //$NON-NLS-1$
+						+ "' in " + repositoryURI + ", using a temporary workspace", exp); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			return null;
 		} finally {
 			monitor.done();
 		}
 	}
+
+	/**
+	 * Remove a snapshot created by {@link #createStreamSnapshot} that is not used after all.
+	 * A snapshot that cannot be removed is left on the stream.
+	 * 
+	 * @param streamConnection The stream
+	 * @param snapshot The snapshot created on the stream
+	 * @param progress A progress monitor
+	 */
+	public static void discardStreamSnapshot(IWorkspaceConnection streamConnection, IBaselineSetHandle snapshot,
+									IProgressMonitor progress) {
+		try {
+			streamConnection.removeBaselineSet(snapshot, progress);
+		} catch (TeamRepositoryException | RuntimeException exp) {
+			LOGGER.log(Level.WARNING, "Unable to remove unused snapshot " + snapshot.getItemId().getUuidValue() //$NON-NLS-1$
+					+ " from stream '" + streamConnection.getName() + "'", exp); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the failure says that the repository does not create
+	 *         snapshots on streams, <code>false</code> if it may be transient
+	 */
+	private static boolean isNotSupported(Throwable exp) {
+		return exp instanceof ServerVersionCheckException || exp instanceof UnsupportedOperationException;
+	}
 }
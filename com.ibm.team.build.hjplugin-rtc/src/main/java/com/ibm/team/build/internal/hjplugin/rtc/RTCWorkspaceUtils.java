@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2017 IBM Corporation and others.
+ * Copyright (c) 2013, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -334,6 +334,22 @@ public class RTCWorkspaceUtils {
 
 		SubMonitor monitor = SubMonitor.convert(progress, 100);
 
+		// the stream the name was resolved to recently, if it still has the name and owner
+		ItemNameCache nameCache = ItemNameCache.getDefault();
+		String owner = owningProjectOrTeamArea == null ? null : owningProjectOrTeamArea.getItemId().getUuidValue();
+		ItemNameCache.Entry resolved = nameCache.get(repository, ItemNameCache.KIND_STREAM, owner, streamName);
+		if (resolved != null) {
+			if (resolved.isMissing()) {
+				throw getStreamNotFoundException(processAreaPath, owningProjectOrTeamArea, streamName, clientLocale);
+			}
+			IWorkspace stream = fetchResolvedWorkspace(repository, resolved, streamName, true, monitor.newChild(50));
+			if (stream != null && (owningProjectOrTeamArea == null || owningProjectOrTeamArea.sameItemId(stream.getOwner()))) {
+				return stream;
+			}
+			nameCache.invalidate(repository, ItemNameCache.KIND_STREAM, owner, streamName);
+		}
+		monitor.setWorkRemaining(100);
+
 		IWorkspaceManager workspaceManager = SCMPlatform.getWorkspaceManager(repository);
 		IWorkspaceSearchCriteria searchCriteria = IWorkspaceSearchCriteria.FACTORY.newInstance().setExactName(streamName) // streamName
 				.setKind(IWorkspaceSearchCriteria.STREAMS); // search for streams
@@ -356,19 +372,48 @@ public class RTCWorkspaceUtils {
 			}
 		}
 		if (workspaceHandles.size() == 0) {
-			if (owningProjectOrTeamArea != null) {
-				if (owningProjectOrTeamArea instanceof IProjectArea) {
-					throw new RTCConfigurationException(Messages.get(clientLocale).RepositoryConnection_stream_not_found_pa(streamName,
-							processAreaPath));
-				} else {
-					throw new RTCConfigurationException(Messages.get(clientLocale).RepositoryConnection_stream_not_found_ta(streamName,
-							processAreaPath));
-				}
+			nameCache.putMissing(repository, ItemNameCache.KIND_STREAM, owner, streamName);
+			throw getStreamNotFoundException(processAreaPath, owningProjectOrTeamArea, streamName, clientLocale);
+		}
+		nameCache.put(repository, ItemNameCache.KIND_STREAM, owner, streamName, workspaceHandles.get(0));
+		return workspaceHandles.get(0);
+	}
+
+	private RTCConfigurationException getStreamNotFoundException(String processAreaPath, IProcessArea owningProjectOrTeamArea, String streamName,
+			Locale clientLocale) {
+		if (owningProjectOrTeamArea != null) {
+			if (owningProjectOrTeamArea instanceof IProjectArea) {
+				return new RTCConfigurationException(Messages.get(clientLocale).RepositoryConnection_stream_not_found_pa(streamName,
+						processAreaPath));
 			} else {
-				throw new RTCConfigurationException(Messages.get(clientLocale).RepositoryConnection_stream_not_found(streamName));
+				return new RTCConfigurationException(Messages.get(clientLocale).RepositoryConnection_stream_not_found_ta(streamName,
+						processAreaPath));
 			}
+		} else {
+			return new RTCConfigurationException(Messages.get(clientLocale).RepositoryConnection_stream_not_found(streamName));
 		}
-		return workspaceHandles.get(0);
+	}
+
+	/**
+	 * Fetch the stream or workspace a name was resolved to earlier, to confirm it
+	 * still has the name.
+	 * 
+	 * @return The stream or workspace, <code>null</code> if it no longer exists or
+	 * no longer matches
+	 */
+	private IWorkspace fetchResolvedWorkspace(ITeamRepository repository, ItemNameCache.Entry resolved, String name, boolean isStream,
+			IProgressMonitor progress) throws TeamRepositoryException {
+		try {
+			IWorkspace workspace = (IWorkspace)repository.itemManager().fetchCompleteItem(resolved.getItemHandle(), IItemManager.REFRESH,
+					progress);
+			if (name.equals(workspace.getName()) && workspace.isStream() == isStream) {
+				return workspace;
+			}
+			LOGGER.finer("The item resolved for \"" + name + "\" is now named \"" + workspace.getName() + "\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		} catch (ItemNotFoundException e) {
+			LOGGER.finer("The item resolved for \"" + name + "\" no longer exists"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return null;
 	}
 	
 	/**
@@ -411,6 +456,21 @@ public class RTCWorkspaceUtils {
 		LOGGER.finest("RTCWorkspaceUtils.getWorkspace from workspaceName: Enter");
 		SubMonitor monitor = SubMonitor.convert(progress, 100);
 
+		// the workspace the name was resolved to recently, if it still has the name
+		ItemNameCache nameCache = ItemNameCache.getDefault();
+		ItemNameCache.Entry resolved = nameCache.get(repository, ItemNameCache.KIND_WORKSPACE, null, workspaceName);
+		if (resolved != null) {
+			if (resolved.isMissing()) {
+				throw new RTCConfigurationException(Messages.get(clientLocale).RepositoryConnection_workspace_not_found(workspaceName));
+			}
+			IWorkspace workspace = fetchResolvedWorkspace(repository, resolved, workspaceName, false, monitor.newChild(50));
+			if (workspace != null) {
+				return workspace;
+			}
+			nameCache.invalidate(repository, ItemNameCache.KIND_WORKSPACE, null, workspaceName);
+		}
+		monitor.setWorkRemaining(100);
+
 		IWorkspaceManager workspaceManager = SCMPlatform.getWorkspaceManager(repository);
 
 		IWorkspaceSearchCriteria searchCriteria = IWorkspaceSearchCriteria.FACTORY.newInstance().setExactName(workspaceName)
@@ -420,8 +480,10 @@ public class RTCWorkspaceUtils {
 			throw new RTCConfigurationException(Messages.get(clientLocale).RepositoryConnection_name_not_unique(workspaceName));
 		}
 		if (workspaceHandles.size() == 0) {
+			nameCache.putMissing(repository, ItemNameCache.KIND_WORKSPACE, null, workspaceName);
 			throw new RTCConfigurationException(Messages.get(clientLocale).RepositoryConnection_workspace_not_found(workspaceName));
 		}
+		nameCache.put(repository, ItemNameCache.KIND_WORKSPACE, null, workspaceName, workspaceHandles.get(0));
 		return workspaceHandles.get(0);
 	}
 	
@@ -529,8 +591,11 @@ public class RTCWorkspaceUtils {
 		// encode the individual name segments and reconstruct the string
 		StringTokenizer tokenizer = new StringTokenizer(processAreaName, Constants.PROCESS_AREA_PATH_SEPARATOR);
 		StringBuilder encodedProcessAreaName = new StringBuilder();
+		List<String> pathSegments = new ArrayList<String>();
 		while (tokenizer.hasMoreTokens()) {
-			encodedProcessAreaName.append(URLEncoder.encode(tokenizer.nextToken(), Constants.DFLT_ENCODING).replace("+", "%20")); //$NON-NLS-1$ //$NON-NLS-2$
+			String pathSegment = tokenizer.nextToken();
+			pathSegments.add(pathSegment);
+			encodedProcessAreaName.append(URLEncoder.encode(pathSegment, Constants.DFLT_ENCODING).replace("+", "%20")); //$NON-NLS-1$ //$NON-NLS-2$
 			if (tokenizer.hasMoreTokens()) {
 				isTeamArea = true;
 				encodedProcessAreaName.append(Constants.PROCESS_AREA_PATH_SEPARATOR);
@@ -542,7 +607,37 @@ public class RTCWorkspaceUtils {
 				ProcessCommon.getPropertyName(IProcessArea.class, IProcessArea.ARCHIVED_PROPERTY_ID),
 				ProcessCommon.getPropertyName(IProcessArea.class, IProcessArea.PROJECT_AREA_PROPERTY_ID) });
 
-		IProcessArea processArea = processClientService.findProcessArea(new URI(encodedProcessAreaName.toString()), processAreaProperties, monitor);
+		// the process area the name was resolved to recently, if it still has the path
+		ItemNameCache nameCache = ItemNameCache.getDefault();
+		ItemNameCache.Entry resolved = nameCache.get(repository, ItemNameCache.KIND_PROCESS_AREA, null, processAreaName);
+		IProcessArea processArea = null;
+		boolean isResolved = false;
+		if (resolved != null) {
+			if (resolved.isMissing()) {
+				isResolved = true;
+			} else {
+				try {
+					processArea = (IProcessArea)repository.itemManager().fetchPartialItem(resolved.getItemHandle(), IItemManager.REFRESH,
+							processAreaProperties, monitor.newChild(50));
+					isResolved = hasPath(processArea, pathSegments);
+				} catch (ItemNotFoundException e) {
+					LOGGER.finer("The process area resolved for \"" + processAreaName + "\" no longer exists"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				if (!isResolved) {
+					processArea = null;
+					nameCache.invalidate(repository, ItemNameCache.KIND_PROCESS_AREA, null, processAreaName);
+				}
+			}
+		}
+		if (!isResolved) {
+			monitor.setWorkRemaining(100);
+			processArea = processClientService.findProcessArea(new URI(encodedProcessAreaName.toString()), processAreaProperties, monitor);
+			if (processArea == null) {
+				nameCache.putMissing(repository, ItemNameCache.KIND_PROCESS_AREA, null, processAreaName);
+			} else {
+				nameCache.put(repository, ItemNameCache.KIND_PROCESS_AREA, null, processAreaName, processArea);
+			}
+		}
 		if (processArea == null) {
 			if (isTeamArea) {
 				throw new RTCConfigurationException(Messages.get(clientLocale).RepositoryConnection_team_area_not_found(processAreaName));
@@ -560,6 +655,28 @@ public class RTCWorkspaceUtils {
 		return processArea;
 	}
 	
+	/**
+	 * Confirm that a project or team area fetched by the UUID a path was resolved to still
+	 * matches the path, without going back to the server: it must have the last name in the
+	 * path and be a project area for a path of one name, a team area otherwise. The names of
+	 * the project area and the team areas above are not checked, the resolution is trusted
+	 * for {@link ItemNameCache#TTL_PROPERTY}. Checking them would take more calls to the server
+	 * than resolving the path again.
+	 * 
+	 * @param processArea The project or team area
+	 * @param pathSegments The names in the path, starting with the name of the project area
+	 * @return <code>true</code> if the process area matches the path
+	 */
+	private static boolean hasPath(IProcessArea processArea, List<String> pathSegments) {
+		if (pathSegments.isEmpty() || !processArea.getName().equals(pathSegments.get(pathSegments.size() - 1))) {
+			return false;
+		}
+		if (pathSegments.size() == 1) {
+			return processArea instanceof IProjectArea;
+		}
+		return processArea instanceof ITeamArea;
+	}
+
 	/**
 	 * Sets the flow target for the given source to the target
 	 * 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright © 2013, 2021 IBM Corporation and others.
+ * Copyright © 2013, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -78,7 +78,6 @@ import com.ibm.team.scm.common.IComponent;
 import com.ibm.team.scm.common.IComponentHandle;
 import com.ibm.team.scm.common.IWorkspace;
 import com.ibm.team.scm.common.IWorkspaceHandle;
-import com.ibm.team.scm.common.dto.IChangeHistorySyncReport;
 
 /**
  * A connection to the Jazz repository.
@@ -433,7 +432,7 @@ public class RepositoryConnection {
 		if (buildStream != null) {
 			return acceptForBuildStream(processAreaName, buildStream, changeReport, snapshotName, previousSnapshotUUID, previousBuildUrl,
 					currentBuildFullUrl, currentBuildLabel, temporaryWorkspaceComment, 
-						addLinksToWorkItems, reporter, callConnectorTimeout,
+						addLinksToWorkItems, reporter, callConnectorTimeout, options,
 					listener, monitor, clientLocale);
 		}
 		else if (buildSnapshot != null) {
@@ -450,8 +449,10 @@ public class RepositoryConnection {
 			IBuildResultHandle buildResultHandle = null;
 			if (buildResultUUID != null && buildResultUUID.length() > 0) {
 				buildResultHandle = (IBuildResultHandle)IBuildResult.ITEM_TYPE.createItemHandle(UUID.valueOf(buildResultUUID), null);
-				buildConfiguration.initialize(buildResultHandle, isCustomSnapshotName, snapshotName, false, listener, monitor.newChild(1),
-						clientLocale);
+				try (TimingRecorder.Span span = TimingRecorder.start("buildConfiguration.initialize")) { //$NON-NLS-1$
+					buildConfiguration.initialize(buildResultHandle, isCustomSnapshotName, snapshotName, false, listener, monitor.newChild(1),
+							clientLocale);
+				}
 				// If Jenkins build says don't create metronome report,
 				// then check whether build definition says create metronome report
 				// If that is true, then initialize metronome reporter.
@@ -463,10 +464,12 @@ public class RepositoryConnection {
 			        }
 				}
 			} else {
-				IWorkspaceHandle workspaceHandle = RTCWorkspaceUtils.getInstance().getWorkspace(buildWorkspaceName, getTeamRepository(),
-						monitor.newChild(1), clientLocale);
-				buildConfiguration.initialize(workspaceHandle, buildWorkspaceName, snapshotName, acceptBeforeLoad, null, null, false, null, null, listener,
-						clientLocale, monitor.newChild(1));
+				try (TimingRecorder.Span span = TimingRecorder.start("buildConfiguration.initialize")) { //$NON-NLS-1$
+					IWorkspaceHandle workspaceHandle = RTCWorkspaceUtils.getInstance().getWorkspace(buildWorkspaceName, getTeamRepository(),
+							monitor.newChild(1), clientLocale);
+					buildConfiguration.initialize(workspaceHandle, buildWorkspaceName, snapshotName, acceptBeforeLoad, null, null, false, null, null, listener,
+							clientLocale, monitor.newChild(1));
+				}
 			}
 	
 			Map<String, String> buildProperties = buildConfiguration.getBuildProperties();
@@ -504,9 +507,12 @@ public class RepositoryConnection {
 	            	throw new InterruptedException();
 	            }
 	            
-	            acceptReport = SourceControlUtility.acceptAllIncoming(
-	                    fRepositoryManager, workspace, buildConfiguration.getSnapshotName(),
-	                    monitor.newChild(40));
+	            try (TimingRecorder.Span acceptSpan = TimingRecorder.start("acceptAllIncoming")) { //$NON-NLS-1$
+		            acceptReport = SourceControlUtility.acceptAllIncoming(
+		                    fRepositoryManager, workspace, buildConfiguration.getSnapshotName(),
+		                    monitor.newChild(40));
+		            acceptSpan.attribute("changesAccepted", acceptReport.getChangesAcceptedCount()); //$NON-NLS-1$
+	            }
 	            buildProperties.put(Constants.TEAM_SCM_ACCEPT_PHASE_OVER, "true"); //$NON-NLS-1$
 	            getBuildConnection().addSnapshotContribution(acceptReport.getSnapshot(), buildResultHandle, monitor.newChild(1));
 	            
@@ -551,12 +557,14 @@ public class RepositoryConnection {
 		        			definition = (IBuildDefinition) fRepository.itemManager().fetchPartialItem(result.getBuildDefinition(), ItemManager.REFRESH, Arrays.asList(new String[] {IBuildDefinition.PROPERTY_ID}), monitor.newChild(1));
 		        		}
 			            // build change report
-			            ChangeReportBuilder changeReportBuilder = new ChangeReportBuilder(fRepository);
-			            changeReportBuilder.populateChangeReport(changeReport,
-			            		workspaceConnection.getResolvedWorkspace(), workspaceConnection.getName(),
-			            		acceptReport,
-			            		(definition != null) ? definition : null, (definition != null) ? definition.getId() : null,
-			            		listener, monitor.newChild(2));
+			            try (TimingRecorder.Span span = TimingRecorder.start("changeReport.build")) { //$NON-NLS-1$
+				            ChangeReportBuilder changeReportBuilder = new ChangeReportBuilder(fRepository);
+				            changeReportBuilder.populateChangeReport(changeReport,
+				            		workspaceConnection.getResolvedWorkspace(), workspaceConnection.getName(),
+				            		acceptReport,
+				            		(definition != null) ? definition : null, (definition != null) ? definition.getId() : null,
+				            		listener, monitor.newChild(2));
+			            }
 	            }
 	            
 	        } else {
@@ -570,7 +578,9 @@ public class RepositoryConnection {
 	        }
 	
 	        if ( changeReport != null ) {
-	        	changeReport.prepareChangeSetLog();
+	        	try (TimingRecorder.Span span = TimingRecorder.start("changeLog.write")) { //$NON-NLS-1$
+		        	changeReport.prepareChangeSetLog();
+	        	}
 	        	
 	        	// Create a link in all the work items to the current jenkins build url if it is a build from repository worksapce
 	        	if (buildConfiguration.isRepositoryWorkspaceConfiguration() && 
@@ -579,9 +589,11 @@ public class RepositoryConnection {
 		        		LOGGER.info("Adding Jenkins build URL as \"Related Artifacts\" to work items"); //$NON-NLS-1$
 		        		// Get the work items
 		        		List<Integer> workItems = changeReport.getAcceptedWorkItems();
-		        		try {
+		        		try (TimingRecorder.Span span = TimingRecorder.start("workItems.addRelatedLinks") //$NON-NLS-1$
+		        				.attribute("workItems", workItems.size())) { //$NON-NLS-1$
 			        		// Create a link to the current Jenkins build in the work items
-			        		WorkItemUtils.addRelatedLinkToWorkItems(this.fRepository, workItems, currentBuildFullUrl, currentBuildLabel);
+			        		WorkItemUtils.addRelatedLinkToWorkItems(this.fRepository, workItems, currentBuildFullUrl, currentBuildLabel,
+			        				clientLocale);
 		        		} catch (Exception exp) {
 		        			// Log the exception but do not fail the build
 		        			LOGGER.log(Level.WARNING, 
@@ -597,18 +609,15 @@ public class RepositoryConnection {
 	        result.put(Constants.BUILD_PROPERTIES, buildProperties);
 		        
 	        // lets cache the workspace connection object for subsequent "load" call...
-	        CallConnector<CallConnectorData> callConnector = null;
 	        String connectorId = ""; //$NON-NLS-1$
 	        try {
 	        	CallConnectorData cData = new CallConnectorData(workspaceConnection, reporter);
 	            if ((callConnectorTimeout != null) && (!"".equals(callConnectorTimeout)) && callConnectorTimeout.matches("\\d+")) { //$NON-NLS-1$ //$NON-NLS-2$
 	            	long timeout = Long.parseLong(callConnectorTimeout) * 1000;
-	            	callConnector = new CallConnector<CallConnectorData>(cData, timeout);
+	            	connectorId = CallConnector.getDefault().put(cData, timeout);
 	            } else {
-	            	callConnector = new CallConnector<CallConnectorData>(cData);
+	            	connectorId = CallConnector.getDefault().put(cData);
 	            }
-	    		callConnector.start();
-	    		connectorId = (new Long(callConnector.getId())).toString();
 	        } catch(Exception e) {
 	    		String errorMessage = Messages.getDefault().RepositoryConnection_accept_unable_to_start_call_connector();
 	    		// can't proceed if load has to be synchronized, 
@@ -667,7 +676,8 @@ public class RepositoryConnection {
      * @param acceptBeforeLoad If <code>true</code> then, the changes from the flow target is synced to the repository workspace
 	 * @param temporaryWorkspaceComment - Description to be used when creating the repository workspace
 	 * @param shouldDeleteTemporaryWorkspace whether the temporary workspace created for snapshot/stream case should be
-	 *            deleted before returning(irrespective of failure or not)
+	 *            deleted before returning(irrespective of failure or not). A workspace taken from the pool of the job
+	 *            always goes back to its pool before returning, whatever the value.
 	 * @throws Exception Thrown if anything goes wrong
 	 */
 	@SuppressWarnings("unchecked")
@@ -694,10 +704,15 @@ public class RepositoryConnection {
         // only if metronome needs to be collected.
         // TODO Add these to test cases.
         if (connectorId != null &&  !("".equals(connectorId))) { //$NON-NLS-1$
-        	callConnectorData = (CallConnectorData) CallConnector.getValue(Long.parseLong(connectorId));
+        	callConnectorData = CallConnector.getDefault().take(connectorId);
         	if (callConnectorData != null) {
         		workspaceConnection = callConnectorData.workspaceConnection;
         		reporter = callConnectorData.metronome;
+        	} else if (LOGGER.isLoggable(Level.FINE)) {
+        		CallConnector<CallConnectorData> connector = CallConnector.getDefault();
+        		LOGGER.fine("No data shared by accept for connector " + connectorId + //$NON-NLS-1$
+        				". Expired: " + connector.getExpiredCount() + ", evicted: " + connector.getEvictedCount() + //$NON-NLS-1$ //$NON-NLS-2$
+        				", missed: " + connector.getMissedCount()); //$NON-NLS-1$
         	}
         }
 
@@ -721,57 +736,82 @@ public class RepositoryConnection {
         // what is to be accepted into & how to load
 		// Otherwise, the build workspace on the Jenkins definition is used.
 		IBuildResultHandle buildResultHandle = null;
-		if (buildResultUUID != null && buildResultUUID.length() > 0) {
-			listener.log(Messages.get(clientLocale).RepositoryConnection_using_build_definition_configuration());
-			buildResultHandle = (IBuildResultHandle)IBuildResult.ITEM_TYPE.createItemHandle(UUID.valueOf(buildResultUUID), null);
-			buildConfiguration.initialize(buildResultHandle, isCustomSnapshotName, snapshotName, loadPolicy != null
-					&& Constants.LOAD_POLICY_USE_DYNAMIC_LOAD_RULES.equals(loadPolicy), listener, monitor.newChild(1), clientLocale);
-			// Check if the property is set in the build definition. If the value in the Jenkins job is true, then it will override 
-			// the build definition property's value.
-			shouldCreateMetronomeReport = (shouldCreateMetronomeReport == false) ? shouldCreateMetronomeReport(buildConfiguration) : shouldCreateMetronomeReport;
-		} else if (buildWorkspaceName != null && buildWorkspaceName.length() > 0) {
-			listener.log(Messages.get(clientLocale).RepositoryConnection_using_build_workspace_configuration());
-			IWorkspaceHandle workspaceHandle = RTCWorkspaceUtils.getInstance().getWorkspace(buildWorkspaceName, getTeamRepository(),
-					monitor.newChild(1), clientLocale);
-			buildConfiguration.initialize(workspaceHandle, buildWorkspaceName, snapshotName, acceptBeforeLoad, loadPolicy, componentLoadConfig,
-					createFoldersForComponents, componentsToExclude, pathToLoadRuleFile, listener, clientLocale, monitor.newChild(1));
-		} else if (buildSnapshot != null && buildSnapshot.length() > 0) {
-			listener.log(Messages.get(clientLocale).RepositoryConnection_using_build_snapshot_configuration());
-			String workspaceNamePrefix = getWorkspaceNamePrefix();
-			IBaselineSet baselineSet = RTCSnapshotUtils.getSnapshot(getTeamRepository(), buildSnapshotContext, buildSnapshot, monitor.newChild(1), clientLocale);
-			IContributor contributor = fRepository.loggedInContributor();
-			buildConfiguration.initialize(baselineSet, contributor, workspaceNamePrefix, temporaryWorkspaceComment, loadPolicy, componentLoadConfig,
-					createFoldersForComponents, componentsToExclude, pathToLoadRuleFile, listener, clientLocale, monitor.newChild(3));
-		} else if (buildStream != null && buildStream.length() > 0) {
-			listener.log(Messages.get(clientLocale).RepositoryConnection_using_build_stream_configuration());
-			String workspaceUUID = buildStreamData.get(Constants.STREAM_DATA_WORKSPACEUUID);
-			String snapshotUUID = buildStreamData.get(Constants.STREAM_DATA_SNAPSHOTUUID);
-			if (workspaceUUID == null || snapshotUUID == null) {
-				String errorMessage = Messages.get(clientLocale).RepositoryConnection_stream_load_no_workspace_snapshot_uuid();
+		try (TimingRecorder.Span span = TimingRecorder.start("buildConfiguration.initialize")) { //$NON-NLS-1$
+			if (buildResultUUID != null && buildResultUUID.length() > 0) {
+				listener.log(Messages.get(clientLocale).RepositoryConnection_using_build_definition_configuration());
+				buildResultHandle = (IBuildResultHandle)IBuildResult.ITEM_TYPE.createItemHandle(UUID.valueOf(buildResultUUID), null);
+				buildConfiguration.initialize(buildResultHandle, isCustomSnapshotName, snapshotName, loadPolicy != null
+						&& Constants.LOAD_POLICY_USE_DYNAMIC_LOAD_RULES.equals(loadPolicy), listener, monitor.newChild(1), clientLocale);
+				// Check if the property is set in the build definition. If the value in the Jenkins job is true, then it will override 
+				// the build definition property's value.
+				shouldCreateMetronomeReport = (shouldCreateMetronomeReport == false) ? shouldCreateMetronomeReport(buildConfiguration) : shouldCreateMetronomeReport;
+			} else if (buildWorkspaceName != null && buildWorkspaceName.length() > 0) {
+				listener.log(Messages.get(clientLocale).RepositoryConnection_using_build_workspace_configuration());
+				IWorkspaceHandle workspaceHandle = RTCWorkspaceUtils.getInstance().getWorkspace(buildWorkspaceName, getTeamRepository(),
+						monitor.newChild(1), clientLocale);
+				buildConfiguration.initialize(workspaceHandle, buildWorkspaceName, snapshotName, acceptBeforeLoad, loadPolicy, componentLoadConfig,
+						createFoldersForComponents, componentsToExclude, pathToLoadRuleFile, listener, clientLocale, monitor.newChild(1));
+			} else if (buildSnapshot != null && buildSnapshot.length() > 0) {
+				listener.log(Messages.get(clientLocale).RepositoryConnection_using_build_snapshot_configuration());
+				String workspaceNamePrefix = getWorkspaceNamePrefix();
+				IBaselineSet baselineSet = RTCSnapshotUtils.getSnapshot(getTeamRepository(), buildSnapshotContext, buildSnapshot, monitor.newChild(1), clientLocale);
+				IContributor contributor = fRepository.loggedInContributor();
+				buildConfiguration.initialize(baselineSet, contributor, workspaceNamePrefix, temporaryWorkspaceComment, loadPolicy, componentLoadConfig,
+						createFoldersForComponents, componentsToExclude, pathToLoadRuleFile, listener, clientLocale, monitor.newChild(3));
+			} else if (buildStream != null && buildStream.length() > 0) {
+				listener.log(Messages.get(clientLocale).RepositoryConnection_using_build_stream_configuration());
+				String workspaceUUID = buildStreamData.get(Constants.STREAM_DATA_WORKSPACEUUID);
+				String snapshotUUID = buildStreamData.get(Constants.STREAM_DATA_SNAPSHOTUUID);
+				if (snapshotUUID == null) {
+					String errorMessage = Messages.get(clientLocale).RepositoryConnection_stream_load_no_workspace_snapshot_uuid();
+		    		TeamBuildException exception = new TeamBuildException(errorMessage);
+		    		listener.log(errorMessage, exception);
+		    		throw exception;
+				}
+				// A pooled workspace goes back to its pool at the end of the load, it is not kept for the rest of the build
+				// The token of the lease of a pooled workspace
+				String poolLeaseToken = buildStreamData.get(Constants.STREAM_DATA_POOLED_WORKSPACE);
+				boolean pooledWorkspace = poolLeaseToken != null;
+				IWorkspace workspace = null;
+				try {
+					IBaselineSet baselineSet = RTCSnapshotUtils.getSnapshotByUUID(getTeamRepository(), snapshotUUID, monitor.newChild(1), clientLocale);
+					IContributor contributor = fRepository.loggedInContributor();
+					if (workspaceUUID != null) {
+						workspace = RTCWorkspaceUtils.getInstance().getWorkspace(UUID.valueOf(workspaceUUID), getTeamRepository(), monitor.newChild(3), clientLocale);
+					} else {
+						// The snapshot was taken on the stream, create the temporary workspace from it
+						String workspaceName = getWorkspaceNamePrefix() + "_" + Long.toString(System.currentTimeMillis()); //$NON-NLS-1$
+						workspace = RTCWorkspaceUtils.getInstance().createWorkspace(getTeamRepository(), baselineSet, workspaceName,
+								temporaryWorkspaceComment, contributor, monitor.newChild(3)).getResolvedWorkspace();
+					}
+					IWorkspaceHandle streamHandle = getBuildStream(processAreaName, buildStream, monitor.newChild(1), clientLocale);
+					buildConfiguration.initialize(streamHandle, buildStream, workspace, baselineSet, shouldDeleteTemporaryWorkspace || pooledWorkspace, contributor,
+							loadPolicy, componentLoadConfig, createFoldersForComponents, componentsToExclude, pathToLoadRuleFile, listener, clientLocale, monitor.newChild(3));
+					if (pooledWorkspace) {
+						if (!shouldDeleteTemporaryWorkspace) {
+							// a pooled workspace is never kept for the rest of the build
+							listener.log(Messages.get(clientLocale).RepositoryConnection_pooled_workspace_not_kept());
+						}
+						// the lease runs from the start of the load
+						TemporaryWorkspacePool.getDefault().renew(getTeamRepository(), workspace.getItemId(), poolLeaseToken);
+						buildConfiguration.setPooledWorkspace(workspace.getItemId(), poolLeaseToken);
+					}
+				} catch (Exception exp) {
+					if (pooledWorkspace && workspace != null && TemporaryWorkspacePool.getDefault().release(getTeamRepository(), workspace.getItemId(), poolLeaseToken)) {
+						throw exp;
+					}
+					if (workspace != null) {
+						RTCWorkspaceUtils.getInstance().deleteSilent(workspace,
+								getTeamRepository(), progress, listener, clientLocale);
+					}
+					throw exp;
+				}
+			} else {
+	    		String errorMessage = Messages.get(clientLocale).RepositoryConnection_invalid_load_configuration();
 	    		TeamBuildException exception = new TeamBuildException(errorMessage);
 	    		listener.log(errorMessage, exception);
 	    		throw exception;
 			}
-			IWorkspace workspace = null;
-			try {
-				IBaselineSet baselineSet = RTCSnapshotUtils.getSnapshotByUUID(getTeamRepository(), snapshotUUID, monitor.newChild(1), clientLocale);
-				workspace = RTCWorkspaceUtils.getInstance().getWorkspace(UUID.valueOf(workspaceUUID), getTeamRepository(), monitor.newChild(3), clientLocale);
-				IContributor contributor = fRepository.loggedInContributor();
-				IWorkspaceHandle streamHandle = getBuildStream(processAreaName, buildStream, monitor.newChild(1), clientLocale);
-				buildConfiguration.initialize(streamHandle, buildStream, workspace, baselineSet, shouldDeleteTemporaryWorkspace, contributor,
-						loadPolicy, componentLoadConfig, createFoldersForComponents, componentsToExclude, pathToLoadRuleFile, listener, clientLocale, monitor.newChild(3));
-			} catch (Exception exp) {
-				if (workspace != null) {
-					RTCWorkspaceUtils.getInstance().deleteSilent(workspace,
-							getTeamRepository(), progress, listener, clientLocale);
-				}
-				throw exp;
-			}
-		} else {
-    		String errorMessage = Messages.get(clientLocale).RepositoryConnection_invalid_load_configuration();
-    		TeamBuildException exception = new TeamBuildException(errorMessage);
-    		listener.log(errorMessage, exception);
-    		throw exception;
 		}
 		
 		boolean exceptionOccured = false;
@@ -831,18 +871,21 @@ public class RepositoryConnection {
 	        	
 	        	boolean deleteNeeded = isDeleteNeeded || buildConfiguration.isDeleteNeeded();
 	            if (fetchDestinationFile.exists() && !deleteNeeded) { 
+	                try (TimingRecorder.Span checkSpan = TimingRecorder.start("sandbox.check")) { //$NON-NLS-1$
 	               
-	                if (!sandbox.isRegistered()) {
-	                    // the sandbox must be registered in order to call .isCorrupted()
-	                    manager.register(sandbox, false, monitor.newChild(1));
-	                }
+		                if (!sandbox.isRegistered()) {
+		                    // the sandbox must be registered in order to call .isCorrupted()
+		                    manager.register(sandbox, false, monitor.newChild(1));
+		                }
 	                
-	                if (sandbox.isCorrupted(monitor.newChild(1))) {
-	                    deleteNeeded = true;
-	                    listener.log(Messages.getDefault().RepositoryConnection_corrupt_metadata_found(
-	                            fetchDestinationFile.getCanonicalPath()));
-	                    LOGGER.finer("Corrupt metadata for sandbox " +  //$NON-NLS-1$
-	                            fetchDestinationFile.getCanonicalPath());
+		                if (sandbox.isCorrupted(monitor.newChild(1))) {
+		                    deleteNeeded = true;
+		                    listener.log(Messages.getDefault().RepositoryConnection_corrupt_metadata_found(
+		                            fetchDestinationFile.getCanonicalPath()));
+		                    LOGGER.finer("Corrupt metadata for sandbox " +  //$NON-NLS-1$
+		                            fetchDestinationFile.getCanonicalPath());
+		                }
+		                checkSpan.attribute("corrupt", deleteNeeded); //$NON-NLS-1$
 	                }
 	            }
 	
@@ -851,10 +894,13 @@ public class RepositoryConnection {
 	                        fetchDestinationFile.getCanonicalPath()));
 	
 	                File toDelete = fetchDestinationFile;
-	                // the sandbox must be deregistered in order to delete
-	                manager.deregister(sandbox, monitor.newChild(1));
+	                boolean deleteSucceeded;
+	                try (TimingRecorder.Span span = TimingRecorder.start("sandbox.delete")) { //$NON-NLS-1$
+		                // the sandbox must be deregistered in order to delete
+		                manager.deregister(sandbox, monitor.newChild(1));
 	                
-	                boolean deleteSucceeded = delete(toDelete, listener, monitor.newChild(1));
+		                deleteSucceeded = delete(toDelete, listener, monitor.newChild(1));
+	                }
 	
 	                if (!deleteSucceeded || fetchDestinationFile.exists()) {
 	                    throw new TeamBuildException(Messages.getDefault().RepositoryConnection_checkout_clean_failed(
@@ -909,123 +955,127 @@ public class RepositoryConnection {
 	    		if (LOGGER.isLoggable(Level.FINER)) {
 					LOGGER.finer("RepositoryConnection.load : updatingFileCopyArea");
 				}
+	    		try (TimingRecorder.Span span = TimingRecorder.start("updateFileCopyArea") //$NON-NLS-1$
+	    				.attribute("synchronizeLoad", synchronizeLoad) //$NON-NLS-1$
+	    				.attribute("loadMethod", buildConfiguration.getLoadMethod())) { //$NON-NLS-1$
 	    		
-				// if load policy is set to useLoadRules or (useDynamicLoadRules && old interface for component load
-				// rules doesn't return load rules), drive the load exclusively using load rules
-				if (buildConfiguration.isLoadPolicySetToUseLoadRules() || (isLoadPolicySetToUseDynamicLoadRules && compLoadRules == null)) {
-					if (LOGGER.isLoggable(Level.FINER)) {
-						LOGGER.finer("If load rules are specified only those components included in the load rules will be loaded");
-					}
+					// if load policy is set to useLoadRules or (useDynamicLoadRules && old interface for component load
+					// rules doesn't return load rules), drive the load exclusively using load rules
+					if (buildConfiguration.isLoadPolicySetToUseLoadRules() || (isLoadPolicySetToUseDynamicLoadRules && compLoadRules == null)) {
+						if (LOGGER.isLoggable(Level.FINER)) {
+							LOGGER.finer("If load rules are specified only those components included in the load rules will be loaded");
+						}
 					
-					String pathToDynamicLoadRuleFile = null;
-					if (extProvider != null && isLoadPolicySetToUseDynamicLoadRules) {
-						pathToDynamicLoadRuleFile = RtcExtensionProviderUtil.getPathToLoadRuleFile(extProvider, logger, workspace
-								.getWorkspaceHandle().getItemId().getUuidValue(), workspaceConnection.getName(), snapshotUUID, buildResultUUID,
-								componentInfo, fConnectionDetails.getRepositoryAddress(), fConnectionDetails.getUserId(),
-								fConnectionDetails.getPassword(), fetchDestinationFile);
-					}
+						String pathToDynamicLoadRuleFile = null;
+						if (extProvider != null && isLoadPolicySetToUseDynamicLoadRules) {
+							pathToDynamicLoadRuleFile = RtcExtensionProviderUtil.getPathToLoadRuleFile(extProvider, logger, workspace
+									.getWorkspaceHandle().getItemId().getUuidValue(), workspaceConnection.getName(), snapshotUUID, buildResultUUID,
+									componentInfo, fConnectionDetails.getRepositoryAddress(), fConnectionDetails.getUserId(),
+									fConnectionDetails.getPassword(), fetchDestinationFile);
+						}
 		            
-					Collection<ILoadRule2> loadRulesInstance = buildConfiguration.getComponentLoadRules(workspaceConnection, pathToDynamicLoadRuleFile, logger,
-							monitor.newChild(1), clientLocale);
-					// if load rules are configured we need a 603 or above build toolkit
-					if (loadRulesInstance.size() > 0 && VersionCheckerUtil.isPre603BuildToolkit()) {
-						throw new RTCConfigurationException(Messages.get(clientLocale).RepositoryConnection_load_rules_pre_603_build_toolkit());
-					}
-					// if load rules are specified use the interface introduced in 603
-					if (loadRulesInstance.size() > 0) {
-						if (LOGGER.isLoggable(Level.FINER)) {
-							LOGGER.finer("RepositoryConnection.load : Load rules are specified. Using 603 interface of SourceControlUtility.updateFileCopyArea");
+						Collection<ILoadRule2> loadRulesInstance = buildConfiguration.getComponentLoadRules(workspaceConnection, pathToDynamicLoadRuleFile, logger,
+								monitor.newChild(1), clientLocale);
+						// if load rules are configured we need a 603 or above build toolkit
+						if (loadRulesInstance.size() > 0 && VersionCheckerUtil.isPre603BuildToolkit()) {
+							throw new RTCConfigurationException(Messages.get(clientLocale).RepositoryConnection_load_rules_pre_603_build_toolkit());
+						}
+						// if load rules are specified use the interface introduced in 603
+						if (loadRulesInstance.size() > 0) {
+							if (LOGGER.isLoggable(Level.FINER)) {
+								LOGGER.finer("RepositoryConnection.load : Load rules are specified. Using 603 interface of SourceControlUtility.updateFileCopyArea");
+							}
+							// we will always have a single entry in the loadRules collection, as specifying multiple load
+							// rules file will result in an error
+							BackwardCompatibilityUtilFor701.invokeUpdateCopyFileArea(workspaceConnection, // workspaceConnection
+									synchronizeLoad, // synchronizeLoad
+									fetchDestinationFile.getCanonicalPath(), // fetchDestination
+									buildConfiguration.isDeleteNeeded(), // deleteDestinationBeforeFetch
+									buildConfiguration.getLoadMethod(), // loadMethod
+									buildConfiguration.getLoadPolicy(), // loadPolicy
+									buildConfiguration.getComponentLoadConfig(), // componentLoadConfig
+									buildConfiguration.getComponentLoadRuleUuids(), // componentLoadRuleUuids
+									loadRulesInstance.iterator().next(), // loadRule
+									false, // preserveFileTimestamps
+									false, // expandKeywords
+									listener, // consoleOutput
+									getTeamRepository(), // repository
+									monitor.newChild(39)); // monitor
+						} else {
+							if (LOGGER.isLoggable(Level.FINER)) {
+								LOGGER.finer("RepositoryConnection.load : Load rules are not specified. Using pre-603 interface of SourceControlUtility.updateFileCopyArea");
+							}
+							BackwardCompatibilityUtilFor701.invokeUpdateCopyFileArea(workspaceConnection, // workspaceConnection
+									synchronizeLoad, // synchronizeLoad
+									fetchDestinationFile.getCanonicalPath(), // fetchDestination
+									buildConfiguration.isDeleteNeeded(), // deleteDestinationBeforeFetch
+									buildConfiguration.getLoadMethod(), // loadMethod
+									buildConfiguration.getLoadPolicy(), // loadPolicy
+									false, // createFoldersForComponents
+									buildConfiguration.getComponentLoadConfig(), // componentLoadConfig
+									false, // includeComponents
+									Collections.EMPTY_LIST, // components
+									buildConfiguration.getComponentLoadRuleUuids(), // componentLoadRuleUuids
+									Collections.EMPTY_LIST, // componentLoadRules
+									false, // preserveFileTimestamps
+									false, // expandKeywords
+									listener, // consoleOutput
+									getTeamRepository(), // repository
+									monitor.newChild(39)); // monitor
 						}
-						// we will always have a single entry in the loadRules collection, as specifying multiple load
-						// rules file will result in an error
-						BackwardCompatibilityUtilFor701.invokeUpdateCopyFileArea(workspaceConnection, // workspaceConnection
-								synchronizeLoad, // synchronizeLoad
-								fetchDestinationFile.getCanonicalPath(), // fetchDestination
-								buildConfiguration.isDeleteNeeded(), // deleteDestinationBeforeFetch
-								buildConfiguration.getLoadMethod(), // loadMethod
-								buildConfiguration.getLoadPolicy(), // loadPolicy
-								buildConfiguration.getComponentLoadConfig(), // componentLoadConfig
-								buildConfiguration.getComponentLoadRuleUuids(), // componentLoadRuleUuids
-								loadRulesInstance.iterator().next(), // loadRule
-								false, // preserveFileTimestamps
-								false, // expandKeywords
-								listener, // consoleOutput
-								getTeamRepository(), // repository
-								monitor.newChild(39)); // monitor
 					} else {
+						// either load policy is not set or it is set to use component load config or load policy is set to
+						// useDynamicLoadRules and the dynamic load rule generator still returns the load rules using the
+						// deprecated getComponentLoadRules interface
 						if (LOGGER.isLoggable(Level.FINER)) {
-							LOGGER.finer("RepositoryConnection.load : Load rules are not specified. Using pre-603 interface of SourceControlUtility.updateFileCopyArea");
+							if (buildConfiguration.isLoadPolicySet()) {
+								if (buildConfiguration.isLoadPolicySetToUseComponentLoadConfig()) {
+									LOGGER.finer("RepositoryConnection.load: Load Policy is set to " + Constants.LOAD_POLICY_USE_COMPONENT_LOAD_CONFIG
+											+ ". Any specified load rules will be ignored.");
+									if (buildConfiguration.isComponentLoadConfigSetToExcludeSomeComponents()) {
+										LOGGER.finer("RepositoryConnection.load: Component load config set to "
+												+ Constants.COMPONENT_LOAD_CONFIG_EXCLUDE_SOME_COMPONENTS
+												+ ". All components in the workspace will be loaded.");
+									} else {
+										LOGGER.finer("RepositoryConnection.load: Component load config set to "
+												+ Constants.COMPONENT_LOAD_CONFIG_LOAD_ALL_COMPONENTS
+												+ ". Components specified to be excluded will not be loaded.");
+									}
+								} else if (buildConfiguration.isLoadPolicySetToUseDynamicLoadRules()) {
+									LOGGER.finer("RepositoryConnection.load: Load Policy is set to " + Constants.LOAD_POLICY_USE_DYNAMIC_LOAD_RULES
+											+ " and dynamic load rules are provided by the deprecated getComponentLoadRules method");
+								}
+							} else {
+								LOGGER.finer("RepositoryConnection.load: Load policy is not set. "
+										+ "All components in the workspace will be loaded. If load rules are specified then components included "
+										+ "in the load rules will be loaded according to the load rules ");
+							}
 						}
+						// dynamic load rules take precedence over configured load rules
+						Collection<ILoadRule2> lRules = buildConfiguration.isLoadPolicySetToUseDynamicLoadRules() ? buildConfiguration
+								.getCustomLoadRules(workspaceConnection, compLoadRules, logger, clientLocale) : buildConfiguration.getComponentLoadRules(
+								workspaceConnection, null, logger, monitor.newChild(1), clientLocale);
 						BackwardCompatibilityUtilFor701.invokeUpdateCopyFileArea(workspaceConnection, // workspaceConnection
 								synchronizeLoad, // synchronizeLoad
 								fetchDestinationFile.getCanonicalPath(), // fetchDestination
 								buildConfiguration.isDeleteNeeded(), // deleteDestinationBeforeFetch
 								buildConfiguration.getLoadMethod(), // loadMethod
 								buildConfiguration.getLoadPolicy(), // loadPolicy
-								false, // createFoldersForComponents
+								buildConfiguration.createFoldersForComponents(), // createFoldersForComponents
 								buildConfiguration.getComponentLoadConfig(), // componentLoadConfig
-								false, // includeComponents
-								Collections.EMPTY_LIST, // components
+								includedComponents, // includeComponents
+								components, // components
 								buildConfiguration.getComponentLoadRuleUuids(), // componentLoadRuleUuids
-								Collections.EMPTY_LIST, // componentLoadRules
+								lRules, // componentLoadRules
 								false, // preserveFileTimestamps
 								false, // expandKeywords
 								listener, // consoleOutput
 								getTeamRepository(), // repository
 								monitor.newChild(39)); // monitor
 					}
-				} else {
-					// either load policy is not set or it is set to use component load config or load policy is set to
-					// useDynamicLoadRules and the dynamic load rule generator still returns the load rules using the
-					// deprecated getComponentLoadRules interface
-					if (LOGGER.isLoggable(Level.FINER)) {
-						if (buildConfiguration.isLoadPolicySet()) {
-							if (buildConfiguration.isLoadPolicySetToUseComponentLoadConfig()) {
-								LOGGER.finer("RepositoryConnection.load: Load Policy is set to " + Constants.LOAD_POLICY_USE_COMPONENT_LOAD_CONFIG
-										+ ". Any specified load rules will be ignored.");
-								if (buildConfiguration.isComponentLoadConfigSetToExcludeSomeComponents()) {
-									LOGGER.finer("RepositoryConnection.load: Component load config set to "
-											+ Constants.COMPONENT_LOAD_CONFIG_EXCLUDE_SOME_COMPONENTS
-											+ ". All components in the workspace will be loaded.");
-								} else {
-									LOGGER.finer("RepositoryConnection.load: Component load config set to "
-											+ Constants.COMPONENT_LOAD_CONFIG_LOAD_ALL_COMPONENTS
-											+ ". Components specified to be excluded will not be loaded.");
-								}
-							} else if (buildConfiguration.isLoadPolicySetToUseDynamicLoadRules()) {
-								LOGGER.finer("RepositoryConnection.load: Load Policy is set to " + Constants.LOAD_POLICY_USE_DYNAMIC_LOAD_RULES
-										+ " and dynamic load rules are provided by the deprecated getComponentLoadRules method");
-							}
-						} else {
-							LOGGER.finer("RepositoryConnection.load: Load policy is not set. "
-									+ "All components in the workspace will be loaded. If load rules are specified then components included "
-									+ "in the load rules will be loaded according to the load rules ");
-						}
-					}
-					// dynamic load rules take precedence over configured load rules
-					Collection<ILoadRule2> lRules = buildConfiguration.isLoadPolicySetToUseDynamicLoadRules() ? buildConfiguration
-							.getCustomLoadRules(workspaceConnection, compLoadRules, logger, clientLocale) : buildConfiguration.getComponentLoadRules(
-							workspaceConnection, null, logger, monitor.newChild(1), clientLocale);
-					BackwardCompatibilityUtilFor701.invokeUpdateCopyFileArea(workspaceConnection, // workspaceConnection
-							synchronizeLoad, // synchronizeLoad
-							fetchDestinationFile.getCanonicalPath(), // fetchDestination
-							buildConfiguration.isDeleteNeeded(), // deleteDestinationBeforeFetch
-							buildConfiguration.getLoadMethod(), // loadMethod
-							buildConfiguration.getLoadPolicy(), // loadPolicy
-							buildConfiguration.createFoldersForComponents(), // createFoldersForComponents
-							buildConfiguration.getComponentLoadConfig(), // componentLoadConfig
-							includedComponents, // includeComponents
-							components, // components
-							buildConfiguration.getComponentLoadRuleUuids(), // componentLoadRuleUuids
-							lRules, // componentLoadRules
-							false, // preserveFileTimestamps
-							false, // expandKeywords
-							listener, // consoleOutput
-							getTeamRepository(), // repository
-							monitor.newChild(39)); // monitor
-				}
 	         
 	         
+	    		}
 	            listener.log(Messages.getDefault().RepositoryConnection_checkout_fetch_complete());
 	            
 	            if(extProvider != null) {
@@ -1078,7 +1128,9 @@ public class RepositoryConnection {
 			throw exp;
 		} finally {
 			// Finalize the buildConfiguration
-			buildConfiguration.tearDown(fRepositoryManager, exceptionOccured, monitor.newChild(1), listener, clientLocale);
+			try (TimingRecorder.Span span = TimingRecorder.start("buildConfiguration.tearDown")) { //$NON-NLS-1$
+				buildConfiguration.tearDown(fRepositoryManager, exceptionOccured, monitor.newChild(1), listener, clientLocale);
+			}
 		}
 
 		// Add temporary workspace details as the return value
@@ -1487,7 +1539,7 @@ public class RepositoryConnection {
 
 	public void ensureLoggedIn(IProgressMonitor progress) throws TeamRepositoryException {
 		if (!fRepository.loggedIn()) {
-			try {
+			try (TimingRecorder.Span span = TimingRecorder.start("login")) { //$NON-NLS-1$
 				fRepository.login(progress);
 			} catch (AuthenticationException e) {
 				fBuildClient.removeRepositoryConnection(getConnectionDetails());
@@ -1594,6 +1646,24 @@ public class RepositoryConnection {
 				monitor.newChild(95), clientLocale);
 	}
 
+	/**
+	 * Delete a batch of build results after logging in once.
+	 * @param buildResultUUIDs The UUIDs of the build results to delete
+	 * @param progress Monitor to handle cancellation
+	 * @param clientLocale Locale of the calling client
+	 * @return A map from the UUID of each build result that could not be deleted
+	 * to the reason
+	 * @throws TeamRepositoryException Thrown if unable to log in
+	 */
+	public Map<String, String> deleteBuildResults(List<String> buildResultUUIDs, IConsoleOutput clientConsole,
+			IProgressMonitor progress, Locale clientLocale) throws TeamRepositoryException {
+		SubMonitor monitor = SubMonitor.convert(progress, 100);
+		ensureLoggedIn(monitor.newChild(5));
+
+		return getBuildConnection().deleteBuildResults(buildResultUUIDs, clientConsole,
+				monitor.newChild(95), clientLocale);
+	}
+
 	/**
 	 * Given a build stream, find whether the stream has new changes when compared to some previous state 
 	 * by first computing the state of the stream and subtracting it from the previous state.
@@ -1635,9 +1705,12 @@ public class RepositoryConnection {
 	 * Given a build stream by name, perform an accept.
 	 * This involves the following
 	 * <ol>
+	 * <li>Take a snapshot on the stream, if the repository supports it. Otherwise:
+	 * <ol>
 	 * <li>Create a workspace from the stream</li>
 	 * <li>Take a snapshot on the workspace</li>
 	 * <li>Change the owner of the snapshot back to the stream</li>
+	 * </ol></li>
 	 * <li>If previous snapshot UUID is given, compare that with the snapshot created and create a {@link ChangeReport}</li>
 	 * <li>Write the change report into change log</li>
 	 * <li>Add some properties to build properties and store it in the map (which is the return value) </li>
@@ -1650,16 +1723,19 @@ public class RepositoryConnection {
 	 * @param previousBuildURL - the URL of the previous Jenkins build from which the previous snapshot uuid was taken
 	 * @param currentBuildURL - the URL of the current Jenkins build
 	 * @param temporaryWorkspaceComment -
+	 * @param options - the options of the job, may ask for a pooled temporary workspace and
+	 *                  carry the baseline of each component in the previous snapshot
 	 * @param listener
 	 * @param progress
 	 * @param clientLocale
-	 * @return a {@link Map} of String to {@link Object}s
+	 * @return a {@link Map} of String to {@link Object}s, with the baseline UUID of each component
+	 *         UUID in the snapshot in {@link Constants#COMPONENT_BASELINES} when the snapshots were compared
 	 * @throws {@link Exception} - if there is any error during the operation
 	 */
 	private Map<String, Object> acceptForBuildStream(final String processAreaName, final String buildStream, final ChangeReport changeReport,
 			final String snapshotName, final String previousSnapshotUUID, final String previousBuildURL, 
 			String currentBuildURL, String currentBuildLabel, String temporaryWorkspaceComment, boolean addLinksToWorkItems,
-			MetronomeReporter reporter, String callConnectorTimeout, final IConsoleOutput listener, 
+			MetronomeReporter reporter, String callConnectorTimeout, Map<String, Object> options, final IConsoleOutput listener, 
 			final IProgressMonitor progress, final Locale clientLocale) throws Exception {
 		SubMonitor monitor = SubMonitor.convert(progress, 100);
 
@@ -1672,9 +1748,10 @@ public class RepositoryConnection {
     	String workspaceName = getWorkspaceNamePrefix() + "_" + Long.toString(System.currentTimeMillis());
 
 		/*
-		 *  Create a workspace from the stream
-		 *  Take a snapshot on the workspace
-		 *  Change the snapshot owner to the stream
+		 *  Take a snapshot on the stream, or
+		 *    Create a workspace from the stream
+		 *    Take a snapshot on the workspace
+		 *    Change the snapshot owner to the stream
 		 *  Generate the change report
 		 *  Create a link in the work items to the Jenkins build  
 		 */
@@ -1683,23 +1760,71 @@ public class RepositoryConnection {
 		IWorkspaceConnection streamConnection = SCMPlatform.getWorkspaceManager(getTeamRepository()).getWorkspaceConnection(streamHandle, monitor.newChild(1));
 		
 		IWorkspaceConnection workspaceConnection = null;
+		boolean pooledWorkspace = false;
 		try {
-			// Create a workspace from the stream
-			workspaceConnection = SCMPlatform.getWorkspaceManager(getTeamRepository()).createWorkspace(contributor, workspaceName, temporaryWorkspaceComment, null, streamConnection, monitor.newChild(5));
-			if (LOGGER.isLoggable(Level.FINER)) {
-				LOGGER.finest("RepositoryConnection.accept for stream : Created temporary workspace '" + workspaceName + "'");
+			// A job that keeps a pool of workspaces reuses them for the load, the snapshot is taken on the workspace
+			String poolKey = options == null ? null : (String) options.get(Constants.TEMPORARY_WORKSPACE_POOL_KEY);
+			boolean usePool = poolKey != null && options.get(Constants.TEMPORARY_WORKSPACE_POOL_SIZE) instanceof Integer;
+
+			// Otherwise take the snapshot on the stream, the load creates its workspace from the snapshot.
+			// That is 2 digests and the snapshot here, then a create and a delete in the load: 5 calls instead of
+			// the create, snapshot, owner change and digest here and the fetch and delete of the workspace in the load
+			IBaselineSetHandle baselineSet = null;
+			// The digest of the state that is snapshot, which the next poll compares the stream with
+			String streamDataHashS = null;
+			if (!usePool && RTCSnapshotUtils.canCreateStreamSnapshot(getTeamRepository())) {
+				String digestBefore = RTCWorkspaceUtils.getInstance().getDigest(getTeamRepository(), streamConnection.getResolvedWorkspace(), monitor.newChild(5));
+				try (TimingRecorder.Span span = TimingRecorder.start("stream.createSnapshot").attribute("direct", true)) { //$NON-NLS-1$ //$NON-NLS-2$
+					baselineSet = RTCSnapshotUtils.createStreamSnapshot(getTeamRepository(), streamConnection, snapshotName, monitor.newChild(5));
+				}
+				if (baselineSet != null) {
+					// A change delivered to the stream while the snapshot was taken may or may not be in the snapshot,
+					// use a frozen workspace instead
+					String digestAfter = RTCWorkspaceUtils.getInstance().getDigest(getTeamRepository(), streamConnection.getResolvedWorkspace(), monitor.newChild(5));
+					if (digestBefore.equals(digestAfter)) {
+						streamDataHashS = digestBefore;
+						if (LOGGER.isLoggable(Level.FINER)) {
+							LOGGER.finest("RepositoryConnection.accept for stream : Created snapshot '" + snapshotName + "' on stream '" + buildStream + "'.");
+						}
+					} else {
+						LOGGER.fine("RepositoryConnection.accept for stream : Stream '" + buildStream + "' changed while it was snapshot, using a temporary workspace"); //$NON-NLS-1$ //$NON-NLS-2$
+						RTCSnapshotUtils.discardStreamSnapshot(streamConnection, baselineSet, monitor.newChild(1));
+						baselineSet = null;
+					}
+				}
 			}
+
+			if (baselineSet == null) {
+				// Take a workspace from the job's pool, reset to the stream, or create a workspace from the stream
+				try (TimingRecorder.Span createSpan = TimingRecorder.start("stream.createWorkspace")) { //$NON-NLS-1$
+					if (usePool) {
+						workspaceConnection = TemporaryWorkspacePool.getDefault().lease(getTeamRepository(), contributor, getWorkspaceNamePrefix(),
+								poolKey, (Integer) options.get(Constants.TEMPORARY_WORKSPACE_POOL_SIZE), streamConnection,
+								temporaryWorkspaceComment, monitor.newChild(5));
+						pooledWorkspace = workspaceConnection != null;
+						createSpan.attribute("pooled", pooledWorkspace); //$NON-NLS-1$
+					}
+					if (workspaceConnection == null) {
+						workspaceConnection = SCMPlatform.getWorkspaceManager(getTeamRepository()).createWorkspace(contributor, workspaceName, temporaryWorkspaceComment, null, streamConnection, monitor.newChild(5));
+					}
+				}
+				if (LOGGER.isLoggable(Level.FINER)) {
+					LOGGER.finest("RepositoryConnection.accept for stream : Using temporary workspace '" + workspaceConnection.getName() + "'");
+				}
 	
-			// Create a baseline set for the workspace
-			IBaselineSetHandle baselineSet = workspaceConnection.createBaselineSet(null, snapshotName, null, BaselineSetFlags.DEFAULT, monitor.newChild(3));
-			if (LOGGER.isLoggable(Level.FINER)) {
-				LOGGER.finest("RepositoryConnection.accep for stream : Created snapshot '" + snapshotName + "'.");
-			}
+				// Create a baseline set for the workspace
+				try (TimingRecorder.Span span = TimingRecorder.start("stream.createSnapshot")) { //$NON-NLS-1$
+					baselineSet = workspaceConnection.createBaselineSet(null, snapshotName, null, BaselineSetFlags.DEFAULT, monitor.newChild(3));
+					if (LOGGER.isLoggable(Level.FINER)) {
+						LOGGER.finest("RepositoryConnection.accep for stream : Created snapshot '" + snapshotName + "'.");
+					}
 			
-			// Change the owner of the baselineset to the stream
-			streamConnection.addBaselineSet(baselineSet, monitor.newChild(2));
-			if (LOGGER.isLoggable(Level.FINER)) {
-				LOGGER.finest("RepositoryConnection.accep for stream : Changed owner of snapshot '" + snapshotName + "' to stream '" + buildStream +"'.");
+					// Change the owner of the baselineset to the stream
+					streamConnection.addBaselineSet(baselineSet, monitor.newChild(2));
+				}
+				if (LOGGER.isLoggable(Level.FINER)) {
+					LOGGER.finest("RepositoryConnection.accep for stream : Changed owner of snapshot '" + snapshotName + "' to stream '" + buildStream +"'.");
+				}
 			}
 			
 			// Get the {@IBaselineHandle} of the previous snapshot
@@ -1719,15 +1844,29 @@ public class RepositoryConnection {
 			// Otherwise skip the compare put the link to the current snapshot in the change report
 			if (previousSnapshot != null) {
 				// Create the changeReport
-				IChangeHistorySyncReport compareReport = SCMPlatform.getWorkspaceManager(getTeamRepository()).compareBaselineSets(baselineSet, previousSnapshot, null, monitor.newChild(2));
+				SnapshotComparison compareReport;
+				try (TimingRecorder.Span span = TimingRecorder.start("stream.compareSnapshots")) { //$NON-NLS-1$
+					@SuppressWarnings("unchecked")
+					Map<String, String> previousComponentBaselines = options == null ? null
+							: (Map<String, String>) options.get(Constants.PREVIOUS_COMPONENT_BASELINES);
+					compareReport = SnapshotComparison.compare(getTeamRepository(), baselineSet, previousSnapshot,
+							previousComponentBaselines, monitor.newChild(2));
+				}
+				if (compareReport.getComponentBaselines() != null) {
+					result.put(Constants.COMPONENT_BASELINES, new HashMap<String, String>(compareReport.getComponentBaselines()));
+				}
 				if (changeReport != null) {
 		            // build change report
-		            ChangeReportBuilder changeReportBuilder = new ChangeReportBuilder(fRepository);
-		            changeReportBuilder.populateChangeReport(changeReport,
-		            		streamConnection.getResolvedWorkspace(), streamConnection.getName(), 
-		            		baselineSet, snapshotName, compareReport,
-		            		previousBuildURL, listener, monitor.newChild(2));
-		        	changeReport.prepareChangeSetLog();
+		            try (TimingRecorder.Span span = TimingRecorder.start("changeReport.build")) { //$NON-NLS-1$
+			            ChangeReportBuilder changeReportBuilder = new ChangeReportBuilder(fRepository);
+			            changeReportBuilder.populateChangeReport(changeReport,
+			            		streamConnection.getResolvedWorkspace(), streamConnection.getName(), 
+			            		baselineSet, snapshotName, compareReport,
+			            		previousBuildURL, listener, monitor.newChild(2));
+		            }
+		            try (TimingRecorder.Span span = TimingRecorder.start("changeLog.write")) { //$NON-NLS-1$
+			        	changeReport.prepareChangeSetLog();
+		            }
 		        	
 		        	// From the compareReport, get the count of accepted, discarded, components added/removed count
 		        	int acceptCount = getAcceptChangesCount(changeReport);
@@ -1740,9 +1879,10 @@ public class RepositoryConnection {
 			        	// From the compareReport, get the list of work items included in this build.
 			        	// We will create link to the current Jenkins build in those work items
 			        	List<Integer> workItemIds = changeReport.getAcceptedWorkItems();
-			        	try {
+			        	try (TimingRecorder.Span span = TimingRecorder.start("workItems.addRelatedLinks") //$NON-NLS-1$
+			        			.attribute("workItems", workItemIds.size())) { //$NON-NLS-1$
 			        		WorkItemUtils.addRelatedLinkToWorkItems(fRepository, workItemIds, currentBuildURL,
-			        				currentBuildLabel);
+			        				currentBuildLabel, clientLocale);
 			        	} catch (Exception exp) {
 		        			// Log the exception but do not fail the build
 		        			LOGGER.log(Level.WARNING, 
@@ -1758,7 +1898,9 @@ public class RepositoryConnection {
 			}
 			
 			// Create streamChangesData and add it to build properties
-			String streamDataHashS = RTCWorkspaceUtils.getInstance().getDigest(getTeamRepository(), workspaceConnection.getResolvedWorkspace(), monitor.newChild(10)); 
+			if (streamDataHashS == null) {
+				streamDataHashS = RTCWorkspaceUtils.getInstance().getDigest(getTeamRepository(), workspaceConnection.getResolvedWorkspace(), monitor.newChild(10));
+			}
 			LOGGER.finer("Stream's data hash during accept is " +  streamDataHashS.toString());
 			buildProperties.put(Constants.TEAM_SCM_STREAM_DATA_HASH, streamDataHashS.toString());
 			
@@ -1784,8 +1926,15 @@ public class RepositoryConnection {
 	        	        
 	        // Create streamData map and add it to result
 	        Map<String, String> streamData = new HashMap<String, String>();
-	        streamData.put(Constants.STREAM_DATA_WORKSPACEUUID, workspaceConnection.getResolvedWorkspace().getItemId().getUuidValue());
+	        // Without a workspace, the load creates one from the snapshot
+	        if (workspaceConnection != null) {
+	        	streamData.put(Constants.STREAM_DATA_WORKSPACEUUID, workspaceConnection.getResolvedWorkspace().getItemId().getUuidValue());
+	        }
 	        streamData.put(Constants.STREAM_DATA_SNAPSHOTUUID, baselineSet.getItemId().getUuidValue());
+	        if (pooledWorkspace) {
+	        	streamData.put(Constants.STREAM_DATA_POOLED_WORKSPACE, TemporaryWorkspacePool.getDefault().getLeaseToken(getTeamRepository(),
+	        			workspaceConnection.getResolvedWorkspace().getItemId()));
+	        }
 	        result.put(Constants.STREAM_DATA, streamData);
 	        
 	        // Create a call connector only if metronome reporting is required.
@@ -1801,7 +1950,11 @@ public class RepositoryConnection {
 	        return result;
 
 		} catch (Exception exp) {
-			if (workspaceConnection != null) {
+			if (pooledWorkspace) {
+				UUID workspaceId = workspaceConnection.getResolvedWorkspace().getItemId();
+				TemporaryWorkspacePool.getDefault().release(getTeamRepository(), workspaceId,
+						TemporaryWorkspacePool.getDefault().getLeaseToken(getTeamRepository(), workspaceId));
+			} else if (workspaceConnection != null) {
 				RTCWorkspaceUtils.getInstance().deleteSilent(workspaceConnection.getResolvedWorkspace(), getTeamRepository(), monitor.newChild(5), listener, clientLocale);
 			}
 			throw exp;
@@ -2121,6 +2274,54 @@ public class RepositoryConnection {
  		
 	}
 	
+	/**
+	 * Page based variant of {@link #listFiles(String, String, String, String, int, 
+	 * IConsoleOutput, Locale, SubMonitor)}. 
+	 * 
+	 * See {@link RTCBuildUtils#listFiles(String, String, String, String, int, int, 
+	 * ITeamRepository, IConsoleOutput, Locale, org.eclipse.core.runtime.IProgressMonitor)} 
+	 * for a description of this method's behavior.
+	 * 
+	 * @param buildResultUUID    The UUID of the build result. Cannot be 
+	 *                           <code>null</code>
+	 * @param fileNameOrPattern  The file name to match, can be a pattern. 
+     *                           Can be <code>null</code>.
+	 * @param componentName      The name of the component that the contribution 
+	 *                           should belong to. Can be <code>null</code>.
+	 * @param fileType           The type of the contribution. Valid values are 
+	 *                           <code>log</code> and <code>artifact</code>.
+	 * @param startIndex         The position in the contribution list from where 
+	 *                           scanning should start. 
+	 * @param maxResults         The maximum number of results to be provided in the 
+	 *                           return value. Should be less than 
+	 *                           {@link Constants#LIST_FILES_MAX_RESULTS}
+	 * @param consoleOutput      An output stream to send messages into. This will be 
+	 *                           in the build log.
+	 * @param clientLocale       The locale in which user visible messages should be output
+	 * @param progress           A progress monitor
+	 * @return                   A map with keys {@link Constants#RTCBuildUtils_FILEINFOS_KEY}
+	 *                           and {@link Constants#RTCBuildUtils_NEXT_START_INDEX_KEY}
+	 * @throws TeamRepositoryException   If there is an issue in service calls to the EWM server
+	 * @throws RTCConfigurationException If any of the input fails validation.
+	 */
+	public Map<String, Object> listFiles(String buildResultUUID, String fileNameOrPattern,
+			String componentName, String fileType, int startIndex, int maxResults, 
+			IConsoleOutput consoleOutput, Locale clientLocale, SubMonitor progress) 
+					throws RTCConfigurationException, TeamRepositoryException {
+ 		LOGGER.entering(this.getClass().getName(), "listFiles");
+		SubMonitor monitor = SubMonitor.convert(progress, 100);
+ 		try {
+ 			LOGGER.finest(String.format("Listing files for build result UUID %s from index %d", 
+ 						buildResultUUID, startIndex));
+			ensureLoggedIn(monitor.newChild(1));
+			return RTCBuildUtils.getInstance().listFiles(buildResultUUID, fileNameOrPattern,
+					componentName, fileType, startIndex, maxResults, getTeamRepository(), 
+					consoleOutput, clientLocale, monitor);
+ 		} finally {
+ 			LOGGER.exiting(this.getClass().getName(), "listFiles");	
+ 		}
+	}
+	
 	/**
 	 * Download the file  (log or artifact) that is part of the build result 
 	 * from the content repository. You can provide either filename + 
@@ -2285,18 +2486,15 @@ public class RepositoryConnection {
 	 */
 	private void createCallConnectorForMetronomeData(final CallConnectorData cData, final String callConnectorTimeoutParam, 
 					final Map<String, Object> result, IConsoleOutput listener) {
-        CallConnector<CallConnectorData> callConnector = null;
         String connectorId = ""; //$NON-NLS-1$
         try {
         	String callConnectorTimeout = Utils.fixEmptyAndTrim(callConnectorTimeoutParam);
             if ((callConnectorTimeout != null) && (!"".equals(callConnectorTimeout)) && callConnectorTimeout.matches("\\d+")) { //$NON-NLS-1$ //$NON-NLS-2$
             	long timeout = Long.parseLong(callConnectorTimeout) * 1000;
-            	callConnector = new CallConnector<CallConnectorData>(cData, timeout);
+            	connectorId = CallConnector.getDefault().put(cData, timeout);
             } else {
-            	callConnector = new CallConnector<CallConnectorData>(cData);
+            	connectorId = CallConnector.getDefault().put(cData);
             }
-    		callConnector.start();
-    		connectorId = (new Long(callConnector.getId())).toString();
     		result.put(Constants.CONNECTOR_ID, connectorId);
         } catch(Exception e) {
     		String errorMessage = Messages.getDefault().RepositoryConnection_accept_unable_to_start_call_connector() + 
@@ -2494,6 +2692,26 @@ public class RepositoryConnection {
 				String previousSnapshotUUID, OutputStream changeLog, 
 				IConsoleOutput listener, Locale clientLocale, IProgressMonitor progress) 
 						throws TeamRepositoryException, RTCConfigurationException, URISyntaxException, IOException {
+		return generateChangelog(snapshotUUID, workspaceUUID, previousSnapshotUUID, null, changeLog, 
+				listener, clientLocale, progress);
+	}
+
+	/**
+	 * Generate the changelog for the snapshot, using the component baselines of the previous
+	 * snapshot kept with the previous build.
+	 * 
+	 * @param previousComponentBaselines     The baseline UUID of each component UUID in the previous snapshot,
+	 *                                       as returned in {@link Constants#COMPONENT_BASELINES} when the change log
+	 *                                       for the previous snapshot was generated. May be <code>null</code>.
+	 * @return                               A map which contains the build properties and, when the snapshots
+	 *                                       were compared component by component, the baseline UUID of each 
+	 *                                       component UUID in the snapshot in {@link Constants#COMPONENT_BASELINES}.
+	 * @see #generateChangelog(String, String, String, OutputStream, IConsoleOutput, Locale, IProgressMonitor)
+	 */
+	public Map<String, Object> generateChangelog(String snapshotUUID, String workspaceUUID, 
+				String previousSnapshotUUID, Map<String, String> previousComponentBaselines, OutputStream changeLog, 
+				IConsoleOutput listener, Locale clientLocale, IProgressMonitor progress) 
+						throws TeamRepositoryException, RTCConfigurationException, URISyntaxException, IOException {
 		LOGGER.entering(this.getClass().getName(), "generateChangelog");
 		SubMonitor monitor = SubMonitor.convert(progress, 100);
 		try {
@@ -2531,6 +2749,7 @@ public class RepositoryConnection {
 			if (changeLog != null) {
 				changeReport = new ChangeReport(changeLog);
 			} 
+			Map<String, String> componentBaselines = null;
 			
 			previousSnapshotUUID = Utils.fixEmptyAndTrim(previousSnapshotUUID);
 			// Build change report changeReport is null if "changeLog" option is 
@@ -2559,9 +2778,9 @@ public class RepositoryConnection {
 				}
 				if (previousSnapshot != null) {
 					// Create the changeReport by comparing the current and previous snapshot 
-					IChangeHistorySyncReport compareReport = SCMPlatform.getWorkspaceManager
-								(getTeamRepository()).compareBaselineSets(currentSnapshot, 
-								previousSnapshot, null, monitor.newChild(2));
+					SnapshotComparison compareReport = SnapshotComparison.compare(getTeamRepository(),
+								currentSnapshot, previousSnapshot, previousComponentBaselines, monitor.newChild(2));
+					componentBaselines = compareReport.getComponentBaselines();
 		            // build change report
 		            ChangeReportBuilder changeReportBuilder = new ChangeReportBuilder(fRepository);
 		            changeReportBuilder.populateChangeReport2(changeReport,
@@ -2594,6 +2813,9 @@ public class RepositoryConnection {
 	        buildProperties = BuildConfiguration.formatAsEnvironmentVariables(buildProperties);
 	        Map<String, Object> result = new HashMap<String, Object>();
 			result.put(Constants.BUILD_PROPERTIES, buildProperties);
+			if (componentBaselines != null) {
+				result.put(Constants.COMPONENT_BASELINES, new HashMap<String, String>(componentBaselines));
+			}
 			return result;
 	    } finally {
 			monitor.done();
@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.team.repository.client.ITeamRepository;
+import com.ibm.team.repository.common.IItemHandle;
+import com.ibm.team.scm.common.IBaselineSet;
+
+/**
+ * Keeps the snapshots fetched by UUID, so that the snapshots of a build are not fetched
+ * again by each of accept, load, changelog generation and the lookup of the snapshot of
+ * a build. The content of a snapshot does not change, so a snapshot is kept until it is
+ * fetched again in another state, it expires after {@link #TTL_PROPERTY} seconds, which
+ * bounds how long a renamed snapshot is seen with its old name, or it is evicted because
+ * more than {@link #MAX_ENTRIES_PROPERTY} snapshots or more than {@link #MAX_BASELINES_PROPERTY}
+ * baselines are kept.
+ *
+ * A snapshot holds a handle to the baseline of each of its components, so the memory it
+ * takes grows with the number of its components. The number of baselines kept is the
+ * estimate of the memory taken, each snapshot counting as one more.
+ *
+ * Snapshots are kept per repository and user, since the user determines the items that
+ * can be seen.
+ */
+public final class SnapshotCache {
+
+	private static final Logger LOGGER = Logger.getLogger(SnapshotCache.class.getName());
+
+	/**
+	 * System property for the number of seconds a snapshot is kept. 0 disables the cache.
+	 */
+	public static final String TTL_PROPERTY = "com.ibm.team.build.snapshotCacheTTL"; //$NON-NLS-1$
+
+	/**
+	 * System property for the largest number of snapshots kept
+	 */
+	public static final String MAX_ENTRIES_PROPERTY = "com.ibm.team.build.snapshotCacheSize"; //$NON-NLS-1$
+
+	/**
+	 * System property for the largest number of baselines in the snapshots kept
+	 */
+	public static final String MAX_BASELINES_PROPERTY = "com.ibm.team.build.snapshotCacheBaselines"; //$NON-NLS-1$
+
+	private static final long DEFAULT_TTL_SECONDS = 300;
+	private static final int DEFAULT_MAX_ENTRIES = 200;
+	private static final long DEFAULT_MAX_BASELINES = 20000;
+
+	private static final String KEY_SEPARATOR = "#"; //$NON-NLS-1$
+
+	private static final SnapshotCache DEFAULT = new SnapshotCache();
+
+	/**
+	 * In access order, the least recently used entry first
+	 */
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+	/**
+	 * The sum of the weights of the entries, guarded by <code>entries</code>
+	 */
+	private long weight;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	private static final class Entry {
+		private final IBaselineSet snapshot;
+		private final long expiry;
+		// the snapshot and its baselines
+		private final long weight;
+
+		Entry(IBaselineSet snapshot, long expiry) {
+			this.snapshot = snapshot;
+			this.expiry = expiry;
+			this.weight = 1 + (snapshot.getBaselines() == null ? 0 : snapshot.getBaselines().size());
+		}
+	}
+
+	/**
+	 * Used only for testing purposes
+	 */
+	public SnapshotCache() {
+	}
+
+	/**
+	 * @return The cache shared by the snapshot lookups in this facade
+	 */
+	static SnapshotCache getDefault() {
+		return DEFAULT;
+	}
+
+	private static String getKey(ITeamRepository repository, IItemHandle snapshotHandle) {
+		return repository.getRepositoryURI() + KEY_SEPARATOR + repository.getUserId() + KEY_SEPARATOR
+				+ snapshotHandle.getItemId().getUuidValue();
+	}
+
+	/**
+	 * @param repository The repository of the snapshot
+	 * @param snapshotHandle The snapshot. If the handle has a state, only a snapshot in that
+	 * state is returned.
+	 * @return The snapshot, <code>null</code> if it is not kept
+	 */
+	public IBaselineSet get(ITeamRepository repository, IItemHandle snapshotHandle) {
+		String key = getKey(repository, snapshotHandle);
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+			if (entry != null && (entry.expiry <= System.currentTimeMillis()
+					|| (snapshotHandle.getStateId() != null && !snapshotHandle.getStateId().equals(entry.snapshot.getStateId())))) {
+				remove(key);
+				entry = null;
+			}
+		}
+		if (entry == null) {
+			misses.incrementAndGet();
+			return null;
+		}
+		long hitCount = hits.incrementAndGet();
+		if (LOGGER.isLoggable(Level.FINEST)) {
+			LOGGER.finest("Using the cached snapshot " + key + ". " + getStatistics(hitCount)); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return entry.snapshot;
+	}
+
+	/**
+	 * Keep a snapshot that was fetched
+	 * @param repository The repository of the snapshot
+	 * @param snapshot The snapshot
+	 */
+	public void put(ITeamRepository repository, IBaselineSet snapshot) {
+		long ttl = TimeUnit.SECONDS.toMillis(Long.getLong(TTL_PROPERTY, DEFAULT_TTL_SECONDS));
+		if (ttl <= 0 || snapshot == null) {
+			return;
+		}
+		int maxEntries = Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES);
+		long maxBaselines = Long.getLong(MAX_BASELINES_PROPERTY, DEFAULT_MAX_BASELINES);
+		String key = getKey(repository, snapshot);
+		Entry entry = new Entry(snapshot, System.currentTimeMillis() + ttl);
+		synchronized (entries) {
+			remove(key);
+			if (entry.weight > maxBaselines) {
+				// would evict everything else and then itself
+				return;
+			}
+			entries.put(key, entry);
+			weight += entry.weight;
+			while (entries.size() > maxEntries || weight > maxBaselines) {
+				remove(entries.keySet().iterator().next());
+				evictions.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Called holding the lock on <code>entries</code>
+	 */
+	private void remove(String key) {
+		Entry entry = entries.remove(key);
+		if (entry != null) {
+			weight -= entry.weight;
+		}
+	}
+
+	/**
+	 * Forget a snapshot, for example because it has been deleted
+	 * @param repository The repository of the snapshot
+	 * @param snapshotHandle The snapshot
+	 */
+	public void invalidate(ITeamRepository repository, IItemHandle snapshotHandle) {
+		synchronized (entries) {
+			remove(getKey(repository, snapshotHandle));
+		}
+	}
+
+	/**
+	 * Forget all snapshots
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+			weight = 0;
+		}
+	}
+
+	/**
+	 * @return The number of lookups that found the snapshot in the cache
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * @return The number of lookups that had to fetch the snapshot
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * @return The number of snapshots dropped to stay within the size limits
+	 */
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+
+	private String getStatistics(long hitCount) {
+		return "Hits: " + hitCount + ", misses: " + misses.get() + ", evictions: " + evictions.get(); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+}
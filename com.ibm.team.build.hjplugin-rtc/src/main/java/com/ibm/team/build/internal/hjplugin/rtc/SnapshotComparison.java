@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+
+import com.ibm.team.repository.client.IItemManager;
+import com.ibm.team.repository.client.ITeamRepository;
+import com.ibm.team.repository.common.TeamRepositoryException;
+import com.ibm.team.repository.common.UUID;
+import com.ibm.team.scm.client.IWorkspaceManager;
+import com.ibm.team.scm.client.SCMPlatform;
+import com.ibm.team.scm.common.IBaseline;
+import com.ibm.team.scm.common.IBaselineSet;
+import com.ibm.team.scm.common.IBaselineSetHandle;
+import com.ibm.team.scm.common.IChangeSetHandle;
+import com.ibm.team.scm.common.IComponent;
+import com.ibm.team.scm.common.IComponentHandle;
+import com.ibm.team.scm.common.dto.IChangeHistorySyncReport;
+
+/**
+ * The differences between two snapshots that go into a change report: the change sets
+ * and the components only in the current snapshot (outgoing, local) and only in the
+ * previous snapshot (incoming, remote).
+ *
+ * {@link #compare} compares the snapshots component by component, a few components at
+ * a time, so that the time taken follows the slowest component rather than the sum of
+ * all of them, see {@link ComponentComparisons}. Components with the same baseline in both
+ * snapshots have no differences and are not compared. The baselines of the previous snapshot
+ * can be given from what was kept with the previous build, see {@link ComponentBaselines}.
+ * The results are merged in the order of the components in the current snapshot, followed
+ * by the components only in the previous one, whatever the order the comparisons finish in.
+ */
+final class SnapshotComparison {
+
+	private static final Logger LOGGER = Logger.getLogger(SnapshotComparison.class.getName());
+
+	/**
+	 * System property for the number of components compared at the same time.
+	 * 1 compares the snapshots in a single call.
+	 */
+	public static final String COMPARE_THREADS_PROPERTY = "com.ibm.team.build.snapshotCompareThreads"; //$NON-NLS-1$
+
+	private static final int DEFAULT_COMPARE_THREADS = 4;
+
+	private final List<IChangeSetHandle> outgoingChangeSets;
+	private final List<IChangeSetHandle> incomingChangeSets;
+	private final List<IComponentHandle> localComponents;
+	private final List<IComponentHandle> remoteComponents;
+	private Map<String, String> componentBaselines;
+
+	private SnapshotComparison(List<IChangeSetHandle> outgoingChangeSets, List<IChangeSetHandle> incomingChangeSets,
+			List<IComponentHandle> localComponents, List<IComponentHandle> remoteComponents) {
+		this.outgoingChangeSets = Collections.unmodifiableList(outgoingChangeSets);
+		this.incomingChangeSets = Collections.unmodifiableList(incomingChangeSets);
+		this.localComponents = Collections.unmodifiableList(localComponents);
+		this.remoteComponents = Collections.unmodifiableList(remoteComponents);
+	}
+
+	/**
+	 * @param compareReport The result of comparing two snapshots in one call
+	 * @return The differences in the report
+	 */
+	@SuppressWarnings("unchecked")
+	static SnapshotComparison of(IChangeHistorySyncReport compareReport) {
+		return new SnapshotComparison(new ArrayList<IChangeSetHandle>(compareReport.outgoingChangeSets()),
+				new ArrayList<IChangeSetHandle>(compareReport.incomingChangeSets()),
+				new ArrayList<IComponentHandle>(compareReport.localComponents()),
+				new ArrayList<IComponentHandle>(compareReport.remoteComponents()));
+	}
+
+	/**
+	 * @return The change sets in the current snapshot and not in the previous one
+	 */
+	List<IChangeSetHandle> outgoingChangeSets() {
+		return outgoingChangeSets;
+	}
+
+	/**
+	 * @return The change sets in the previous snapshot and not in the current one
+	 */
+	List<IChangeSetHandle> incomingChangeSets() {
+		return incomingChangeSets;
+	}
+
+	/**
+	 * @return The components of the current snapshot
+	 */
+	List<IComponentHandle> localComponents() {
+		return localComponents;
+	}
+
+	/**
+	 * @return The components of the previous snapshot
+	 */
+	List<IComponentHandle> remoteComponents() {
+		return remoteComponents;
+	}
+
+	/**
+	 * @return The baseline UUID of each component UUID in the current snapshot, in the order of
+	 * the snapshot. <code>null</code> if the snapshots were compared in a single call.
+	 */
+	Map<String, String> getComponentBaselines() {
+		return componentBaselines;
+	}
+
+	/**
+	 * Compare two snapshots
+	 *
+	 * @param repository The repository of the snapshots
+	 * @param snapshotHandle The current snapshot
+	 * @param previousSnapshotHandle The snapshot to compare with
+	 * @param progress A progress monitor
+	 * @return The differences between the snapshots
+	 * @throws TeamRepositoryException If the snapshots cannot be compared
+	 */
+	static SnapshotComparison compare(ITeamRepository repository, IBaselineSetHandle snapshotHandle,
+			IBaselineSetHandle previousSnapshotHandle, IProgressMonitor progress) throws TeamRepositoryException {
+		return compare(repository, snapshotHandle, previousSnapshotHandle, null, progress);
+	}
+
+	/**
+	 * Compare two snapshots
+	 *
+	 * @param repository The repository of the snapshots
+	 * @param snapshotHandle The current snapshot
+	 * @param previousSnapshotHandle The snapshot to compare with
+	 * @param previousComponentBaselines The baseline UUID of each component UUID in the previous
+	 * snapshot, as returned by {@link #getComponentBaselines()} when it was the current snapshot.
+	 * <code>null</code> if not known, in which case the previous snapshot and its baselines are fetched.
+	 * @param progress A progress monitor
+	 * @return The differences between the snapshots
+	 * @throws TeamRepositoryException If the snapshots cannot be compared
+	 */
+	@SuppressWarnings("unchecked")
+	static SnapshotComparison compare(ITeamRepository repository, IBaselineSetHandle snapshotHandle,
+			final IBaselineSetHandle previousSnapshotHandle, Map<String, String> previousComponentBaselines,
+			IProgressMonitor progress) throws TeamRepositoryException {
+		SubMonitor monitor = SubMonitor.convert(progress, 100);
+		final IWorkspaceManager workspaceManager = SCMPlatform.getWorkspaceManager(repository);
+		int threads = Integer.getInteger(COMPARE_THREADS_PROPERTY, DEFAULT_COMPARE_THREADS);
+		if (threads <= 1) {
+			return of(workspaceManager.compareBaselineSets(snapshotHandle, previousSnapshotHandle, null, monitor.newChild(100)));
+		}
+		final IBaselineSet snapshot = getSnapshot(repository, snapshotHandle, monitor.newChild(2));
+
+		// the baseline of each component in each snapshot, in the order of the snapshot
+		final Map<String, IComponentHandle> components = new HashMap<String, IComponentHandle>();
+		Map<String, String> current = getComponentBaselines(repository, snapshot, components, monitor.newChild(3));
+		Map<String, String> previous = previousComponentBaselines;
+		if (previous == null) {
+			IBaselineSet previousSnapshot = getSnapshot(repository, previousSnapshotHandle, monitor.newChild(2));
+			previous = getComponentBaselines(repository, previousSnapshot, components, monitor.newChild(3));
+		} else {
+			// the previous snapshot itself is not needed, the comparisons only take its handle
+			LOGGER.finer("Using the component baselines of the previous build"); //$NON-NLS-1$
+			monitor.worked(5);
+		}
+		if (current == null || previous == null) {
+			// cannot tell the component of a baseline, let the server compare all of them
+			return of(workspaceManager.compareBaselineSets(snapshot, previousSnapshotHandle, null, monitor.newChild(90)));
+		}
+
+		List<IComponentHandle> localComponents = new ArrayList<IComponentHandle>();
+		for (String componentUUID : current.keySet()) {
+			localComponents.add(components.get(componentUUID));
+		}
+		List<IComponentHandle> remoteComponents = new ArrayList<IComponentHandle>();
+		for (String componentUUID : previous.keySet()) {
+			IComponentHandle component = components.get(componentUUID);
+			if (component == null) {
+				component = (IComponentHandle) IComponent.ITEM_TYPE.createItemHandle(UUID.valueOf(componentUUID), null);
+				components.put(componentUUID, component);
+			}
+			remoteComponents.add(component);
+		}
+
+		List<IChangeHistorySyncReport> compareReports = ComponentComparisons.compare(
+				ComponentBaselines.getChangedComponents(current, previous), threads,
+				new ComponentComparisons.ComponentComparer<IChangeHistorySyncReport>() {
+					@Override
+					public IChangeHistorySyncReport compare(String componentUUID, IProgressMonitor progress)
+							throws TeamRepositoryException {
+						return workspaceManager.compareBaselineSets(snapshot, previousSnapshotHandle,
+								Collections.singletonList(components.get(componentUUID)), progress);
+					}
+				}, monitor.newChild(90));
+		if (LOGGER.isLoggable(Level.FINER)) {
+			LOGGER.finer("Compared " + compareReports.size() + " of " + components.size() + " components"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+
+		List<IChangeSetHandle> outgoingChangeSets = new ArrayList<IChangeSetHandle>();
+		List<IChangeSetHandle> incomingChangeSets = new ArrayList<IChangeSetHandle>();
+		for (IChangeHistorySyncReport compareReport : compareReports) {
+			outgoingChangeSets.addAll(compareReport.outgoingChangeSets());
+			incomingChangeSets.addAll(compareReport.incomingChangeSets());
+		}
+		monitor.done();
+		SnapshotComparison comparison = new SnapshotComparison(outgoingChangeSets, incomingChangeSets, localComponents, remoteComponents);
+		comparison.componentBaselines = Collections.unmodifiableMap(current);
+		return comparison;
+	}
+
+	/**
+	 * @return The baseline UUID of each component UUID in the snapshot, <code>null</code> if the
+	 * component of a baseline cannot be told
+	 */
+	private static Map<String, String> getComponentBaselines(ITeamRepository repository, IBaselineSet snapshot,
+			Map<String, IComponentHandle> components, IProgressMonitor progress) throws TeamRepositoryException {
+		@SuppressWarnings("unchecked")
+		List<IBaseline> baselines = repository.itemManager().fetchCompleteItems(snapshot.getBaselines(), IItemManager.DEFAULT, progress);
+		Map<String, String> componentBaselines = new LinkedHashMap<String, String>();
+		for (IBaseline baseline : baselines) {
+			if (baseline == null) {
+				return null;
+			}
+			String componentUUID = baseline.getComponent().getItemId().getUuidValue();
+			componentBaselines.put(componentUUID, baseline.getItemId().getUuidValue());
+			components.put(componentUUID, baseline.getComponent());
+		}
+		return componentBaselines;
+	}
+
+	private static IBaselineSet getSnapshot(ITeamRepository repository, IBaselineSetHandle snapshotHandle,
+			IProgressMonitor progress) throws TeamRepositoryException {
+		if (snapshotHandle instanceof IBaselineSet) {
+			return (IBaselineSet) snapshotHandle;
+		}
+		return (IBaselineSet) repository.itemManager().fetchCompleteItem(snapshotHandle, IItemManager.DEFAULT, progress);
+	}
+}
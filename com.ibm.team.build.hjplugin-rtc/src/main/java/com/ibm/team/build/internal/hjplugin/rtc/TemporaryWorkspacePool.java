@@ -0,0 +1,812 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import com.ibm.team.repository.client.IItemManager;
+import com.ibm.team.repository.client.ITeamRepository;
+import com.ibm.team.repository.common.IContributor;
+import com.ibm.team.repository.common.ItemNotFoundException;
+import com.ibm.team.repository.common.TeamRepositoryException;
+import com.ibm.team.repository.common.UUID;
+import com.ibm.team.scm.client.IFlowNodeConnection.IComponentOp;
+import com.ibm.team.scm.client.IWorkspaceConnection;
+import com.ibm.team.scm.client.IWorkspaceManager;
+import com.ibm.team.scm.client.SCMPlatform;
+import com.ibm.team.scm.common.IComponentHandle;
+import com.ibm.team.scm.common.IWorkspace;
+import com.ibm.team.scm.common.IWorkspaceHandle;
+import com.ibm.team.scm.common.dto.IWorkspaceSearchCriteria;
+
+/**
+ * Keeps the temporary repository workspaces used to build from a stream, so that a
+ * job that asks for it does not create a workspace from the stream and delete it again
+ * on every build. A workspace taken from the pool is reset to the configuration of the
+ * stream by replacing its components with the stream's.
+ *
+ * The workspaces of a pool have fixed names, derived from the job, the stream, the user
+ * and this host, so that the workspaces left behind by a JVM that did not return them
+ * are found and used again instead of piling up. The number of workspaces of a pool is
+ * bounded by {@link #MAX_SIZE_PROPERTY}. When all the workspaces of a pool are in use,
+ * the caller creates and deletes a temporary workspace as usual.
+ *
+ * A lease is recorded in the description of the workspace, so that pools in other class
+ * loaders, JVMs or agents that compute the same names do not take a workspace in use.
+ * The lease is renewed when the workspace is loaded, and is taken back
+ * {@link #MAX_LEASE_MINUTES_PROPERTY} after it was last renewed, in case its build never
+ * gave it back. Recording the lease is not atomic: a pool that loses the race for a
+ * workspace sees the other lease when it reads the workspace again, and moves on.
+ * Creating a workspace is not atomic either: when pools create a workspace with the same
+ * name at the same time, all of them keep the one with the lowest UUID, and the pools
+ * that created the others delete theirs and move on.
+ *
+ * Workspaces left behind by agents that are gone, jobs that are renamed or deleted, or
+ * pools that shrank are deleted by a sweep of the workspaces of the user whose name has
+ * the pool prefix, run at most every {@link #SWEEP_MINUTES_PROPERTY}: a workspace that
+ * is not leased and has not been modified for {@link #IDLE_MINUTES_PROPERTY}, or that is
+ * beyond the size of its pool, or that has the name of another workspace with a lower
+ * UUID, is deleted.
+ */
+public final class TemporaryWorkspacePool {
+
+	private static final Logger LOGGER = Logger.getLogger(TemporaryWorkspacePool.class.getName());
+
+	/**
+	 * System property for the largest number of workspaces a job can keep for a stream.
+	 * 0 disables the pools.
+	 */
+	public static final String MAX_SIZE_PROPERTY = "com.ibm.team.build.workspacePoolMaxSize"; //$NON-NLS-1$
+
+	/**
+	 * System property for the minutes after which a workspace that is not used is deleted
+	 */
+	public static final String IDLE_MINUTES_PROPERTY = "com.ibm.team.build.workspacePoolIdleMinutes"; //$NON-NLS-1$
+
+	/**
+	 * System property for the minutes after which a lease that was not renewed or given
+	 * back is taken back
+	 */
+	public static final String MAX_LEASE_MINUTES_PROPERTY = "com.ibm.team.build.workspacePoolMaxLeaseMinutes"; //$NON-NLS-1$
+
+	/**
+	 * System property for the minutes between two sweeps of the workspaces of a repository
+	 */
+	public static final String SWEEP_MINUTES_PROPERTY = "com.ibm.team.build.workspacePoolSweepMinutes"; //$NON-NLS-1$
+
+	private static final int DEFAULT_MAX_SIZE = 4;
+	private static final long DEFAULT_IDLE_MINUTES = 1440;
+	private static final long DEFAULT_MAX_LEASE_MINUTES = 1440;
+	private static final long DEFAULT_SWEEP_MINUTES = 60;
+
+	/**
+	 * Between the prefix of the temporary workspace names and the pool's identity
+	 */
+	public static final String POOL_INFIX = "_pool_"; //$NON-NLS-1$
+
+	private static final String KEY_SEPARATOR = "#"; //$NON-NLS-1$
+	private static final String SLOT_SEPARATOR = "_"; //$NON-NLS-1$
+
+	private static final String LEASE_START = "[pooled workspace lease "; //$NON-NLS-1$
+	private static final Pattern LEASE_PATTERN = Pattern.compile("\\n?\\[pooled workspace lease (\\S+) (\\d+)\\]$"); //$NON-NLS-1$
+
+	private static final TemporaryWorkspacePool DEFAULT = new TemporaryWorkspacePool();
+
+	/**
+	 * The repository operations of a pool
+	 *
+	 * @param <W> A workspace, as read from the repository
+	 */
+	public interface WorkspaceStore<W> {
+
+		/**
+		 * @param workspaceId The UUID of a workspace
+		 * @return The current state of the workspace, <code>null</code> if it does not exist
+		 */
+		W get(String workspaceId) throws TeamRepositoryException;
+
+		/**
+		 * @param name The name of a workspace
+		 * @return The workspaces with the name, owned by the user
+		 */
+		List<W> find(String name) throws TeamRepositoryException;
+
+		/**
+		 * @param namePrefix The beginning of the names
+		 * @return The workspaces owned by the user whose name starts with the prefix
+		 */
+		List<W> findAll(String namePrefix) throws TeamRepositoryException;
+
+		/**
+		 * Create a workspace with the configuration of the stream
+		 */
+		W create(String name, String description) throws TeamRepositoryException;
+
+		/**
+		 * Bring a workspace to the configuration of the stream
+		 */
+		void reset(W workspace) throws TeamRepositoryException;
+
+		void setDescription(W workspace, String description) throws TeamRepositoryException;
+
+		void delete(W workspace) throws TeamRepositoryException;
+
+		String getId(W workspace);
+
+		String getName(W workspace);
+
+		String getDescription(W workspace);
+
+		/**
+		 * @return When the workspace was last modified, in milliseconds since the epoch
+		 */
+		long getModified(W workspace);
+	}
+
+	/**
+	 * A workspace name of a pool, as known to this pool
+	 */
+	private static final class Slot {
+		private final String repositoryKey;
+		private String workspaceId;
+		// the current lease, null when the slot is free
+		private String leaseToken;
+		private long leasedSince;
+		// the last lease of this pool that may be recorded on the workspace
+		private String lastLeaseToken;
+
+		Slot(String repositoryKey) {
+			this.repositoryKey = repositoryKey;
+		}
+	}
+
+	/**
+	 * The lease recorded in the description of a workspace
+	 */
+	private static final class Lease {
+		private final String token;
+		private final long since;
+
+		Lease(String token, long since) {
+			this.token = token;
+			this.since = since;
+		}
+
+		static Lease parse(String description) {
+			if (description == null) {
+				return null;
+			}
+			Matcher matcher = LEASE_PATTERN.matcher(description);
+			if (!matcher.find()) {
+				return null;
+			}
+			return new Lease(matcher.group(1), Long.parseLong(matcher.group(2)));
+		}
+
+		static String mark(String description, String token, long since) {
+			String comment = unmark(description);
+			return (comment.isEmpty() ? "" : comment + "\n") + LEASE_START + token + " " + since + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+
+		static String unmark(String description) {
+			if (description == null) {
+				return ""; //$NON-NLS-1$
+			}
+			return LEASE_PATTERN.matcher(description).replaceFirst(""); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * The workspace names known to this pool
+	 */
+	private final Map<String, Slot> slots = new HashMap<String, Slot>();
+
+	/**
+	 * When the workspaces of each repository were last swept
+	 */
+	private final Map<String, Long> lastSweeps = new HashMap<String, Long>();
+
+	/**
+	 * Used only for testing purposes. The facade uses {@link #getDefault()}.
+	 */
+	public TemporaryWorkspacePool() {
+	}
+
+	/**
+	 * @return The pools of this facade
+	 */
+	static TemporaryWorkspacePool getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Take a workspace of the pool of a job for a stream, reset to the stream's configuration.
+	 *
+	 * @param repository The repository of the stream
+	 * @param contributor The logged in contributor, who owns the workspaces
+	 * @param namePrefix The prefix of the names of the temporary workspaces
+	 * @param poolKey Identifies the job the pool is for
+	 * @param poolSize The number of workspaces the job wants to keep
+	 * @param streamConnection The stream
+	 * @param comment The description to set on the workspace
+	 * @param progress A progress monitor
+	 * @return The workspace, <code>null</code> if no workspace of the pool could be used.
+	 * Must be given back with {@link #release(ITeamRepository, UUID, String)}, with the
+	 * token from {@link #getLeaseToken(ITeamRepository, UUID)}.
+	 */
+	IWorkspaceConnection lease(ITeamRepository repository, IContributor contributor, String namePrefix, String poolKey,
+			int poolSize, IWorkspaceConnection streamConnection, String comment, IProgressMonitor progress) {
+		SubMonitor monitor = SubMonitor.convert(progress, 100);
+		try {
+			String repositoryKey = getRepositoryKey(repository);
+			String poolId = digest(repositoryKey + KEY_SEPARATOR + poolKey + KEY_SEPARATOR
+					+ streamConnection.getResolvedWorkspace().getItemId().getUuidValue() + KEY_SEPARATOR + getHostName()
+					+ KEY_SEPARATOR + System.getProperty("user.dir")); //$NON-NLS-1$
+			RepositoryWorkspaceStore store = new RepositoryWorkspaceStore(repository, contributor, streamConnection, monitor.newChild(90));
+			IWorkspace workspace = lease(store, repositoryKey, namePrefix, poolId, poolSize, comment);
+			if (workspace == null) {
+				return null;
+			}
+			return SCMPlatform.getWorkspaceManager(repository).getWorkspaceConnection(workspace, monitor.newChild(10));
+		} catch (TeamRepositoryException e) {
+			LOGGER.log(Level.WARNING, "Unable to use a pooled workspace for " + poolKey + ", using a new temporary workspace", e); //$NON-NLS-1$ //$NON-NLS-2$
+			return null;
+		} finally {
+			monitor.done();
+		}
+	}
+
+	/**
+	 * @param repository The repository of the workspace
+	 * @param workspaceId The UUID of a workspace returned by {@link #lease}
+	 * @return The token of the lease of the workspace, <code>null</code> if it is not leased
+	 */
+	String getLeaseToken(ITeamRepository repository, UUID workspaceId) {
+		return getLeaseToken(getRepositoryKey(repository), workspaceId.getUuidValue());
+	}
+
+	/**
+	 * Renew the lease of a workspace, for example when the build starts loading it
+	 *
+	 * @param repository The repository of the workspace
+	 * @param workspaceId The UUID of the workspace
+	 * @param leaseToken The token of the lease
+	 */
+	void renew(ITeamRepository repository, UUID workspaceId, String leaseToken) {
+		renew(new RepositoryWorkspaceStore(repository, null, null, null), getRepositoryKey(repository),
+				workspaceId.getUuidValue(), leaseToken);
+	}
+
+	/**
+	 * Give a workspace back to its pool
+	 *
+	 * @param repository The repository of the workspace
+	 * @param workspaceId The UUID of the workspace
+	 * @param leaseToken The token of the lease, <code>null</code> if not known
+	 * @return <code>true</code> if the workspace belongs to a pool, <code>false</code>
+	 * if the caller is responsible for deleting it
+	 */
+	boolean release(ITeamRepository repository, UUID workspaceId, String leaseToken) {
+		return release(new RepositoryWorkspaceStore(repository, null, null, null), getRepositoryKey(repository),
+				workspaceId.getUuidValue(), leaseToken);
+	}
+
+	/**
+	 * Take a workspace of a pool
+	 *
+	 * @param store The repository operations
+	 * @param repositoryKey Identifies the repository and user
+	 * @param namePrefix The prefix of the names of the temporary workspaces
+	 * @param poolId Identifies the pool
+	 * @param poolSize The number of workspaces the pool can keep, at most {@link #MAX_SIZE_PROPERTY}
+	 * @param comment The description of the workspace
+	 * @return The workspace, reset to the stream, <code>null</code> if none could be used
+	 */
+	public <W> W lease(WorkspaceStore<W> store, String repositoryKey, String namePrefix, String poolId,
+			int poolSize, String comment) {
+		int size = Math.min(poolSize, Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+		if (size <= 0) {
+			return null;
+		}
+		String baseName = namePrefix + POOL_INFIX + poolId + SLOT_SEPARATOR;
+		sweep(store, repositoryKey, namePrefix + POOL_INFIX, baseName, size);
+
+		long maxLease = getMillis(MAX_LEASE_MINUTES_PROPERTY, DEFAULT_MAX_LEASE_MINUTES);
+		for (int i = 0; i < size; i++) {
+			String name = baseName + i;
+			long now = System.currentTimeMillis();
+			Slot slot;
+			String token = java.util.UUID.randomUUID().toString();
+			synchronized (this) {
+				slot = slots.get(name);
+				if (slot == null) {
+					slot = new Slot(repositoryKey);
+					slots.put(name, slot);
+				}
+				if (slot.leaseToken != null) {
+					if (now - slot.leasedSince < maxLease) {
+						continue;
+					}
+					LOGGER.warning("Taking back pooled workspace '" + name + "' that was not returned"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				slot.leaseToken = token;
+				slot.leasedSince = now;
+			}
+
+			W workspace = null;
+			try {
+				workspace = leaseSlot(store, slot, name, token, now, maxLease, comment);
+				if (workspace != null) {
+					return workspace;
+				}
+			} catch (OperationCanceledException e) {
+				throw e;
+			} catch (TeamRepositoryException | RuntimeException e) {
+				// the slot is tried again by the next build
+				LOGGER.log(Level.WARNING, "Unable to use pooled workspace '" + name + "', using a new temporary workspace", e); //$NON-NLS-1$ //$NON-NLS-2$
+				return null;
+			} finally {
+				// whatever went wrong, the slot is not left leased
+				if (workspace == null) {
+					freeSlot(slot, token);
+				}
+			}
+		}
+		LOGGER.fine("All the pooled workspaces " + baseName + "* are in use"); //$NON-NLS-1$ //$NON-NLS-2$
+		return null;
+	}
+
+	/**
+	 * @return The workspace of the slot, leased with <code>token</code>, <code>null</code> if
+	 * it is leased by another pool
+	 */
+	private <W> W leaseSlot(WorkspaceStore<W> store, Slot slot, String name, String token, long now, long maxLease,
+			String comment) throws TeamRepositoryException {
+		W workspace = null;
+		String workspaceId;
+		String lastLeaseToken;
+		synchronized (this) {
+			workspaceId = slot.workspaceId;
+			lastLeaseToken = slot.lastLeaseToken;
+		}
+		if (workspaceId != null) {
+			workspace = store.get(workspaceId);
+		}
+		if (workspace == null) {
+			List<W> named = store.find(name);
+			workspace = getFirst(store, named);
+			if (named.size() > 1) {
+				LOGGER.fine("Found " + named.size() + " pooled workspaces '" + name + "', the others are swept"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				synchronized (this) {
+					lastSweeps.remove(slot.repositoryKey);
+				}
+			}
+		}
+		// from here the lease may be recorded on the workspace
+		synchronized (this) {
+			slot.lastLeaseToken = token;
+		}
+		if (workspace == null) {
+			workspace = store.create(name, Lease.mark(comment, token, now));
+			// another pool may have created the workspace at the same time
+			W first = getFirst(store, store.find(name));
+			if (first != null && !store.getId(first).equals(store.getId(workspace))) {
+				LOGGER.finer("Pooled workspace '" + name + "' was created by another pool"); //$NON-NLS-1$ //$NON-NLS-2$
+				store.delete(workspace);
+				return null;
+			}
+			LOGGER.finer("Created pooled workspace '" + name + "'"); //$NON-NLS-1$ //$NON-NLS-2$
+		} else {
+			Lease lease = Lease.parse(store.getDescription(workspace));
+			if (lease != null && !lease.token.equals(lastLeaseToken) && now - lease.since < maxLease) {
+				LOGGER.finer("Pooled workspace '" + name + "' is leased by another pool"); //$NON-NLS-1$ //$NON-NLS-2$
+				return null;
+			}
+			store.setDescription(workspace, Lease.mark(comment, token, now));
+			// another pool may have recorded its lease at the same time
+			workspace = store.get(store.getId(workspace));
+			lease = (workspace == null) ? null : Lease.parse(store.getDescription(workspace));
+			if (lease == null || !token.equals(lease.token)) {
+				LOGGER.finer("Pooled workspace '" + name + "' was leased by another pool"); //$NON-NLS-1$ //$NON-NLS-2$
+				return null;
+			}
+			store.reset(workspace);
+			LOGGER.finer("Reusing pooled workspace '" + name + "'"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		synchronized (this) {
+			slot.workspaceId = store.getId(workspace);
+		}
+		return workspace;
+	}
+
+	/**
+	 * @return The workspace all the pools keep among the workspaces with the same name,
+	 * the one with the lowest UUID, <code>null</code> if there is none
+	 */
+	private static <W> W getFirst(WorkspaceStore<W> store, List<W> workspaces) {
+		W first = null;
+		for (W workspace : workspaces) {
+			if (first == null || store.getId(workspace).compareTo(store.getId(first)) < 0) {
+				first = workspace;
+			}
+		}
+		return first;
+	}
+
+	private synchronized void freeSlot(Slot slot, String token) {
+		if (token.equals(slot.leaseToken)) {
+			slot.leaseToken = null;
+		}
+	}
+
+	/**
+	 * @param repositoryKey Identifies the repository and user
+	 * @param workspaceId The UUID of a workspace
+	 * @return The token of the lease of the workspace by this pool, <code>null</code> if
+	 * it is not leased by this pool
+	 */
+	public synchronized String getLeaseToken(String repositoryKey, String workspaceId) {
+		Slot slot = findSlot(repositoryKey, workspaceId);
+		return (slot == null) ? null : slot.leaseToken;
+	}
+
+	/**
+	 * Renew the lease of a workspace
+	 *
+	 * @param store The repository operations
+	 * @param repositoryKey Identifies the repository and user
+	 * @param workspaceId The UUID of the workspace
+	 * @param leaseToken The token of the lease
+	 */
+	public <W> void renew(WorkspaceStore<W> store, String repositoryKey, String workspaceId, String leaseToken) {
+		if (leaseToken == null) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		synchronized (this) {
+			Slot slot = findSlot(repositoryKey, workspaceId);
+			if (slot != null && leaseToken.equals(slot.leaseToken)) {
+				slot.leasedSince = now;
+			}
+		}
+		try {
+			W workspace = store.get(workspaceId);
+			if (workspace != null) {
+				Lease lease = Lease.parse(store.getDescription(workspace));
+				if (lease != null && leaseToken.equals(lease.token)) {
+					store.setDescription(workspace, Lease.mark(store.getDescription(workspace), leaseToken, now));
+				}
+			}
+		} catch (TeamRepositoryException | RuntimeException e) {
+			LOGGER.log(Level.WARNING, "Unable to renew the lease of pooled workspace " + workspaceId, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Give a workspace back to its pool
+	 *
+	 * @param store The repository operations
+	 * @param repositoryKey Identifies the repository and user
+	 * @param workspaceId The UUID of the workspace
+	 * @param leaseToken The token of the lease, <code>null</code> if not known
+	 * @return <code>true</code> if the workspace belongs to a pool, <code>false</code>
+	 * if the caller is responsible for deleting it
+	 */
+	public <W> boolean release(WorkspaceStore<W> store, String repositoryKey, String workspaceId, String leaseToken) {
+		boolean pooled = false;
+		synchronized (this) {
+			Slot slot = findSlot(repositoryKey, workspaceId);
+			if (slot != null) {
+				pooled = true;
+				if (leaseToken == null) {
+					leaseToken = slot.leaseToken;
+				}
+				if (leaseToken != null && leaseToken.equals(slot.leaseToken)) {
+					slot.leaseToken = null;
+				}
+			}
+		}
+		try {
+			// the workspace may have been leased by a pool in another class loader
+			W workspace = store.get(workspaceId);
+			if (workspace == null) {
+				return pooled;
+			}
+			pooled = pooled || store.getName(workspace).contains(POOL_INFIX);
+			Lease lease = Lease.parse(store.getDescription(workspace));
+			if (lease != null) {
+				pooled = true;
+				if (lease.token.equals(leaseToken)) {
+					store.setDescription(workspace, Lease.unmark(store.getDescription(workspace)));
+				}
+			}
+		} catch (TeamRepositoryException | RuntimeException e) {
+			// the lease is taken back when it expires
+			LOGGER.log(Level.WARNING, "Unable to give back pooled workspace " + workspaceId, e); //$NON-NLS-1$
+		}
+		if (pooled) {
+			LOGGER.finer("Returned pooled workspace " + workspaceId); //$NON-NLS-1$
+		}
+		return pooled;
+	}
+
+	private Slot findSlot(String repositoryKey, String workspaceId) {
+		for (Slot slot : slots.values()) {
+			if (slot.repositoryKey.equals(repositoryKey) && workspaceId.equals(slot.workspaceId)) {
+				return slot;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Delete the pooled workspaces of the user that are not leased and either idle or
+	 * beyond the size of the pool being leased from
+	 */
+	private <W> void sweep(WorkspaceStore<W> store, String repositoryKey, String poolPrefix, String baseName, int size) {
+		long now = System.currentTimeMillis();
+		synchronized (this) {
+			Long lastSweep = lastSweeps.get(repositoryKey);
+			if (lastSweep != null && now - lastSweep.longValue() < getMillis(SWEEP_MINUTES_PROPERTY, DEFAULT_SWEEP_MINUTES)) {
+				return;
+			}
+			lastSweeps.put(repositoryKey, now);
+		}
+		long idle = getMillis(IDLE_MINUTES_PROPERTY, DEFAULT_IDLE_MINUTES);
+		long maxLease = getMillis(MAX_LEASE_MINUTES_PROPERTY, DEFAULT_MAX_LEASE_MINUTES);
+		List<W> workspaces;
+		try {
+			workspaces = store.findAll(poolPrefix);
+		} catch (TeamRepositoryException | RuntimeException e) {
+			LOGGER.log(Level.WARNING, "Unable to look for idle pooled workspaces", e); //$NON-NLS-1$
+			return;
+		}
+		Map<String, List<W>> named = new HashMap<String, List<W>>();
+		for (W workspace : workspaces) {
+			String name = store.getName(workspace);
+			List<W> sameName = named.get(name);
+			if (sameName == null) {
+				sameName = new ArrayList<W>();
+				named.put(name, sameName);
+			}
+			sameName.add(workspace);
+		}
+		for (W workspace : workspaces) {
+			String name = store.getName(workspace);
+			if (!name.startsWith(poolPrefix)) {
+				continue;
+			}
+			synchronized (this) {
+				Slot slot = slots.get(name);
+				if (slot != null && slot.leaseToken != null && now - slot.leasedSince < maxLease) {
+					continue;
+				}
+			}
+			Lease lease = Lease.parse(store.getDescription(workspace));
+			if (lease != null && now - lease.since < maxLease) {
+				continue;
+			}
+			boolean duplicate = getFirst(store, named.get(name)) != workspace;
+			boolean beyondSize = name.startsWith(baseName) && getSlotIndex(name.substring(baseName.length())) >= size;
+			if (!duplicate && !beyondSize && now - store.getModified(workspace) <= idle) {
+				continue;
+			}
+			LOGGER.fine("Deleting " + (duplicate ? "duplicate" : beyondSize ? "unneeded" : "idle") + " pooled workspace '" + name + "'"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			try {
+				store.delete(workspace);
+				synchronized (this) {
+					// the slot keeps the workspace kept under its name
+					Slot slot = slots.get(name);
+					if (!duplicate || (slot != null && store.getId(workspace).equals(slot.workspaceId))) {
+						slots.remove(name);
+					}
+				}
+			} catch (TeamRepositoryException | RuntimeException e) {
+				LOGGER.log(Level.WARNING, "Unable to delete pooled workspace '" + name + "'", e); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
+
+	private static int getSlotIndex(String suffix) {
+		try {
+			return Integer.parseInt(suffix);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	private static long getMillis(String property, long defaultMinutes) {
+		return TimeUnit.MINUTES.toMillis(Long.getLong(property, defaultMinutes));
+	}
+
+	/**
+	 * The workspaces of a pool in a repository, owned by the logged in contributor
+	 */
+	private static final class RepositoryWorkspaceStore implements WorkspaceStore<IWorkspace> {
+		private final ITeamRepository repository;
+		private final IContributor contributor;
+		private final IWorkspaceConnection streamConnection;
+		private final SubMonitor monitor;
+
+		RepositoryWorkspaceStore(ITeamRepository repository, IContributor contributor,
+				IWorkspaceConnection streamConnection, IProgressMonitor progress) {
+			this.repository = repository;
+			this.contributor = contributor;
+			this.streamConnection = streamConnection;
+			this.monitor = SubMonitor.convert(progress, 100);
+		}
+
+		private IProgressMonitor next() {
+			return monitor.setWorkRemaining(10).newChild(1);
+		}
+
+		private IWorkspaceManager getWorkspaceManager() {
+			return SCMPlatform.getWorkspaceManager(repository);
+		}
+
+		@Override
+		public IWorkspace get(String workspaceId) throws TeamRepositoryException {
+			IWorkspaceHandle workspaceHandle = (IWorkspaceHandle) IWorkspace.ITEM_TYPE.createItemHandle(UUID.valueOf(workspaceId), null);
+			try {
+				return (IWorkspace) repository.itemManager().fetchCompleteItem(workspaceHandle, IItemManager.REFRESH, next());
+			} catch (ItemNotFoundException e) {
+				return null;
+			}
+		}
+
+		@Override
+		public IWorkspace find(String name) throws TeamRepositoryException {
+			IWorkspaceSearchCriteria searchCriteria = IWorkspaceSearchCriteria.FACTORY.newInstance().setExactName(name)
+					.setKind(IWorkspaceSearchCriteria.WORKSPACES);
+			return fetchOwned(getWorkspaceManager().findWorkspaces(searchCriteria, Integer.MAX_VALUE, next()));
+		}
+
+		@Override
+		public List<IWorkspace> findAll(String namePrefix) throws TeamRepositoryException {
+			IWorkspaceSearchCriteria searchCriteria = IWorkspaceSearchCriteria.FACTORY.newInstance().setPartialName(namePrefix)
+					.setKind(IWorkspaceSearchCriteria.WORKSPACES);
+			searchCriteria.getFilterByOwnerOptional().add(repository.loggedInContributor());
+			return fetchOwned(getWorkspaceManager().findWorkspaces(searchCriteria, Integer.MAX_VALUE, next()));
+		}
+
+		@SuppressWarnings("unchecked")
+		private List<IWorkspace> fetchOwned(List<IWorkspaceHandle> workspaceHandles) throws TeamRepositoryException {
+			List<IWorkspace> owned = new ArrayList<IWorkspace>();
+			if (workspaceHandles.isEmpty()) {
+				return owned;
+			}
+			List<IWorkspace> workspaces = repository.itemManager().fetchCompleteItems(workspaceHandles, IItemManager.REFRESH, next());
+			for (IWorkspace workspace : workspaces) {
+				if (workspace != null && repository.loggedInContributor().sameItemId(workspace.getOwner())) {
+					owned.add(workspace);
+				}
+			}
+			return owned;
+		}
+
+		@Override
+		public IWorkspace create(String name, String description) throws TeamRepositoryException {
+			return getWorkspaceManager().createWorkspace(contributor, name, description, null, streamConnection, next())
+					.getResolvedWorkspace();
+		}
+
+		/**
+		 * Bring a workspace to the configuration of the stream: replace the components both
+		 * have, add the ones only the stream has and remove the others.
+		 */
+		@Override
+		public void reset(IWorkspace workspace) throws TeamRepositoryException {
+			IWorkspaceConnection workspaceConnection = getWorkspaceManager().getWorkspaceConnection(workspace, next());
+			List<IComponentOp> componentOps = new ArrayList<IComponentOp>();
+			Set<UUID> workspaceComponents = new HashSet<UUID>();
+			for (Object component : workspaceConnection.getComponents()) {
+				workspaceComponents.add(((IComponentHandle) component).getItemId());
+			}
+			Set<UUID> streamComponents = new HashSet<UUID>();
+			for (Object component : streamConnection.getComponents()) {
+				IComponentHandle componentHandle = (IComponentHandle) component;
+				streamComponents.add(componentHandle.getItemId());
+				if (workspaceComponents.contains(componentHandle.getItemId())) {
+					componentOps.add(workspaceConnection.componentOpFactory().replaceComponent(componentHandle, streamConnection, false));
+				} else {
+					componentOps.add(workspaceConnection.componentOpFactory().addComponent(componentHandle, streamConnection, false));
+				}
+			}
+			for (Object component : workspaceConnection.getComponents()) {
+				IComponentHandle componentHandle = (IComponentHandle) component;
+				if (!streamComponents.contains(componentHandle.getItemId())) {
+					componentOps.add(workspaceConnection.componentOpFactory().removeComponent(componentHandle, false));
+				}
+			}
+			workspaceConnection.applyComponentOperations(componentOps, monitor.setWorkRemaining(10).newChild(7));
+		}
+
+		@Override
+		public void setDescription(IWorkspace workspace, String description) throws TeamRepositoryException {
+			getWorkspaceManager().getWorkspaceConnection(workspace, next()).setDescription(description, next());
+		}
+
+		@Override
+		public void delete(IWorkspace workspace) throws TeamRepositoryException {
+			RTCWorkspaceUtils.getInstance().delete(workspace.getItemId().getUuidValue(), workspace.getName(), repository,
+					next(), null, Locale.getDefault());
+		}
+
+		@Override
+		public String getId(IWorkspace workspace) {
+			return workspace.getItemId().getUuidValue();
+		}
+
+		@Override
+		public String getName(IWorkspace workspace) {
+			return workspace.getName();
+		}
+
+		@Override
+		public String getDescription(IWorkspace workspace) {
+			return workspace.getDescription();
+		}
+
+		@Override
+		public long getModified(IWorkspace workspace) {
+			return workspace.modified().getTime();
+		}
+	}
+
+	private static String getRepositoryKey(ITeamRepository repository) {
+		return repository.getRepositoryURI() + KEY_SEPARATOR + repository.getUserId();
+	}
+
+	private static String getHostName() {
+		try {
+			return InetAddress.getLocalHost().getHostName();
+		} catch (UnknownHostException e) {
+			return ""; //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * A short digest, the names of the workspaces need to be unique but not readable
+	 */
+	private static String digest(String value) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			StringBuilder hex = new StringBuilder();
+			for (int i = 0; i < 8; i++) {
+				hex.append(String.format("%02x", digest[i])); //$NON-NLS-1$
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			return Integer.toHexString(value.hashCode());
+		}
+	}
+}
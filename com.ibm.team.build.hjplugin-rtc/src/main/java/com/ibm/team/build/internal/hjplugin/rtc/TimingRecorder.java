@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.rtc;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records how long the phases of an operation take, such as login,
+ * initializing the build configuration or building the change report.
+ *
+ * A recorder is bound to the current thread for the duration of a facade call.
+ * Spans started while no recorder is bound are not recorded, so instrumented code
+ * does not need to know whether timings are being collected.
+ *
+ * The spans are returned as a list of maps of strings so that they can cross
+ * the class loader and remoting boundaries.
+ */
+public final class TimingRecorder {
+
+	/**
+	 * Key of the span name in a recorded span
+	 */
+	public static final String NAME = "name"; //$NON-NLS-1$
+
+	/**
+	 * Key of the start time of the span, in milliseconds since the epoch
+	 */
+	public static final String START = "start"; //$NON-NLS-1$
+
+	/**
+	 * Key of the duration of the span, in milliseconds
+	 */
+	public static final String DURATION = "duration"; //$NON-NLS-1$
+
+	/**
+	 * Key of the nesting depth of the span, 0 for a top level span
+	 */
+	public static final String DEPTH = "depth"; //$NON-NLS-1$
+
+	private static final ThreadLocal<TimingRecorder> CURRENT = new ThreadLocal<TimingRecorder>();
+
+	private final List<Map<String, String>> spans = new ArrayList<Map<String, String>>();
+	private int depth;
+
+	/**
+	 * A phase being timed. Ending it records it in the recorder that was bound
+	 * when it started.
+	 */
+	public static final class Span implements AutoCloseable {
+		private final TimingRecorder recorder;
+		private final Map<String, String> span;
+		private final long startNanos;
+		private boolean ended;
+
+		private Span(TimingRecorder recorder, String name) {
+			this.recorder = recorder;
+			this.startNanos = System.nanoTime();
+			if (recorder != null) {
+				span = new LinkedHashMap<String, String>();
+				span.put(NAME, name);
+				span.put(START, String.valueOf(System.currentTimeMillis()));
+				span.put(DEPTH, String.valueOf(recorder.depth++));
+				// record the span in start order so that nested spans follow their parent
+				recorder.spans.add(span);
+			} else {
+				span = null;
+			}
+		}
+
+		/**
+		 * Add an attribute to the span
+		 * @param key The name of the attribute
+		 * @param value The value of the attribute. May be <code>null</code>
+		 * @return This span
+		 */
+		public Span attribute(String key, Object value) {
+			if (span != null && !ended) {
+				span.put(key, String.valueOf(value));
+			}
+			return this;
+		}
+
+		/**
+		 * Record the duration of the span. Ending a span more than once has no effect.
+		 */
+		public void end() {
+			if (span == null || ended) {
+				return;
+			}
+			ended = true;
+			span.put(DURATION, String.valueOf((System.nanoTime() - startNanos) / 1000000L));
+			recorder.depth--;
+		}
+
+		@Override
+		public void close() {
+			end();
+		}
+	}
+
+	private TimingRecorder() {
+	}
+
+	/**
+	 * Bind a new recorder to the current thread.
+	 * The caller must call {@link #unbind()} when done.
+	 * @return The recorder
+	 */
+	public static TimingRecorder bind() {
+		TimingRecorder recorder = new TimingRecorder();
+		CURRENT.set(recorder);
+		return recorder;
+	}
+
+	/**
+	 * Remove the recorder from the current thread
+	 */
+	public static void unbind() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * Start timing a phase with the recorder bound to the current thread, if any.
+	 * @param name The name of the phase
+	 * @return The span to end when the phase is done
+	 */
+	public static Span start(String name) {
+		return new Span(CURRENT.get(), name);
+	}
+
+	/**
+	 * @return The spans recorded so far. Spans that have not ended have no duration.
+	 */
+	public List<Map<String, String>> getSpans() {
+		List<Map<String, String>> result = new ArrayList<Map<String, String>>(spans.size());
+		for (Map<String, String> span : spans) {
+			result.add(new LinkedHashMap<String, String>(span));
+		}
+		return result;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2020 IBM Corporation and others.
+ * Copyright (c) 2017, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,27 +16,12 @@ import java.io.InputStream;
 import java.lang.reflect.Array;
 import java.net.URL;
 import java.util.Locale;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.w3c.dom.Document;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import com.ibm.team.build.common.model.IBuildResultHandle;
-import com.ibm.team.build.internal.publishing.WorkItemPublisher;
-import com.ibm.team.build.internal.scm.SourceControlUtility;
-import com.ibm.team.filesystem.client.operations.ILoadRule2;
-import com.ibm.team.repository.client.ITeamRepository;
-import com.ibm.team.scm.client.IWorkspaceConnection;
-import com.ibm.team.scm.common.IChangeSetHandle;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  * This class contains utility methods to determine the version of build toolkit and RTC server.
@@ -59,23 +44,7 @@ public class VersionCheckerUtil {
 	 * @return true if the method lookup fails otherwise return false.
 	 */
 	public static boolean isPre603BuildToolkit() {
-		boolean isPre603BuildToolkit = true;
-		try {
-			SourceControlUtility.class.getMethod("updateFileCopyArea", IWorkspaceConnection.class, String.class, boolean.class, ILoadRule2.class, //$NON-NLS-1$
-					boolean.class, IProgressMonitor.class);
-			isPre603BuildToolkit = false;
-		} catch (NoSuchMethodException e) {
-			if (LOGGER.isLoggable(Level.FINER)) {
-				LOGGER.finer("SourceControlUtility.updateFileCopyArea(IWorkspaceConnection, String, boolean, ILoadRule2, boolean, IProgressMonitor) " //$NON-NLS-1$
-						+ "method not found. Jenkins job should have been configured with a pre-603 build toolkit: " + e); //$NON-NLS-1$
-			}
-		} catch (SecurityException e) {
-			if (LOGGER.isLoggable(Level.FINER)) {
-				LOGGER.finer("SourceControlUtility.updateFileCopyArea(IWorkspaceConnection, String, boolean, ILoadRule2, boolean, IProgressMonitor) " //$NON-NLS-1$
-						+ "method not found. Jenkins job should have been configured with a pre-603 build toolkit: " + e); //$NON-NLS-1$
-			}
-		}
-		return isPre603BuildToolkit;
+		return !BuildToolkitCapabilities.get().supportsLoadRules();
 	}
 	
 	/**
@@ -86,18 +55,7 @@ public class VersionCheckerUtil {
 	 * @return true if the class is not found otherwise return false.
 	 */
 	public static boolean isPre701BuildToolkit() {
-		boolean isPre701BuildToolkit = true;
-		try {
-			 Class.forName("com.ibm.team.build.internal.scm.BuildScmLoadOptions");
-			 isPre701BuildToolkit = false;
-		} catch (ClassNotFoundException e) {
-			if (LOGGER.isLoggable(Level.FINER)) {
-				LOGGER.finer("com.ibm.team.build.internal.scm.BuildScmLoadOptions class not found. " //$NON-NLS-1$
-						+ "Jenkins job should have been configured with a pre-701 build toolkit: " //$NON-NLS-1$
-						+ e.getMessage());
-			}
-		}
-		return isPre701BuildToolkit;
+		return !BuildToolkitCapabilities.get().supportsBuildScmLoadOptions();
 	}
 	
 	public static String getBuildToolkitVersion(Locale clientLocale) throws RTCVersionCheckException {
@@ -113,19 +71,10 @@ public class VersionCheckerUtil {
 	            jarURL = jarURL.substring(0, jarURL.indexOf(suffix));
 	            URL pluginURL = new URL(new URL(jarURL), PLUGIN_XML_FILENAME);
 	            InputStream fin = pluginURL.openStream();
-	            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-	            DocumentBuilder db = dbf.newDocumentBuilder();	            
-	            Document d = db.parse(fin);
-	            NodeList nl = d.getElementsByTagName(COMPONENT_CONFIGURATION_XML_TAG);
-	            if (nl.getLength() > 0) {
-	               Node n = nl.item(0);
-	               NamedNodeMap attrMap = n.getAttributes();
-	               Node attr = attrMap.getNamedItem(CLIENT_COMPATIBILITY_VERSION_ATTR);
-	               if (attr != null) {
-	            	   buildtoolkitVersion = attr.getNodeValue();
-	               }
-	            } else {
-	            	throw new RTCConfigurationException(Messages.get(clientLocale).VersionCheckerUtil_missing_expected_content_in_plugin_xml());
+	            try {
+	            	buildtoolkitVersion = readClientCompatibilityVersion(fin, clientLocale);
+	            } finally {
+	            	fin.close();
 	            }
 	        }
 	    } catch (ClassNotFoundException e) {
@@ -134,27 +83,43 @@ public class VersionCheckerUtil {
 	    } catch (IOException e) {
 	       throw new RTCVersionCheckException(
 	    		   Messages.get(clientLocale).VersionCheckerUtil_io_error(e.getMessage()), e);
-	    } catch (ParserConfigurationException e) {
-	        throw new RTCVersionCheckException(
-	        		Messages.get(clientLocale).VersionCheckerUtil_parser_error(e.getMessage()), e);
-	    } catch (SAXException e) {
+	    } catch (XMLStreamException e) {
 			throw new RTCVersionCheckException(Messages.get(clientLocale).VersionCheckerUtil_parser_error(e.getMessage()), e);
 		} catch (RTCConfigurationException e) {
 			throw new RTCVersionCheckException(Messages.get(clientLocale).VersionCheckerUtil_parser_error(e.getMessage()), e);
 		}
 		return buildtoolkitVersion;
 	}
-	
-	public static boolean isPre70BuildToolkit() {
-		boolean isPre70BuildToolkit = true; // Assume that we are dealing with a toolkit v 6.0.6.1 or below.
+
+	/**
+	 * Read the client compatibility version from plugin.xml. The file is read only
+	 * up to the first componentConfiguration element.
+	 * 
+	 * @param in The contents of plugin.xml
+	 * @param clientLocale The locale for messages
+	 * @return The version, <code>null</code> if the element has no version
+	 * @throws XMLStreamException If plugin.xml could not be parsed
+	 * @throws RTCConfigurationException If plugin.xml has no componentConfiguration element
+	 */
+	private static String readClientCompatibilityVersion(InputStream in, Locale clientLocale) throws XMLStreamException, RTCConfigurationException {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		XMLStreamReader reader = factory.createXMLStreamReader(in);
 		try {
-			WorkItemPublisher.class.getMethod("publish", IBuildResultHandle.class, IChangeSetHandle[].class, boolean.class, ITeamRepository.class);
-			isPre70BuildToolkit = false;
-		} catch (NoSuchMethodException | SecurityException exp) {
-			if (LOGGER.isLoggable(Level.FINER)) {
-				LOGGER.finer("WorkItemPublisher.publish(IBuildResult, IChangeSet[], boolean, ITeamRepository) not found"); //$NON-NLS-1$
+			while (reader.hasNext()) {
+				if (reader.next() == XMLStreamConstants.START_ELEMENT
+						&& COMPONENT_CONFIGURATION_XML_TAG.equals(reader.getLocalName())) {
+					return reader.getAttributeValue(null, CLIENT_COMPATIBILITY_VERSION_ATTR);
+				}
 			}
-		} 
-		return isPre70BuildToolkit;
+		} finally {
+			reader.close();
+		}
+		throw new RTCConfigurationException(Messages.get(clientLocale).VersionCheckerUtil_missing_expected_content_in_plugin_xml());
+	}
+	
+	public static boolean isPre70BuildToolkit() {
+		return !BuildToolkitCapabilities.get().supportsWorkItemLinkControl();
 	}
 }
\ No newline at end of file
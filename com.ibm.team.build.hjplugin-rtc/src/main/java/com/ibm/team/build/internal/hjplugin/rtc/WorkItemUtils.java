@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2018 IBM Corporation and others.
+ * Copyright (c) 2017, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,7 +12,18 @@
 package com.ibm.team.build.internal.hjplugin.rtc;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import com.ibm.team.links.client.ILinkManager;
 import com.ibm.team.links.common.ILink;
@@ -27,31 +38,150 @@ import com.ibm.team.workitem.common.model.IWorkItem;
 import com.ibm.team.workitem.common.model.WorkItemLinkTypes;
 
 public class WorkItemUtils {
-	
+
+	private static final Logger LOGGER = Logger.getLogger(WorkItemUtils.class.getName());
+
+	/**
+	 * System property for the number of work items linked at the same time
+	 */
+	public static final String LINK_THREADS_PROPERTY = "com.ibm.team.build.workItemLinkThreads"; //$NON-NLS-1$
+
+	private static final int DEFAULT_LINK_THREADS = 4;
+
+	private static final AtomicInteger fgThreadCount = new AtomicInteger();
+
+	/**
+	 * The repository operations of linking work items
+	 *
+	 * @param <W> A work item, as read from the repository
+	 */
+	public interface WorkItemStore<W> {
+
+		/**
+		 * @param workItemId The id of a work item
+		 * @return The work item, <code>null</code> if it does not exist
+		 */
+		W find(int workItemId) throws TeamRepositoryException;
+
+		/**
+		 * Save a link from the work item to the URL
+		 */
+		void saveLink(W workItem) throws TeamRepositoryException;
+	}
+
 	/**
-	 * Add Jenkins build URL as related links to the given work items
-	 *   
+	 * Add Jenkins build URL as related links to the given work items.
+	 * The work items are linked a few at a time. A work item that cannot be linked
+	 * does not stop the others from being linked.
+	 *
 	 * @param repo The RTC repository
 	 * @param workItemIds The work item ids
-	 * @param url The URL to add 
+	 * @param url The URL to add
 	 * @param urlText The label for the URL
-	 * @throws TeamRepositoryException  If there is an exception processing the request to add links to work items
-	 * @throws NumberFormatException If any of the work item id is not an integer
+	 * @param clientLocale The locale of the messages of the exceptions
+	 * @throws TeamRepositoryException  If any of the work items could not be linked, once all
+	 * 			the others have been linked
 	 */
 	public static void addRelatedLinkToWorkItems(ITeamRepository repo, List<Integer> workItemIds,
-			String url, String urlText) throws TeamRepositoryException {
-		// For every work item, create a link with the given urlText
-		for (Integer workItemId : workItemIds) {
-			IWorkItemClient wcl = (IWorkItemClient) repo.getClientLibrary(IWorkItemClient.class);
-	        IWorkItem workItem = wcl.findWorkItemById(workItemId.intValue(), IWorkItem.FULL_PROFILE, null);
-	        ILinkManager linkManager = (ILinkManager) repo.getClientLibrary(ILinkManager.class);
-	        URI relatedArtifactURI = URI.create(url);
-	       
-	        IReference target = IReferenceFactory.INSTANCE.createReferenceFromURI(relatedArtifactURI, urlText, null, "text/html"); //$NON-NLS-1$
-	        IReference source = IReferenceFactory.INSTANCE.createReferenceToItem((IItemHandle) workItem);
-
-	        ILink link = ILinkFactory.INSTANCE.createLink(WorkItemLinkTypes.RELATED_ARTIFACT, source, target);
-	        linkManager.saveLink(link, null);
+			String url, String urlText, Locale clientLocale) throws TeamRepositoryException {
+		if (workItemIds.isEmpty()) {
+			return;
+		}
+		addRelatedLinkToWorkItems(new RepositoryWorkItemStore(repo, url, urlText), workItemIds, url, clientLocale);
+	}
+
+	/**
+	 * Link the given work items, a few at a time. A work item that cannot be linked
+	 * does not stop the others from being linked.
+	 *
+	 * @param store The repository operations
+	 * @param workItemIds The work item ids, each is linked once
+	 * @param url The URL, for the messages
+	 * @param clientLocale The locale of the messages of the exceptions
+	 * @throws TeamRepositoryException If any of the work items could not be linked, once all
+	 * 			the others have been linked, or if interrupted
+	 */
+	public static <W> void addRelatedLinkToWorkItems(final WorkItemStore<W> store, List<Integer> workItemIds,
+			String url, final Locale clientLocale) throws TeamRepositoryException {
+		if (workItemIds.isEmpty()) {
+			return;
+		}
+		List<Callable<Void>> linkTasks = new ArrayList<Callable<Void>>();
+		// Link every work item once
+		for (final Integer workItemId : new LinkedHashSet<Integer>(workItemIds)) {
+			linkTasks.add(new Callable<Void>() {
+				@Override
+				public Void call() throws TeamRepositoryException {
+					W workItem = store.find(workItemId.intValue());
+					if (workItem == null) {
+						throw new TeamRepositoryException(Messages.get(clientLocale).WorkItemUtils_work_item_not_found(
+								String.valueOf(workItemId)));
+					}
+					store.saveLink(workItem);
+					return null;
+				}
+			});
+		}
+
+		List<Integer> failedIds = new ArrayList<Integer>();
+		Throwable firstFailure = null;
+		int threads = Math.max(1, Math.min(linkTasks.size(), Integer.getInteger(LINK_THREADS_PROPERTY, DEFAULT_LINK_THREADS)));
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "EWM work item links " + fgThreadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<Void>> results = executor.invokeAll(linkTasks);
+			int i = 0;
+			for (Integer workItemId : new LinkedHashSet<Integer>(workItemIds)) {
+				try {
+					results.get(i++).get();
+				} catch (ExecutionException e) {
+					failedIds.add(workItemId);
+					if (firstFailure == null) {
+						firstFailure = e.getCause();
+					}
+					LOGGER.log(Level.WARNING, "Unable to link work item " + workItemId + " to " + url, e.getCause()); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TeamRepositoryException(Messages.get(clientLocale).WorkItemUtils_link_interrupted(url), e);
+		} finally {
+			executor.shutdownNow();
+		}
+		if (!failedIds.isEmpty()) {
+			throw new TeamRepositoryException(Messages.get(clientLocale).WorkItemUtils_unable_to_link_work_items(
+					failedIds.toString(), url), firstFailure);
+		}
+	}
+
+	/**
+	 * Links work items of a repository to a URL
+	 */
+	private static final class RepositoryWorkItemStore implements WorkItemStore<IWorkItem> {
+		private final IWorkItemClient workItemClient;
+		private final ILinkManager linkManager;
+		private final IReference target;
+
+		RepositoryWorkItemStore(ITeamRepository repository, String url, String urlText) {
+			this.workItemClient = (IWorkItemClient) repository.getClientLibrary(IWorkItemClient.class);
+			this.linkManager = (ILinkManager) repository.getClientLibrary(ILinkManager.class);
+			this.target = IReferenceFactory.INSTANCE.createReferenceFromURI(URI.create(url), urlText, null, "text/html"); //$NON-NLS-1$
+		}
+
+		@Override
+		public IWorkItem find(int workItemId) throws TeamRepositoryException {
+			// the link only needs the handle of the work item
+			return workItemClient.findWorkItemById(workItemId, IWorkItem.SMALL_PROFILE, null);
+		}
+
+		@Override
+		public void saveLink(IWorkItem workItem) throws TeamRepositoryException {
+			IReference source = IReferenceFactory.INSTANCE.createReferenceToItem((IItemHandle) workItem);
+			ILink link = ILinkFactory.INSTANCE.createLink(WorkItemLinkTypes.RELATED_ARTIFACT, source, target);
+			linkManager.saveLink(link, null);
 		}
 	}
 }
@@ -32,8 +32,11 @@ public class ListFilesStepResponse extends RTCBuildStepResponse {
 	
 	private final FileInfo [] fileInfos;
 	
-	private ListFilesStepResponse(FileInfo [] fileInfos) {
+	private final int nextStartIndex;
+	
+	private ListFilesStepResponse(FileInfo [] fileInfos, int nextStartIndex) {
 		this.fileInfos = fileInfos;
+		this.nextStartIndex = nextStartIndex;
 	}
 	
 	@Whitelisted
@@ -41,6 +44,24 @@ public class ListFilesStepResponse extends RTCBuildStepResponse {
 		return fileInfos;
 	}
 	
+	/**
+	 * The value to be provided as 'startIndex' to list the next page 
+	 * of logs or artifacts. <code>-1</code> if there are no more pages.
+	 */
+	@Whitelisted
+	public int getNextStartIndex() {
+		return nextStartIndex;
+	}
+	
+	/**
+	 * Returns <code>true</code> if there are more logs or artifacts to be 
+	 * listed after this page.
+	 */
+	@Whitelisted
+	public boolean hasMore() {
+		return nextStartIndex >= 0;
+	}
+	
 	public static class FileInfo implements Serializable {
 
 		private static final long serialVersionUID = 1L;
@@ -107,6 +128,7 @@ public class ListFilesStepResponse extends RTCBuildStepResponse {
 	 */
 	public static class ListFilesStepResponseBuilder {
 		private int count = 0;
+		private int nextStartIndex = -1;
 		private List<FileInfo> responseList = new ArrayList<>();
 		
 		public ListFilesStepResponseBuilder(int count) {
@@ -131,11 +153,15 @@ public class ListFilesStepResponse extends RTCBuildStepResponse {
 			responseList.add(fileInfo);
 		}
 		
+		public void setNextStartIndex(int nextStartIndex) {
+			this.nextStartIndex = nextStartIndex;
+		}
+		
 		public ListFilesStepResponse build() {
 			if (responseList.size() < count) {
 				new IllegalStateException("Not enough data to construct an instance."); //NON-NLS-1$
 			}
-			return new ListFilesStepResponse(responseList.toArray(new FileInfo[count]));
+			return new ListFilesStepResponse(responseList.toArray(new FileInfo[count]), nextStartIndex);
 		}
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2018 IBM Corporation and others.
+ * Copyright (c) 2017, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -35,6 +36,22 @@ public class BuildToolkitVersionTask extends RTCTask<String> {
 	private static final Logger LOGGER = Logger.getLogger(BuildToolkitVersionTask.class.getName());
 	
 	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The versions found so far, by node and build toolkit path. The task runs in the
+	 * JVM of the node, so this is kept on each agent for as long as it stays connected.
+	 */
+	private static final Map<String, CachedVersion> VERSIONS = new ConcurrentHashMap<String, CachedVersion>();
+
+	private static final class CachedVersion {
+		private final long lastModified;
+		private final String version;
+
+		CachedVersion(long lastModified, String version) {
+			this.lastModified = lastModified;
+			this.version = version;
+		}
+	}
 	
 	private Locale clientLocale;
 	private String buildToolkitPath;
@@ -71,6 +88,40 @@ public class BuildToolkitVersionTask extends RTCTask<String> {
 
 	public static String getBuildToolkitVersion(String buildToolkitPath, String nodeName, boolean isDebug, 
 													Locale clientLocale, TaskListener listener) throws InterruptedException {
+		// The version only changes when the build toolkit is replaced, which touches its directory
+		String key = nodeName + "#" + buildToolkitPath; //$NON-NLS-1$
+		long lastModified = getLastModified(buildToolkitPath);
+		CachedVersion cached = VERSIONS.get(key);
+		if (cached != null && cached.lastModified == lastModified) {
+			if (LOGGER.isLoggable(Level.FINEST)) {
+				LOGGER.finest("BuildToolkitVersionTask: Using the cached version of " + key); //$NON-NLS-1$
+			}
+			return cached.version;
+		}
+		String version = fetchBuildToolkitVersion(buildToolkitPath, nodeName, isDebug, clientLocale, listener);
+		if (version != null && lastModified != 0) {
+			VERSIONS.put(key, new CachedVersion(lastModified, version));
+		} else {
+			VERSIONS.remove(key);
+		}
+		return version;
+	}
+
+	/**
+	 * @return The time the build toolkit directory or its VERSION file was last modified,
+	 * 0 if the directory does not exist
+	 */
+	private static long getLastModified(String buildToolkitPath) {
+		if (buildToolkitPath == null) {
+			return 0;
+		}
+		File buildToolkit = new File(buildToolkitPath);
+		return Math.max(buildToolkit.lastModified(), new File(buildToolkit, VERSION_FILE_NAME).lastModified());
+	}
+
+	private static String fetchBuildToolkitVersion(String buildToolkitPath, String nodeName, boolean isDebug, 
+													Locale clientLocale, TaskListener listener) throws InterruptedException {
+		RTCFacadeWrapper facade = null;
 		try {
             String release = null;
 			//  See if there is a VERSION file at buildtoolkitPath
@@ -111,7 +162,7 @@ public class BuildToolkitVersionTask extends RTCTask<String> {
 			if (release != null) {
 				return release;
 			}
-			RTCFacadeWrapper facade = RTCFacadeFactory.getFacade(buildToolkitPath, (isDebug && listener != null) ? listener.getLogger() : null);
+			facade = RTCFacadeFactory.acquireFacade(buildToolkitPath, (isDebug && listener != null) ? listener.getLogger() : null);
 			return (String) facade.invoke("getBuildToolkitVersion", new Class[] { //$NON-NLS-1$
 					String.class,
 					Object.class,
@@ -135,6 +186,10 @@ public class BuildToolkitVersionTask extends RTCTask<String> {
 			if (isDebug) {
 				e.printStackTrace(listener.getLogger());
 			}
+		} finally {
+			if (facade != null) {
+				facade.release();
+			}
 		}
 		return null;
 	}
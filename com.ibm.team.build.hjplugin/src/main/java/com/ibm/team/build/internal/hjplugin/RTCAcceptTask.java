@@ -26,7 +26,9 @@ import java.util.Map;
 import java.util.logging.Logger;
 
 import com.ibm.team.build.internal.hjplugin.RTCFacadeFactory.RTCFacadeWrapper;
+import com.ibm.team.build.internal.hjplugin.util.ChangeLogTransfer;
 import com.ibm.team.build.internal.hjplugin.util.Helper;
+import com.ibm.team.build.internal.hjplugin.util.RTCTimings;
 import com.ibm.team.build.internal.hjplugin.util.TaskListenerWrapper;
 
 /**
@@ -55,6 +57,7 @@ public class RTCAcceptTask extends RTCTask<Map<String, Object>> {
 	private String snapshotName;
 	private String previousSnapshotUUID;
 	private RemoteOutputStream changeLog;
+	private boolean compressChangeLog;
 	private boolean isRemote;
 	private String contextStr;
 	private boolean debug;
@@ -156,6 +159,14 @@ public class RTCAcceptTask extends RTCTask<Map<String, Object>> {
 		this.buildUrl = buildUrl;
 	}
 
+	/**
+	 * @param compressChangeLog Whether the change log stream expects the change log compressed.
+	 * See {@link ChangeLogTransfer}.
+	 */
+	public void setCompressChangeLog(boolean compressChangeLog) {
+		this.compressChangeLog = compressChangeLog;
+	}
+
 	@SuppressWarnings("unchecked")
 	public Map<String, Object> invoke(File workspace, VirtualChannel channel) throws IOException, InterruptedException {
 		if (debug) {
@@ -176,8 +187,13 @@ public class RTCAcceptTask extends RTCTask<Map<String, Object>> {
 			debug("temporaryWorkspacComment"+ temporaryWorkspaceComment); //$NON-NLS-1$
 		}
 
+		OutputStream changeLogStream = ChangeLogTransfer.wrapChangeLog(changeLog, compressChangeLog);
 		try {
+    		long facadeStart = System.currentTimeMillis();
+    		long facadeStartNanos = System.nanoTime();
     		RTCFacadeWrapper facade = RTCFacadeFactory.getFacade(buildToolkit, debug ? listener.getLogger() : null);
+    		Map<String, String> facadeSpan = RTCTimings.createSpan("getFacade", facadeStart, //$NON-NLS-1$
+    				(System.nanoTime() - facadeStartNanos) / 1000000L, 0);
     		if (debug) {
     			debug("hjplugin-rtc.jar " + RTCFacadeFactory.getFacadeJarURL(listener.getLogger()).toString()); //$NON-NLS-1$
     		}
@@ -216,7 +232,7 @@ public class RTCAcceptTask extends RTCTask<Map<String, Object>> {
 				}
     		}
     		
-			return (Map<String, Object>) facade.invoke("accept", new Class[] { //$NON-NLS-1$
+			Map<String, Object> result = (Map<String, Object>) facade.invoke("accept", new Class[] { //$NON-NLS-1$
 					String.class, // serverURI,
 					String.class, // userId,
 					String.class, // password,
@@ -243,9 +259,11 @@ public class RTCAcceptTask extends RTCTask<Map<String, Object>> {
 			}, serverURI, userId, Secret.toString(password),
 					timeout, processArea, buildResultUUID, buildWorkspace, buildSnapshotContextMap, buildSnapshot,
 					buildStream, workspace.getAbsolutePath(),
-					changeLog, isCustomSnapshotName, snapshotName, previousSnapshotUUID,
+					changeLogStream, isCustomSnapshotName, snapshotName, previousSnapshotUUID,
 					new TaskListenerWrapper(listener), clientLocale, callConnectorTimeout, acceptBeforeLoad,
 					addLinksToWorkitems, buildURLInfo, temporaryWorkspaceComment, options);
+			RTCTimings.addAgentSpan(result, facadeSpan);
+			return result;
 
     	} catch (Exception e) {
     		Throwable eToReport = e;
@@ -263,6 +281,9 @@ public class RTCAcceptTask extends RTCTask<Map<String, Object>> {
     		
     		// if we can't check out then we can't build it
     		throw new AbortException(Messages.RTCScm_checkout_failure2(eToReport.getMessage()));
+    	} finally {
+    		// send the rest of the change log, if the accept did not close it
+    		ChangeLogTransfer.close(changeLogStream);
     	}
     }
 
@@ -0,0 +1,443 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin;
+
+import hudson.XmlFile;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.LogTaskListener;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Controller wide queue that terminates EWM build results and deletes temporary
+ * repository workspaces in the background, once a Jenkins build has completed.
+ *
+ * This is opt-in through the system property {@link #ENABLED_PROPERTY}. When enabled,
+ * {@link RTCRunListener#onCompleted} only enqueues the work, so that a slow EWM
+ * server does not delay the completion of the build.
+ *
+ * Work is run by a bounded number of threads and retried with exponential backoff
+ * when it fails. Work that cannot be done because the EWM SCM configuration of the
+ * build cannot be found is not retried, it is logged and counted as failed. Pending
+ * work is persisted in the Jenkins root directory and resumed after a restart.
+ */
+public class RTCBuildCompletionQueue {
+
+	private static final Logger LOGGER = Logger.getLogger(RTCBuildCompletionQueue.class.getName());
+
+	/**
+	 * System property to enable the background completion of EWM build results
+	 */
+	public static final String ENABLED_PROPERTY = "com.ibm.team.build.asyncBuildCompletion"; //$NON-NLS-1$
+
+	/**
+	 * System property for the number of threads that process the queue
+	 */
+	public static final String THREADS_PROPERTY = "com.ibm.team.build.asyncBuildCompletion.threads"; //$NON-NLS-1$
+
+	/**
+	 * System property for the number of attempts made before giving up on a work item
+	 */
+	public static final String MAX_ATTEMPTS_PROPERTY = "com.ibm.team.build.asyncBuildCompletion.maxAttempts"; //$NON-NLS-1$
+
+	private static final int DEFAULT_THREADS = 2;
+	private static final int DEFAULT_MAX_ATTEMPTS = 5;
+	private static final long INITIAL_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+	private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+	private static final String QUEUE_FILE_NAME = "com.ibm.team.build.hjplugin.RTCBuildCompletionQueue.xml"; //$NON-NLS-1$
+
+	private static RTCBuildCompletionQueue instance;
+
+	/**
+	 * Completes the EWM build result of a Jenkins build
+	 */
+	public interface Completer {
+		/**
+		 * @return <code>false</code> if the build result could not be terminated because the
+		 * EWM SCM configuration of the build cannot be found
+		 * @throws Exception If the build result could not be terminated, the work is retried
+		 */
+		boolean terminateBuildResult(Run<?, ?> build, RTCBuildResultAction action, TaskListener listener) throws Exception;
+
+		/**
+		 * @return <code>false</code> if the temporary repository workspace could not be deleted
+		 * because the EWM SCM configuration of the build cannot be found
+		 * @throws Exception If the workspace could not be deleted, the work is retried
+		 */
+		boolean deleteTempRepositoryWorkspace(Run<?, ?> build, RTCBuildResultAction action, TaskListener listener) throws Exception;
+	}
+
+	private static final Completer RUN_LISTENER_COMPLETER = new Completer() {
+		@Override
+		public boolean terminateBuildResult(Run<?, ?> build, RTCBuildResultAction action, TaskListener listener) throws Exception {
+			return RTCRunListener.terminateBuildResult(build, action, listener);
+		}
+
+		@Override
+		public boolean deleteTempRepositoryWorkspace(Run<?, ?> build, RTCBuildResultAction action, TaskListener listener) throws Exception {
+			return RTCRunListener.deleteTempRepositoryWorkspace(build, action, listener);
+		}
+	};
+
+	private final Completer completer;
+	private final long initialRetryDelayMillis;
+
+	/**
+	 * Pending work by id, in the order it was enqueued. Guarded by this.
+	 */
+	private final Map<String, CompletionWork> pending = new LinkedHashMap<String, CompletionWork>();
+
+	private ScheduledExecutorService executor;
+
+	private final AtomicLong completedCount = new AtomicLong();
+	private final AtomicLong failedCount = new AtomicLong();
+	private final AtomicLong retryCount = new AtomicLong();
+	private final AtomicLong totalLatencyMillis = new AtomicLong();
+	private final AtomicLong maxLatencyMillis = new AtomicLong();
+
+	/**
+	 * A unit of work for a single {@link RTCBuildResultAction} of a completed build.
+	 * This is persisted, so it only references the build by its id.
+	 */
+	static class CompletionWork {
+		private final String id;
+		private final String buildId;
+		private final int actionIndex;
+		private final String buildResultUUID;
+		private final long enqueuedTime;
+		private int attempts;
+		private boolean terminated;
+
+		// Available as long as the controller has not been restarted
+		private transient Run<?, ?> build;
+
+		CompletionWork(Run<?, ?> build, int actionIndex, String buildResultUUID) {
+			this.id = UUID.randomUUID().toString();
+			this.buildId = build.getExternalizableId();
+			this.actionIndex = actionIndex;
+			this.buildResultUUID = buildResultUUID;
+			this.enqueuedTime = System.currentTimeMillis();
+			this.build = build;
+		}
+
+		Run<?, ?> getBuild() {
+			if (build == null) {
+				build = Run.fromExternalizableId(buildId);
+			}
+			return build;
+		}
+
+		/**
+		 * Find the action this work is for. Match by build result UUID if there
+		 * is one, otherwise by the position of the action in the build.
+		 */
+		RTCBuildResultAction getAction(Run<?, ?> build) {
+			List<RTCBuildResultAction> actions = build.getActions(RTCBuildResultAction.class);
+			if (buildResultUUID != null) {
+				for (RTCBuildResultAction action : actions) {
+					if (buildResultUUID.equals(action.getBuildResultUUID())) {
+						return action;
+					}
+				}
+				return null;
+			}
+			if (actionIndex < actions.size()) {
+				return actions.get(actionIndex);
+			}
+			return null;
+		}
+	}
+
+	RTCBuildCompletionQueue() {
+		this(RUN_LISTENER_COMPLETER, INITIAL_RETRY_DELAY_MILLIS);
+	}
+
+	/**
+	 * Used only for testing purposes. The queue of the controller is {@link #getInstance()}.
+	 *
+	 * @param completer Completes the build results
+	 * @param initialRetryDelayMillis The delay before the first retry
+	 */
+	public RTCBuildCompletionQueue(Completer completer, long initialRetryDelayMillis) {
+		this.completer = completer;
+		this.initialRetryDelayMillis = initialRetryDelayMillis;
+	}
+
+	public static synchronized RTCBuildCompletionQueue getInstance() {
+		if (instance == null) {
+			instance = new RTCBuildCompletionQueue();
+		}
+		return instance;
+	}
+
+	/**
+	 * @return <code>true</code> if build results should be completed in the background.
+	 */
+	public static boolean isEnabled() {
+		return Boolean.getBoolean(ENABLED_PROPERTY);
+	}
+
+	/**
+	 * Resume the work that was pending when the controller was stopped.
+	 */
+	@Initializer(after = InitMilestone.JOB_LOADED)
+	public static void resumePendingWork() {
+		getInstance().resume();
+	}
+
+	/**
+	 * Queue termination of the build result and deletion of the temporary
+	 * repository workspace for the given action.
+	 *
+	 * @param build The build that has completed
+	 * @param actionIndex The position of the action in the build's list of {@link RTCBuildResultAction}
+	 * @param action The action
+	 */
+	public void enqueue(Run<?, ?> build, int actionIndex, RTCBuildResultAction action) {
+		CompletionWork work = new CompletionWork(build, actionIndex, action.getBuildResultUUID());
+		synchronized (this) {
+			pending.put(work.id, work);
+			save();
+		}
+		LOGGER.finer("Queued completion of build " + build.getDisplayName() + //$NON-NLS-1$
+				" Build Result UUID: " + action.getBuildResultUUID()); //$NON-NLS-1$
+		schedule(work, 0);
+	}
+
+	/**
+	 * @return The number of work items that are waiting to be run or retried
+	 */
+	public synchronized int getQueueDepth() {
+		return pending.size();
+	}
+
+	/**
+	 * @return The age of the oldest pending work item in milliseconds, 0 if the
+	 * queue is empty
+	 */
+	public synchronized long getOldestPendingAgeMillis() {
+		long now = System.currentTimeMillis();
+		long oldest = 0;
+		for (CompletionWork work : pending.values()) {
+			oldest = Math.max(oldest, now - work.enqueuedTime);
+		}
+		return oldest;
+	}
+
+	/**
+	 * @return The number of work items that completed successfully
+	 */
+	public long getCompletedCount() {
+		return completedCount.get();
+	}
+
+	/**
+	 * @return The number of work items that were given up on
+	 */
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+
+	/**
+	 * @return The number of retries made
+	 */
+	public long getRetryCount() {
+		return retryCount.get();
+	}
+
+	/**
+	 * @return The average time in milliseconds from enqueueing to completion
+	 */
+	public long getAverageLatencyMillis() {
+		long count = completedCount.get() + failedCount.get();
+		return count == 0 ? 0 : totalLatencyMillis.get() / count;
+	}
+
+	/**
+	 * @return The longest time in milliseconds from enqueueing to completion
+	 */
+	public long getMaxLatencyMillis() {
+		return maxLatencyMillis.get();
+	}
+
+	private synchronized ScheduledExecutorService getExecutor() {
+		if (executor == null) {
+			int threads = Integer.getInteger(THREADS_PROPERTY, DEFAULT_THREADS);
+			ScheduledThreadPoolExecutor threadPool = new ScheduledThreadPoolExecutor(Math.max(1, threads),
+					new NamingThreadFactory(new DaemonThreadFactory(), "RTCBuildCompletionQueue")); //$NON-NLS-1$
+			threadPool.setRemoveOnCancelPolicy(true);
+			executor = threadPool;
+		}
+		return executor;
+	}
+
+	private void schedule(final CompletionWork work, long delayMillis) {
+		getExecutor().schedule(new Runnable() {
+			@Override
+			public void run() {
+				process(work);
+			}
+		}, delayMillis, TimeUnit.MILLISECONDS);
+	}
+
+	void process(CompletionWork work) {
+		TaskListener listener = new LogTaskListener(LOGGER, Level.INFO);
+		try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
+			Run<?, ?> build = work.getBuild();
+			RTCBuildResultAction action = (build == null) ? null : work.getAction(build);
+			if (action == null) {
+				// The build or its action is gone, there is nothing left to do
+				LOGGER.warning(Messages.RTCBuildCompletionQueue_build_not_found(work.buildId,
+						work.buildResultUUID));
+				finish(work, false);
+				return;
+			}
+			boolean terminated = true;
+			if (!work.terminated) {
+				terminated = completer.terminateBuildResult(build, action, listener);
+				synchronized (this) {
+					work.terminated = true;
+					save();
+				}
+			}
+			boolean deleted = completer.deleteTempRepositoryWorkspace(build, action, listener);
+			if (!terminated || !deleted) {
+				// Retrying does not help without the SCM configuration
+				LOGGER.warning(Messages.RTCBuildCompletionQueue_work_incomplete(work.buildId,
+						work.buildResultUUID));
+				finish(work, false);
+				return;
+			}
+			finish(work, true);
+		} catch (Exception e) {
+			Throwable eToReport = e;
+			if (e instanceof InvocationTargetException && e.getCause() != null) {
+				eToReport = e.getCause();
+			}
+			int maxAttempts = Integer.getInteger(MAX_ATTEMPTS_PROPERTY, DEFAULT_MAX_ATTEMPTS);
+			int attempts;
+			synchronized (this) {
+				attempts = ++work.attempts;
+				save();
+			}
+			if (attempts >= maxAttempts) {
+				LOGGER.log(Level.WARNING, Messages.RTCBuildCompletionQueue_work_failed(work.buildId,
+						work.buildResultUUID, attempts, eToReport.getMessage()), eToReport);
+				finish(work, false);
+			} else {
+				long delay = getRetryDelayMillis(attempts);
+				LOGGER.log(Level.FINE, "Completion of " + work.buildId + " failed, retrying in " + delay + " ms", eToReport); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				retryCount.incrementAndGet();
+				schedule(work, delay);
+			}
+		}
+	}
+
+	/**
+	 * @param attempts The number of attempts made
+	 * @return The delay before the next attempt, doubled with each attempt up to a maximum
+	 */
+	public long getRetryDelayMillis(int attempts) {
+		long delay = initialRetryDelayMillis << Math.min(Math.max(attempts - 1, 0), 16);
+		return Math.min(delay, MAX_RETRY_DELAY_MILLIS);
+	}
+
+	private void finish(CompletionWork work, boolean success) {
+		long latency = System.currentTimeMillis() - work.enqueuedTime;
+		totalLatencyMillis.addAndGet(latency);
+		maxLatencyMillis.accumulateAndGet(latency, Math::max);
+		if (success) {
+			completedCount.incrementAndGet();
+		} else {
+			failedCount.incrementAndGet();
+		}
+		synchronized (this) {
+			pending.remove(work.id);
+			save();
+		}
+	}
+
+	private static XmlFile getQueueFile() {
+		Jenkins jenkins = Jenkins.getInstanceOrNull();
+		if (jenkins == null) {
+			return null;
+		}
+		return new XmlFile(Jenkins.XSTREAM2, new File(jenkins.getRootDir(), QUEUE_FILE_NAME));
+	}
+
+	/**
+	 * Write the pending work to disk. Caller must hold the lock on this.
+	 */
+	private void save() {
+		XmlFile file = getQueueFile();
+		if (file == null) {
+			return;
+		}
+		try {
+			file.write(new ArrayList<CompletionWork>(pending.values()));
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Unable to save the build completion queue to " + file, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Run the work persisted in the Jenkins root directory that this queue does not have yet
+	 */
+	public void resume() {
+		XmlFile file = getQueueFile();
+		if (file == null || !file.exists()) {
+			return;
+		}
+		List<CompletionWork> restored = new ArrayList<CompletionWork>();
+		try {
+			@SuppressWarnings("unchecked")
+			List<CompletionWork> persisted = (List<CompletionWork>) file.read();
+			synchronized (this) {
+				for (CompletionWork work : persisted) {
+					if (!pending.containsKey(work.id)) {
+						pending.put(work.id, work);
+						restored.add(work);
+					}
+				}
+			}
+		} catch (IOException | ClassCastException e) {
+			LOGGER.log(Level.WARNING, "Unable to read the build completion queue from " + file, e); //$NON-NLS-1$
+			return;
+		}
+		LOGGER.info("Resuming " + restored.size() + " pending EWM build completions"); //$NON-NLS-1$ //$NON-NLS-2$
+		for (CompletionWork work : restored) {
+			schedule(work, 0);
+		}
+	}
+}
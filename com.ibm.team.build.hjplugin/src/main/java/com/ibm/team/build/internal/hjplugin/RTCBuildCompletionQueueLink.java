@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin;
+
+import hudson.Extension;
+import hudson.model.ManagementLink;
+
+/**
+ * Shows the depth and latency of the {@link RTCBuildCompletionQueue} 
+ * in Manage Jenkins.
+ */
+@Extension
+public class RTCBuildCompletionQueueLink extends ManagementLink {
+
+	@Override
+	public String getIconFileName() {
+		// Only show the link if the queue is in use
+		if (RTCBuildCompletionQueue.isEnabled() || getQueue().getQueueDepth() > 0) {
+			return "clock.png"; //$NON-NLS-1$
+		}
+		return null;
+	}
+
+	@Override
+	public String getDisplayName() {
+		return Messages.RTCBuildCompletionQueue_display_name();
+	}
+
+	@Override
+	public String getDescription() {
+		return Messages.RTCBuildCompletionQueue_description();
+	}
+
+	@Override
+	public String getUrlName() {
+		return "teamconcert-build-completion"; //$NON-NLS-1$
+	}
+
+	@Override
+	public Category getCategory() {
+		return Category.STATUS;
+	}
+
+	public RTCBuildCompletionQueue getQueue() {
+		return RTCBuildCompletionQueue.getInstance();
+	}
+}
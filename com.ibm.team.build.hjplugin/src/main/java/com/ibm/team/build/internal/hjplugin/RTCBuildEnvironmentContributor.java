@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 IBM Corporation and others.
+ * Copyright (c) 2015, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -37,16 +37,13 @@ public class RTCBuildEnvironmentContributor extends EnvironmentContributor {
 		LOGGER.finest("RTCBuildEnvironmentContributor.buildEnvironmentFor : Enter"); //$NON-NLS-1$
 		List<RTCBuildResultAction> actions = r.getActions(RTCBuildResultAction.class);
 		for (RTCBuildResultAction action : actions) {
-			Map<String,String> buildProperties = action.getBuildProperties();
-			if (buildProperties == null)
-				continue;
+			// computed once by the action, not for every step
+			Map<String,String> environment = action.getEnvironment();
 			try {
-				for (Map.Entry<String, String> entry : buildProperties.entrySet()) {
-					if (LOGGER.isLoggable(Level.FINEST)) {
-						LOGGER.finest("Adding entry Key : " + entry.getKey() + " value : " + entry.getValue());
-					}
-					env.put(entry.getKey(), entry.getValue());
+				if (LOGGER.isLoggable(Level.FINEST)) {
+					LOGGER.finest("Adding " + environment.size() + " entries");
 				}
+				env.putAll(environment);
 			}
 			catch (Exception exp) {
 				LOGGER.finer("Error adding build properties to environment");
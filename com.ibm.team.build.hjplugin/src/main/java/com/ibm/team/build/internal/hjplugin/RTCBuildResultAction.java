@@ -1,6 +1,6 @@
 /*******************************************************************************
  * Licensed Materials - Property of IBM
- * (c) Copyright IBM Corporation 2008, 2023. All Rights Reserved.
+ * (c) Copyright IBM Corporation 2008, 2025. All Rights Reserved.
  * 
  * Note to U.S. Government Users Restricted Rights:  Use,
  * duplication or disclosure restricted by GSA ADP Schedule 
@@ -14,9 +14,14 @@ import hudson.Util;
 import hudson.model.Action;
 import hudson.model.EnvironmentContributingAction;
 import hudson.model.AbstractBuild;
+import hudson.util.CaseInsensitiveComparator;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -24,6 +29,8 @@ import java.util.logging.Logger;
 import org.kohsuke.stapler.export.Exported;
 import org.kohsuke.stapler.export.ExportedBean;
 
+import com.ibm.team.build.internal.hjplugin.util.RTCRestSession;
+
 /**
  * An action that is associated with a Hudson/Jenkins build. Serialized so that it can contribute
  * information to the Hudson/Jenkins build result.
@@ -61,6 +68,15 @@ public class RTCBuildResultAction implements Serializable, Action, EnvironmentCo
 	private final boolean createdBuildResult;
 	private final Map<String, String> buildProperties = new ConcurrentHashMap<String, String>();
 	private final transient RTCScm scm;
+	// the snapshot that componentBaselines describes
+	private String componentBaselinesSnapshotUUID;
+	// component UUID to baseline UUID in the snapshot of the build, kept so that the next 
+	// build only compares the components that changed
+	private Map<String, String> componentBaselines;
+	// shared by the REST calls made for this build, not persisted
+	private transient RTCRestSession restSession;
+	// the build properties as environment variables, rebuilt when the build properties change
+	private transient volatile SortedMap<String, String> environment;
 	
 	/**
 	 * @param serverURI The RTC server uri
@@ -103,17 +119,39 @@ public class RTCBuildResultAction implements Serializable, Action, EnvironmentCo
 	}
 	
 	/**
-	 * @return the current map of build properties associated with this build result action.
+	 * @return the current map of build properties associated with this build result action,
+	 * unmodifiable. Changes are made through {@link #addBuildProperties(Map)} so that they are
+	 * seen in {@link #getEnvironment()}.
 	 */
 	public Map<String, String> getBuildProperties() {
-		return this.buildProperties;
+		return Collections.unmodifiableMap(this.buildProperties);
+	}
+
+	/**
+	 * The build properties contributed to the environment of the build. Jenkins asks for the
+	 * environment for every step, launcher and node block, so it is computed once and again only
+	 * when {@link #addBuildProperties(Map)} changes the build properties.
+	 * @return The build properties, unmodifiable, in the order of {@link EnvVars}
+	 */
+	public SortedMap<String, String> getEnvironment() {
+		SortedMap<String, String> result = this.environment;
+		if (result == null) {
+			synchronized (this) {
+				result = this.environment;
+				if (result == null) {
+					TreeMap<String, String> properties = new TreeMap<String, String>(CaseInsensitiveComparator.INSTANCE);
+					properties.putAll(this.buildProperties);
+					result = Collections.unmodifiableSortedMap(properties);
+					this.environment = result;
+				}
+			}
+		}
+		return result;
 	}
 
 	public void buildEnvVars(AbstractBuild<?, ?> build, EnvVars env) {
 		LOGGER.finest("RTCBuildResultAction.buildEnvVars : Enter"); //$NON-NLS-1$
-		for (Map.Entry<String, String> entry : this.buildProperties.entrySet()) {
-			env.put(entry.getKey(), entry.getValue());
-		}
+		env.putAll(getEnvironment());
 	}
 
 	@Override
@@ -166,12 +204,49 @@ public class RTCBuildResultAction implements Serializable, Action, EnvironmentCo
 			return;
 		}
 		LOGGER.finest("RTCBuildResultAction.addBuildProperties : Enter"); //$NON-NLS-1$
+		boolean changed = false;
 		for (Map.Entry<String, String> entry : buildProperties.entrySet()) {
 			LOGGER.finest("Key : "  + entry.getKey() + " Value : " + entry.getValue());  //$NON-NLS-1$//$NON-NLS-2$
-			this.buildProperties.put(entry.getKey(), entry.getValue());
+			if (!entry.getValue().equals(this.buildProperties.put(entry.getKey(), entry.getValue()))) {
+				changed = true;
+			}
+		}
+		if (changed) {
+			synchronized (this) {
+				this.environment = null;
+			}
 		}
 	}
 	
+	/**
+	 * Keep the baseline of each component in the snapshot of the build, for the comparison 
+	 * with the snapshot of the next build.
+	 * @param snapshotUUID The UUID of the snapshot
+	 * @param componentBaselines The baseline UUID of each component UUID in the snapshot. 
+	 * May be <code>null</code>
+	 */
+	public synchronized void setComponentBaselines(String snapshotUUID, Map<String, String> componentBaselines) {
+		if (snapshotUUID == null || componentBaselines == null) {
+			this.componentBaselinesSnapshotUUID = null;
+			this.componentBaselines = null;
+			return;
+		}
+		this.componentBaselinesSnapshotUUID = snapshotUUID;
+		this.componentBaselines = new HashMap<String, String>(componentBaselines);
+	}
+
+	/**
+	 * @param snapshotUUID The UUID of the snapshot
+	 * @return The baseline UUID of each component UUID in the snapshot, <code>null</code> if 
+	 * they were not kept for this snapshot
+	 */
+	public synchronized Map<String, String> getComponentBaselines(String snapshotUUID) {
+		if (componentBaselines == null || snapshotUUID == null || !snapshotUUID.equals(componentBaselinesSnapshotUUID)) {
+			return null;
+		}
+		return Collections.unmodifiableMap(componentBaselines);
+	}
+
 	/**
 	 * @return return the server uri
 	 */
@@ -186,4 +261,19 @@ public class RTCBuildResultAction implements Serializable, Action, EnvironmentCo
 	public RTCScm getScm() {
 		return this.scm;
 	}
+
+	/**
+	 * Get the REST session for the REST calls made to the server for this build.
+	 * A new session is started if there is none or the login information has 
+	 * changed since it was started.
+	 * @param loginInfo The login information for the server
+	 * @return The REST session for this build
+	 */
+	public synchronized RTCRestSession getRestSession(RTCLoginInfo loginInfo) {
+		if (restSession == null || !restSession.matches(loginInfo.getServerUri(), loginInfo.getUserId(), 
+				loginInfo.getPassword(), loginInfo.getTimeout())) {
+			restSession = new RTCRestSession(loginInfo);
+		}
+		return restSession;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2021 IBM Corporation and others.
+ * Copyright (c) 2014, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -117,8 +117,9 @@ public class RTCBuildResultSetupTask extends RTCTask<BuildResultInfo> {
 		BuildResultInfo buildResultInfo = localInvocation();
 		if (buildResultInfo == null) {
 			
+			RTCFacadeWrapper facade = null;
 			try {
-				RTCFacadeWrapper facade = RTCFacadeFactory.getFacade(buildToolkit,  debug ? listener.getLogger() : null);
+				facade = RTCFacadeFactory.acquireFacade(buildToolkit,  debug ? listener.getLogger() : null);
 		
 				// If we don't have a build result but have a build definition, create the
 				// build result prior to going to the slave so that it can be in the slave's
@@ -179,6 +180,10 @@ public class RTCBuildResultSetupTask extends RTCTask<BuildResultInfo> {
 	    		
 	    		// if we can't establish the build result -> we can't build it
 	    		throw new AbortException(Messages.RTCScm_checkout_failure4(eToReport.getMessage()));
+			} finally {
+				if (facade != null) {
+					facade.release();
+				}
 			}
 		}
 		return buildResultInfo;
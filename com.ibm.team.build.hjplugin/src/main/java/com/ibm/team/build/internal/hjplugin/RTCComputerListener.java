@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin;
+
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Util;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.slaves.ComputerListener;
+import hudson.tools.ToolLocationNodeProperty;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jenkins.security.MasterToSlaveCallable;
+
+import com.ibm.team.build.internal.hjplugin.RTCFacadeFactory.RTCFacadeWrapper;
+
+/**
+ * When an agent connects, sends it the hjplugin-rtc jar and loads the facade for the
+ * build toolkits configured for it, in the background, so that the first build on the
+ * agent does not have to. Disabled with {@link #DISABLE_PREWARM_PROPERTY}.
+ *
+ * Only the build toolkits with a location configured on the node itself are prepared,
+ * installing a toolkit is left to the build.
+ *
+ * With {@link #RESIDENT_FACADES_PROPERTY} the facades also start the team platform, and
+ * are kept loaded on the agent between builds by {@link RTCResidentFacades}. No credentials
+ * are sent to the agent, the builds log in themselves.
+ */
+@Extension
+public class RTCComputerListener extends ComputerListener {
+
+	private static final Logger LOGGER = Logger.getLogger(RTCComputerListener.class.getName());
+
+	/**
+	 * System property to not prepare agents for builds when they connect
+	 */
+	public static final String DISABLE_PREWARM_PROPERTY = "com.ibm.team.build.disableAgentPrewarm"; //$NON-NLS-1$
+
+	/**
+	 * System property to keep the facades ready on the agents between builds
+	 */
+	public static final String RESIDENT_FACADES_PROPERTY = "com.ibm.team.build.residentFacades"; //$NON-NLS-1$
+
+	/**
+	 * System property for the minutes after which a resident facade that is not used is unloaded
+	 */
+	public static final String RESIDENT_IDLE_MINUTES_PROPERTY = "com.ibm.team.build.residentFacadeIdleMinutes"; //$NON-NLS-1$
+
+	/**
+	 * System property for the minutes between checks of the resident facades
+	 */
+	public static final String RESIDENT_CHECK_MINUTES_PROPERTY = "com.ibm.team.build.residentFacadeCheckMinutes"; //$NON-NLS-1$
+
+	/**
+	 * System property for the percentage of the agent's maximum heap above which idle
+	 * resident facades are unloaded
+	 */
+	public static final String RESIDENT_MAX_HEAP_PERCENT_PROPERTY = "com.ibm.team.build.residentFacadeMaxHeapPercent"; //$NON-NLS-1$
+
+	private static final long DEFAULT_IDLE_MINUTES = 120;
+	private static final long DEFAULT_CHECK_MINUTES = 5;
+	private static final int DEFAULT_MAX_HEAP_PERCENT = 80;
+
+	@Override
+	public void onOnline(Computer c, TaskListener listener) {
+		if (Boolean.getBoolean(DISABLE_PREWARM_PROPERTY)) {
+			return;
+		}
+		final Node node = c.getNode();
+		if (node == null || RTCBuildToolInstallation.allInstallations().length == 0) {
+			return;
+		}
+		final FilePath rootPath = node.getRootPath();
+		if (rootPath == null || !rootPath.isRemote()) {
+			return;
+		}
+		Computer.threadPoolForRemoting.submit(new Runnable() {
+			@Override
+			public void run() {
+				prewarm(node, rootPath);
+			}
+		});
+	}
+
+	private static void prewarm(Node node, FilePath rootPath) {
+		String nodeName = node.getDisplayName();
+		try {
+			RTCFacadeJarCache.sendJarToAgent(rootPath);
+			boolean resident = Boolean.getBoolean(RESIDENT_FACADES_PROPERTY);
+			for (RTCBuildToolInstallation installation : RTCBuildToolInstallation.allInstallations()) {
+				String buildToolkit = getConfiguredBuildToolkit(node, installation);
+				if (buildToolkit == null) {
+					continue;
+				}
+				LoadFacade loadFacade = new LoadFacade(buildToolkit);
+				if (resident) {
+					loadFacade.keepResident(TimeUnit.MINUTES.toMillis(Long.getLong(RESIDENT_IDLE_MINUTES_PROPERTY, DEFAULT_IDLE_MINUTES)),
+							TimeUnit.MINUTES.toMillis(Long.getLong(RESIDENT_CHECK_MINUTES_PROPERTY, DEFAULT_CHECK_MINUTES)),
+							Integer.getInteger(RESIDENT_MAX_HEAP_PERCENT_PROPERTY, DEFAULT_MAX_HEAP_PERCENT));
+				}
+				if (rootPath.act(loadFacade)) {
+					LOGGER.fine("Loaded the facade for " + buildToolkit + " on " + nodeName); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+		} catch (InterruptedException e) {
+			LOGGER.log(Level.FINER, "Interrupted while preparing " + nodeName, e); //$NON-NLS-1$
+		} catch (Exception e) {
+			LOGGER.log(Level.FINE, "Unable to prepare " + nodeName + " for builds", e); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * @param node The node
+	 * @param installation A build toolkit installation
+	 * @return The location of the build toolkit configured on the node itself, <code>null</code>
+	 * if the node has none. Unlike {@link ToolLocationNodeProperty#getToolHome}, the home of the
+	 * installation is not used for nodes without a location.
+	 */
+	public static String getConfiguredBuildToolkit(Node node, RTCBuildToolInstallation installation) {
+		ToolLocationNodeProperty property = node.getNodeProperties().get(ToolLocationNodeProperty.class);
+		if (property == null) {
+			return null;
+		}
+		return Util.fixEmptyAndTrim(property.getHome(installation));
+	}
+
+	/**
+	 * Runs on the agent. Loads the facade for the build toolkit if it is there. When
+	 * resident, also starts the team platform and has the facades looked after.
+	 */
+	private static final class LoadFacade extends MasterToSlaveCallable<Boolean, Exception> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String buildToolkit;
+		private boolean resident;
+		private long idleTimeout;
+		private long checkInterval;
+		private int maxHeapPercent;
+
+		LoadFacade(String buildToolkit) {
+			this.buildToolkit = buildToolkit;
+		}
+
+		void keepResident(long idleTimeout, long checkInterval, int maxHeapPercent) {
+			this.resident = true;
+			this.idleTimeout = idleTimeout;
+			this.checkInterval = checkInterval;
+			this.maxHeapPercent = maxHeapPercent;
+		}
+
+		@Override
+		public Boolean call() throws Exception {
+			if (!new File(buildToolkit).isDirectory()) {
+				return Boolean.FALSE;
+			}
+			RTCFacadeWrapper facade = RTCFacadeFactory.acquireFacade(buildToolkit, null);
+			try {
+				if (resident) {
+					RTCResidentFacades.start(idleTimeout, checkInterval, maxHeapPercent);
+					try {
+						facade.invoke("warmUp", new Class[0]); //$NON-NLS-1$
+					} catch (Exception e) {
+						// the facade is still loaded
+						LOGGER.log(Level.FINE, "Unable to start the team platform ahead of builds", e); //$NON-NLS-1$
+					}
+				}
+			} finally {
+				facade.release();
+			}
+			return Boolean.TRUE;
+		}
+	}
+}
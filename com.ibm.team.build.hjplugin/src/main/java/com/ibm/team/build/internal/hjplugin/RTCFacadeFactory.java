@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2016 IBM Corporation and others.
+ * Copyright (c) 2013, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
 
 package com.ibm.team.build.internal.hjplugin;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
@@ -21,11 +22,16 @@ import java.net.JarURLConnection;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.commons.collections.map.LRUMap;
 
+import com.ibm.team.build.internal.hjplugin.util.RTCMetrics;
+
 /**
  * Factory for the RTC Build client.
  */
@@ -67,6 +73,7 @@ public class RTCFacadeFactory {
 		File buildToolkitFile = new File(buildToolkitPath);
 		String stdBuildToolkitPath = buildToolkitFile.getAbsolutePath();
 		RTCFacadeWrapper rtcFacade = (RTCFacadeWrapper) fgRTCFacadeCache.get(stdBuildToolkitPath);
+		RTCMetrics.getInstance().facadeCache("classLoader", rtcFacade != null); //$NON-NLS-1$
 		if (rtcFacade == null) {
 			rtcFacade = RTCFacadeFactory.newFacade("com.ibm.team.build.internal.hjplugin.rtc.RTCFacade", //$NON-NLS-1$
 					buildToolkitFile, debugLog);
@@ -77,8 +84,48 @@ public class RTCFacadeFactory {
 		} else {
 			debug(debugLog, "Reusing facade for " + stdBuildToolkitPath); //$NON-NLS-1$
 		}
+		rtcFacade.lastUsed = System.currentTimeMillis();
+		return rtcFacade;
+	}
+
+	/**
+	 * Returns a facade like {@link #getFacade(String, PrintStream)}, counted as in use until
+	 * {@link RTCFacadeWrapper#release()} is called, so that it is not unloaded between the
+	 * calls of a task, see {@link RTCResidentFacades}.
+	 */
+	public synchronized static RTCFacadeWrapper acquireFacade(String buildToolkitPath, PrintStream debugLog) throws Exception {
+		RTCFacadeWrapper rtcFacade = getFacade(buildToolkitPath, debugLog);
+		rtcFacade.inUse.incrementAndGet();
 		return rtcFacade;
 	}
+
+	/**
+	 * @return The facades in the cache by build toolkit path, least recently used first
+	 */
+	@SuppressWarnings("unchecked")
+	synchronized static Map<String, RTCFacadeWrapper> getCachedFacades() {
+		Map<String, RTCFacadeWrapper> facades = new LinkedHashMap<String, RTCFacadeWrapper>();
+		if (fgRTCFacadeCache != null) {
+			facades.putAll(fgRTCFacadeCache);
+		}
+		return facades;
+	}
+
+	/**
+	 * Remove a facade from the cache, unless it was used again since it was chosen for removal
+	 * @param buildToolkitPath The build toolkit path of the facade
+	 * @param facade The facade
+	 * @param lastUsed When the facade was last used at the time it was chosen
+	 * @return <code>true</code> if the facade was removed
+	 */
+	synchronized static boolean removeFacade(String buildToolkitPath, RTCFacadeWrapper facade, long lastUsed) {
+		if (fgRTCFacadeCache == null || fgRTCFacadeCache.get(buildToolkitPath) != facade
+				|| facade.lastUsed != lastUsed || facade.inUse.get() > 0) {
+			return false;
+		}
+		fgRTCFacadeCache.remove(buildToolkitPath);
+		return true;
+	}
 	
 	/**
 	 * @return The URL for the jar containing the facade.
@@ -99,6 +146,15 @@ public class RTCFacadeFactory {
 		return fgHJPlugin_rtcJar;
 	}
 
+	/**
+	 * Load facades from the given hjplugin-rtc jar from now on. Used on agents that
+	 * have a copy of the jar, see {@link RTCFacadeJarCache}.
+	 * @param facadeJarURL The URL of the jar
+	 */
+	synchronized static void setFacadeJarURL(URL facadeJarURL) {
+		fgHJPlugin_rtcJar = facadeJarURL;
+	}
+
 	/**
 	 * Wrapper on the facade to ensure the class loader is setup and restored
 	 * between calls
@@ -117,11 +173,71 @@ public class RTCFacadeFactory {
 		public static final String TEST_BUILD_SNAPSHOT = "testBuildSnapshot"; //$NON-NLS-1$
 		public static final String TEST_LOAD_RULES = "testLoadRules"; //$NON-NLS-1$
 		
-		private Object facade;
-		private ClassLoader newClassLoader;
+		private volatile Object facade;
+		private volatile ClassLoader newClassLoader;
+		private volatile long lastUsed;
+		private final AtomicInteger inUse = new AtomicInteger();
 		
 		public Object invoke(String methodName, Class[] argumentTypes, Object... arguments) throws Exception {
-			
+			lastUsed = System.currentTimeMillis();
+			inUse.incrementAndGet();
+			try {
+				return invokeFacade(methodName, argumentTypes, arguments);
+			} finally {
+				inUse.decrementAndGet();
+				lastUsed = System.currentTimeMillis();
+			}
+		}
+
+		/**
+		 * Stop counting the facade as in use by a task, see
+		 * {@link RTCFacadeFactory#acquireFacade(String, PrintStream)}
+		 */
+		public void release() {
+			lastUsed = System.currentTimeMillis();
+			inUse.decrementAndGet();
+		}
+
+		/**
+		 * @return When the facade was last used
+		 */
+		long getLastUsed() {
+			return lastUsed;
+		}
+
+		/**
+		 * @return Whether the facade is being used
+		 */
+		boolean isInUse() {
+			return inUse.get() > 0;
+		}
+
+		/**
+		 * Release what the facade holds once it is no longer cached: log out of its connections,
+		 * shut down its team platform and close its class loader, so that its classes can be
+		 * collected. The facade cannot be used afterwards.
+		 */
+		void dispose() {
+			try {
+				invokeFacade("shutdown", new Class[0]); //$NON-NLS-1$
+			} catch (Exception e) {
+				LOGGER.log(Level.FINER, "Unable to shut down the facade", e); //$NON-NLS-1$
+			}
+			if (newClassLoader instanceof Closeable) {
+				try {
+					((Closeable) newClassLoader).close();
+				} catch (IOException e) {
+					LOGGER.log(Level.FINER, "Unable to close the class loader of the facade", e); //$NON-NLS-1$
+				}
+			}
+			facade = null;
+			newClassLoader = null;
+		}
+
+		/**
+		 * Invoke a method of the facade without counting it as a use, for housekeeping
+		 */
+		Object invokeFacade(String methodName, Class[] argumentTypes, Object... arguments) throws Exception {
 			ClassLoader currentClassLoader = setContextClassLoader();
 			try {
 	    		Method m = facade.getClass().getMethod(methodName, argumentTypes);
@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hudson.FilePath;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.remoting.Channel;
+import hudson.remoting.VirtualChannel;
+import jenkins.security.MasterToSlaveCallable;
+
+/**
+ * Keeps a copy of the hjplugin-rtc jar on each agent, in the agent's root directory,
+ * named after the SHA-256 digest of its content. The facade on the agent is loaded from
+ * that copy, so the jar is only sent when the agent does not have it yet, and not again
+ * when the agent reconnects. The copies of other versions of the jar are deleted when
+ * the jar is sent.
+ *
+ * Once an agent is known to have the jar, it is not checked again for the life of its
+ * channel. If the copy cannot be used, the jar is preloaded into the remote class loader
+ * of the channel as before. {@link #DISABLE_PROPERTY} always does the latter.
+ */
+public final class RTCFacadeJarCache {
+
+	private static final Logger LOGGER = Logger.getLogger(RTCFacadeJarCache.class.getName());
+
+	/**
+	 * System property to always preload the jar instead of keeping a copy on the agents
+	 */
+	public static final String DISABLE_PROPERTY = "com.ibm.team.build.disableFacadeJarCache"; //$NON-NLS-1$
+
+	public static final String CACHE_DIR_NAME = "teamconcert-cache"; //$NON-NLS-1$
+
+	private static final String JAR_EXTENSION = ".jar"; //$NON-NLS-1$
+
+	private static final String DIGEST_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+	/**
+	 * Key of the channel property holding the digest of the jar the agent uses
+	 */
+	private static final String CHANNEL_PROPERTY = RTCFacadeJarCache.class.getName() + ".digest"; //$NON-NLS-1$
+
+	private static URL fgDigestURL;
+	private static String fgDigest;
+
+	private RTCFacadeJarCache() {
+	}
+
+	/**
+	 * Make the hjplugin-rtc jar available to the facade on the agent of the workspace
+	 * @param workspacePath A path on the agent
+	 * @throws IOException If the jar could not be sent
+	 * @throws InterruptedException If interrupted while sending the jar
+	 */
+	public static void sendJarToAgent(FilePath workspacePath) throws IOException, InterruptedException {
+		sendJarToAgent(workspacePath, RTCFacadeFactory.getFacadeJarURL(null));
+	}
+
+	/**
+	 * Make the given hjplugin-rtc jar available to the facade on the agent of the workspace.
+	 * Public for testing purposes, see {@link #sendJarToAgent(FilePath)}
+	 * @param workspacePath A path on the agent
+	 * @param facadeJarURL The jar
+	 * @throws IOException If the jar could not be sent
+	 * @throws InterruptedException If interrupted while sending the jar
+	 */
+	public static void sendJarToAgent(FilePath workspacePath, URL facadeJarURL) throws IOException, InterruptedException {
+		VirtualChannel virtualChannel = workspacePath.getChannel();
+		if (!(virtualChannel instanceof Channel) || facadeJarURL == null) {
+			return;
+		}
+		Channel channel = (Channel) virtualChannel;
+		if (!Boolean.getBoolean(DISABLE_PROPERTY)) {
+			try {
+				String digest = getDigest(facadeJarURL);
+				if (digest.equals(channel.getProperty(CHANNEL_PROPERTY))) {
+					LOGGER.finer("hjplugin-rtc jar already set up on " + channel.getName()); //$NON-NLS-1$
+					return;
+				}
+				FilePath cacheDir = getCacheDir(workspacePath);
+				if (cacheDir != null && useCachedJar(channel, cacheDir, digest, facadeJarURL)) {
+					channel.setProperty(CHANNEL_PROPERTY, digest);
+					return;
+				}
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING, "Unable to use a cached hjplugin-rtc jar on " + channel.getName() //$NON-NLS-1$
+						+ ", preloading it instead", e); //$NON-NLS-1$
+			}
+		}
+		ClassLoader originalClassLoader = RTCFacadeJarCache.class.getClassLoader();
+		boolean result = channel.preloadJar(originalClassLoader, new URL[] {facadeJarURL});
+		LOGGER.finer("Prefetch result for sending jars is " + result); //$NON-NLS-1$
+	}
+
+	private static boolean useCachedJar(Channel channel, FilePath cacheDir, String digest, URL facadeJarURL)
+			throws IOException, InterruptedException {
+		FilePath cachedJar = cacheDir.child(digest + JAR_EXTENSION);
+		if (channel.call(new UseCachedJar(cachedJar.getRemote(), digest))) {
+			LOGGER.fine("Using the cached hjplugin-rtc jar " + cachedJar + " on " + channel.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+			return true;
+		}
+
+		LOGGER.fine("Sending the hjplugin-rtc jar to " + cachedJar + " on " + channel.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+		cacheDir.mkdirs();
+		FilePath tmp = cacheDir.createTempFile(digest, ".tmp"); //$NON-NLS-1$
+		try {
+			tmp.copyFrom(facadeJarURL);
+			if (cachedJar.exists()) {
+				// a corrupt copy, or another build sent it meanwhile
+				cachedJar.delete();
+			}
+			tmp.renameTo(cachedJar);
+		} catch (IOException e) {
+			if (!cachedJar.exists()) {
+				throw e;
+			}
+			LOGGER.log(Level.FINER, "Another build sent the hjplugin-rtc jar to " + cachedJar, e); //$NON-NLS-1$
+		} finally {
+			tmp.delete();
+		}
+		deleteOtherJars(cacheDir, cachedJar);
+		return channel.call(new UseCachedJar(cachedJar.getRemote(), digest));
+	}
+
+	/**
+	 * Delete the copies of other versions of the jar, left by earlier versions of the plugin
+	 */
+	private static void deleteOtherJars(FilePath cacheDir, FilePath cachedJar) throws InterruptedException {
+		FilePath[] jars;
+		try {
+			jars = cacheDir.list("*" + JAR_EXTENSION); //$NON-NLS-1$
+		} catch (IOException e) {
+			LOGGER.log(Level.FINER, "Unable to list the cached hjplugin-rtc jars in " + cacheDir, e); //$NON-NLS-1$
+			return;
+		}
+		for (FilePath jar : jars) {
+			if (jar.getName().equals(cachedJar.getName())) {
+				continue;
+			}
+			LOGGER.fine("Deleting the cached hjplugin-rtc jar " + jar); //$NON-NLS-1$
+			try {
+				jar.delete();
+			} catch (IOException e) {
+				// still in use on Windows, deleted the next time the jar is sent
+				LOGGER.log(Level.FINER, "Unable to delete the cached hjplugin-rtc jar " + jar, e); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * @return The directory for the cached jar in the root directory of the agent, <code>null</code>
+	 * if the agent is not known
+	 */
+	private static FilePath getCacheDir(FilePath workspacePath) {
+		Computer computer = workspacePath.toComputer();
+		Node node = computer == null ? null : computer.getNode();
+		FilePath rootPath = node == null ? null : node.getRootPath();
+		return rootPath == null ? null : rootPath.child(CACHE_DIR_NAME);
+	}
+
+	private static synchronized String getDigest(URL facadeJarURL) throws IOException {
+		// the jar only changes when the plugin is updated, which needs a restart
+		if (fgDigest == null || !facadeJarURL.equals(fgDigestURL)) {
+			try (InputStream in = facadeJarURL.openStream()) {
+				fgDigest = digest(in);
+				fgDigestURL = facadeJarURL;
+			}
+		}
+		return fgDigest;
+	}
+
+	/**
+	 * @param in The content
+	 * @return The hexadecimal SHA-256 digest of the content
+	 * @throws IOException If the content could not be read
+	 */
+	public static String digest(InputStream in) throws IOException {
+		MessageDigest messageDigest;
+		try {
+			messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+		byte[] buffer = new byte[64 * 1024];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			messageDigest.update(buffer, 0, read);
+		}
+		StringBuilder hex = new StringBuilder();
+		for (byte b : messageDigest.digest()) {
+			hex.append(String.format("%02x", b)); //$NON-NLS-1$
+		}
+		return hex.toString();
+	}
+
+	/**
+	 * Runs on the agent. If the cached jar is intact, the facade on the agent is
+	 * loaded from it from now on.
+	 */
+	private static final class UseCachedJar extends MasterToSlaveCallable<Boolean, IOException> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String path;
+		private final String digest;
+
+		UseCachedJar(String path, String digest) {
+			this.path = path;
+			this.digest = digest;
+		}
+
+		@Override
+		public Boolean call() throws IOException {
+			File cachedJar = new File(path);
+			if (!cachedJar.isFile()) {
+				return Boolean.FALSE;
+			}
+			try (InputStream in = Files.newInputStream(cachedJar.toPath())) {
+				if (!digest.equals(digest(in))) {
+					LOGGER.warning("The cached hjplugin-rtc jar " + path + " does not match its digest"); //$NON-NLS-1$ //$NON-NLS-2$
+					return Boolean.FALSE;
+				}
+			}
+			RTCFacadeFactory.setFacadeJarURL(cachedJar.toURI().toURL());
+			return Boolean.TRUE;
+		}
+	}
+}
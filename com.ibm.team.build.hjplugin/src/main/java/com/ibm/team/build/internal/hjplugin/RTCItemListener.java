@@ -18,6 +18,7 @@ import hudson.model.AbstractProject;
 import hudson.model.listeners.ItemListener;
 import hudson.util.RunList;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Logger;
@@ -40,13 +41,15 @@ public class RTCItemListener extends ItemListener {
 				Set<RTCScm> rtcScmConfigs = RTCScmConfigHelper.getCurrentConfigs(project);
 				if (!rtcScmConfigs.isEmpty()) {
 					// find all the builds for the project and delete any of the build results
+					// together, in the background
+					List<RTCBuildResultAction> rtcBuildResultActions = new ArrayList<RTCBuildResultAction>();
 					RunList<?> allBuilds = project.getBuilds();
 					for (Object build : allBuilds) {
 						if (build instanceof AbstractBuild<?, ?>) {
-							List<RTCBuildResultAction> rtcBuildResultActions = ((AbstractBuild<?, ?>) build).getActions(RTCBuildResultAction.class);
-							RTCBuildResultHelper.deleteRTCBuildResults(rtcBuildResultActions, project, rtcScmConfigs);
+							rtcBuildResultActions.addAll(((AbstractBuild<?, ?>) build).getActions(RTCBuildResultAction.class));
 						}
 					}
+					RTCBuildResultHelper.deleteRTCBuildResultsInBackground(rtcBuildResultActions, project, rtcScmConfigs);
 				}
 			}
 		} finally {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2021 IBM Corporation and others.
+ * Copyright (c) 2016, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -30,4 +30,12 @@ public class RTCJobProperties {
 	public static final String WAIT_BUILD_COMMAND = "waitForBuild";
 	public static final String REQUEST_BUILD_COMMAND = "requestBuild";
 
+	/**
+	 * Build parameter or environment variable with the number of temporary repository
+	 * workspaces to keep for a build stream, instead of creating and deleting one per build.
+	 * A pooled workspace goes back to the pool at the end of the load, so it is not kept for
+	 * the rest of the build even when the temporary workspace would otherwise be kept.
+	 */
+	public static final String TEMPORARY_WORKSPACE_POOL_SIZE = "com.ibm.team.build.temporaryWorkspacePool"; //$NON-NLS-1$
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright © 2016, 2021 IBM Corporation and others.
+ * Copyright © 2016, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -27,6 +27,7 @@ import java.util.logging.Logger;
 import com.ibm.team.build.internal.hjplugin.RTCFacadeFactory.RTCFacadeWrapper;
 import com.ibm.team.build.internal.hjplugin.extensions.RtcExtensionProvider;
 import com.ibm.team.build.internal.hjplugin.util.Helper;
+import com.ibm.team.build.internal.hjplugin.util.RTCTimings;
 import com.ibm.team.build.internal.hjplugin.util.TaskListenerWrapper;
 
 
@@ -200,14 +201,19 @@ public class RTCLoadTask extends RTCTask<Map<String, Object>> {
 			debug("shouldDeleteTemporaryWorkspace " + shouldDeleteTemporaryWorkspace); // $NON-NLS-1$
 		}
 
+		RTCFacadeWrapper facade = null;
 		try {
-    		RTCFacadeWrapper facade = RTCFacadeFactory.getFacade(buildToolkit, debug ? listener.getLogger() : null);
+    		long facadeStart = System.currentTimeMillis();
+    		long facadeStartNanos = System.nanoTime();
+    		facade = RTCFacadeFactory.acquireFacade(buildToolkit, debug ? listener.getLogger() : null);
+    		Map<String, String> facadeSpan = RTCTimings.createSpan("getFacade", facadeStart, //$NON-NLS-1$
+    				(System.nanoTime() - facadeStartNanos) / 1000000L, 0);
     		if (debug) {
     			debug("hjplugin-rtc.jar " + RTCFacadeFactory.getFacadeJarURL(listener.getLogger()).toString()); //$NON-NLS-1$
     		}
     		
     		
-    		return (Map<String, Object>) facade.invoke("load", new Class[] { //$NON-NLS-1$
+    		Map<String, Object> result = (Map<String, Object>) facade.invoke("load", new Class[] { //$NON-NLS-1$
 					String.class, // serverURI,
 					String.class, // userId,
 					String.class, // password,
@@ -248,6 +254,8 @@ public class RTCLoadTask extends RTCTask<Map<String, Object>> {
 					componentsToExclude, pathToLoadRuleFile, isDeleteNeeded, 
 					createFoldersForComponents, acceptBeforeLoad, temporaryWorkspaceComment, 
 					shouldDeleteTemporaryWorkspace, options);
+			RTCTimings.addAgentSpan(result, facadeSpan);
+			return result;
 
     	} catch (Exception e) {
     		Throwable eToReport = e;
@@ -265,6 +273,10 @@ public class RTCLoadTask extends RTCTask<Map<String, Object>> {
     		
     		// if we can't check out then we can't build it
     		throw new AbortException(Messages.RTCScm_checkout_failure2(eToReport.getMessage()));
+    	} finally {
+    		if (facade != null) {
+    			facade.release();
+    		}
     	}
     }
 
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin;
+
+import hudson.Extension;
+import hudson.model.ManagementLink;
+import jenkins.model.Jenkins;
+
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+
+import com.ibm.team.build.internal.hjplugin.util.RTCMetrics;
+
+/**
+ * Shows the {@link RTCMetrics} in Manage Jenkins. The metrics are also available
+ * in the Prometheus text format at <code>prometheus</code> and as JSON at
+ * <code>json</code> under the link.
+ */
+@Extension
+public class RTCMetricsLink extends ManagementLink {
+
+	@Override
+	public String getIconFileName() {
+		return "monitor.png"; //$NON-NLS-1$
+	}
+
+	@Override
+	public String getDisplayName() {
+		return Messages.RTCMetrics_display_name();
+	}
+
+	@Override
+	public String getDescription() {
+		return Messages.RTCMetrics_description();
+	}
+
+	@Override
+	public String getUrlName() {
+		return "teamconcert-metrics"; //$NON-NLS-1$
+	}
+
+	@Override
+	public Category getCategory() {
+		return Category.STATUS;
+	}
+
+	public RTCMetrics getMetrics() {
+		return RTCMetrics.getInstance();
+	}
+
+	/**
+	 * @return The metrics in the Prometheus text exposition format
+	 */
+	public HttpResponse doPrometheus() {
+		Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+		return HttpResponses.plainText(getMetrics().toPrometheusText());
+	}
+
+	/**
+	 * @return The metrics as JSON
+	 */
+	public HttpResponse doJson() {
+		Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+		return HttpResponses.okJSON(getMetrics().toJSON());
+	}
+}
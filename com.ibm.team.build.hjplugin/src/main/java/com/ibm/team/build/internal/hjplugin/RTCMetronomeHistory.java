@@ -0,0 +1,355 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin;
+
+import hudson.model.Job;
+import hudson.model.Run;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the Metronome service call statistics of the builds of a job in one file
+ * in the job directory, so that the calls and time of each service method can be
+ * compared across builds.
+ *
+ * Each line holds the build number, the service or method name, the number of calls
+ * and the time in milliseconds. Lines are only ever appended when a build writes its
+ * statistics, and only the tail of the file is read to show the latest builds, so
+ * the cost does not grow with the length of the history.
+ */
+public class RTCMetronomeHistory {
+
+	private static final Logger LOGGER = Logger.getLogger(RTCMetronomeHistory.class.getName());
+
+	/**
+	 * System property for the number of builds shown in the history
+	 */
+	public static final String MAX_BUILDS_PROPERTY = "com.ibm.team.build.metronomeHistoryBuilds"; //$NON-NLS-1$
+
+	private static final int DEFAULT_MAX_BUILDS = 50;
+
+	static final String HISTORY_FILE_NAME = "metronome-history.csv"; //$NON-NLS-1$
+
+	private static final char SEPARATOR = ',';
+
+	private static final char QUOTE = '"';
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final Map<String, Object> LOCKS = new ConcurrentHashMap<String, Object>();
+
+	/**
+	 * The calls and time of a service or method in the builds of a job
+	 */
+	public static class Series {
+		private final String name;
+		private final TreeMap<Integer, long[]> values = new TreeMap<Integer, long[]>();
+
+		Series(String name) {
+			this.name = name;
+		}
+
+		private void add(int build, long calls, long time) {
+			long[] value = values.get(build);
+			if (value == null) {
+				values.put(build, new long[] {calls, time});
+			} else {
+				// several checkouts in the same build
+				value[0] += calls;
+				value[1] += time;
+			}
+		}
+
+		/**
+		 * @return The name of the service, or of the service and method separated by a dot
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return The build numbers that have statistics for the service or method, in ascending order
+		 */
+		public List<Integer> getBuilds() {
+			return new ArrayList<Integer>(values.keySet());
+		}
+
+		/**
+		 * @return The number of calls in each build of {@link #getBuilds()}
+		 */
+		public long[] getCalls() {
+			return getColumn(0);
+		}
+
+		/**
+		 * @return The time in milliseconds spent in the calls in each build of {@link #getBuilds()}
+		 */
+		public long[] getTimes() {
+			return getColumn(1);
+		}
+
+		/**
+		 * @return The time in milliseconds spent in all the builds
+		 */
+		public long getTotalTime() {
+			long total = 0;
+			for (long[] value : values.values()) {
+				total += value[1];
+			}
+			return total;
+		}
+
+		private long[] getColumn(int column) {
+			long[] result = new long[values.size()];
+			int i = 0;
+			for (long[] value : values.values()) {
+				result[i++] = value[column];
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * @param job The job
+	 * @return The file holding the history of the job
+	 */
+	static File getHistoryFile(Job<?, ?> job) {
+		return new File(new File(job.getRootDir(), RTCScm.TEAMCONCERT_FOLDER_NAME), HISTORY_FILE_NAME);
+	}
+
+	private static Object getLock(File historyFile) {
+		return LOCKS.computeIfAbsent(historyFile.getAbsolutePath(), k -> new Object());
+	}
+
+	/**
+	 * Add the statistics of a build to the history of its job. The first time, the
+	 * statistics of the previous builds that are still kept are added before it.
+	 * @param build The build
+	 * @param statisticsData The statistics in the CSV format written by the build
+	 * @throws IOException If the history could not be written
+	 */
+	static void append(Run<?, ?> build, String statisticsData) throws IOException {
+		File historyFile = getHistoryFile(build.getParent());
+		synchronized (getLock(historyFile)) {
+			if (!historyFile.exists()) {
+				historyFile.getParentFile().mkdirs();
+				addPreviousBuilds(build, historyFile);
+			}
+			append(historyFile, build.getNumber(), statisticsData);
+		}
+	}
+
+	private static void addPreviousBuilds(Run<?, ?> build, File historyFile) throws IOException {
+		List<Run<?, ?>> previousBuilds = new ArrayList<Run<?, ?>>();
+		int maxBuilds = getMaxBuilds();
+		for (Run<?, ?> previous = build.getPreviousBuild(); previous != null && previousBuilds.size() < maxBuilds;
+				previous = previous.getPreviousBuild()) {
+			previousBuilds.add(previous);
+		}
+		Collections.reverse(previousBuilds);
+		for (Run<?, ?> previous : previousBuilds) {
+			File[] files = new File(new File(previous.getRootDir(), RTCScm.TEAMCONCERT_FOLDER_NAME),
+					RTCScm.TEAMCONCERT_METRONOME_NAME).listFiles();
+			if (files == null) {
+				continue;
+			}
+			// the file names contain the time of the checkout
+			Arrays.sort(files);
+			for (File file : files) {
+				String fileName = file.getName();
+				if (!fileName.startsWith(RTCScm.STATISTICS_DATA_FILE_PREFIX_VALUE)
+						|| !fileName.endsWith(RTCScm.STATISTICS_DATA_FILE_SUFFIX_VALUE)) {
+					continue;
+				}
+				try {
+					append(historyFile, previous.getNumber(),
+							new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+				} catch (IOException e) {
+					LOGGER.log(Level.WARNING, "Unable to read the statistics in " + file.getAbsolutePath(), e); //$NON-NLS-1$
+				}
+			}
+		}
+	}
+
+	/**
+	 * Append the statistics of a build to a history file
+	 * @param historyFile The history file. Created if it does not exist.
+	 * @param buildNumber The number of the build
+	 * @param statisticsData The statistics in the CSV format written by the build
+	 * @throws IOException If the file could not be written
+	 */
+	public static void append(File historyFile, int buildNumber, String statisticsData) throws IOException {
+		if (statisticsData == null) {
+			return;
+		}
+		StringBuilder lines = new StringBuilder();
+		String[] rows = statisticsData.split("\r?\n"); //$NON-NLS-1$
+		// the first row holds the column titles
+		for (int i = 1; i < rows.length; i++) {
+			String[] columns = parseRow(rows[i]);
+			if (columns.length < 3 || columns[0].isEmpty()) {
+				continue;
+			}
+			long calls = parseLong(columns[1]);
+			long time = parseLong(columns[2]);
+			if (calls < 0 || time < 0) {
+				continue;
+			}
+			lines.append(buildNumber).append(SEPARATOR)
+					.append(QUOTE).append(columns[0].replace(QUOTE, '\'')).append(QUOTE).append(SEPARATOR)
+					.append(calls).append(SEPARATOR).append(time).append('\n');
+		}
+		if (lines.length() == 0) {
+			return;
+		}
+		// one write per build, so that a partial build is never left in the file
+		Files.write(historyFile.toPath(), lines.toString().getBytes(StandardCharsets.UTF_8),
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+	}
+
+	/**
+	 * Read the latest builds of a history file
+	 * @param historyFile The history file
+	 * @param maxBuilds The maximum number of builds to read
+	 * @return The history of each service and method, in the order they first appear
+	 * @throws IOException If the file could not be read
+	 */
+	public static List<Series> read(File historyFile, int maxBuilds) throws IOException {
+		List<String> lines = readTail(historyFile, maxBuilds);
+		Map<String, Series> series = new LinkedHashMap<String, Series>();
+		for (String line : lines) {
+			String[] columns = parseRow(line);
+			if (columns.length != 4) {
+				continue;
+			}
+			int build = (int) parseLong(columns[0]);
+			long calls = parseLong(columns[2]);
+			long time = parseLong(columns[3]);
+			if (build < 0 || calls < 0 || time < 0) {
+				continue;
+			}
+			Series s = series.get(columns[1]);
+			if (s == null) {
+				s = new Series(columns[1]);
+				series.put(columns[1], s);
+			}
+			s.add(build, calls, time);
+		}
+		return new ArrayList<Series>(series.values());
+	}
+
+	/**
+	 * @return The number of builds shown in the history
+	 */
+	static int getMaxBuilds() {
+		return Math.max(1, Integer.getInteger(MAX_BUILDS_PROPERTY, DEFAULT_MAX_BUILDS));
+	}
+
+	/**
+	 * Read the lines of the latest builds, going backwards from the end of the file
+	 * @return The lines in the order they are in the file
+	 */
+	private static List<String> readTail(File historyFile, int maxBuilds) throws IOException {
+		List<String> lines = new ArrayList<String>();
+		if (!historyFile.isFile()) {
+			return lines;
+		}
+		Set<String> builds = new HashSet<String>();
+		try (RandomAccessFile file = new RandomAccessFile(historyFile, "r")) { //$NON-NLS-1$
+			long position = file.length();
+			byte[] carry = new byte[0];
+			boolean done = false;
+			while (!done && (position > 0 || carry.length > 0)) {
+				int size = (int) Math.min(BUFFER_SIZE, position);
+				position -= size;
+				byte[] chunk = new byte[size + carry.length];
+				file.seek(position);
+				file.readFully(chunk, 0, size);
+				System.arraycopy(carry, 0, chunk, size, carry.length);
+				int end = chunk.length;
+				for (int i = chunk.length - 1; i >= -1 && !done; i--) {
+					if (i >= 0 && chunk[i] != '\n') {
+						continue;
+					}
+					if (i < 0 && position > 0) {
+						// the start of the line is in the previous chunk
+						break;
+					}
+					if (end > i + 1) {
+						String line = new String(chunk, i + 1, end - i - 1, StandardCharsets.UTF_8);
+						String build = line.substring(0, Math.max(0, line.indexOf(SEPARATOR)));
+						if (!builds.contains(build) && builds.size() >= maxBuilds) {
+							done = true;
+							break;
+						}
+						builds.add(build);
+						lines.add(line);
+					}
+					end = i;
+				}
+				carry = Arrays.copyOfRange(chunk, 0, Math.max(0, end));
+				if (position == 0 && end <= 0) {
+					break;
+				}
+			}
+		}
+		Collections.reverse(lines);
+		return lines;
+	}
+
+	private static String[] parseRow(String row) {
+		List<String> columns = new ArrayList<String>();
+		StringBuilder column = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < row.length(); i++) {
+			char c = row.charAt(i);
+			if (c == QUOTE) {
+				quoted = !quoted;
+			} else if (c == SEPARATOR && !quoted) {
+				columns.add(column.toString().trim());
+				column.setLength(0);
+			} else {
+				column.append(c);
+			}
+		}
+		String last = column.toString().trim();
+		if (!last.isEmpty()) {
+			columns.add(last);
+		}
+		return columns.toArray(new String[columns.size()]);
+	}
+
+	private static long parseLong(String value) {
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+}
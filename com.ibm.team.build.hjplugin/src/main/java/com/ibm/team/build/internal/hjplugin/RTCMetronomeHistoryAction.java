@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin;
+
+import hudson.Extension;
+import hudson.model.Action;
+import hudson.model.Job;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jenkins.model.TransientActionFactory;
+
+/**
+ * Charts the Metronome service call statistics of the builds of a job, to show
+ * which service methods take more calls or more time in the accept and load of
+ * recent builds. The statistics are kept by {@link RTCMetronomeHistory}.
+ */
+public class RTCMetronomeHistoryAction implements Action {
+
+	private static final Logger LOGGER = Logger.getLogger(RTCMetronomeHistoryAction.class.getName());
+
+	private static final int MAX_CHARTS = 25;
+
+	private static final int CHART_WIDTH = 400;
+
+	private static final int CHART_HEIGHT = 60;
+
+	private final Job<?, ?> job;
+
+	/**
+	 * Adds the action to the jobs that have a Metronome history
+	 */
+	@Extension
+	@SuppressWarnings("rawtypes")
+	public static class Factory extends TransientActionFactory<Job> {
+
+		@Override
+		public Class<Job> type() {
+			return Job.class;
+		}
+
+		@Override
+		public Collection<? extends Action> createFor(Job target) {
+			if (!RTCMetronomeHistory.getHistoryFile(target).isFile()) {
+				return Collections.emptyList();
+			}
+			return Collections.singletonList(new RTCMetronomeHistoryAction(target));
+		}
+	}
+
+	/**
+	 * The history of a service or method, for display
+	 */
+	public static class Chart {
+		private final RTCMetronomeHistory.Series series;
+
+		Chart(RTCMetronomeHistory.Series series) {
+			this.series = series;
+		}
+
+		public String getName() {
+			return series.getName();
+		}
+
+		public String getBuildRange() {
+			List<Integer> builds = series.getBuilds();
+			return "#" + builds.get(0) + " - #" + builds.get(builds.size() - 1); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		public long getLastCalls() {
+			long[] calls = series.getCalls();
+			return calls[calls.length - 1];
+		}
+
+		public long getLastTime() {
+			long[] times = series.getTimes();
+			return times[times.length - 1];
+		}
+
+		/**
+		 * @return An SVG line chart of the calls in each build
+		 */
+		public String getCallsChart() {
+			return toSvg(series.getCalls());
+		}
+
+		/**
+		 * @return An SVG line chart of the time in each build
+		 */
+		public String getTimeChart() {
+			return toSvg(series.getTimes());
+		}
+	}
+
+	RTCMetronomeHistoryAction(Job<?, ?> job) {
+		this.job = job;
+	}
+
+	public Job<?, ?> getJob() {
+		return job;
+	}
+
+	/**
+	 * @return The history of the services and methods that took the most time, the slowest first
+	 */
+	public List<Chart> getCharts() {
+		List<RTCMetronomeHistory.Series> series;
+		try {
+			series = RTCMetronomeHistory.read(RTCMetronomeHistory.getHistoryFile(job), RTCMetronomeHistory.getMaxBuilds());
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Unable to read the Metronome history of " + job.getFullName(), e); //$NON-NLS-1$
+			return Collections.emptyList();
+		}
+		Collections.sort(series, (a, b) -> Long.compare(b.getTotalTime(), a.getTotalTime()));
+		List<Chart> charts = new ArrayList<Chart>();
+		for (RTCMetronomeHistory.Series s : series) {
+			if (charts.size() >= MAX_CHARTS) {
+				break;
+			}
+			charts.add(new Chart(s));
+		}
+		return charts;
+	}
+
+	/**
+	 * Draw the values as a line chart scaled to the largest value
+	 * @param values The values, one per build
+	 * @return The SVG markup
+	 */
+	static String toSvg(long[] values) {
+		long max = 1;
+		for (long value : values) {
+			max = Math.max(max, value);
+		}
+		StringBuilder points = new StringBuilder();
+		for (int i = 0; i < values.length; i++) {
+			double x = values.length == 1 ? CHART_WIDTH / 2.0 : (double) i * CHART_WIDTH / (values.length - 1);
+			double y = CHART_HEIGHT - (double) values[i] * (CHART_HEIGHT - 2) / max - 1;
+			if (i > 0) {
+				points.append(' ');
+			}
+			points.append(String.format(Locale.ROOT, "%.1f,%.1f", x, y)); //$NON-NLS-1$
+		}
+		return "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + CHART_WIDTH + "\" height=\"" + CHART_HEIGHT //$NON-NLS-1$ //$NON-NLS-2$
+				+ "\"><polyline fill=\"none\" stroke=\"currentColor\" stroke-width=\"1.5\" points=\"" + points //$NON-NLS-1$
+				+ "\"/><text x=\"2\" y=\"10\" font-size=\"10\" fill=\"currentColor\">" + max + "</text></svg>"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Override
+	public String getIconFileName() {
+		return "graph.png"; //$NON-NLS-1$
+	}
+
+	@Override
+	public String getDisplayName() {
+		return Messages.RTCMetronomeHistoryAction_display_name();
+	}
+
+	@Override
+	public String getUrlName() {
+		return "teamconcert-metronome-history"; //$NON-NLS-1$
+	}
+}
@@ -12,6 +12,7 @@
 package com.ibm.team.build.internal.hjplugin;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -142,7 +143,7 @@ public class RTCPostBuildDeliverPublisher extends Recorder implements SimpleBuil
 			} finally {
 				// Add a marker to RTCBuildResultAction to indicate that post build deliver was handled
 				if (action.getBuildProperties() != null) {
-					action.getBuildProperties().put(RTCJobProperties.POST_BUILD_DELIVER_HANDLED, RTCBuildConstants.TRUE);
+					action.addBuildProperties(Collections.singletonMap(RTCJobProperties.POST_BUILD_DELIVER_HANDLED, RTCBuildConstants.TRUE));
 				}
 				// The idea is to continue with other post build deliver irrespective of one failure
 				// If the following post build deliver's trigger policy allows for delivering changes, then it will happen
@@ -258,8 +259,8 @@ public class RTCPostBuildDeliverPublisher extends Recorder implements SimpleBuil
 								action.getBuildProperties().get(RTCBuildConstants.BUILD_RESULT_LABEL) != null) ? 
 												action.getBuildProperties().get(RTCBuildConstants.BUILD_RESULT_LABEL) : null;
 						// Everything is fine, start post build deliver
-						PostBuildDeliverResult result = RTCFacadeFacade.postBuildDeliver(loginInfo.getServerUri(),
-								loginInfo.getUserId(), loginInfo.getPassword(), loginInfo.getTimeout(), buildResultItemId, buildResultLabel, listener);
+						PostBuildDeliverResult result = RTCFacadeFacade.postBuildDeliver(action.getRestSession(loginInfo),
+								buildResultItemId, buildResultLabel, listener);
 						// If build result is not OK, only print the participant summary and log the same as well, throw an exception with the participant
 						// summary.
 						// If build result is OK, check whether PB deliver really happened.
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.team.build.internal.hjplugin.RTCFacadeFactory.RTCFacadeWrapper;
+
+/**
+ * Looks after the facades kept loaded on an agent between builds, see
+ * {@link RTCComputerListener}. On a schedule it:
+ * <ul>
+ * <li>unloads the facades that have not been used for the idle timeout</li>
+ * <li>checks the connections of the other facades, dropping the ones logged out,
+ * and unloads a facade that fails the check</li>
+ * <li>unloads the least recently used idle facade while the heap still used after the
+ * last garbage collection is above the limit</li>
+ * </ul>
+ * Facades in use, by a call or by a task that acquired them with
+ * {@link RTCFacadeFactory#acquireFacade}, are left alone. Unloading a facade removes it from the
+ * {@link RTCFacadeFactory} cache, so the next build loads it again, logs out of its
+ * connections, shuts down its team platform and closes its class loader.
+ */
+public final class RTCResidentFacades {
+
+	private static final Logger LOGGER = Logger.getLogger(RTCResidentFacades.class.getName());
+
+	private static final String CHECK_CONNECTIONS = "checkConnections"; //$NON-NLS-1$
+
+	private static ScheduledExecutorService fgExecutor;
+	private static ScheduledFuture<?> fgCheck;
+	private static long fgIdleTimeout;
+	private static int fgMaxHeapPercent;
+
+	private RTCResidentFacades() {
+	}
+
+	/**
+	 * Start looking after the facades in this JVM, or change the settings if already started
+	 * @param idleTimeout Milliseconds after which an unused facade is unloaded
+	 * @param checkInterval Milliseconds between checks
+	 * @param maxHeapPercent Percentage of the maximum heap above which idle facades are unloaded
+	 */
+	public static synchronized void start(long idleTimeout, long checkInterval, int maxHeapPercent) {
+		fgIdleTimeout = idleTimeout;
+		fgMaxHeapPercent = maxHeapPercent;
+		if (fgExecutor == null) {
+			fgExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread thread = new Thread(r, "EWM resident facade check"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		if (fgCheck != null) {
+			fgCheck.cancel(false);
+		}
+		fgCheck = fgExecutor.scheduleWithFixedDelay(RTCResidentFacades::check, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+		LOGGER.fine("Checking resident facades every " + checkInterval + "ms, idle timeout " + idleTimeout //$NON-NLS-1$ //$NON-NLS-2$
+				+ "ms, heap limit " + maxHeapPercent + "%"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	static void check() {
+		long idleTimeout;
+		int maxHeapPercent;
+		synchronized (RTCResidentFacades.class) {
+			idleTimeout = fgIdleTimeout;
+			maxHeapPercent = fgMaxHeapPercent;
+		}
+		try {
+			long now = System.currentTimeMillis();
+			Map<String, RTCFacadeWrapper> facades = RTCFacadeFactory.getCachedFacades();
+			for (Map.Entry<String, RTCFacadeWrapper> entry : facades.entrySet()) {
+				RTCFacadeWrapper facade = entry.getValue();
+				long lastUsed = facade.getLastUsed();
+				if (facade.isInUse()) {
+					continue;
+				}
+				if (now - lastUsed > idleTimeout) {
+					unload(entry.getKey(), facade, lastUsed, "idle"); //$NON-NLS-1$
+					continue;
+				}
+				try {
+					int connections = (Integer) facade.invokeFacade(CHECK_CONNECTIONS, new Class[0]);
+					LOGGER.finer("Facade for " + entry.getKey() + " has " + connections + " connections"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				} catch (Exception e) {
+					LOGGER.log(Level.FINE, "Facade for " + entry.getKey() + " failed its check", e); //$NON-NLS-1$ //$NON-NLS-2$
+					unload(entry.getKey(), facade, lastUsed, "unhealthy"); //$NON-NLS-1$
+				}
+			}
+
+			if (isAboveHeapLimit(getHeapUsedAfterCollection(), Runtime.getRuntime().maxMemory(), maxHeapPercent)) {
+				// one at a time, the memory is only returned once collected
+				for (Map.Entry<String, RTCFacadeWrapper> entry : RTCFacadeFactory.getCachedFacades().entrySet()) {
+					RTCFacadeWrapper facade = entry.getValue();
+					if (!facade.isInUse() && unload(entry.getKey(), facade, facade.getLastUsed(), "memory")) { //$NON-NLS-1$
+						break;
+					}
+				}
+			}
+		} catch (RuntimeException e) {
+			// keep the schedule going
+			LOGGER.log(Level.WARNING, "Unable to check the resident facades", e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @param used The heap used, negative if not known
+	 * @param max The maximum heap
+	 * @param maxHeapPercent Percentage of the maximum heap above which idle facades are unloaded
+	 * @return <code>true</code> if the heap used is above the limit
+	 */
+	public static boolean isAboveHeapLimit(long used, long max, int maxHeapPercent) {
+		return used >= 0 && max > 0 && used * 100 > max * maxHeapPercent;
+	}
+
+	/**
+	 * The heap in use right after the last garbage collection, which unlike the heap in use
+	 * now does not count the garbage not collected yet
+	 * @return The bytes used after the last collection of each heap pool, -1 if not known
+	 */
+	public static long getHeapUsedAfterCollection() {
+		long used = 0;
+		boolean known = false;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() != MemoryType.HEAP || !pool.isValid()) {
+				continue;
+			}
+			MemoryUsage usage = pool.getCollectionUsage();
+			if (usage != null) {
+				used += usage.getUsed();
+				known = true;
+			}
+		}
+		return known ? used : -1;
+	}
+
+	private static boolean unload(String buildToolkitPath, RTCFacadeWrapper facade, long lastUsed, String reason) {
+		if (!RTCFacadeFactory.removeFacade(buildToolkitPath, facade, lastUsed)) {
+			return false;
+		}
+		LOGGER.fine("Unloading the facade for " + buildToolkitPath + " (" + reason + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		facade.dispose();
+		return true;
+	}
+}
@@ -53,69 +53,18 @@ public class RTCRunListener extends RunListener<Run> {
 		// if launched by Jenkins terminate the build created in EWM
 		try {
 			List<RTCBuildResultAction> actions = build.getActions(RTCBuildResultAction.class);
+			if (!actions.isEmpty() && RTCBuildCompletionQueue.isEnabled()) {
+				// Hand over termination and temporary workspace deletion to the 
+				// background queue so that the build can complete right away.
+				for (int i = 0; i < actions.size(); i++) {
+					RTCBuildCompletionQueue.getInstance().enqueue(build, i, actions.get(i));
+				}
+				listener.getLogger().println(Messages.RTCRunListener_build_completion_queued(actions.size()));
+				return;
+			}
 			for (RTCBuildResultAction action : actions) {
 				try {
-					if (action.ownsBuildResultLifecycle()) {
-						SCM scmSystem = null;
-						// This allows us to get the current SCM configuration. If it is RTC, then we get the 
-						// latest configuration
-						if (build instanceof AbstractBuild) {
-							scmSystem = ((AbstractBuild)build).getProject().getScm(); 
-						}
-						
-						RTCScm scm = null;
-						if (scmSystem instanceof RTCScm) {
-							scm = (RTCScm) scmSystem;
-						} else {
-							// we are assuming that the action is from when the build was started and that
-							// transient SCM is still available.
-							scm = action.getScm();
-							// Special handling for freestyle project and multi scm configuration
-							if (scm == null && build instanceof AbstractBuild) {
-								// perhaps the action has be re-constituted from the serialized format.
-								// see if we can pull it out of the multi-SCM plugin.
-								Set<RTCScm> rtcScms = RTCScmConfigHelper.getCurrentConfigs(((AbstractBuild)build).getProject());
-								scm = RTCScmConfigHelper.findRTCScm(rtcScms, action);
-							}
-							// In pipeline jobs, a build can be saved and restarted. 
-							// In those cases, RTCScm will not be available from action 
-							// since it is transient
-						}
-						
-						if (scm != null) {
-							LOGGER.finer("Completed Build: " + build.getDisplayName() + //$NON-NLS-1$
-									" Build Result UUID: " + action.getBuildResultUUID() + //$NON-NLS-1$
-									" Server URI=\"" + scm.getServerURI() + "\"" + //$NON-NLS-1$ //$NON-NLS-2$
-									" Build result=\"" + build.getResult() + "\""); //$NON-NLS-1$ //$NON-NLS-2$
-		
-							String masterBuildToolkit = scm.getDescriptor().getMasterBuildToolkit(scm.getBuildTool(), listener);
-							RTCLoginInfo loginInfo = scm.getLoginInfo2(build, masterBuildToolkit, listener,
-									                                    Helper.isDebugEnabled(build, listener));
-				    		RTCFacadeFacade.terminateBuild(masterBuildToolkit,
-									loginInfo.getServerUri(),
-									loginInfo.getUserId(), loginInfo.getPassword(),
-									loginInfo.getTimeout(),
-									scm.getAvoidUsingToolkit(),
-									action.getBuildResultUUID(),
-									build.getResult(),
-									listener);
-						} else {
-							LOGGER.finer("Completed Build: " + build.getDisplayName() + //$NON-NLS-1$
-								" Build Result UUID: " + action.getBuildResultUUID() + //$NON-NLS-1$
-								" Unable to manage lifecycle (no access to the H/J SCM configuration)"); //$NON-NLS-1$
-							PrintStream writer = listener.getLogger();
-							if (scmSystem != null) {
-								writer.println(Messages.RTCRunListener_build_result_not_completed(scmSystem.getClass().getName()));
-							} else {
-								writer.println(Messages.RTCRunListener_build_result_not_completed_no_scm());
-							}
-				    		writer.println(Messages.RTCRunListener_manually_abandon_build());
-						}
-					} else {
-						LOGGER.finer("Completed Build: " + build.getDisplayName() + //$NON-NLS-1$
-								" Build Result UUID: " + action.getBuildResultUUID() + //$NON-NLS-1$
-								" initiated/managed by RTC"); //$NON-NLS-1$
-					}
+					terminateBuildResult(build, action, listener);
 				} catch (InvocationTargetException e) {
 		    		Throwable eToReport = e.getCause();
 		    		if (eToReport == null) {
@@ -150,6 +99,68 @@ public class RTCRunListener extends RunListener<Run> {
 		LOGGER.finest("onCompleted : End");
 	}
 
+	/**
+	 * Terminates the EWM build result identified by the action, if the build 
+	 * owns the build result's lifecycle. 
+	 * 
+	 * @param build - The build that has completed
+	 * @param action - The action identifying the build result
+	 * @param listener - Listener for messages
+	 * @return <code>true</code> if the build result was terminated or there was nothing 
+	 * to terminate. <code>false</code> if the build result could not be terminated 
+	 * because the RTC SCM configuration is not available.
+	 * @throws Exception If the termination failed
+	 */
+	static boolean terminateBuildResult(Run<?,?> build, RTCBuildResultAction action, TaskListener listener) throws Exception {
+		if (!action.ownsBuildResultLifecycle()) {
+			LOGGER.finer("Completed Build: " + build.getDisplayName() + //$NON-NLS-1$
+					" Build Result UUID: " + action.getBuildResultUUID() + //$NON-NLS-1$
+					" initiated/managed by RTC"); //$NON-NLS-1$
+			return true;
+		}
+		SCM scmSystem = null;
+		// This allows us to get the current SCM configuration. If it is RTC, then we get the 
+		// latest configuration
+		if (build instanceof AbstractBuild) {
+			scmSystem = ((AbstractBuild<?,?>)build).getProject().getScm(); 
+		}
+		
+		// In pipeline jobs, a build can be saved and restarted. 
+		// In those cases, RTCScm will not be available from action 
+		// since it is transient
+		RTCScm scm = getRTCScm(build, action, scmSystem);
+		
+		if (scm != null) {
+			LOGGER.finer("Completed Build: " + build.getDisplayName() + //$NON-NLS-1$
+					" Build Result UUID: " + action.getBuildResultUUID() + //$NON-NLS-1$
+					" Server URI=\"" + scm.getServerURI() + "\"" + //$NON-NLS-1$ //$NON-NLS-2$
+					" Build result=\"" + build.getResult() + "\""); //$NON-NLS-1$ //$NON-NLS-2$
+
+			String masterBuildToolkit = scm.getDescriptor().getMasterBuildToolkit(scm.getBuildTool(), listener);
+			RTCLoginInfo loginInfo = scm.getLoginInfo2(build, masterBuildToolkit, listener,
+					                                    Helper.isDebugEnabled(build, listener));
+    		RTCFacadeFacade.terminateBuild(masterBuildToolkit,
+					action.getRestSession(loginInfo),
+					scm.getAvoidUsingToolkit(),
+					action.getBuildResultUUID(),
+					build.getResult(),
+					listener);
+    		return true;
+		} else {
+			LOGGER.finer("Completed Build: " + build.getDisplayName() + //$NON-NLS-1$
+				" Build Result UUID: " + action.getBuildResultUUID() + //$NON-NLS-1$
+				" Unable to manage lifecycle (no access to the H/J SCM configuration)"); //$NON-NLS-1$
+			PrintStream writer = listener.getLogger();
+			if (scmSystem != null) {
+				writer.println(Messages.RTCRunListener_build_result_not_completed(scmSystem.getClass().getName()));
+			} else {
+				writer.println(Messages.RTCRunListener_build_result_not_completed_no_scm());
+			}
+    		writer.println(Messages.RTCRunListener_manually_abandon_build());
+    		return false;
+		}
+	}
+
 	/**
 	 * Handles deletion of any temporary repository workspace created during the build
 	 * The temporary repository workspace details are stored in RTCBuildResultAction.
@@ -164,64 +175,11 @@ public class RTCRunListener extends RunListener<Run> {
 	 * @param listener
 	 */
 	private void performDeletionOfTempRepositoryWorkspace(Run<?,?> build, RTCBuildResultAction action, TaskListener listener) {
-		String workspaceUUID = null;
-		String workspaceName = null;
+		String workspaceUUID = getWorkspaceUUID(action);
+		String workspaceName = getWorkspaceName(action);
 		try {
 			LOGGER.finest("Entering to delete temporary Repsitory Workspaces created during stream or snapshot load");
-			SCM scmSystem = null;
-			// This allows us to get the current SCM configuration. If it is RTC, then we get the 
-			// latest configuration
-			if (build instanceof AbstractBuild) {
-				scmSystem = ((AbstractBuild)build).getProject().getScm(); 
-			}
-			
-			RTCScm scm = getRTCScm(build, action, scmSystem);
-			
-			workspaceUUID = getWorkspaceUUID(action);
-			workspaceName = getWorkspaceName(action);
-			
-			if (workspaceUUID == null) {
-				LOGGER.finer("Completed Build: " + build.getDisplayName() + //$NON-NLS-1$
-							" No Repository Workspace to delete"); //$NON-NLS-1$
-				return;
-			}
-			// At this point, we either have RTC SCM or we don't
-			if (scm != null) {
-				// Try to delete the workspace. If any exception is thrown, then
-				// it is handled and never thrown out of this method
-				String masterBuildToolkit = scm.getDescriptor().getMasterBuildToolkit(scm.getBuildTool(), listener);
-				RTCLoginInfo loginInfo = scm.getLoginInfo2(build, masterBuildToolkit, listener, 
-														Helper.isDebugEnabled(build, listener));
-				boolean debug = Boolean.parseBoolean(Helper.getStringBuildParameter(build, RTCJobProperties.DEBUG_PROPERTY, listener));
-
-				RTCFacadeWrapper facade = RTCFacadeFactory.getFacade(masterBuildToolkit, debug?listener.getLogger():null);
-				facade.invoke("deleteWorkspace", new Class[] { //$NON-NLS-1$
-						String.class, // serverURI,
-						String.class, // userId,
-						String.class, // password,
-						int.class, // timeout,
-						String.class, // workspaceUUID
-						String.class, // workspaceName
-						Object.class, // listener)
-						Locale.class, // locale
-				}, loginInfo.getServerUri(), loginInfo.getUserId(), loginInfo.getPassword(), 
-				loginInfo.getTimeout(), workspaceUUID, workspaceName, listener, LocaleProvider.getLocale());
-				PrintStream writer = listener.getLogger();
-				writer.println(Messages.RTCRunListener_delete_repo_workspace_success(workspaceName));
-				
-			} else {
-				// If we don't have RTC SCM, then write to the build log
-				// that temporary workspace by name and UUID
-				// should be deleted manually.
-				LOGGER.finer("Completed Build: " + build.getDisplayName() + //$NON-NLS-1$
-						"Repository Workspace Name: " + workspaceName + //$NON-NLS-1$
-						"Repository Workspace UUID: " + workspaceUUID + //$NON-NLS-1$
-						"Unable to delete temporary Repository Workspace. No access to the H/J SCM Configuration");
-				
-				PrintStream writer = listener.getLogger();
-				writer.println(Messages.RTCRunListener_repo_workspace_not_deleted(workspaceUUID, workspaceName));
-				writer.println(Messages.RTCRunListener_manually_delete_repo_workspace());
-			}
+			deleteTempRepositoryWorkspace(build, action, listener);
 		} catch (InvocationTargetException e) {
 			// Get the inner exception to report. If it is not available,
 			// then just go with the current exception object.
@@ -250,6 +208,75 @@ public class RTCRunListener extends RunListener<Run> {
 
 	
 
+	/**
+	 * Deletes the temporary repository workspace recorded in the action, if any.
+	 * 
+	 * @param build - The Build which created the temporary repository workspace
+	 * @param action - The action with the temporary repository workspace details
+	 * @param listener - Listener for messages
+	 * @return <code>true</code> if the workspace was deleted or there was nothing 
+	 * to delete. <code>false</code> if the workspace could not be deleted because 
+	 * the RTC SCM configuration is not available.
+	 * @throws Exception If the deletion failed
+	 */
+	static boolean deleteTempRepositoryWorkspace(Run<?,?> build, RTCBuildResultAction action, TaskListener listener) throws Exception {
+		SCM scmSystem = null;
+		// This allows us to get the current SCM configuration. If it is RTC, then we get the 
+		// latest configuration
+		if (build instanceof AbstractBuild) {
+			scmSystem = ((AbstractBuild)build).getProject().getScm(); 
+		}
+		
+		RTCScm scm = getRTCScm(build, action, scmSystem);
+		
+		String workspaceUUID = getWorkspaceUUID(action);
+		String workspaceName = getWorkspaceName(action);
+		
+		if (workspaceUUID == null) {
+			LOGGER.finer("Completed Build: " + build.getDisplayName() + //$NON-NLS-1$
+						" No Repository Workspace to delete"); //$NON-NLS-1$
+			return true;
+		}
+		// At this point, we either have RTC SCM or we don't
+		if (scm != null) {
+			// Try to delete the workspace. If any exception is thrown, then
+			// it is handled by the caller
+			String masterBuildToolkit = scm.getDescriptor().getMasterBuildToolkit(scm.getBuildTool(), listener);
+			RTCLoginInfo loginInfo = scm.getLoginInfo2(build, masterBuildToolkit, listener, 
+													Helper.isDebugEnabled(build, listener));
+			boolean debug = Boolean.parseBoolean(Helper.getStringBuildParameter(build, RTCJobProperties.DEBUG_PROPERTY, listener));
+
+			RTCFacadeWrapper facade = RTCFacadeFactory.getFacade(masterBuildToolkit, debug?listener.getLogger():null);
+			facade.invoke("deleteWorkspace", new Class[] { //$NON-NLS-1$
+					String.class, // serverURI,
+					String.class, // userId,
+					String.class, // password,
+					int.class, // timeout,
+					String.class, // workspaceUUID
+					String.class, // workspaceName
+					Object.class, // listener)
+					Locale.class, // locale
+			}, loginInfo.getServerUri(), loginInfo.getUserId(), loginInfo.getPassword(), 
+			loginInfo.getTimeout(), workspaceUUID, workspaceName, listener, LocaleProvider.getLocale());
+			PrintStream writer = listener.getLogger();
+			writer.println(Messages.RTCRunListener_delete_repo_workspace_success(workspaceName));
+			return true;
+		} else {
+			// If we don't have RTC SCM, then write to the build log
+			// that temporary workspace by name and UUID
+			// should be deleted manually.
+			LOGGER.finer("Completed Build: " + build.getDisplayName() + //$NON-NLS-1$
+					"Repository Workspace Name: " + workspaceName + //$NON-NLS-1$
+					"Repository Workspace UUID: " + workspaceUUID + //$NON-NLS-1$
+					"Unable to delete temporary Repository Workspace. No access to the H/J SCM Configuration");
+			
+			PrintStream writer = listener.getLogger();
+			writer.println(Messages.RTCRunListener_repo_workspace_not_deleted(workspaceUUID, workspaceName));
+			writer.println(Messages.RTCRunListener_manually_delete_repo_workspace());
+			return false;
+		}
+	}
+
 	@Override
 	public void onDeleted(Run r) {
 		LOGGER.finest("onDeleted : Start");
@@ -261,7 +288,7 @@ public class RTCRunListener extends RunListener<Run> {
 				// get the RTCScms configured if any (could be >1 if Multi SCM plugin involved.
 				// (job may of changed so that it nolonger has RTCScm as the SCM provider)
 				Set<RTCScm> rtcScmConfigs = RTCScmConfigHelper.getCurrentConfigs(((AbstractBuild)r).getProject());
-				RTCBuildResultHelper.deleteRTCBuildResults(buildResultActions, ((AbstractBuild)r).getProject(), rtcScmConfigs);
+				RTCBuildResultHelper.deleteRTCBuildResultsInBackground(buildResultActions, ((AbstractBuild)r).getProject(), rtcScmConfigs);
 			}
 		} finally {
 			super.onDeleted(r);
@@ -310,12 +337,12 @@ public class RTCRunListener extends RunListener<Run> {
 		writer.println(Messages.RTCRunListener_manually_delete_repo_workspace());
 	}
 
-	private String getWorkspaceName(RTCBuildResultAction action) {
+	private static String getWorkspaceName(RTCBuildResultAction action) {
 		Map<String, String> buildProperties = action.getBuildProperties();
 		return buildProperties.get(RTCJobProperties.TEMPORARY_WORKSPACE_NAME);
 	}
 
-	private String getWorkspaceUUID(RTCBuildResultAction action) {
+	private static String getWorkspaceUUID(RTCBuildResultAction action) {
 		Map<String, String> buildProperties = action.getBuildProperties();
 		return buildProperties.get(RTCJobProperties.TEMPORARY_WORKSPACE_UUID);
 	}
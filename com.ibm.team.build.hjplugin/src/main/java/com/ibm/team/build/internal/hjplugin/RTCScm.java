@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright © 2013, 2021 IBM Corporation and others.
+ * Copyright © 2013, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -50,9 +51,13 @@ import com.ibm.team.build.internal.hjplugin.RTCFacadeFactory.RTCFacadeWrapper;
 import com.ibm.team.build.internal.hjplugin.extensions.RtcExtensionProvider;
 import com.ibm.team.build.internal.hjplugin.tasks.GenerateChangelogTask;
 import com.ibm.team.build.internal.hjplugin.tasks.RetrieveWorkspaceDetailsTask;
+import com.ibm.team.build.internal.hjplugin.util.ChangeLogTransfer;
 import com.ibm.team.build.internal.hjplugin.util.Helper;
 import com.ibm.team.build.internal.hjplugin.util.RTCFacadeFacade;
+import com.ibm.team.build.internal.hjplugin.util.RTCMetrics;
+import com.ibm.team.build.internal.hjplugin.util.RTCTimings;
 import com.ibm.team.build.internal.hjplugin.util.Tuple;
+import com.ibm.team.build.internal.hjplugin.util.ValidationCache;
 import com.ibm.team.build.internal.hjplugin.util.ValidationResult;
 
 import hudson.AbortException;
@@ -97,6 +102,12 @@ public class RTCScm extends SCM {
     
 	private static final String METRONOME_DATA_PROPERTY_NAME = "metronomeData"; //$NON-NLS-1$
 
+	private static final String TEMPORARY_WORKSPACE_POOL_KEY_OPTION = "temporaryWorkspacePoolKey"; //$NON-NLS-1$
+
+	private static final String TEMPORARY_WORKSPACE_POOL_SIZE_OPTION = "temporaryWorkspacePoolSize"; //$NON-NLS-1$
+
+	private static final String PREVIOUS_COMPONENT_BASELINES_OPTION = "previousComponentBaselines"; //$NON-NLS-1$
+
 	private static final String CALL_CONNECTOR_TIMEOUT_PROPERTY = "com.ibm.team.build.callConnector.timeout"; //$NON-NLS-1$
 	
 	private static final String IGNORE_OUTGOING_FROM_BUILD_WS_WHILE_POLLING = "com.ibm.team.build.ignoreOutgoingFromBuildWorkspaceWhilePolling"; //$NON-NLS-1$
@@ -105,11 +116,11 @@ public class RTCScm extends SCM {
 	
 	private static final String DEPRECATED_CREDENTIAL_EDIT_ALLOWED = "com.ibm.team.build.credential.edit"; //$NON-NLS-1$
 	
-	private static final String TEAMCONCERT_FOLDER_NAME = "teamconcert"; //$NON-NLS-1$
+	static final String TEAMCONCERT_FOLDER_NAME = "teamconcert"; //$NON-NLS-1$
 	
-	private static final String TEAMCONCERT_METRONOME_NAME = "diagnostics"; //$NON-NLS-1$
+	static final String TEAMCONCERT_METRONOME_NAME = "diagnostics"; //$NON-NLS-1$
 	
-	private static final String STATISTICS_DATA_FILE_SUFFIX_VALUE = ".csv";
+	static final String STATISTICS_DATA_FILE_SUFFIX_VALUE = ".csv";
 	
 	private static final String STATISTICS_REPORT_FILE_SUFFIX_VALUE = ".log";
 
@@ -117,7 +128,7 @@ public class RTCScm extends SCM {
 
 	private static final String STATISTICS_REPORT_VALUE = "Statistics Report";
 
-	private static final String STATISTICS_DATA_FILE_PREFIX_VALUE = "statisticsData-";
+	static final String STATISTICS_DATA_FILE_PREFIX_VALUE = "statisticsData-";
 
 	private static final String STATISTICS_REPORT_FILE_PREFIX_VALUE = "statistics-";
 
@@ -561,6 +572,9 @@ public class RTCScm extends SCM {
 		private static final int DEFAULT_SERVER_TIMEOUT = 480;
 		
 		private static transient boolean deprecatedCredentialEditAllowed = Boolean.getBoolean(DEPRECATED_CREDENTIAL_EDIT_ALLOWED);
+
+		// successful checks against the server, shared by the fields and users validating the same thing
+		private static final transient ValidationCache validationCache = new ValidationCache();
 		
 		// persisted fields
 
@@ -917,7 +931,8 @@ public class RTCScm extends SCM {
 			if (result.validationResult.kind.equals(FormValidation.Kind.ERROR)) {
 				return result.validationResult;
 			} else {
-				FormValidation connectCheck = checkConnect(result.buildToolkitPath, avoidUsingToolkit, result.loginInfo);
+				FormValidation connectCheck = validate(result.loginInfo, () -> checkConnect(result.buildToolkitPath, avoidUsingToolkit, result.loginInfo),
+						"connect", result.buildToolkitPath, avoidUsingToolkit); //$NON-NLS-1$
 				return Helper.mergeValidationResults(result.validationResult, connectCheck);
 			}
 		}
@@ -980,7 +995,8 @@ public class RTCScm extends SCM {
 			if (result.validationResult.kind.equals(FormValidation.Kind.ERROR)) {
 				return result.validationResult;
 			} else {
-				FormValidation connectCheck = checkConnect(result.buildToolkitPath, avoidUsingToolkit, result.loginInfo);
+				FormValidation connectCheck = validate(result.loginInfo, () -> checkConnect(result.buildToolkitPath, avoidUsingToolkit, result.loginInfo),
+						"connect", result.buildToolkitPath, avoidUsingToolkit); //$NON-NLS-1$
 				return Helper.mergeValidationResults(result.validationResult, connectCheck);
 			}
 		}
@@ -1220,8 +1236,9 @@ public class RTCScm extends SCM {
 				buildWorkspaceValidationResult = FormValidation.warning(Messages.RTCScm_repository_workspace_not_validated());
 			} else {
 
-				buildWorkspaceValidationResult = checkBuildWorkspace(connectInfoCheck.buildToolkitPath, avoidUsingToolkit, connectInfoCheck.loginInfo,
-						buildWorkspace);
+				buildWorkspaceValidationResult = validate(connectInfoCheck.loginInfo,
+						() -> checkBuildWorkspace(connectInfoCheck.buildToolkitPath, avoidUsingToolkit, connectInfoCheck.loginInfo, buildWorkspace),
+						"workspace", connectInfoCheck.buildToolkitPath, avoidUsingToolkit, buildWorkspace); //$NON-NLS-1$
 			}
 			// error fail right away
 			if (buildWorkspaceValidationResult.kind.equals(FormValidation.Kind.ERROR)) {
@@ -1233,8 +1250,11 @@ public class RTCScm extends SCM {
 				if (parameterizedWorkspace) {
 					loadRuleValidationResult = FormValidation.warning(Messages.RTCScm_path_to_load_rule_file_not_validated_parameterized_ws());
 				} else {
-					loadRuleValidationResult = checkLoadRules(connectInfoCheck.buildToolkitPath, avoidUsingToolkit, connectInfoCheck.loginInfo, null,
-							false, buildWorkspace, loadPolicy, pathToLoadRuleFile);
+					loadRuleValidationResult = validate(connectInfoCheck.loginInfo,
+							() -> checkLoadRules(connectInfoCheck.buildToolkitPath, avoidUsingToolkit, connectInfoCheck.loginInfo, null,
+									false, buildWorkspace, loadPolicy, pathToLoadRuleFile),
+							"loadRules", connectInfoCheck.buildToolkitPath, avoidUsingToolkit, null, false, buildWorkspace, //$NON-NLS-1$
+							loadPolicy, pathToLoadRuleFile);
 				}
 			}
 			// error fail right away
@@ -1332,13 +1352,13 @@ public class RTCScm extends SCM {
 				// See if pollingOnly is set to true. If yes, then we can ignore the requirement 
 				// the build definition and the corresponding engine has to be a Hudson/Jenkins 
 				// engine
-				boolean doIgnoreJenkinsConfiguration = false;
-				if (Boolean.parseBoolean(pollingOnly) == true) {
-					doIgnoreJenkinsConfiguration = true;
-				}
-				buildDefinitionCheck = checkBuildDefinition(connectInfoCheck.buildToolkitPath, 
-						avoidUsingToolkit, connectInfoCheck.loginInfo,
-						buildDefinition, doIgnoreJenkinsConfiguration);
+				final boolean doIgnoreJenkinsConfiguration = Boolean.parseBoolean(pollingOnly);
+				buildDefinitionCheck = validate(connectInfoCheck.loginInfo,
+						() -> checkBuildDefinition(connectInfoCheck.buildToolkitPath, 
+								avoidUsingToolkit, connectInfoCheck.loginInfo,
+								buildDefinition, doIgnoreJenkinsConfiguration),
+						"definition", connectInfoCheck.buildToolkitPath, avoidUsingToolkit, buildDefinition, //$NON-NLS-1$
+						doIgnoreJenkinsConfiguration);
 			}
 			// If the build definition validation completed with OK then recreate the result with a configuration valid
 			// message
@@ -1431,7 +1451,9 @@ public class RTCScm extends SCM {
 				// validate owner details for parameterized stream
 				FormValidation ownerValidationResult = FormValidation.ok();
 				if (Util.fixEmptyAndTrim(processArea) != null) {
-					ownerValidationResult = checkProcessArea(connectionInfoResult.buildToolkitPath, connectionInfoResult.loginInfo, processArea);
+					ownerValidationResult = validate(connectionInfoResult.loginInfo,
+							() -> checkProcessArea(connectionInfoResult.buildToolkitPath, connectionInfoResult.loginInfo, processArea),
+							"processArea", connectionInfoResult.buildToolkitPath, processArea); //$NON-NLS-1$
 				}
 				// error fail right away
 				if (ownerValidationResult.kind.equals(FormValidation.Kind.ERROR)) {
@@ -1442,8 +1464,10 @@ public class RTCScm extends SCM {
 				streamValidationResult = Helper.mergeValidationResults(ownerValidationResult,
 						FormValidation.warning(Messages.RTCScm_stream_not_validated()));
 			} else {
-				streamValidationResult = checkBuildStream(connectionInfoResult.buildToolkitPath, avoidUsingToolkit, connectionInfoResult.loginInfo,
-						processArea, buildStream);
+				streamValidationResult = validate(connectionInfoResult.loginInfo,
+						() -> checkBuildStream(connectionInfoResult.buildToolkitPath, avoidUsingToolkit, connectionInfoResult.loginInfo,
+								processArea, buildStream),
+						"stream", connectionInfoResult.buildToolkitPath, avoidUsingToolkit, processArea, buildStream); //$NON-NLS-1$
 			}
 			// error fail right away
 			if (streamValidationResult.kind.equals(FormValidation.Kind.ERROR)) {
@@ -1455,8 +1479,11 @@ public class RTCScm extends SCM {
 				if (parameterizedStream) {
 					loadRuleValidationResult = FormValidation.warning(Messages.RTCScm_path_to_load_rule_file_not_validated_parameterized_stream());
 				} else {
-					loadRuleValidationResult = checkLoadRules(connectionInfoResult.buildToolkitPath, avoidUsingToolkit,
-							connectionInfoResult.loginInfo, processArea, true, buildStream, loadPolicy, pathToLoadRuleFile);
+					loadRuleValidationResult = validate(connectionInfoResult.loginInfo,
+							() -> checkLoadRules(connectionInfoResult.buildToolkitPath, avoidUsingToolkit,
+									connectionInfoResult.loginInfo, processArea, true, buildStream, loadPolicy, pathToLoadRuleFile),
+							"loadRules", connectionInfoResult.buildToolkitPath, avoidUsingToolkit, processArea, true, buildStream, //$NON-NLS-1$
+							loadPolicy, pathToLoadRuleFile);
 				}
 			}
 			// error fail right away
@@ -1555,15 +1582,19 @@ public class RTCScm extends SCM {
 				FormValidation ownerValidationResult = FormValidation.ok();
 				if (Util.fixEmptyAndTrim(currentSnapshotOwnerType) != null) {
 					if (SNAPSHOT_OWNER_TYPE_WORKSPACE.equals(currentSnapshotOwnerType) && Util.fixEmptyAndTrim(owningWorkspace) != null) {
-						ownerValidationResult = checkBuildWorkspace(connectInfoCheck.buildToolkitPath, avoidUsingToolkit, connectInfoCheck.loginInfo,
-								owningWorkspace);
+						ownerValidationResult = validate(connectInfoCheck.loginInfo,
+								() -> checkBuildWorkspace(connectInfoCheck.buildToolkitPath, avoidUsingToolkit, connectInfoCheck.loginInfo, owningWorkspace),
+								"workspace", connectInfoCheck.buildToolkitPath, avoidUsingToolkit, owningWorkspace); //$NON-NLS-1$
 					} else if (SNAPSHOT_OWNER_TYPE_STREAM.equals(currentSnapshotOwnerType)) {
 						if (Util.fixEmptyAndTrim(owningStream) != null) {
-							ownerValidationResult = checkBuildStream(connectInfoCheck.buildToolkitPath, avoidUsingToolkit,
-									connectInfoCheck.loginInfo, processAreaOfOwningStream, owningStream);
+							ownerValidationResult = validate(connectInfoCheck.loginInfo,
+									() -> checkBuildStream(connectInfoCheck.buildToolkitPath, avoidUsingToolkit,
+											connectInfoCheck.loginInfo, processAreaOfOwningStream, owningStream),
+									"stream", connectInfoCheck.buildToolkitPath, avoidUsingToolkit, processAreaOfOwningStream, owningStream); //$NON-NLS-1$
 						} else if (Util.fixEmptyAndTrim(processAreaOfOwningStream) != null) {
-							ownerValidationResult = checkProcessArea(connectInfoCheck.buildToolkitPath, connectInfoCheck.loginInfo,
-									processAreaOfOwningStream);
+							ownerValidationResult = validate(connectInfoCheck.loginInfo,
+									() -> checkProcessArea(connectInfoCheck.buildToolkitPath, connectInfoCheck.loginInfo, processAreaOfOwningStream),
+									"processArea", connectInfoCheck.buildToolkitPath, processAreaOfOwningStream); //$NON-NLS-1$
 						}
 					}
 				}
@@ -1576,9 +1607,11 @@ public class RTCScm extends SCM {
 				buildSnapshotValidationResult = Helper.mergeValidationResults(ownerValidationResult,
 						FormValidation.warning(Messages.RTCScm_build_snapshot_not_validated()));
 			} else {
-				buildSnapshotValidationResult = checkBuildSnapshot(connectInfoCheck.buildToolkitPath, connectInfoCheck.loginInfo,
-						BuildSnapshotContext.getBuildSnapshotContextMap(currentSnapshotOwnerType, processAreaOfOwningStream, owningStream,
-								owningWorkspace), buildSnapshot);
+				final Map<String, String> buildSnapshotContextMap = BuildSnapshotContext.getBuildSnapshotContextMap(currentSnapshotOwnerType,
+						processAreaOfOwningStream, owningStream, owningWorkspace);
+				buildSnapshotValidationResult = validate(connectInfoCheck.loginInfo,
+						() -> checkBuildSnapshot(connectInfoCheck.buildToolkitPath, connectInfoCheck.loginInfo, buildSnapshotContextMap, buildSnapshot),
+						"snapshot", connectInfoCheck.buildToolkitPath, buildSnapshotContextMap, buildSnapshot); //$NON-NLS-1$
 
 			}
 			// error fail right away
@@ -1599,6 +1632,23 @@ public class RTCScm extends SCM {
 			return Helper.mergeValidationResults(connectInfoCheck.validationResult, buildSnapshotValidationResult);
 		}
 
+		/**
+		 * Get the result of a check against the server from the validation cache, or run it.
+		 * The same check for the same server and credentials, running from another field or
+		 * for another user, is shared.
+		 * @param loginInfo The login credentials the check uses
+		 * @param check The check
+		 * @param checkKey What the check is and the values it depends on, apart from the credentials
+		 * @return The result of the check. Never <code>null</code>
+		 */
+		private FormValidation validate(RTCLoginInfo loginInfo, Supplier<FormValidation> check, Object... checkKey) {
+			Object[] key = Arrays.copyOf(checkKey, checkKey.length + 2);
+			key[checkKey.length] = loginInfo.getTimeout();
+			key[checkKey.length + 1] = LocaleProvider.getLocale();
+			return validationCache.validate(ValidationCache.getKey(loginInfo.getServerUri(), loginInfo.getUserId(),
+					loginInfo.getPassword(), key), check);
+		}
+
 		/** 
 		 * Validate that the build workspace exists and there is just one.
 		 * This is done in the next "layer" below using either the toolkit
@@ -2106,8 +2156,6 @@ public class RTCScm extends SCM {
 		listener.getLogger().println(Messages.RTCScm_checkout_started());
 
 		String label = getLabel(build);
-		String localBuildToolkit;
-		String nodeBuildToolkit;
 		
 		String buildWorkspace = (getBuildTypeStr().equals(BUILD_WORKSPACE_TYPE)) ?
 					Helper.parseConfigurationValue(build, null, Util.fixEmptyAndTrim(getBuildWorkspace()), listener):
@@ -2132,6 +2180,23 @@ public class RTCScm extends SCM {
 			return;
 	    }
 
+		RTCTimings timings = new RTCTimings();
+		// the span is closed before the timings are added
+		try (RTCTimings.Span span = timings.start("checkout") //$NON-NLS-1$
+				.attribute("buildType", getBuildTypeStr())) { //$NON-NLS-1$
+			doCheckout(build, workspacePath, listener, changeLogFile, buildWorkspace, buildDefinition, buildSnapshot,
+					buildStream, label, timings);
+		} finally {
+			addTimingsToBuild(build, timings, listener);
+		}
+	}
+
+	private void doCheckout(Run<?, ?> build, FilePath workspacePath, TaskListener listener, File changeLogFile,
+			String buildWorkspace, String buildDefinition, String buildSnapshot, String buildStream, String label,
+			RTCTimings timings) throws IOException, InterruptedException {
+		String localBuildToolkit;
+		String nodeBuildToolkit;
+
 		String buildResultUUID = getBuildResultUUID(build, listener);
 		
 		validateInput(getBuildTypeStr(), buildSnapshot, buildStream);
@@ -2160,11 +2225,15 @@ public class RTCScm extends SCM {
 			// (since its on the master). So what we do is send our hjplugin-rtc.jar over to the slave to "prepopulate"
 			// it in the class loader. This way we can create our special class loader referencing it and all the toolkit
 			// jars.
-			Helper.sendJarsToAgent(workspacePath);
+			try (RTCTimings.Span span = timings.start("sendJarsToAgent")) { //$NON-NLS-1$
+				Helper.sendJarsToAgent(workspacePath);
+			}
 		}
 		
 		// Before proceeding, log the details of master and node buildtoolkit
-		logBuildToolkitVersions(workspacePath, listener, localBuildToolkit, nodeBuildToolkit, debug);
+		try (RTCTimings.Span span = timings.start("logBuildToolkitVersions")) { //$NON-NLS-1$
+			logBuildToolkitVersions(workspacePath, listener, localBuildToolkit, nodeBuildToolkit, debug);
+		}
 
 		// if buildResultUUID is not null then we need to match...
 		if (buildResultUUID != null) {
@@ -2207,9 +2276,12 @@ public class RTCScm extends SCM {
 					useBuildDefinitionInBuild, buildDefinition, buildResultUUID,
 					label, listener, workspacePath.isRemote(), debug, LocaleProvider.getLocale());
 			
-			BuildResultInfo buildResultInfo = buildResultSetupTask.localInvocation();
-			if (buildResultInfo == null) {
-				buildResultInfo = workspacePath.act(buildResultSetupTask);
+			BuildResultInfo buildResultInfo;
+			try (RTCTimings.Span span = timings.start("buildResultSetup")) { //$NON-NLS-1$
+				buildResultInfo = buildResultSetupTask.localInvocation();
+				if (buildResultInfo == null) {
+					buildResultInfo = workspacePath.act(buildResultSetupTask);
+				}
 			}
 
 			if (LOGGER.isLoggable(Level.FINER)) {
@@ -2257,8 +2329,9 @@ public class RTCScm extends SCM {
 			build.addAction(getBuildResultAction());
 
 			RemoteOutputStream changeLog = null;
+			boolean compressChangeLog = ChangeLogTransfer.isCompressed(workspacePath.isRemote());
 			if (changeLogFile != null) {
-				OutputStream changeLogStream = new FileOutputStream(changeLogFile);
+				OutputStream changeLogStream = ChangeLogTransfer.openChangeLogFile(changeLogFile, compressChangeLog);
 				changeLog = new RemoteOutputStream(changeLogStream);
 			}
 			
@@ -2270,9 +2343,12 @@ public class RTCScm extends SCM {
 			String previousSnapshotUUIDForChangeLog = null;
 			Run<?,?> previousBuild = null;
 			// Get previous snapshot UUID for comparison in stream case
-			Tuple<Run<?,?>, String> previousSnapshotDetails = Helper.getSnapshotUUIDFromPreviousBuild(build, 
-					localBuildToolkit, loginInfo, getProcessArea(),
-					buildStream, getGenerateChangelogWithGoodBuild(), LocaleProvider.getLocale());
+			Tuple<Run<?,?>, String> previousSnapshotDetails;
+			try (RTCTimings.Span span = timings.start("previousSnapshot")) { //$NON-NLS-1$
+				previousSnapshotDetails = Helper.getSnapshotUUIDFromPreviousBuild(build, 
+						localBuildToolkit, loginInfo, getProcessArea(),
+						buildStream, getGenerateChangelogWithGoodBuild(), LocaleProvider.getLocale());
+			}
 			if (previousSnapshotDetails != null) {
 				previousBuild = previousSnapshotDetails.getFirst();
 				previousSnapshotUUIDForChangeLog = previousSnapshotDetails.getSecond();
@@ -2305,6 +2381,21 @@ public class RTCScm extends SCM {
 			// Check whether metronome report should be collected
 			Map<String, Object> metronomeOptions = createMetronomeOptions(build, listener);
 			options.put(METRONOME_OPTIONS_PROPERTY_NAME, metronomeOptions);
+			// Reuse the temporary workspaces of a build stream, if the job asks for it
+			if (buildStream != null) {
+				int poolSize = getTemporaryWorkspacePoolSize(build, listener);
+				if (poolSize > 0) {
+					options.put(TEMPORARY_WORKSPACE_POOL_KEY_OPTION, build.getParent().getFullName());
+					options.put(TEMPORARY_WORKSPACE_POOL_SIZE_OPTION, poolSize);
+				}
+				// and the baseline of each component in the previous snapshot, so that only the components
+				// that changed are compared
+				Map<String, String> previousComponentBaselines = Helper.getComponentBaselinesFromPreviousBuild(build,
+						previousSnapshotUUIDForChangeLog);
+				if (previousComponentBaselines != null) {
+					options.put(PREVIOUS_COMPONENT_BASELINES_OPTION, new HashMap<String, String>(previousComponentBaselines));
+				}
+			}
 
 			String parentActivityId = ""; //$NON-NLS-1$
 			String connectorId = "";
@@ -2330,6 +2421,7 @@ public class RTCScm extends SCM {
 					Helper.getTemporaryWorkspaceComment(build),
 					// Add future options to this object instead of adding new parameters to this method
 					options);
+			acceptTask.setCompressChangeLog(compressChangeLog);
 
 			// publish in the build result links to the project and the build
 			if (buildResultUUID != null) {
@@ -2365,12 +2457,21 @@ public class RTCScm extends SCM {
 			// repository workspace will be deleted during checkout() itself. 
 			boolean isValidMasterBuildToolkit = validateBuildToolkitPath(localBuildToolkit);
 			boolean shouldDeleteTemporaryWorkspace = !isValidMasterBuildToolkit;
-			Map<String, Object> acceptResult = workspacePath.act(acceptTask);
+			Map<String, Object> acceptResult;
+			try (RTCTimings.Span acceptSpan = timings.start("accept.remote")) { //$NON-NLS-1$
+				acceptResult = workspacePath.act(acceptTask);
+				acceptSpan.endRemote(acceptResult.get(RTCTimings.TIMINGS_PROPERTY_NAME));
+				RTCMetrics.getInstance().accept(acceptSpan.end(), acceptResult.get(RTCTimings.TIMINGS_PROPERTY_NAME));
+			}
 			Map<String, String> buildProperties = (Map<String, String>)acceptResult.get("buildProperties"); //$NON-NLS-1$
 			buildResultAction.addBuildProperties(buildProperties);
 			parentActivityId = (String)acceptResult.get("parentActivityId"); //$NON-NLS-1$
 			connectorId = (String)acceptResult.get("connectorId"); //$NON-NLS-1$
 			streamData = (Map<String, String>)acceptResult.get("buildStreamData"); //$NON-NLS-1$
+			if (buildStream != null && buildProperties != null) {
+				buildResultAction.setComponentBaselines(buildProperties.get(Helper.TEAM_SCM_SNAPSHOT_UUID_PROPERTY),
+						(Map<String, String>)acceptResult.get("componentBaselines")); //$NON-NLS-1$
+			}
 			String loadPolicyTemp = loadPolicy;
 			
 			if (useBuildDefinitionInBuild) {
@@ -2417,11 +2518,16 @@ public class RTCScm extends SCM {
 			
 			// build properties given by load will be added to RTCBuildResultAction
 			Map<String, Object> loadResult = null;
-			if (Util.fixEmptyAndTrim(loadDirectory) != null) {
-				FilePath newWorkspacePath = workspacePath.child(loadDirectory);
-				loadResult = newWorkspacePath.act(loadTask);
-			} else {
-				loadResult = workspacePath.act(loadTask);
+			try (RTCTimings.Span loadSpan = timings.start("load.remote")) { //$NON-NLS-1$
+				if (Util.fixEmptyAndTrim(loadDirectory) != null) {
+					FilePath newWorkspacePath = workspacePath.child(loadDirectory);
+					loadResult = newWorkspacePath.act(loadTask);
+				} else {
+					loadResult = workspacePath.act(loadTask);
+				}
+				Object loadSpans = loadResult == null ? null : loadResult.get(RTCTimings.TIMINGS_PROPERTY_NAME);
+				loadSpan.endRemote(loadSpans);
+				RTCMetrics.getInstance().load(loadSpan.end(), loadSpans);
 			}
 			addTemporaryWorkspaceDetailsToAction(loadResult, buildResultAction);
 			
@@ -2519,6 +2625,9 @@ public class RTCScm extends SCM {
 		// Retrieve the old snapshotUUID to compare with
 		String previousSnapshotUUID = Helper.getSnapshotUUIDFromPreviousBuild(build, workspaceUUID, debug, 
 				listener, Locale.getDefault());
+		// and the baseline of each component in it, so that only the components that changed are compared
+		Map<String, String> previousComponentBaselines = Helper.getComponentBaselinesFromPreviousBuild(build, 
+				previousSnapshotUUID);
 		
 		// Call the generate changelog task to generate the changelog.
 		if (debug) {
@@ -2526,8 +2635,9 @@ public class RTCScm extends SCM {
 					RTCScm_generating_changelog_writing_to_file(changeLogFile));
 		}
 		RemoteOutputStream changeLog = null;
+		boolean compressChangeLog = ChangeLogTransfer.isCompressed(workspacePath.isRemote());
 		if (changeLogFile != null) {
-			OutputStream changeLogStream = new FileOutputStream(changeLogFile);
+			OutputStream changeLogStream = ChangeLogTransfer.openChangeLogFile(changeLogFile, compressChangeLog);
 			changeLog = new RemoteOutputStream(changeLogStream);
 		}
 		
@@ -2536,14 +2646,19 @@ public class RTCScm extends SCM {
 				loginInfo.getPassword(), loginInfo.getTimeout(),
 				snapshotUUIDForCompare, workspaceUUID, previousSnapshotUUID, changeLog, 
 				LocaleProvider.getLocale(), debug, listener);
+		generateChangeLogTask.setCompressChangeLog(compressChangeLog);
+		generateChangeLogTask.setPreviousComponentBaselines(previousComponentBaselines);
 		Map<String, Object> retData = workspacePath.act(generateChangeLogTask);
 		@SuppressWarnings("unchecked")
 		Map<String, String> buildProperties = (Map<String, String>) retData.get("buildProperties");
+		@SuppressWarnings("unchecked")
+		Map<String, String> componentBaselines = (Map<String, String>) retData.get("componentBaselines");
 		setBuildResultAction(new RTCBuildResultAction(loginInfo.getServerUri(), 
 											null ,false, this));
 		RTCBuildResultAction action = getBuildResultAction();
 		build.addAction(action);
 		action.addBuildProperties(buildProperties);
+		action.setComponentBaselines(snapshotUUIDForCompare, componentBaselines);
 	}
 
 	public PollingOnlyData getPollingOnlyData() {
@@ -2666,6 +2781,8 @@ public class RTCScm extends SCM {
 		// will be added to the Jenkins build.
 		
 		// check to see if there are incoming changes
+		long pollStart = System.nanoTime();
+		boolean pollFailed = false;
     	try {
     		// If the current configuration does not support polling, return no changes
     		if (!isConfigSupportsPolling(getBuildTypeStr())) {
@@ -2810,6 +2927,7 @@ public class RTCScm extends SCM {
     		}
     		
     	} catch (Exception e) {
+    		pollFailed = true;
     		Throwable eToReport = e;
     		if (eToReport instanceof InvocationTargetException) {
     			if (e.getCause() != null) {
@@ -2829,6 +2947,7 @@ public class RTCScm extends SCM {
     		throw new AbortException(Messages.RTCScm_checking_for_changes_failure2(eToReport.getMessage()));
     	}
     	finally {
+    		RTCMetrics.getInstance().poll(project.getFullName(), (System.nanoTime() - pollStart) / 1000000L, pollFailed);
     		LOGGER.finer("RTCScm.compareRemoteRevisionWith : End");
     	}
 	}
@@ -3213,6 +3332,36 @@ public class RTCScm extends SCM {
 		}		
 	}
 	
+	/**
+	 * Write the timings of the checkout to a file in the build directory and
+	 * make them visible through {@link RTCTimingsAction}.
+	 * Failing to do so does not fail the build.
+	 */
+	private void addTimingsToBuild(Run<?, ?> build, RTCTimings timings, TaskListener listener) {
+		List<Map<String, String>> spans = timings.getSpans();
+		if (spans.isEmpty()) {
+			return;
+		}
+		try {
+			File timingsDir = RTCTimingsAction.getTimingsDir(build);
+			if (!timingsDir.exists()) {
+				timingsDir.mkdirs();
+			}
+			// A pipeline may check out more than once, so there is a file per checkout
+			File timingsFile = new File(timingsDir, RTCTimingsAction.TIMINGS_FILE_PREFIX
+					+ spans.get(0).get(RTCTimings.START) + RTCTimingsAction.TIMINGS_FILE_SUFFIX);
+			timings.writeTo(timingsFile);
+			synchronized (build) {
+				if (build.getAction(RTCTimingsAction.class) == null) {
+					build.addAction(new RTCTimingsAction());
+				}
+			}
+		} catch (Exception e) {
+			LOGGER.log(Level.WARNING, "Unable to write the checkout timings", e); //$NON-NLS-1$
+			listener.getLogger().println(Messages.RTCTimings_unable_to_write(e.getMessage()));
+		}
+	}
+
 	/**
 	 * Add the metronome data to the Build Result action's properties.
 	 * This will be exported to the Jenkins build as environment variables.
@@ -3264,6 +3413,7 @@ public class RTCScm extends SCM {
 			File statisticsReportFile =  new File(metronomeDir, getStatisticsReportFileName(metronomeOptions));
 			writeMetronomeContentToFile(statisticsData, statisticsDataFile);
 			writeMetronomeContentToFile(statisticsReport, statisticsReportFile);
+			addMetronomeDataToHistory(build, statisticsData);
 			
 			// We could export the file names to the build properties
 			// This will help users identify which file belongs to this run of RTCScm 
@@ -3276,6 +3426,22 @@ public class RTCScm extends SCM {
 		}
 	}
 
+	/**
+	 * Add the statistics of the build to the history of the job, so they can be
+	 * compared across builds. Failures are logged and do not fail the build.
+	 */
+	private static void addMetronomeDataToHistory(Run<?,?> build, String statisticsData) {
+		if (statisticsData == null) {
+			return;
+		}
+		try {
+			RTCMetronomeHistory.append(build, statisticsData);
+		} catch (IOException | RuntimeException e) {
+			LOGGER.log(Level.WARNING, "Unable to add the metronome data of " + build.getFullDisplayName() //$NON-NLS-1$
+					+ " to the history of the job", e); //$NON-NLS-1$
+		}
+	}
+
 	private void writeMetronomeContentToFile(String statisticsData, File statisticsDataFile) {
 		if (statisticsData == null) {
 			return;
@@ -3292,6 +3458,25 @@ public class RTCScm extends SCM {
 		}
 	}
 	
+	/**
+	 * @return The number of temporary workspaces the job keeps for a build stream, 0 if
+	 * the job does not keep them
+	 */
+	private static int getTemporaryWorkspacePoolSize(Run<?,?> build, TaskListener listener)
+									throws IOException, InterruptedException {
+		String value = Util.fixEmptyAndTrim(Helper.getStringBuildParameter(build,
+				RTCJobProperties.TEMPORARY_WORKSPACE_POOL_SIZE, listener));
+		if (value == null) {
+			return 0;
+		}
+		try {
+			return Math.max(0, Integer.parseInt(value));
+		} catch (NumberFormatException e) {
+			LOGGER.warning("Ignoring " + RTCJobProperties.TEMPORARY_WORKSPACE_POOL_SIZE + "=" + value + ", it is not a number"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			return 0;
+		}
+	}
+
 	/**
 	 * Create the metronome options for Accept and Load phase
 	 * 
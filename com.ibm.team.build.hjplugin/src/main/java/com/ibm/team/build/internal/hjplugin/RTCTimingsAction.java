@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin;
+
+import hudson.model.Run;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jenkins.model.RunAction2;
+
+import com.ibm.team.build.internal.hjplugin.util.RTCTimings;
+
+/**
+ * Shows how long the phases of the EWM SCM checkouts of a build took.
+ *
+ * The timings are kept in JSON files in the build directory, one per checkout,
+ * and are only read when the page is shown.
+ */
+public class RTCTimingsAction implements RunAction2 {
+
+	private static final Logger LOGGER = Logger.getLogger(RTCTimingsAction.class.getName());
+
+	static final String TIMINGS_FOLDER_NAME = "timings"; //$NON-NLS-1$
+
+	static final String TIMINGS_FILE_PREFIX = "timings-"; //$NON-NLS-1$
+
+	static final String TIMINGS_FILE_SUFFIX = ".json"; //$NON-NLS-1$
+
+	private transient Run<?, ?> run;
+
+	/**
+	 * The timings of one phase, for display
+	 */
+	public static class Timing {
+		private final String name;
+		private final int depth;
+		private final long offset;
+		private final String duration;
+		private final String attributes;
+
+		Timing(Map<String, String> span, long checkoutStart) {
+			StringBuilder attrs = new StringBuilder();
+			for (Map.Entry<String, String> entry : span.entrySet()) {
+				String key = entry.getKey();
+				if (RTCTimings.NAME.equals(key) || RTCTimings.START.equals(key)
+						|| RTCTimings.DURATION.equals(key) || RTCTimings.DEPTH.equals(key)) {
+					continue;
+				}
+				if (attrs.length() > 0) {
+					attrs.append(", "); //$NON-NLS-1$
+				}
+				attrs.append(key).append('=').append(entry.getValue());
+			}
+			this.name = span.get(RTCTimings.NAME);
+			this.depth = RTCTimings.parseInt(span.get(RTCTimings.DEPTH), 0);
+			this.offset = RTCTimings.parseLong(span.get(RTCTimings.START), 0) - checkoutStart;
+			this.duration = span.get(RTCTimings.DURATION) == null ? "" : span.get(RTCTimings.DURATION); //$NON-NLS-1$
+			this.attributes = attrs.toString();
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getDepth() {
+			return depth;
+		}
+
+		/**
+		 * @return The number of milliseconds from the start of the checkout to the start of the phase
+		 */
+		public long getOffset() {
+			return offset;
+		}
+
+		/**
+		 * @return The duration in milliseconds, empty if the phase did not complete
+		 */
+		public String getDuration() {
+			return duration;
+		}
+
+		public String getAttributes() {
+			return attributes;
+		}
+	}
+
+	/**
+	 * The timings of one checkout, for display
+	 */
+	public static class CheckoutTimings {
+		private final String name;
+		private final List<Timing> timings;
+
+		CheckoutTimings(String name, List<Timing> timings) {
+			this.name = name;
+			this.timings = timings;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public List<Timing> getTimings() {
+			return timings;
+		}
+	}
+
+	/**
+	 * @param run The build
+	 * @return The folder holding the timing files of the build
+	 */
+	static File getTimingsDir(Run<?, ?> run) {
+		return new File(new File(run.getRootDir(), RTCScm.TEAMCONCERT_FOLDER_NAME), TIMINGS_FOLDER_NAME);
+	}
+
+	@Override
+	public void onAttached(Run<?, ?> r) {
+		this.run = r;
+	}
+
+	@Override
+	public void onLoad(Run<?, ?> r) {
+		this.run = r;
+	}
+
+	public Run<?, ?> getRun() {
+		return run;
+	}
+
+	/**
+	 * @return The timings of each checkout of the build, in the order the checkouts ran
+	 */
+	public List<CheckoutTimings> getCheckouts() {
+		if (run == null) {
+			return Collections.emptyList();
+		}
+		File[] files = getTimingsDir(run).listFiles();
+		if (files == null) {
+			return Collections.emptyList();
+		}
+		// the file names contain the start time of the checkout
+		Arrays.sort(files);
+		List<CheckoutTimings> result = new ArrayList<CheckoutTimings>();
+		for (File file : files) {
+			String fileName = file.getName();
+			if (!fileName.startsWith(TIMINGS_FILE_PREFIX) || !fileName.endsWith(TIMINGS_FILE_SUFFIX)) {
+				continue;
+			}
+			try {
+				List<Map<String, String>> spans = RTCTimings.readFrom(file);
+				long checkoutStart = spans.isEmpty() ? 0 : RTCTimings.parseLong(spans.get(0).get(RTCTimings.START), 0);
+				List<Timing> timings = new ArrayList<Timing>(spans.size());
+				for (Map<String, String> span : spans) {
+					timings.add(new Timing(span, checkoutStart));
+				}
+				result.add(new CheckoutTimings(fileName, timings));
+			} catch (IOException | RuntimeException e) {
+				LOGGER.log(Level.WARNING, "Unable to read the timings in " + file.getAbsolutePath(), e); //$NON-NLS-1$
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public String getIconFileName() {
+		return "clock.png"; //$NON-NLS-1$
+	}
+
+	@Override
+	public String getDisplayName() {
+		return Messages.RTCTimingsAction_display_name();
+	}
+
+	@Override
+	public String getUrlName() {
+		return "teamconcert-timings"; //$NON-NLS-1$
+	}
+}
@@ -75,9 +75,10 @@ public class ListFilesStepExecution extends RTCBuildStepExecution<RTCBuildStepRe
 		String buildResultUUID = Util.fixEmptyAndTrim(getStep().getTask().getBuildResultUUID());
 		String fileNameOrPattern = Util.fixEmptyAndTrim(getStep().getTask().getFileNameOrPattern());
 		String componentName = Util.fixEmptyAndTrim(getStep().getTask().getComponentName());
+		int startIndex = getStep().getTask().getStartIndex();
 		int maxResults = getStep().getTask().getMaxResults();
 
-		validateArguments(buildResultUUID, fileNameOrPattern, componentName, maxResults);
+		validateArguments(buildResultUUID, fileNameOrPattern, componentName, startIndex, maxResults);
 
 		if (LOGGER.isLoggable(Level.FINE)) {
 			LOGGER.fine(this.getClass().getName() + ":run() - creating ListFilesTask");
@@ -92,6 +93,7 @@ public class ListFilesStepExecution extends RTCBuildStepExecution<RTCBuildStepRe
 							fileNameOrPattern,
 							componentName,
 							contributionType,
+							startIndex,
 							maxResults,
 							isDebug(run, listener),
 							listener);
@@ -99,7 +101,7 @@ public class ListFilesStepExecution extends RTCBuildStepExecution<RTCBuildStepRe
 	}
 	
 	private void validateArguments(String buildResultUUID, String fileNameOrPattern, 
-						String componentName, int maxResults) throws RTCValidationException {
+						String componentName, int startIndex, int maxResults) throws RTCValidationException {
 		
 		// validate empty fields
 		if (buildResultUUID == null) {
@@ -114,6 +116,11 @@ public class ListFilesStepExecution extends RTCBuildStepExecution<RTCBuildStepRe
 			}
 		}
 
+		// validate startIndex to be 0 or greater
+		if (startIndex < 0) {
+			throw new IllegalArgumentException(Messages.RTCBuildStep_startIndex_invalid_value(startIndex));
+		}
+
 		// validate maxResults to be greater than 0  and not greater than 2048
 		FormValidation result =  ValidationHelper.validateMaxResultsParm(Integer.toString(maxResults));
 		if (result.kind == FormValidation.Kind.ERROR) {
@@ -97,6 +97,7 @@ public class RTCBuildStep extends Step {
 
 		// Fields specific to listLogs/listArtifacts
 		private String fileNameOrPattern;
+		private int startIndex = 0;
 		private int maxResults = DEFAULT_MAX_RESULTS;
 		
 		// Fields specific to downloadLog/downloadArtifact
@@ -229,6 +230,15 @@ public class RTCBuildStep extends Step {
 			this.componentName = componentName;
 		}
 
+		public int getStartIndex() {
+			return startIndex;
+		}
+
+		@DataBoundSetter
+		public void setStartIndex(int startIndex) {
+			this.startIndex = startIndex;
+		}
+
 		public int getMaxResults() {
 			return maxResults;
 		}
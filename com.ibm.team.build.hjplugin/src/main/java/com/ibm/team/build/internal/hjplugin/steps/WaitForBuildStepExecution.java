@@ -20,6 +20,7 @@ import com.ibm.team.build.hjplugin.steps.RTCBuildStepResponse;
 import com.ibm.team.build.internal.hjplugin.Messages;
 import com.ibm.team.build.internal.hjplugin.tasks.WaitForBuildTask;
 import com.ibm.team.build.internal.hjplugin.util.Helper;
+import com.ibm.team.build.internal.hjplugin.util.RTCMetrics;
 
 import hudson.FilePath;
 import hudson.Util;
@@ -80,7 +81,12 @@ public class WaitForBuildStepExecution extends RTCBuildStepExecution<RTCBuildSte
 				waitBuildTimeout,
 				waitBuildInterval,
 				isDebug(run, listener), listener);
-		return workspace.act(task);
+		RTCMetrics.getInstance().waitForBuild(1);
+		try {
+			return workspace.act(task);
+		} finally {
+			RTCMetrics.getInstance().waitForBuild(-1);
+		}
 	}
 	
 	private String [] parseBuildStates(String buildStatesStr) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 IBM Corporation and others.
+ * Copyright (c) 2021, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -128,10 +128,11 @@ public class DownloadFileTask extends RTCTask<RTCBuildStepResponse> {
 	public RTCBuildStepResponse invoke(File f, VirtualChannel channel) throws IOException, InterruptedException {
 		getLogger().entering(this.getClass().getName(), "invoke"); //$NON-NLS-1$
 
+		RTCFacadeWrapper facade = null;
 		try {
 			printDebugMsgsStart();
 			
-			RTCFacadeWrapper facade = RTCFacadeFactory.getFacade(buildToolkitPath, null);
+			facade = RTCFacadeFactory.acquireFacade(buildToolkitPath, null);
 			@SuppressWarnings("unchecked")
 			Map<String, String> ret = (Map<String, String>)facade.invoke("downloadFile",  //$NON-NLS-1$
 					new Class[] { String.class, // serverURI
@@ -174,6 +175,9 @@ public class DownloadFileTask extends RTCTask<RTCBuildStepResponse> {
     		}
 			throw new IOException(exp.getMessage());
 		} finally {
+			if (facade != null) {
+				facade.release();
+			}
 			getLogger().exiting(this.getClass().getName(), "invoke"); //$NON-NLS-1$
 		}
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 IBM Corporation and others.
+ * Copyright (c) 2021, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.logging.Level;
@@ -23,6 +24,7 @@ import com.ibm.team.build.internal.hjplugin.Messages;
 import com.ibm.team.build.internal.hjplugin.RTCFacadeFactory;
 import com.ibm.team.build.internal.hjplugin.RTCFacadeFactory.RTCFacadeWrapper;
 import com.ibm.team.build.internal.hjplugin.RTCTask;
+import com.ibm.team.build.internal.hjplugin.util.ChangeLogTransfer;
 import com.ibm.team.build.internal.hjplugin.util.Helper;
 import com.ibm.team.build.internal.hjplugin.util.TaskListenerWrapper;
 
@@ -49,7 +51,9 @@ public class GenerateChangelogTask extends RTCTask<Map<String,Object>> {
 	private String snapshotUUID;
 	private String workspaceUUID;
 	private String previousSnapshotUUID;
+	private HashMap<String, String> previousComponentBaselines;
 	private RemoteOutputStream changeLog;
+	private boolean compressChangeLog;
 	private Locale clientLocale;
 	
     public GenerateChangelogTask(
@@ -93,14 +97,33 @@ public class GenerateChangelogTask extends RTCTask<Map<String,Object>> {
 		}
 	}
     
+	/**
+	 * @param compressChangeLog Whether the change log stream expects the change log compressed.
+	 * See {@link ChangeLogTransfer}.
+	 */
+	public void setCompressChangeLog(boolean compressChangeLog) {
+		this.compressChangeLog = compressChangeLog;
+	}
+
+	/**
+	 * @param previousComponentBaselines The baseline UUID of each component UUID in the previous 
+	 * snapshot, kept with the previous build. May be <code>null</code>.
+	 */
+	public void setPreviousComponentBaselines(Map<String, String> previousComponentBaselines) {
+		this.previousComponentBaselines = (previousComponentBaselines == null) ? null 
+				: new HashMap<String, String>(previousComponentBaselines);
+	}
+
 	@Override
 	public Map<String, Object> invoke(File f, VirtualChannel channel) throws IOException, InterruptedException {
 		getLogger().entering(this.getClass().getName(), "invoke"); //$NON-NLS-1$
 
+		OutputStream changeLogStream = ChangeLogTransfer.wrapChangeLog(changeLog, compressChangeLog);
+		RTCFacadeWrapper facade = null;
 		try {
 			printDebugMsgStart();
 			
-			RTCFacadeWrapper facade = RTCFacadeFactory.getFacade(buildToolkitPath, null);
+			facade = RTCFacadeFactory.acquireFacade(buildToolkitPath, null);
 			@SuppressWarnings("unchecked")
 			Map<String, Object> ret =
 					// Resolve the stream and get stream UUID
@@ -113,12 +136,13 @@ public class GenerateChangelogTask extends RTCTask<Map<String,Object>> {
 								String.class, // current Snapshot UUID
 								String.class, // owning workspace UUID
 								String.class, // previous Snapshot UUID
+								Map.class, // previous component baselines
 								OutputStream.class, // changelog
 								Object.class, // listener
 								Locale.class // clientLocale
 						}, serverURI, userId, password, timeout,
-							snapshotUUID, workspaceUUID, previousSnapshotUUID, 
-							changeLog, new TaskListenerWrapper(getListener()), clientLocale);
+							snapshotUUID, workspaceUUID, previousSnapshotUUID, previousComponentBaselines,
+							changeLogStream, new TaskListenerWrapper(getListener()), clientLocale);
 			
 			return ret;
 		} catch (Exception exp) {
@@ -137,6 +161,11 @@ public class GenerateChangelogTask extends RTCTask<Map<String,Object>> {
 			}
 			throw new IOException(message); 
 		} finally {
+			if (facade != null) {
+				facade.release();
+			}
+			// send the rest of the change log, if it was not closed
+			ChangeLogTransfer.close(changeLogStream);
 			printDebugMsgEnd();
 			getLogger().exiting(this.getClass().getName(), "invoke"); //$NON-NLS-1$
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 IBM Corporation and others.
+ * Copyright (c) 2021, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -47,11 +47,14 @@ public class ListFilesTask extends RTCTask<RTCBuildStepResponse> {
 	final private String fileNameOrPattern;
 	final private String componentName;
 	final private String contributionType;
+	final private int startIndex;
 	final private int maxResults;
 
 	private TaskListenerWrapper listenerWrapper;
 	
 	private static final String FILEINFOS_KEY = "fileInfos"; //$NON-NLS-1$
+	
+	private static final String NEXT_START_INDEX_KEY = "nextStartIndex"; //$NON-NLS-1$
 
 	public ListFilesTask(
 			String buildToolkitPath,
@@ -63,6 +66,7 @@ public class ListFilesTask extends RTCTask<RTCBuildStepResponse> {
 			String fileNameOrPattern,
 			String componentName,
 			String contributionType,
+			int startIndex,
 			int maxResults,
 			boolean isDebug, TaskListener listener) {
 		super(isDebug, listener);
@@ -76,6 +80,7 @@ public class ListFilesTask extends RTCTask<RTCBuildStepResponse> {
 		this.fileNameOrPattern = fileNameOrPattern;
 		this.componentName = componentName;
 		this.contributionType = contributionType;
+		this.startIndex = startIndex;
 		this.maxResults = maxResults;
 
 		if (getIsDebug()) {
@@ -87,6 +92,7 @@ public class ListFilesTask extends RTCTask<RTCBuildStepResponse> {
 					+ "fileNameOrPattern: %s\n" //$NON-NLS-1$
 					+ "componentName: %s\n" //$NON-NLS-1$
 					+ "contributionType: %s\n" //$NON-NLS-1$
+					+ "startIndex: %d\n" //$NON-NLS-1$
 					+ "maxResults: %d\n", //$NON-NLS-1$
 					buildToolkitPath, 
 					serverURI,
@@ -95,6 +101,7 @@ public class ListFilesTask extends RTCTask<RTCBuildStepResponse> {
 					fileNameOrPattern,
 					componentName,
 					contributionType,
+					startIndex,
 					maxResults));
 		}
 	}
@@ -105,9 +112,10 @@ public class ListFilesTask extends RTCTask<RTCBuildStepResponse> {
 	public RTCBuildStepResponse invoke(File f, VirtualChannel channel) throws IOException, InterruptedException {
 		getLogger().entering(this.getClass().getName(), "invoke"); //$NON-NLS-1$
 
+		RTCFacadeWrapper facade = null;
 		try {
 			printDebugMsgsStart();
-			RTCFacadeWrapper facade = RTCFacadeFactory.getFacade(buildToolkitPath, null);
+			facade = RTCFacadeFactory.acquireFacade(buildToolkitPath, null);
 			@SuppressWarnings("unchecked")
 			Map<String, Object> ret = (Map<String, Object>)facade.invoke("listFiles",  //$NON-NLS-1$
 					new Class[] { String.class, // serverURI
@@ -118,13 +126,14 @@ public class ListFilesTask extends RTCTask<RTCBuildStepResponse> {
 							String.class, // fileNameOrPattern
 							String.class, // componentName
 							String.class, // contributionType
+							int.class, // startIndex
 							int.class, // maxResults
 							Object.class, // listener
 							Locale.class }, // clientLocale
 					serverURI, userId, password, 
 					timeout, buildResultUUID, 
 					fileNameOrPattern, componentName, contributionType,
-					maxResults, new TaskListenerWrapper(getListener()), 
+					startIndex, maxResults, new TaskListenerWrapper(getListener()), 
 					Locale.getDefault());
 			@SuppressWarnings("unchecked")
 			List<List<String>> files = (List<List<String>>) ret.get(FILEINFOS_KEY); //$NON-NLS-1$
@@ -137,6 +146,10 @@ public class ListFilesTask extends RTCTask<RTCBuildStepResponse> {
 						file.get(2), file.get(3), file.get(4),
 						Long.parseLong(file.get(5)), file.get(6));
 			}
+			Integer nextStartIndex = (Integer) ret.get(NEXT_START_INDEX_KEY);
+			if (nextStartIndex != null) {
+				builder.setNextStartIndex(nextStartIndex.intValue());
+			}
 			return builder.build();
 		} catch (Exception exp) {
 			Throwable eToReport = exp;
@@ -154,6 +167,9 @@ public class ListFilesTask extends RTCTask<RTCBuildStepResponse> {
     		}
 			throw new IOException(exp.getMessage());
 		} finally {
+			if (facade != null) {
+				facade.release();
+			}
 			printDebugMsgsEnd();
 			getLogger().exiting(this.getClass().getName(), "invoke"); //$NON-NLS-1$
 		}
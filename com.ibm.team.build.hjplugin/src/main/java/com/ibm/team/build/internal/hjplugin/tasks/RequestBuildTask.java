@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 IBM Corporation and others.
+ * Copyright (c) 2021, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -104,6 +104,7 @@ public class RequestBuildTask extends RTCTask<RTCBuildStepResponse> {
 	@Override
 	public RTCBuildStepResponse invoke(File f, VirtualChannel channel) throws IOException, InterruptedException {
 		getLogger().entering(this.getClass().getName(), "invoke"); //$NON-NLS-1$
+		RTCFacadeWrapper facade = null;
 		try {
 			// Invoke a method in RTCFacade to request a build
 			if (getIsDebug()) {
@@ -112,7 +113,7 @@ public class RequestBuildTask extends RTCTask<RTCBuildStepResponse> {
 			if (getLogger().isLoggable(Level.FINE)) {
 				logFine(String.format(REQUESTING_BUILD_FOR_BUILD_DEFINITION_MSG, buildDefinitionId)); //$NON-NLS-1$
 			}
-			RTCFacadeWrapper facade = RTCFacadeFactory.getFacade(buildToolkitPath, null);
+			facade = RTCFacadeFactory.acquireFacade(buildToolkitPath, null);
 			@SuppressWarnings("unchecked")
 			Map<String, String> ret = (Map<String, String>)facade.invoke("requestBuild",  //$NON-NLS-1$
 					new Class[] { String.class, // serverURI
@@ -156,6 +157,9 @@ public class RequestBuildTask extends RTCTask<RTCBuildStepResponse> {
     		
     		throw new IOException(message);
 		} finally {
+			if (facade != null) {
+				facade.release();
+			}
 			getLogger().exiting(this.getClass().getName(), "invoke"); //$NON-NLS-1$
 		}
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 IBM Corporation and others.
+ * Copyright (c) 2021, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -83,6 +83,7 @@ public class RetrieveSnapshotTask extends RTCTask<RTCBuildStepResponse> {
 	@Override
 	public RTCBuildStepResponse invoke(File f, VirtualChannel channel) throws IOException, InterruptedException {
 		getLogger().entering(this.getClass().getName(), "invoke");
+		RTCFacadeWrapper facade = null;
 		try {
 			// We are not checking the following
 			// Null/empty build result UUID
@@ -90,7 +91,7 @@ public class RetrieveSnapshotTask extends RTCTask<RTCBuildStepResponse> {
 			
 			// If the buildtoolkit path is not found in the agent, then this will fail with an 
 			// appropriate exception message sent to the user.
-			RTCFacadeWrapper facade = RTCFacadeFactory.getFacade(buildToolkitPath, null);
+			facade = RTCFacadeFactory.acquireFacade(buildToolkitPath, null);
 			if (getIsDebug()) {
 				getListener().getLogger().println(String.format(RETRIEVE_SNAPSHOT_FOR_BUILD_STARTED_MSG, 
 													buildResultUUID));
@@ -141,6 +142,9 @@ public class RetrieveSnapshotTask extends RTCTask<RTCBuildStepResponse> {
     		}
     		throw new IOException(message); 
 		} finally {
+			if (facade != null) {
+				facade.release();
+			}
 			getLogger().exiting(this.getClass().getName(), "invoke"); //$NON-NLS-1$
 		}
 	}
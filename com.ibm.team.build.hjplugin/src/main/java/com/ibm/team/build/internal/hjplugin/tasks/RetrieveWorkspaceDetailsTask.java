@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 IBM Corporation and others.
+ * Copyright (c) 2021, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -94,6 +94,7 @@ public class RetrieveWorkspaceDetailsTask extends RTCTask<String> {
 	@Override
 	public String invoke(File f, VirtualChannel channel) throws IOException, InterruptedException {
 		getLogger().entering(this.getClass().getName(), "invoke");
+		RTCFacadeWrapper facade = null;
 		try {
 			printDebugMsgStart();
 			// We are not checking the following
@@ -103,7 +104,7 @@ public class RetrieveWorkspaceDetailsTask extends RTCTask<String> {
 			
 			// If the buildtoolkit path is not found in the agent,
 			// then this will fail with an appropriate exception message sent to the user.
-			RTCFacadeWrapper facade = RTCFacadeFactory.getFacade(buildToolkitPath, null);
+			facade = RTCFacadeFactory.acquireFacade(buildToolkitPath, null);
 
 			// Resolve the workspace (from the build definition or the build workspace)
 			// and get the build workspace UUID
@@ -143,6 +144,9 @@ public class RetrieveWorkspaceDetailsTask extends RTCTask<String> {
 			}
 			throw new IOException(message); 
 		} finally {
+			if (facade != null) {
+				facade.release();
+			}
 			getLogger().exiting(this.getClass().getName(), "invoke"); //$NON-NLS-1$
 		}
 	}
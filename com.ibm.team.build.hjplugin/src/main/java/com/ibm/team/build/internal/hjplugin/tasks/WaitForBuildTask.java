@@ -1,6 +1,6 @@
 /*******************************************************************************
  * Licensed Materials - Property of IBM
- * (c) Copyright IBM Corporation 2021, 2024. All Rights Reserved.
+ * (c) Copyright IBM Corporation 2021, 2025. All Rights Reserved.
  * 
  * Note to U.S. Government Users Restricted Rights:  Use,
  * duplication or disclosure restricted by GSA ADP Schedule 
@@ -98,6 +98,7 @@ public class WaitForBuildTask extends RTCTask<RTCBuildStepResponse> {
 	@Override
 	public RTCBuildStepResponse invoke(File f, VirtualChannel channel) throws IOException, InterruptedException {
 		getLogger().entering(this.getClass().getName(), "invoke");
+		RTCFacadeWrapper facade = null;
 		try {
 			// We are not checking the following
 			// Invalid build state in the states array or non empty states array.
@@ -107,7 +108,7 @@ public class WaitForBuildTask extends RTCTask<RTCBuildStepResponse> {
 			
 			// If the buildtoolkit path is not found in the agent, then this will fail with an 
 			// appropriate exception message sent to the user.
-			RTCFacadeWrapper facade = RTCFacadeFactory.getFacade(buildToolkitPath, null);
+			facade = RTCFacadeFactory.acquireFacade(buildToolkitPath, null);
 			if (getIsDebug()) {
 				getListener().getLogger().println(String.format(WAIT_FOR_BUILD_STARTED_MSG, 
 						buildResultUUID, Arrays.toString(buildStatesToWait), waitBuildTimeout));
@@ -163,6 +164,9 @@ public class WaitForBuildTask extends RTCTask<RTCBuildStepResponse> {
     		}
     		throw new IOException(message); 
 		} finally {
+			if (facade != null) {
+				facade.release();
+			}
 			getLogger().exiting(this.getClass().getName(), "invoke"); //$NON-NLS-1$
 		}
 	}
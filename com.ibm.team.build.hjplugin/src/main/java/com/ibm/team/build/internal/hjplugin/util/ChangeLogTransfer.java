@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.util;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterOutputStream;
+
+/**
+ * Streams for sending the change log written on the agent to the change log file
+ * on the controller.
+ *
+ * The change log is written a line at a time, so on a remote agent it is buffered
+ * into large chunks and, unless disabled with {@link #DISABLE_COMPRESSION_PROPERTY},
+ * compressed before it crosses the remoting channel. The controller side inflates
+ * it again as it writes the file.
+ */
+public final class ChangeLogTransfer {
+
+	private static final Logger LOGGER = Logger.getLogger(ChangeLogTransfer.class.getName());
+
+	/**
+	 * System property to send the change log from remote agents uncompressed
+	 */
+	public static final String DISABLE_COMPRESSION_PROPERTY = "com.ibm.team.build.disableChangeLogCompression"; //$NON-NLS-1$
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private ChangeLogTransfer() {
+	}
+
+	/**
+	 * @param isRemote Whether the change log is written on a remote agent
+	 * @return <code>true</code> if the change log should be compressed
+	 */
+	public static boolean isCompressed(boolean isRemote) {
+		return isRemote && !Boolean.getBoolean(DISABLE_COMPRESSION_PROPERTY);
+	}
+
+	/**
+	 * Open the change log file on the controller
+	 * @param changeLogFile The change log file
+	 * @param compressed Whether the agent sends the change log compressed
+	 * @return The stream to export to the agent
+	 * @throws IOException If the file could not be opened
+	 */
+	public static OutputStream openChangeLogFile(File changeLogFile, boolean compressed) throws IOException {
+		OutputStream fileStream = new FileOutputStream(changeLogFile);
+		if (!compressed) {
+			return fileStream;
+		}
+		return new InflatingOutputStream(fileStream);
+	}
+
+	/**
+	 * Wrap the stream to the controller's change log file on the agent.
+	 * The stream returned must be closed once the change log is written.
+	 * @param changeLog The stream exported by the controller. May be <code>null</code>
+	 * @param compressed Whether the controller expects the change log compressed
+	 * @return The stream to write the change log to, <code>null</code> if there is no change log
+	 */
+	public static OutputStream wrapChangeLog(OutputStream changeLog, boolean compressed) {
+		if (changeLog == null) {
+			return null;
+		}
+		if (compressed) {
+			return new DeflatingOutputStream(changeLog);
+		}
+		return new BufferedOutputStream(changeLog, BUFFER_SIZE);
+	}
+
+	/**
+	 * Close a change log stream on the agent, sending what remains of the change log.
+	 * Closing a stream that is already closed has no effect.
+	 * @param changeLog The stream returned by {@link #wrapChangeLog(OutputStream, boolean)}.
+	 * May be <code>null</code>
+	 */
+	public static void close(OutputStream changeLog) {
+		if (changeLog == null) {
+			return;
+		}
+		try {
+			changeLog.close();
+		} catch (IOException e) {
+			LOGGER.log(Level.FINER, "Failed to close the change log", e); //$NON-NLS-1$
+		}
+	}
+
+	private static final class DeflatingOutputStream extends DeflaterOutputStream {
+		private boolean closed;
+
+		DeflatingOutputStream(OutputStream out) {
+			// compression speed matters more than size, the change log compresses well anyway
+			super(out, new Deflater(Deflater.BEST_SPEED), BUFFER_SIZE);
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			try {
+				super.close();
+			} finally {
+				def.end();
+			}
+		}
+	}
+
+	private static final class InflatingOutputStream extends InflaterOutputStream {
+		private boolean closed;
+
+		InflatingOutputStream(OutputStream out) {
+			super(new BufferedOutputStream(out, BUFFER_SIZE), new Inflater(), BUFFER_SIZE);
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			try {
+				super.close();
+			} finally {
+				inf.end();
+			}
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import net.sf.json.JSON;
+import net.sf.json.JSONObject;
+
+/**
+ * Remembers the response of the version compatibility service of each EWM server
+ * for a while, since the server version rarely changes. The response does not
+ * depend on the user, so it is shared by all callers of the same server.
+ *
+ * Entries expire after {@link #TTL_PROPERTY} seconds and are discarded when a
+ * connection to the server fails.
+ */
+final class CompatibilityCheckCache {
+
+	private static final Logger LOGGER = Logger.getLogger(CompatibilityCheckCache.class.getName());
+
+	/**
+	 * System property for the number of seconds a compatibility check response is kept.
+	 * 0 disables the cache.
+	 */
+	static final String TTL_PROPERTY = "com.ibm.team.build.compatibilityCheckCacheTTL"; //$NON-NLS-1$
+
+	private static final long DEFAULT_TTL_SECONDS = 600;
+
+	private static final String KEY_SEPARATOR = "#"; //$NON-NLS-1$
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+	private static final class Entry {
+		private final String serverURI;
+		private final JSONObject response;
+		private final long expiry;
+
+		Entry(String serverURI, JSONObject response, long expiry) {
+			this.serverURI = serverURI;
+			this.response = response;
+			this.expiry = expiry;
+		}
+	}
+
+	private static long getTTLMillis() {
+		return TimeUnit.SECONDS.toMillis(Long.getLong(TTL_PROPERTY, DEFAULT_TTL_SECONDS));
+	}
+
+	private static String getKey(String serverURI, String compatibilityURI) {
+		return serverURI + KEY_SEPARATOR + compatibilityURI;
+	}
+
+	/**
+	 * @param serverURI The EWM server URI
+	 * @param compatibilityURI The compatibility URI fragment
+	 * @return A copy of the response if there is one that has not expired,
+	 * <code>null</code> otherwise
+	 */
+	JSON get(String serverURI, String compatibilityURI) {
+		String key = getKey(serverURI, compatibilityURI);
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expiry <= System.currentTimeMillis()) {
+			entries.remove(key, entry);
+			return null;
+		}
+		LOGGER.finest("Using the cached compatibility check response for " + key); //$NON-NLS-1$
+		return JSONObject.fromObject(entry.response);
+	}
+
+	/**
+	 * Remember the response of the compatibility service. Only complete responses
+	 * are remembered.
+	 * @param serverURI The EWM server URI
+	 * @param compatibilityURI The compatibility URI fragment
+	 * @param response The response
+	 */
+	void put(String serverURI, String compatibilityURI, JSON response) {
+		long ttl = getTTLMillis();
+		if (ttl <= 0 || !(response instanceof JSONObject)
+				|| JSONHelper.getBoolean(response, RTCFacadeFacade.JSON_PROP_COMPATIBLE) == null) {
+			return;
+		}
+		entries.put(getKey(serverURI, compatibilityURI),
+				new Entry(serverURI, JSONObject.fromObject(response), System.currentTimeMillis() + ttl));
+	}
+
+	/**
+	 * Forget all responses from the server, for example because it could not be reached
+	 * @param serverURI The EWM server URI
+	 */
+	void invalidate(String serverURI) {
+		for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+			if (it.next().serverURI.equals(serverURI)) {
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Forget all responses
+	 */
+	void clear() {
+		entries.clear();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright © 2014, 2021 IBM Corporation and others.
+ * Copyright © 2014, 2025 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,7 +12,6 @@ package com.ibm.team.build.internal.hjplugin.util;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
-import java.net.URL;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -32,6 +31,7 @@ import com.ibm.team.build.internal.hjplugin.Messages;
 import com.ibm.team.build.internal.hjplugin.RTCBuildResultAction;
 import com.ibm.team.build.internal.hjplugin.RTCFacadeFactory;
 import com.ibm.team.build.internal.hjplugin.RTCFacadeFactory.RTCFacadeWrapper;
+import com.ibm.team.build.internal.hjplugin.RTCFacadeJarCache;
 import com.ibm.team.build.internal.hjplugin.RTCJobProperties;
 import com.ibm.team.build.internal.hjplugin.RTCLoginInfo;
 
@@ -47,8 +47,6 @@ import hudson.model.Run;
 import hudson.model.StringParameterDefinition;
 import hudson.model.StringParameterValue;
 import hudson.model.TaskListener;
-import hudson.remoting.Channel;
-import hudson.remoting.VirtualChannel;
 import hudson.util.FormValidation;
 import jenkins.model.Jenkins;
 
@@ -63,7 +61,7 @@ public class Helper {
 	private static final String CURRENT_BUILD_LABEL_KEY = "currentBuildLabel"; //$NON-NLS-1$
 	
 	private static final String SNAPSHOT_OWNER = "team_scm_snapshotOwner"; //$NON-NLS-1$
-	private static final String TEAM_SCM_SNAPSHOT_UUID_PROPERTY = "team_scm_snapshotUUID";
+	public static final String TEAM_SCM_SNAPSHOT_UUID_PROPERTY = "team_scm_snapshotUUID"; //$NON-NLS-1$
 
 	
 	private static final String BUILD_STATE_DELIMITER = ",";
@@ -681,16 +679,7 @@ public class Helper {
 	public static void sendJarsToAgent(FilePath workspacePath)
 			throws MalformedURLException, IOException, InterruptedException {
 		Helper.LOGGER.finest("Helper.sendJarsToAgent : Begin");
-		VirtualChannel channel = workspacePath.getChannel();
-		URL facadeJarURL = RTCFacadeFactory.getFacadeJarURL(null);
-		if (channel instanceof Channel && facadeJarURL != null) {
-			// try to find our jar
-			Class<?> originalClass = Helper.class;
-			ClassLoader originalClassLoader = (ClassLoader) originalClass.getClassLoader();
-			URL [] jars = new URL[] {facadeJarURL};
-			boolean result = ((Channel) channel).preloadJar(originalClassLoader, jars);
-			Helper.LOGGER.finer("Prefetch result for sending jars is " + result);  //$NON-NLS-1$ //$NON-NLS-2$
-		}
+		RTCFacadeJarCache.sendJarToAgent(workspacePath);
 		Helper.LOGGER.finest("Helper.sendJarsToAgent : End");
 	}
 
@@ -830,5 +819,38 @@ public class Helper {
 		}
 		return snapshotUUID;
 	}
+
+	/**
+	 * Retrieve the baseline of each component in a snapshot from the build that recorded 
+	 * the snapshot, see {@link RTCBuildResultAction#getComponentBaselines(String)}. 
+	 * 
+	 * @param buildParm The current build. The search starts with the build before it.
+	 * @param snapshotUUID The UUID of the snapshot of a previous build. May be <code>null</code>
+	 * @return The baseline UUID of each component UUID in the snapshot. <code>null</code> if 
+	 * the build that recorded the snapshot did not keep them.
+	 */
+	public static Map<String, String> getComponentBaselinesFromPreviousBuild(final Run<?, ?> buildParm,
+			String snapshotUUID) {
+		if (snapshotUUID == null) {
+			return null;
+		}
+		Run <?, ?> build = buildParm.getPreviousBuild();
+		while (build != null) {
+			boolean recordedSnapshot = false;
+			for (RTCBuildResultAction rtcBuildResultAction : build.getActions(RTCBuildResultAction.class)) {
+				Map<String, String> componentBaselines = rtcBuildResultAction.getComponentBaselines(snapshotUUID);
+				if (componentBaselines != null) {
+					return componentBaselines;
+				}
+				recordedSnapshot |= snapshotUUID.equals(rtcBuildResultAction.getBuildProperties().get(TEAM_SCM_SNAPSHOT_UUID_PROPERTY));
+			}
+			if (recordedSnapshot) {
+				// the build of the snapshot did not keep them
+				return null;
+			}
+			build = build.getPreviousBuild();
+		}
+		return null;
+	}
 }
  
\ No newline at end of file
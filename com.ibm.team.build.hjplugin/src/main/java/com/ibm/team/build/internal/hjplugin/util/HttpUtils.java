@@ -149,6 +149,10 @@ public class HttpUtils {
     private static Pattern JAUTH_PATTERN = Pattern.compile("^[Jj][Aa][Uu][Tt][Hh]\\s+.*"); //$NON-NLS-1$
     private static Pattern BASIC_PATTERN = Pattern.compile("^[Bb][Aa][Ss][Ii][Cc]\\s+.*"); //$NON-NLS-1$
     private static final String LOCATION = "Location"; //$NON-NLS-1$
+    private static final String METHOD_GET = "GET"; //$NON-NLS-1$
+    private static final String METHOD_PUT = "PUT"; //$NON-NLS-1$
+    private static final String METHOD_POST = "POST"; //$NON-NLS-1$
+    private static final String METHOD_DELETE = "DELETE"; //$NON-NLS-1$
 	
 	private static CloseableHttpClient HTTP_CLIENT = null;
 
@@ -477,11 +481,13 @@ public class HttpUtils {
 				response = httpClient.execute(request, httpContext);
 			}
 			int statusCode = response.getStatusLine().getStatusCode();
+			RTCMetrics.getInstance().restCall(METHOD_GET, fullURI, statusCode);
 			
 			if (statusCode == 200) {
 				InputStreamReader inputStream = new InputStreamReader(response.getEntity().getContent(), UTF_8);
 				try {
 					String responseContent = IOUtils.toString(inputStream);
+					recordResponseSize(response, responseContent);
 					GetResult result = new GetResult(httpContext, JSONSerializer.toJSON(responseContent));
 					return result;
 				} finally {
@@ -562,11 +568,14 @@ public class HttpUtils {
 				response = httpClient.execute(request, httpContext);
 			}
 			int statusCode = response.getStatusLine().getStatusCode();
+			RTCMetrics.getInstance().restCall(METHOD_GET, fullURI, statusCode);
 			
 			if (statusCode == 200) {
 				InputStreamReader inputStream = new InputStreamReader(response.getEntity().getContent(), UTF_8);
 				try {
-					return new Tuple<HttpClientContext, String>(httpContext, IOUtils.toString(inputStream));
+					String responseContent = IOUtils.toString(inputStream);
+					recordResponseSize(response, responseContent);
+					return new Tuple<HttpClientContext, String>(httpContext, responseContent);
 				} finally {
 					try {
 						inputStream.close();
@@ -653,6 +662,7 @@ public class HttpUtils {
 			}
 
 			int statusCode = response.getStatusLine().getStatusCode();
+			RTCMetrics.getInstance().restCall(METHOD_PUT, fullURI, statusCode);
 			if (statusCode == 401) {
 				// It is an unusual case to get here (in our current work flow) because it means
 				// the user has become unauthenticated since the previous request 
@@ -746,6 +756,7 @@ public class HttpUtils {
 			}
 
 			int statusCode = response.getStatusLine().getStatusCode();
+			RTCMetrics.getInstance().restCall(METHOD_POST, fullURI, statusCode);
 			if (statusCode == 401) {
 				// It is an unusual case to get here (in our current work flow) because it means
 				// the user has become unauthenticated since the previous request 
@@ -884,6 +895,7 @@ public class HttpUtils {
 			IOException {
 		int statusCode;
 		statusCode = response.getStatusLine().getStatusCode();
+		RTCMetrics.getInstance().restCall(METHOD_DELETE, fullURI, statusCode);
 		if (statusCode == 401) {
 			// the user is unauthenticated
 			throw new InvalidCredentialsException(Messages.HttpUtils_authentication_failed(userId, serverURI));
@@ -1287,8 +1299,10 @@ public class HttpUtils {
 			closeResponse(response);
 			
 			// login using Form based auth
+			RTCMetrics.getInstance().login("form"); //$NON-NLS-1$
 			return handleFormBasedChallenge(httpClient, httpContext, serverURI, userId, password, timeout, listener);
 		}else if(statusCode == 401 && bearerHeader.toLowerCase().matches("(.*)bearer(.*)")){
+			RTCMetrics.getInstance().login("bearer"); //$NON-NLS-1$
 			return handleBearerChallenge(response, httpClient, httpContext, serverURI, userId, password);
 		}else if (statusCode == 401 && basicHeader != null) {
 	        if (JAUTH_PATTERN.matcher(basicHeader.getValue()).matches()) {
@@ -1298,6 +1312,7 @@ public class HttpUtils {
 				closeResponse(response);
 				
 				// setup the context to use Basic auth
+				RTCMetrics.getInstance().login("basic"); //$NON-NLS-1$
 				handleBasicAuthChallenge(httpContext, serverURI, userId, password, listener);
 				return null;
 	        }
@@ -1571,6 +1586,17 @@ private static CloseableHttpResponse executePrimitiveRequest(HttpRequest request
 	    httpContext.setAuthCache(authCache);
 	}
 
+	/**
+	 * Count the size of a response body in the metrics
+	 * @param response The response
+	 * @param content The body that was read from it
+	 */
+	private static void recordResponseSize(CloseableHttpResponse response, String content) {
+		long length = response.getEntity().getContentLength();
+		// chunked responses have no length, the number of characters is close enough
+		RTCMetrics.getInstance().restResponse(length >= 0 ? length : content.length());
+	}
+
 	private static void closeResponse(CloseableHttpResponse formResponse) {
 		if (formResponse != null) {
 			try {
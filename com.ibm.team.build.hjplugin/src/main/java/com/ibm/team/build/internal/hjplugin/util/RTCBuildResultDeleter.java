@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.util;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.team.build.internal.hjplugin.Messages;
+
+/**
+ * Deletes EWM build results in the background, in batches.
+ *
+ * Deleting a job with many builds used to delete the build results one at a time,
+ * with a login for each, while the job deletion request waited. The build results
+ * are now grouped by the server and credentials used to delete them, and each group
+ * is deleted in batches, with a single login per batch, off the request thread.
+ * Build results submitted for a group that is already being deleted are added to
+ * the same group.
+ */
+public class RTCBuildResultDeleter {
+
+	private static final Logger LOGGER = Logger.getLogger(RTCBuildResultDeleter.class.getName());
+
+	/**
+	 * System property for the number of build results deleted with a single login
+	 */
+	public static final String BATCH_SIZE_PROPERTY = "com.ibm.team.build.deleteBuildResults.batchSize"; //$NON-NLS-1$
+
+	/**
+	 * System property for the number of threads deleting build results
+	 */
+	public static final String THREADS_PROPERTY = "com.ibm.team.build.deleteBuildResults.threads"; //$NON-NLS-1$
+
+	private static final int DEFAULT_BATCH_SIZE = 100;
+	private static final int DEFAULT_THREADS = 2;
+
+	private static RTCBuildResultDeleter instance;
+
+	/**
+	 * Build result UUIDs waiting to be deleted, per target. Guarded by this.
+	 */
+	private final Map<DeletionTarget, Set<String>> pending = new LinkedHashMap<DeletionTarget, Set<String>>();
+
+	/**
+	 * Number of build results submitted but not yet attempted. Guarded by this.
+	 */
+	private int pendingCount;
+
+	/**
+	 * Number of targets whose build results are being deleted. Guarded by this.
+	 */
+	private int activeTasks;
+
+	private final ExecutorService executor;
+	private final int batchSize;
+
+	/**
+	 * The server and credentials used to delete a group of build results.
+	 * Only kept in memory.
+	 */
+	static final class DeletionTarget {
+		private final String buildToolkit;
+		private final String serverUri;
+		private final String userId;
+		private final String password;
+		private final int timeout;
+		private final boolean avoidUsingToolkit;
+
+		DeletionTarget(String buildToolkit, String serverUri, String userId, String password,
+				int timeout, boolean avoidUsingToolkit) {
+			this.buildToolkit = buildToolkit;
+			this.serverUri = serverUri;
+			this.userId = userId;
+			this.password = password;
+			this.timeout = timeout;
+			this.avoidUsingToolkit = avoidUsingToolkit;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof DeletionTarget)) {
+				return false;
+			}
+			DeletionTarget other = (DeletionTarget) obj;
+			return timeout == other.timeout
+					&& avoidUsingToolkit == other.avoidUsingToolkit
+					&& Objects.equals(buildToolkit, other.buildToolkit)
+					&& Objects.equals(serverUri, other.serverUri)
+					&& Objects.equals(userId, other.userId)
+					&& Objects.equals(password, other.password);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(buildToolkit, serverUri, userId, Integer.valueOf(timeout), Boolean.valueOf(avoidUsingToolkit));
+		}
+
+		@Override
+		public String toString() {
+			// never include the password
+			return userId + "@" + serverUri; //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @return The deleter for this controller
+	 */
+	public static synchronized RTCBuildResultDeleter getInstance() {
+		if (instance == null) {
+			instance = new RTCBuildResultDeleter(Math.max(1, Integer.getInteger(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE)),
+					Math.max(1, Integer.getInteger(THREADS_PROPERTY, DEFAULT_THREADS)));
+		}
+		return instance;
+	}
+
+	RTCBuildResultDeleter(int batchSize, int threads) {
+		this.batchSize = batchSize;
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(),
+				new NamingThreadFactory(new DaemonThreadFactory(), "RTCBuildResultDeleter")); //$NON-NLS-1$
+		pool.allowCoreThreadTimeOut(true);
+		this.executor = pool;
+	}
+
+	/**
+	 * Queue build results to be deleted in the background.
+	 *
+	 * @param buildToolkit The path to the build toolkit should the toolkit need to be used
+	 * @param serverUri The address of the repository server
+	 * @param userId The user id to use when logging into the server
+	 * @param password The password to use when logging into the server
+	 * @param timeout The timeout period for requests made to the server
+	 * @param avoidUsingToolkit Whether to avoid using the build toolkit (use rest service instead)
+	 * @param buildResultUUIDs The UUIDs of the build results to delete
+	 */
+	public void submit(String buildToolkit, String serverUri, String userId, String password,
+			int timeout, boolean avoidUsingToolkit, List<String> buildResultUUIDs) {
+		if (buildResultUUIDs.isEmpty()) {
+			return;
+		}
+		DeletionTarget target = new DeletionTarget(buildToolkit, serverUri, userId, password, timeout, avoidUsingToolkit);
+		boolean schedule;
+		synchronized (this) {
+			Set<String> uuids = pending.get(target);
+			schedule = uuids == null;
+			if (schedule) {
+				uuids = new LinkedHashSet<String>();
+				pending.put(target, uuids);
+			}
+			int sizeBefore = uuids.size();
+			uuids.addAll(buildResultUUIDs);
+			pendingCount += uuids.size() - sizeBefore;
+			if (schedule) {
+				activeTasks++;
+			}
+		}
+		if (schedule) {
+			LOGGER.finer("Scheduling deletion of build results for " + target); //$NON-NLS-1$
+			executor.execute(new DeleteTask(target));
+		}
+	}
+
+	/**
+	 * @return The number of build results waiting to be deleted
+	 */
+	public synchronized int getPendingCount() {
+		return pendingCount;
+	}
+
+	/**
+	 * Wait for the build results submitted so far to be deleted.
+	 *
+	 * @param timeout The maximum time to wait
+	 * @param unit The unit of the timeout
+	 * @return <code>true</code> if there is nothing left to delete,
+	 * <code>false</code> if the timeout elapsed first
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	public synchronized boolean waitForPendingDeletions(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+		while (activeTasks > 0) {
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0) {
+				return false;
+			}
+			wait(remaining);
+		}
+		return true;
+	}
+
+	/**
+	 * Take the next batch for the target. When there is nothing left, the target is
+	 * removed so that the next submission schedules a new task.
+	 */
+	private synchronized List<String> nextBatch(DeletionTarget target) {
+		Set<String> uuids = pending.get(target);
+		if (uuids == null || uuids.isEmpty()) {
+			pending.remove(target);
+			activeTasks--;
+			notifyAll();
+			return null;
+		}
+		List<String> batch = new ArrayList<String>(Math.min(batchSize, uuids.size()));
+		for (Iterator<String> it = uuids.iterator(); it.hasNext() && batch.size() < batchSize; ) {
+			batch.add(it.next());
+			it.remove();
+		}
+		pendingCount -= batch.size();
+		return batch;
+	}
+
+	private final class DeleteTask implements Runnable {
+		private final DeletionTarget target;
+
+		DeleteTask(DeletionTarget target) {
+			this.target = target;
+		}
+
+		@Override
+		public void run() {
+			int deleted = 0;
+			int failed = 0;
+			List<String> batch;
+			while ((batch = nextBatch(target)) != null) {
+				try {
+					Map<String, String> failures = RTCFacadeFacade.deleteBuilds(target.buildToolkit,
+							target.serverUri, target.userId, target.password, target.timeout,
+							target.avoidUsingToolkit, batch);
+					for (Map.Entry<String, String> failure : failures.entrySet()) {
+						LOGGER.log(Level.WARNING, Messages.RTCBuildResultHelper_delete_build_result_failed(failure.getKey(), failure.getValue()));
+					}
+					failed += failures.size();
+					deleted += batch.size() - failures.size();
+				} catch (Exception e) {
+					// the whole batch failed, likely a login or connection problem
+					failed += batch.size();
+					LOGGER.log(Level.WARNING, Messages.RTCBuildResultDeleter_delete_batch_failed(batch.size(), target.serverUri, e.getMessage()));
+					LOGGER.log(Level.FINER, "failed to delete build results", e); //$NON-NLS-1$
+				}
+				LOGGER.info(Messages.RTCBuildResultDeleter_progress(deleted, deleted + failed + getPendingCount(target), target.serverUri));
+			}
+		}
+	}
+
+	private synchronized int getPendingCount(DeletionTarget target) {
+		Set<String> uuids = pending.get(target);
+		return uuids == null ? 0 : uuids.size();
+	}
+}
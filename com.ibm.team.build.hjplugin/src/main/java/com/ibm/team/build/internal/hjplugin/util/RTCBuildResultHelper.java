@@ -14,7 +14,10 @@ package com.ibm.team.build.internal.hjplugin.util;
 import hudson.model.AbstractProject;
 import hudson.model.TaskListener;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -67,4 +70,56 @@ public class RTCBuildResultHelper {
 			}
 		}
 	}
+
+	/**
+	 * Delete the RTC Build result(s) that were associated with one or more Jenkins builds
+	 * in the background. The build results are grouped by the server and credentials
+	 * used to delete them and deleted in batches by {@link RTCBuildResultDeleter}.
+	 * The credentials are resolved before returning, so this should be called while the
+	 * project still exists.
+	 * @param buildResultActions The actions identifying the build results to delete
+	 * @param project The project that was built (its necessary to resolve Jenkins Credentials)
+	 * @param rtcScmConfigs The current RTC SCM configuration(s) of the project that did the build.
+	 */
+	public static void deleteRTCBuildResultsInBackground(
+			List<RTCBuildResultAction> buildResultActions,
+			AbstractProject<?, ?> project, Set<RTCScm> rtcScmConfigs) {
+		
+		// Group the build results by the RTCScm config that will be used to delete them
+		Map<RTCScm, List<String>> uuidsByScm = new IdentityHashMap<RTCScm, List<String>>();
+		for (RTCBuildResultAction buildResultAction : buildResultActions) {
+			// buildResultUUID will be null if dealing with a workspace build
+			String buildResultUUID = buildResultAction.getBuildResultUUID();
+			if (buildResultUUID != null && !buildResultUUID.isEmpty()) {
+				RTCScm rtcScm = RTCScmConfigHelper.findRTCScm(rtcScmConfigs, buildResultAction);
+				if (rtcScm != null) {
+					List<String> uuids = uuidsByScm.get(rtcScm);
+					if (uuids == null) {
+						uuids = new ArrayList<String>();
+						uuidsByScm.put(rtcScm, uuids);
+					}
+					uuids.add(buildResultUUID);
+				}
+			}
+		}
+		
+		// Resolve the toolkit & credentials once per config rather than once per build result
+		for (Map.Entry<RTCScm, List<String>> entry : uuidsByScm.entrySet()) {
+			RTCScm rtcScm = entry.getKey();
+			try {
+				String masterBuildToolkit = rtcScm.getDescriptor().getMasterBuildToolkit(
+						rtcScm.getBuildTool(), TaskListener.NULL);
+				RTCLoginInfo loginInfo = rtcScm.getLoginInfo(
+						project, masterBuildToolkit);
+				RTCBuildResultDeleter.getInstance().submit(masterBuildToolkit,
+						loginInfo.getServerUri(), loginInfo.getUserId(), loginInfo.getPassword(),
+						loginInfo.getTimeout(), rtcScm.getAvoidUsingToolkit(), entry.getValue());
+			} catch (Exception e) {
+				for (String buildResultUUID : entry.getValue()) {
+					LOGGER.log(Level.WARNING, Messages.RTCBuildResultHelper_delete_build_result_failed(buildResultUUID, e.getMessage()));
+				}
+				LOGGER.log(Level.FINER, "failed to delete build results", e); //$NON-NLS-1$
+			}
+		}
+	}
 }
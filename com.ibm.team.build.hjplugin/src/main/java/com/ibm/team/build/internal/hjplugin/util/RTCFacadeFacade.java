@@ -23,9 +23,11 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.SimpleTimeZone;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -59,9 +61,9 @@ public class RTCFacadeFacade {
 	private static final Logger LOGGER = Logger.getLogger(RTCFacadeFacade.class.getName());
 
 	// JSON fields for #testConnection
-	private static final String JSON_PROP_COMPATIBLE = "compatible"; //$NON-NLS-1$
+	static final String JSON_PROP_COMPATIBLE = "compatible"; //$NON-NLS-1$
 	private static final String JSON_PROP_IS_JTS = "isJTS"; //$NON-NLS-1$
-	private static final String JSON_PROP_SERVER_VERSION = "serverVersion"; //$NON-NLS-1$
+	static final String JSON_PROP_SERVER_VERSION = "serverVersion"; //$NON-NLS-1$
 	private static final String JSON_PROP_MESSAGE = "message"; //$NON-NLS-1$
 	private static final String JSON_PROP_URI = "uri"; //$NON-NLS-1$
 
@@ -128,6 +130,8 @@ public class RTCFacadeFacade {
 	
 	protected static HttpUtilsHelper httpUtilsHelper = new HttpUtilsHelper();
 	
+	private static final CompatibilityCheckCache compatibilityCheckCache = new CompatibilityCheckCache();
+	
 	/**
 	 * Used only for testing purposes
 	 * 
@@ -135,6 +139,8 @@ public class RTCFacadeFacade {
 	 */
 	protected static void setHttpUtilsHelper(HttpUtilsHelper h) {
 		httpUtilsHelper = h;
+		// responses cached from the previous helper no longer apply
+		compatibilityCheckCache.clear();
 	}
 	
 	/**
@@ -163,6 +169,29 @@ public class RTCFacadeFacade {
 	 */
 	public static PostBuildDeliverResult postBuildDeliver(String serverURI, String userId, String password, int timeout,
 				String buildResultUUID, String buildResultLabel, TaskListener listener) throws Exception {
+		return postBuildDeliver(new RTCRestSession(serverURI, userId, password, timeout), buildResultUUID, buildResultLabel, listener);
+	}
+
+	/**
+	 * Perform post build deliver for the given build result, reusing the authenticated
+	 * context of the session if there is one.
+	 * 
+	 * @param session The REST session for the build
+	 * @param buildResultUUID
+	 * @param buildResultLabel
+	 * @param listener
+	 * @throws Exception - An IOException is thrown if there is a TeamRepositoryException or if the 
+	 * 			HTTP connection was broken.
+	 * 					   A GeneralSecurityException is thrown if there is a problem performing HTTPs 
+	 * 					  communication
+	 * 					   An InvalidCredentialsException is thrown if the user name or password is incorrect
+	 */
+	public static PostBuildDeliverResult postBuildDeliver(RTCRestSession session,
+				String buildResultUUID, String buildResultLabel, TaskListener listener) throws Exception {
+		String serverURI = session.getServerURI();
+		String userId = session.getUserId();
+		String password = session.getPassword();
+		int timeout = session.getTimeout();
 
 		if (buildResultLabel != null) {
 			listener.getLogger().println(Messages.RTCFacadeFacade_starting_post_build_deliver2(buildResultLabel, buildResultUUID));
@@ -173,10 +202,14 @@ public class RTCFacadeFacade {
 		LOGGER.finest(String.format("RTCFacadeFacade:postBuildDeliver : Enter for %s", buildResultUUID));
 		
 		// There is some issue in the authentication flow when doing a POST
-		// So we have to do a get that logs in to the repository and then do a post
-		String uri = RTCBuildConstants.URI_RESULT + buildResultUUID + SLASH + RTCBuildConstants.URI_SEGMENT_BUILD_STATE;
-		GetResult result = HttpUtils.performGet(serverURI, uri, userId, password, timeout, null, listener);
-		HttpClientContext context = result.getHttpContext();
+		// So we have to do a get that logs in to the repository and then do a post.
+		// If the session has already logged in, the get is not needed.
+		String loginUri = RTCBuildConstants.URI_RESULT + buildResultUUID + SLASH + RTCBuildConstants.URI_SEGMENT_BUILD_STATE;
+		HttpClientContext context = session.getHttpContext();
+		boolean reusedContext = context != null;
+		if (!reusedContext) {
+			context = HttpUtils.performGet(serverURI, loginUri, userId, password, timeout, null, listener).getHttpContext();
+		}
 
 		// Create a JSON object that puts in the details for post build deliver
 		JSONObject participantRequest = new JSONObject();
@@ -185,10 +218,23 @@ public class RTCFacadeFacade {
 		participantRequest.put(RTCBuildConstants.PB_DELIVER_IGNORE_TRIGGER_POLICY_KEY, RTCBuildConstants.TRUE);
 		
 		// Construct the URI for invoking a participant
-		uri = RTCBuildConstants.URI_RESULT + buildResultUUID +
+		String uri = RTCBuildConstants.URI_RESULT + buildResultUUID +
 					RTCBuildConstants.SEPARATOR + RTCBuildConstants.URI_SEGMENT_RESULT_PARTICIPANT;
 		
-		HttpUtils.performPost(serverURI, uri, userId, password, timeout, participantRequest, context, listener);
+		try {
+			HttpUtils.performPost(serverURI, uri, userId, password, timeout, participantRequest, context, listener);
+		} catch (InvalidCredentialsException e) {
+			if (!reusedContext) {
+				throw e;
+			}
+			// The server session may have expired since the context was obtained.
+			// The post was rejected, so it is safe to log in again and retry it once.
+			LOGGER.finer("Post build deliver rejected with the reused context, logging in again"); //$NON-NLS-1$
+			session.invalidate();
+			context = HttpUtils.performGet(serverURI, loginUri, userId, password, timeout, null, listener).getHttpContext();
+			HttpUtils.performPost(serverURI, uri, userId, password, timeout, participantRequest, context, listener);
+		}
+		session.setHttpContext(context);
 		
 		// If this is reached here, we got a 200.
 		if (context != null) {
@@ -781,32 +827,51 @@ public class RTCFacadeFacade {
 	public static void terminateBuild(String masterBuildToolkit, String serverURI, String userId, 
 			String password, int timeout, boolean avoidUsingToolkit, String buildResultUUID,
 			Result buildResult, TaskListener listener) throws Exception {
+		terminateBuild(masterBuildToolkit, new RTCRestSession(serverURI, userId, password, timeout),
+				avoidUsingToolkit, buildResultUUID, buildResult, listener);
+	}
+
+	/**
+	 * Terminate an RTC build previously started by the H/J build.
+	 * Either the rest service or the buld toolkit will be used.
+	 * When the rest service is used, the authenticated context and compatibility check
+	 * result of the session are reused and updated.
+	 *  
+ 	 * @param buildToolkitPath The path to the build toolkit should the toolkit need to be used
+	 * @param session The REST session for the build
+	 * @param avoidUsingToolkit Whether to avoid using the build toolkit (use rest service instead)
+	 * @param buildResultUUID The UUID for the build result to be ended.
+	 * @param buildResult The state of the Jenkins build (success, failure or unstable)
+	 * @param listener A listener that will be notified of the progress and errors encountered.
+	 * @throws Exception If any non-recoverable error occurs.
+	 */
+	public static void terminateBuild(String masterBuildToolkit, RTCRestSession session,
+			boolean avoidUsingToolkit, String buildResultUUID,
+			Result buildResult, TaskListener listener) throws Exception {
+		String serverURI = session.getServerURI();
+		String userId = session.getUserId();
+		String password = session.getPassword();
+		int timeout = session.getTimeout();
 		// post to create; put to update
 		if (avoidUsingToolkit) {
-			// Since we will be making more than 1 rest call, manage the context so we only login once
-			HttpClientContext context = null;
-
 			// perform compatibility check to let them know that the status was not updated
 			// since we won't fail the termination, only do it if we can log it.
 			if (listener != null && buildResult != Result.ABORTED && buildResult != Result.SUCCESS) {
-				String errorMessage = null;
-				String uri = RTCBuildConstants.URI_COMPATIBILITY_CHECK;
-				
-				// Validate that the server version is sufficient 
-				Tuple<String, GetResult> t = testConnectionHTTP(serverURI, userId, password, timeout, uri, 
-											RTCBuildConstants.MINIMUM_SERVER_VERSION);
-				errorMessage = t.getFirst();
+				// Validate that the server version is sufficient (done once per session)
+				String errorMessage = session.checkCompatibility();
 				
 				if (errorMessage != null) {
 					errorMessage = Messages.RTCFacadeFacade_build_termination_status_incomplete(errorMessage);
 					listener.error(errorMessage);
 				}
-				context = t.getSecond().getHttpContext();
 			}
+			// Since we will be making more than 1 rest call, manage the context so we only login once
+			HttpClientContext context = session.getHttpContext();
 			String uri = RTCBuildConstants.URI_RESULT + buildResultUUID + SLASH + RTCBuildConstants.URI_SEGMENT_BUILD_STATE;
 
 			GetResult getResult = HttpUtils.performGet(serverURI, uri, userId, password, timeout, context, listener);
 			context = getResult.getHttpContext();
+			session.setHttpContext(context);
 			JSON json = getResult.getJson();
 
 			String state = JSONHelper.getString(json, BUILD_STATE); 
@@ -868,6 +933,7 @@ public class RTCFacadeFacade {
 				}
 				
 				context = HttpUtils.performPut(serverURI, uri, userId, password, timeout, buildStateDTO, context, listener);
+				session.setHttpContext(context);
 	    	} else {
     			LOGGER.finer("Unexpected response to " + uri + " received: " + (json == null ? "null" : json.toString(4))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 				throw new IOException(Messages.RTCFacadeFacade_unexpected_build_state_put_response(uri, (json == null ? "null" : json.getClass()))); //$NON-NLS-1$
@@ -961,6 +1027,73 @@ public class RTCFacadeFacade {
 		}
 	}
 
+	/**
+	 * Delete a batch of build results using a single login. A failure to delete
+	 * one build result does not stop the deletion of the others. Build results
+	 * that have already been deleted are not reported as failures.
+	 * 
+	 * @param buildToolkitPath The path to the build toolkit should the toolkit need to be used
+	 * @param serverURI The address of the repository server
+	 * @param userId The user id to use when logging into the server
+	 * @param password The password to use when logging into the server.
+	 * @param timeout The timeout period for requests made to the server
+	 * @param avoidUsingToolkit Whether to avoid using the build toolkit (use rest service instead)
+	 * @param buildResultUUIDs The UUIDs of the build results to delete
+	 * @return A map from the UUID of each build result that could not be deleted
+	 * to the reason. Empty if all of them were deleted.
+	 * @throws Exception Thrown if the batch could not be attempted at all.
+	 */
+	@SuppressWarnings("unchecked")
+	public static Map<String, String> deleteBuilds(String buildToolkitPath,
+			String serverURI, String userId, String password, int timeout,
+			boolean avoidUsingToolkit, List<String> buildResultUUIDs) throws Exception {
+		if (avoidUsingToolkit) {
+			Map<String, String> failures = new HashMap<String, String>();
+			// The context from the first successful request is reused for the rest of the batch
+			// so that we only authenticate once.
+			HttpClientContext httpContext = null;
+			for (String buildResultUUID : buildResultUUIDs) {
+				String uri = RTCBuildConstants.URI_RESULT + buildResultUUID;
+				try {
+					if (httpContext == null) {
+						// Perform this Get to avoid the authentication/redirect issues in performDelete method.
+						GetResult result = HttpUtils.performGetWithItemNotFound(serverURI, uri, userId, 
+								password, timeout, true, null, TaskListener.NULL);
+						httpContext = result.getHttpContext();
+					}
+					httpContext = HttpUtils.performDelete(serverURI, uri, userId, password, timeout, httpContext, TaskListener.NULL);
+				} catch (ItemNotFoundException exp) {
+					LOGGER.info(String.format("Build result %s not found. It may have been deleted.", buildResultUUID)); //$NON-NLS-1$
+				} catch (InvalidCredentialsException e) {
+					// no point trying the rest of the batch
+					throw e;
+				} catch (Exception e) {
+					LOGGER.log(Level.FINER, "Unable to delete build result " + buildResultUUID, e); //$NON-NLS-1$
+					failures.put(buildResultUUID, e.getMessage() == null ? e.getClass().getName() : e.getMessage());
+				}
+			}
+			return failures;
+		} else {
+			// use the toolkit
+			RTCFacadeWrapper facade = RTCFacadeFactory.getFacade(buildToolkitPath, null);
+			return (Map<String, String>) facade.invoke(
+					"deleteBuildResults", //$NON-NLS-1$
+					new Class[] { String.class, // serverURI
+							String.class, // userId
+							String.class, // password
+							int.class, // timeout
+							List.class, // buildResultUUIDs
+							Object.class, // listener
+							Locale.class}, // clientLocale
+					serverURI,
+					userId, password,
+					timeout,
+					buildResultUUIDs,
+					TaskListener.NULL,
+					Locale.getDefault());
+		}
+	}
+
 	/**
 	 * Validate if the given workspace exists.
 	 * 
@@ -1591,8 +1724,16 @@ public class RTCFacadeFacade {
 		GetResult result = null;
 		try {
 			// Validate that the server version is sufficient 
-			result = getHttpUtilsHelper().performGet(serverURI, uri, userId, password, timeout, null, null);
-			JSON json = result.getJson();
+			// The response does not change often, so reuse a recent one for this server
+			JSON json = compatibilityCheckCache.get(serverURI, uri);
+			RTCMetrics.getInstance().facadeCache("compatibilityCheck", json != null); //$NON-NLS-1$
+			if (json != null) {
+				result = new GetResult(null, json);
+			} else {
+				result = getHttpUtilsHelper().performGet(serverURI, uri, userId, password, timeout, null, null);
+				json = result.getJson();
+				compatibilityCheckCache.put(serverURI, uri, json);
+			}
 			compatibilityResult  = ensureCompatability(json);
 			errorMessage = compatibilityResult.getErrorMessage();
 			serverVersion = compatibilityResult.getServerVersion();
@@ -1603,6 +1744,8 @@ public class RTCFacadeFacade {
 		} catch (InvalidCredentialsException e) {
 			errorMessage = e.getMessage();
 		} catch (IOException e) {
+			// the server may be down or being upgraded, check again next time
+			compatibilityCheckCache.invalidate(serverURI);
 			errorMessage = e.getMessage();
 		}
 		// At this point, the error can be a compatibility error or invalid credentials
@@ -0,0 +1,420 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * Counters for the EWM operations done by this Jenkins instance, such as polls,
+ * REST calls, logins, accepts and loads.
+ *
+ * Recording is lock free so that it can be done on every call. The metrics are
+ * only those of this JVM: operations done by the build toolkit on an agent are
+ * counted from the results returned to the controller.
+ *
+ * The metrics can be written in the Prometheus text format or as JSON.
+ */
+public final class RTCMetrics {
+
+	/**
+	 * System property for the maximum number of label combinations kept for a metric.
+	 * Further combinations are counted under {@link #OTHER}.
+	 */
+	public static final String MAX_SERIES_PROPERTY = "com.ibm.team.build.metricsMaxSeries"; //$NON-NLS-1$
+
+	private static final int DEFAULT_MAX_SERIES = 500;
+
+	/**
+	 * Label value used once a metric has too many label combinations
+	 */
+	public static final String OTHER = "other"; //$NON-NLS-1$
+
+	public static final String POLL_DURATION = "teamconcert_poll_duration_ms"; //$NON-NLS-1$
+	public static final String POLL_FAILURES = "teamconcert_poll_failures_total"; //$NON-NLS-1$
+	public static final String REST_CALLS = "teamconcert_rest_calls_total"; //$NON-NLS-1$
+	public static final String REST_RESPONSE_BYTES = "teamconcert_rest_response_bytes_total"; //$NON-NLS-1$
+	public static final String LOGINS = "teamconcert_logins_total"; //$NON-NLS-1$
+	public static final String FACADE_CACHE = "teamconcert_facade_cache_total"; //$NON-NLS-1$
+	public static final String ACCEPT_DURATION = "teamconcert_accept_duration_ms"; //$NON-NLS-1$
+	public static final String LOAD_DURATION = "teamconcert_load_duration_ms"; //$NON-NLS-1$
+	public static final String CHANGES_ACCEPTED = "teamconcert_changes_accepted_total"; //$NON-NLS-1$
+	public static final String WAIT_FOR_BUILD_PENDING = "teamconcert_wait_for_build_pending"; //$NON-NLS-1$
+
+	static final String TYPE_COUNTER = "counter"; //$NON-NLS-1$
+	static final String TYPE_GAUGE = "gauge"; //$NON-NLS-1$
+	static final String TYPE_SUMMARY = "summary"; //$NON-NLS-1$
+
+	private static final String LOGIN_SPAN_NAME = "login"; //$NON-NLS-1$
+
+	private static final String CHANGES_ACCEPTED_ATTRIBUTE = "changesAccepted"; //$NON-NLS-1$
+
+	private static final Pattern SCHEME_AND_HOST = Pattern.compile("^[a-zA-Z][a-zA-Z0-9+.-]*://[^/]*"); //$NON-NLS-1$
+
+	// Jazz UUIDs: an underscore followed by 22 url safe base64 characters
+	private static final Pattern UUID_SEGMENT = Pattern.compile("_[A-Za-z0-9_-]{22}"); //$NON-NLS-1$
+
+	private static final Pattern NUMBER_SEGMENT = Pattern.compile("[0-9]+"); //$NON-NLS-1$
+
+	private static final RTCMetrics INSTANCE = new RTCMetrics();
+
+	private final Map<String, Family> families = new ConcurrentHashMap<String, Family>();
+
+	private final int maxSeries;
+
+	/**
+	 * The values of a metric for one combination of labels
+	 */
+	private static final class Series {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder sum = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+	}
+
+	/**
+	 * A metric and its label combinations
+	 */
+	private static final class Family {
+		private final String name;
+		private final String type;
+		private final String[] labelNames;
+		private final Map<String, Series> series = new ConcurrentHashMap<String, Series>();
+		private final Map<String, String[]> labelValues = new ConcurrentHashMap<String, String[]>();
+
+		Family(String name, String type, String[] labelNames) {
+			this.name = name;
+			this.type = type;
+			this.labelNames = labelNames;
+		}
+	}
+
+	/**
+	 * Used only for testing purposes
+	 * @param maxSeries The maximum number of label combinations kept for a metric
+	 */
+	public RTCMetrics(int maxSeries) {
+		this.maxSeries = maxSeries;
+	}
+
+	private RTCMetrics() {
+		this(Integer.getInteger(MAX_SERIES_PROPERTY, DEFAULT_MAX_SERIES));
+	}
+
+	/**
+	 * @return The metrics of this Jenkins instance
+	 */
+	public static RTCMetrics getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Record a poll for changes
+	 * @param job The full name of the job
+	 * @param millis How long the poll took
+	 * @param failed Whether the poll failed
+	 */
+	public void poll(String job, long millis, boolean failed) {
+		observe(POLL_DURATION, millis, new String[] {"job"}, job); //$NON-NLS-1$
+		if (failed) {
+			increment(POLL_FAILURES, 1, new String[] {"job"}, job); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Record a REST call to an EWM server
+	 * @param method The HTTP method
+	 * @param uri The URI of the call. Ids, numbers and the query are removed to group similar calls.
+	 * @param status The HTTP status of the response
+	 */
+	public void restCall(String method, String uri, int status) {
+		increment(REST_CALLS, 1, new String[] {"method", "uri", "status"}, //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				method, getURITemplate(uri), String.valueOf(status));
+	}
+
+	/**
+	 * Record the size of a REST response body
+	 * @param bytes The number of bytes read
+	 */
+	public void restResponse(long bytes) {
+		increment(REST_RESPONSE_BYTES, bytes, new String[0]);
+	}
+
+	/**
+	 * Record a login to an EWM server
+	 * @param scheme How the login was done, such as form, basic or toolkit
+	 */
+	public void login(String scheme) {
+		increment(LOGINS, 1, new String[] {"scheme"}, scheme); //$NON-NLS-1$
+	}
+
+	/**
+	 * Record a lookup in one of the caches of facade objects or responses
+	 * @param cache The name of the cache
+	 * @param hit Whether the lookup found an entry
+	 */
+	public void facadeCache(String cache, boolean hit) {
+		increment(FACADE_CACHE, 1, new String[] {"cache", "result"}, //$NON-NLS-1$ //$NON-NLS-2$
+				cache, hit ? "hit" : "miss"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Record an accept
+	 * @param millis How long the accept took, including the remote call to the agent
+	 * @param remoteSpans The spans returned by the accept, which tell the number of
+	 * change sets accepted and the logins done by the build toolkit. May be <code>null</code>
+	 */
+	public void accept(long millis, Object remoteSpans) {
+		observe(ACCEPT_DURATION, millis, new String[0]);
+		long changesAccepted = 0;
+		for (Map<?, ?> span : getSpans(remoteSpans)) {
+			Object value = span.get(CHANGES_ACCEPTED_ATTRIBUTE);
+			if (value != null) {
+				changesAccepted += RTCTimings.parseLong(value.toString(), 0);
+			}
+		}
+		if (changesAccepted > 0) {
+			increment(CHANGES_ACCEPTED, changesAccepted, new String[0]);
+		}
+		toolkitLogins(remoteSpans);
+	}
+
+	/**
+	 * Record a load
+	 * @param millis How long the load took, including the remote call to the agent
+	 * @param remoteSpans The spans returned by the load. May be <code>null</code>
+	 */
+	public void load(long millis, Object remoteSpans) {
+		observe(LOAD_DURATION, millis, new String[0]);
+		toolkitLogins(remoteSpans);
+	}
+
+	private void toolkitLogins(Object remoteSpans) {
+		for (Map<?, ?> span : getSpans(remoteSpans)) {
+			if (LOGIN_SPAN_NAME.equals(span.get(RTCTimings.NAME))) {
+				login("toolkit"); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private static List<Map<?, ?>> getSpans(Object remoteSpans) {
+		if (!(remoteSpans instanceof List)) {
+			return Collections.emptyList();
+		}
+		List<Map<?, ?>> result = new ArrayList<Map<?, ?>>();
+		for (Object o : (List<?>) remoteSpans) {
+			if (o instanceof Map) {
+				result.add((Map<?, ?>) o);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Record that a waitForBuild step started or finished waiting
+	 * @param delta 1 when it starts, -1 when it finishes
+	 */
+	public void waitForBuild(int delta) {
+		Series series = getSeries(WAIT_FOR_BUILD_PENDING, TYPE_GAUGE, new String[0]);
+		series.sum.add(delta);
+	}
+
+	/**
+	 * @param uri A URI
+	 * @return The path of the URI with the scheme, host, query and ids removed
+	 */
+	public static String getURITemplate(String uri) {
+		if (uri == null) {
+			return ""; //$NON-NLS-1$
+		}
+		String path = SCHEME_AND_HOST.matcher(uri).replaceFirst(""); //$NON-NLS-1$
+		int query = path.indexOf('?');
+		if (query >= 0) {
+			path = path.substring(0, query);
+		}
+		String[] segments = path.split("/", -1); //$NON-NLS-1$
+		StringBuilder result = new StringBuilder(path.length());
+		for (int i = 0; i < segments.length; i++) {
+			if (i > 0) {
+				result.append('/');
+			}
+			String segment = segments[i];
+			if (UUID_SEGMENT.matcher(segment).matches() || NUMBER_SEGMENT.matcher(segment).matches()) {
+				result.append("{id}"); //$NON-NLS-1$
+			} else {
+				result.append(segment);
+			}
+		}
+		return result.toString();
+	}
+
+	private void increment(String name, long delta, String[] labelNames, String... labelValues) {
+		Series series = getSeries(name, TYPE_COUNTER, labelNames, labelValues);
+		series.sum.add(delta);
+	}
+
+	private void observe(String name, long millis, String[] labelNames, String... labelValues) {
+		Series series = getSeries(name, TYPE_SUMMARY, labelNames, labelValues);
+		series.count.increment();
+		series.sum.add(millis);
+		series.max.accumulate(millis);
+	}
+
+	private Series getSeries(String name, String type, String[] labelNames, String... labelValues) {
+		Family family = families.computeIfAbsent(name, n -> new Family(n, type, labelNames));
+		String key = String.join("\u0000", labelValues); //$NON-NLS-1$
+		Series series = family.series.get(key);
+		if (series != null) {
+			return series;
+		}
+		if (family.series.size() >= maxSeries) {
+			// keep the number of series bounded, job names and URIs are not
+			String[] other = new String[labelValues.length];
+			for (int i = 0; i < other.length; i++) {
+				other[i] = OTHER;
+			}
+			labelValues = other;
+			key = String.join("\u0000", labelValues); //$NON-NLS-1$
+		}
+		final String[] values = labelValues;
+		return family.series.computeIfAbsent(key, k -> {
+			family.labelValues.put(k, values);
+			return new Series();
+		});
+	}
+
+	/**
+	 * @param name The name of the metric
+	 * @param labelValues The values of the labels of the metric
+	 * @return The value of a counter or gauge, or the count of a summary.
+	 * 0 if nothing was recorded.
+	 */
+	public long getValue(String name, String... labelValues) {
+		Family family = families.get(name);
+		if (family == null) {
+			return 0;
+		}
+		Series series = family.series.get(String.join("\u0000", labelValues)); //$NON-NLS-1$
+		if (series == null) {
+			return 0;
+		}
+		return TYPE_SUMMARY.equals(family.type) ? series.count.sum() : series.sum.sum();
+	}
+
+	/**
+	 * @return The metrics in the Prometheus text exposition format
+	 */
+	public String toPrometheusText() {
+		StringBuilder out = new StringBuilder();
+		for (Family family : getSortedFamilies()) {
+			out.append("# TYPE ").append(family.name).append(' ').append(family.type).append('\n'); //$NON-NLS-1$
+			for (Map.Entry<String, Series> entry : new TreeMap<String, Series>(family.series).entrySet()) {
+				String labels = formatLabels(family.labelNames, family.labelValues.get(entry.getKey()));
+				Series series = entry.getValue();
+				if (TYPE_SUMMARY.equals(family.type)) {
+					out.append(family.name).append("_count").append(labels).append(' ').append(series.count.sum()).append('\n'); //$NON-NLS-1$
+					out.append(family.name).append("_sum").append(labels).append(' ').append(series.sum.sum()).append('\n'); //$NON-NLS-1$
+					out.append(family.name).append("_max").append(labels).append(' ').append(series.max.get()).append('\n'); //$NON-NLS-1$
+				} else {
+					out.append(family.name).append(labels).append(' ').append(series.sum.sum()).append('\n');
+				}
+			}
+		}
+		return out.toString();
+	}
+
+	/**
+	 * @return The metrics as JSON, one entry per metric and label combination
+	 */
+	public JSONObject toJSON() {
+		JSONArray metrics = new JSONArray();
+		for (Family family : getSortedFamilies()) {
+			for (Map.Entry<String, Series> entry : new TreeMap<String, Series>(family.series).entrySet()) {
+				JSONObject metric = new JSONObject();
+				metric.put("name", family.name); //$NON-NLS-1$
+				metric.put("type", family.type); //$NON-NLS-1$
+				JSONObject labels = new JSONObject();
+				String[] values = family.labelValues.get(entry.getKey());
+				for (int i = 0; i < family.labelNames.length; i++) {
+					labels.put(family.labelNames[i], values[i]);
+				}
+				metric.put("labels", labels); //$NON-NLS-1$
+				Series series = entry.getValue();
+				if (TYPE_SUMMARY.equals(family.type)) {
+					metric.put("count", series.count.sum()); //$NON-NLS-1$
+					metric.put("sum", series.sum.sum()); //$NON-NLS-1$
+					metric.put("max", series.max.get()); //$NON-NLS-1$
+				} else {
+					metric.put("value", series.sum.sum()); //$NON-NLS-1$
+				}
+				metrics.add(metric);
+			}
+		}
+		JSONObject result = new JSONObject();
+		result.put("metrics", metrics); //$NON-NLS-1$
+		return result;
+	}
+
+	/**
+	 * @return A line per metric and label combination, for display
+	 */
+	public List<String> getLines() {
+		List<String> lines = new ArrayList<String>();
+		for (String line : toPrometheusText().split("\n")) { //$NON-NLS-1$
+			if (!line.isEmpty() && !line.startsWith("#")) { //$NON-NLS-1$
+				lines.add(line);
+			}
+		}
+		return lines;
+	}
+
+	private List<Family> getSortedFamilies() {
+		List<Family> result = new ArrayList<Family>(families.values());
+		Collections.sort(result, (a, b) -> a.name.compareTo(b.name));
+		return result;
+	}
+
+	private static String formatLabels(String[] names, String[] values) {
+		if (names.length == 0) {
+			return ""; //$NON-NLS-1$
+		}
+		StringBuilder labels = new StringBuilder("{"); //$NON-NLS-1$
+		for (int i = 0; i < names.length; i++) {
+			if (i > 0) {
+				labels.append(',');
+			}
+			labels.append(names[i]).append("=\""); //$NON-NLS-1$
+			String value = values[i] == null ? "" : values[i]; //$NON-NLS-1$
+			for (int j = 0; j < value.length(); j++) {
+				char c = value.charAt(j);
+				if (c == '\\' || c == '"') {
+					labels.append('\\').append(c);
+				} else if (c == '\n') {
+					labels.append("\\n"); //$NON-NLS-1$
+				} else {
+					labels.append(c);
+				}
+			}
+			labels.append('"');
+		}
+		return labels.append('}').toString();
+	}
+}
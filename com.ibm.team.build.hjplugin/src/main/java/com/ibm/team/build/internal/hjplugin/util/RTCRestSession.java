@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.util;
+
+import java.util.Objects;
+import java.util.logging.Logger;
+
+import org.apache.http.client.protocol.HttpClientContext;
+
+import com.ibm.team.build.internal.hjplugin.RTCLoginInfo;
+import com.ibm.team.build.internal.hjplugin.util.HttpUtils.GetResult;
+
+/**
+ * The state shared by the REST calls made to an EWM server for a single build,
+ * such as post build deliver and the termination of the build result.
+ *
+ * It carries the authenticated context so that we log in once, and the result
+ * of the version compatibility check so that it is done once. It is only kept
+ * in memory and is not shared between builds or credentials.
+ */
+public class RTCRestSession {
+
+	private static final Logger LOGGER = Logger.getLogger(RTCRestSession.class.getName());
+
+	private final String serverURI;
+	private final String userId;
+	private final String password;
+	private final int timeout;
+
+	private HttpClientContext httpContext;
+	private boolean compatibilityChecked;
+	private String compatibilityErrorMessage;
+	private String serverVersion;
+
+	/**
+	 * @param serverURI The address of the repository server
+	 * @param userId The user id to use when logging into the server
+	 * @param password The password to use when logging into the server.
+	 * @param timeout The timeout period for requests made to the server
+	 */
+	public RTCRestSession(String serverURI, String userId, String password, int timeout) {
+		this.serverURI = serverURI;
+		this.userId = userId;
+		this.password = password;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * @param loginInfo The login information for the server
+	 */
+	public RTCRestSession(RTCLoginInfo loginInfo) {
+		this(loginInfo.getServerUri(), loginInfo.getUserId(), loginInfo.getPassword(), loginInfo.getTimeout());
+	}
+
+	/**
+	 * @return Whether this session is for the given server and credentials
+	 */
+	public boolean matches(String serverURI, String userId, String password, int timeout) {
+		return this.timeout == timeout
+				&& Objects.equals(this.serverURI, serverURI)
+				&& Objects.equals(this.userId, userId)
+				&& Objects.equals(this.password, password);
+	}
+
+	public String getServerURI() {
+		return serverURI;
+	}
+
+	public String getUserId() {
+		return userId;
+	}
+
+	public String getPassword() {
+		return password;
+	}
+
+	public int getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * @return The context from the last REST call in this session. <code>null</code>
+	 * if we have not logged in yet.
+	 */
+	public synchronized HttpClientContext getHttpContext() {
+		return httpContext;
+	}
+
+	/**
+	 * Record the context returned from a REST call, for use in subsequent calls
+	 * @param httpContext The context. May be <code>null</code>
+	 */
+	public synchronized void setHttpContext(HttpClientContext httpContext) {
+		if (httpContext != null) {
+			this.httpContext = httpContext;
+		}
+	}
+
+	/**
+	 * Forget the authenticated context, for example because the server session
+	 * has expired. The next call will log in again.
+	 */
+	public synchronized void invalidate() {
+		LOGGER.finer("Discarding the authenticated context for " + userId + "@" + serverURI); //$NON-NLS-1$ //$NON-NLS-2$
+		this.httpContext = null;
+	}
+
+	/**
+	 * Check that the server is compatible with this client. The check is done
+	 * once per session. A check that failed because the server could not be reached
+	 * is not remembered.
+	 *
+	 * @return The error message if the server is not compatible or could not be
+	 * reached, <code>null</code> if the server is compatible.
+	 * @throws Exception If the check could not be done
+	 */
+	public synchronized String checkCompatibility() throws Exception {
+		if (compatibilityChecked) {
+			LOGGER.finest("Reusing the compatibility check result for " + serverURI); //$NON-NLS-1$
+			return compatibilityErrorMessage;
+		}
+		Tuple<String, GetResult> t = RTCFacadeFacade.testConnectionHTTP(serverURI, userId, password, timeout,
+				RTCBuildConstants.URI_COMPATIBILITY_CHECK, RTCBuildConstants.MINIMUM_SERVER_VERSION);
+		GetResult result = t.getSecond();
+		if (result != null) {
+			// we got a response, so the outcome will not change for this build
+			compatibilityChecked = true;
+			compatibilityErrorMessage = t.getFirst();
+			serverVersion = JSONHelper.getString(result.getJson(), RTCFacadeFacade.JSON_PROP_SERVER_VERSION);
+			setHttpContext(result.getHttpContext());
+		}
+		return t.getFirst();
+	}
+
+	/**
+	 * @return The version of the server if the compatibility check has been done
+	 * and the server reported it. <code>null</code> otherwise.
+	 */
+	public synchronized String getServerVersion() {
+		return serverVersion;
+	}
+}
@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * The timings of the phases of a checkout, such as the remote calls to the agent
+ * and the phases of accept and load timed by the facade.
+ *
+ * A span is a map of strings with the name, start, duration and nesting depth
+ * of the phase, plus any attributes. Spans recorded on the agent by the facade
+ * have the same shape, so they are merged under the remote call that returned them.
+ */
+public class RTCTimings {
+
+	/**
+	 * Key of the span name in a span
+	 */
+	public static final String NAME = "name"; //$NON-NLS-1$
+
+	/**
+	 * Key of the start time of the span, in milliseconds since the epoch
+	 */
+	public static final String START = "start"; //$NON-NLS-1$
+
+	/**
+	 * Key of the duration of the span, in milliseconds. Missing if the span was not ended.
+	 */
+	public static final String DURATION = "duration"; //$NON-NLS-1$
+
+	/**
+	 * Key of the nesting depth of the span, 0 for a top level span
+	 */
+	public static final String DEPTH = "depth"; //$NON-NLS-1$
+
+	/**
+	 * Key of the time spent outside the spans recorded on the agent for a remote call,
+	 * in milliseconds. This is mostly transferring the call and its result.
+	 */
+	public static final String REMOTING_OVERHEAD = "remotingOverhead"; //$NON-NLS-1$
+
+	/**
+	 * Name of the property that holds the spans in the result of a facade call
+	 */
+	public static final String TIMINGS_PROPERTY_NAME = "timings"; //$NON-NLS-1$
+
+	private static final String SPANS = "spans"; //$NON-NLS-1$
+
+	private final List<Map<String, String>> spans = new ArrayList<Map<String, String>>();
+	private int depth;
+
+	/**
+	 * A phase being timed. Closing it ends it, so that a phase that fails is ended too.
+	 */
+	public final class Span implements AutoCloseable {
+		private final Map<String, String> span;
+		private final long startNanos;
+		private final int spanDepth;
+		private boolean ended;
+
+		private Span(String name) {
+			this.startNanos = System.nanoTime();
+			this.spanDepth = depth++;
+			this.span = createSpan(name, System.currentTimeMillis(), -1, spanDepth);
+			spans.add(span);
+		}
+
+		/**
+		 * Add an attribute to the span
+		 * @param key The name of the attribute
+		 * @param value The value of the attribute. May be <code>null</code>
+		 * @return This span
+		 */
+		public Span attribute(String key, Object value) {
+			span.put(key, String.valueOf(value));
+			return this;
+		}
+
+		/**
+		 * Record the duration of the span. Ending a span more than once has no effect.
+		 * @return The duration of the span in milliseconds
+		 */
+		public long end() {
+			if (!ended) {
+				ended = true;
+				span.put(DURATION, String.valueOf((System.nanoTime() - startNanos) / 1000000L));
+				depth = spanDepth;
+			}
+			return Long.parseLong(span.get(DURATION));
+		}
+
+		@Override
+		public void close() {
+			end();
+		}
+
+		/**
+		 * Record the duration of a remote call and add the spans recorded on the agent
+		 * under it. The time not covered by the agent's top level spans is recorded as
+		 * {@link #REMOTING_OVERHEAD}.
+		 * @param remoteSpans The spans returned by the remote call. May be <code>null</code>
+		 * if the agent did not return any.
+		 */
+		public void endRemote(Object remoteSpans) {
+			long duration = end();
+			if (!(remoteSpans instanceof List)) {
+				return;
+			}
+			long agentDuration = 0;
+			for (Object o : (List<?>) remoteSpans) {
+				if (!(o instanceof Map)) {
+					continue;
+				}
+				Map<String, String> remoteSpan = new LinkedHashMap<String, String>();
+				for (Map.Entry<?, ?> entry : ((Map<?, ?>) o).entrySet()) {
+					remoteSpan.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+				}
+				int remoteDepth = parseInt(remoteSpan.get(DEPTH), 0);
+				if (remoteDepth == 0) {
+					agentDuration += parseLong(remoteSpan.get(DURATION), 0);
+				}
+				remoteSpan.put(DEPTH, String.valueOf(spanDepth + 1 + remoteDepth));
+				spans.add(remoteSpan);
+			}
+			span.put(REMOTING_OVERHEAD, String.valueOf(Math.max(0, duration - agentDuration)));
+		}
+	}
+
+	/**
+	 * Start timing a phase. Phases started before this one ends are nested under it.
+	 * @param name The name of the phase
+	 * @return The span to end when the phase is done
+	 */
+	public Span start(String name) {
+		return new Span(name);
+	}
+
+	/**
+	 * @return The spans recorded so far, in the order they started
+	 */
+	public List<Map<String, String>> getSpans() {
+		return Collections.unmodifiableList(spans);
+	}
+
+	/**
+	 * Create a span for a phase that has already been timed, such as one timed
+	 * on the agent outside of the facade.
+	 * @param name The name of the phase
+	 * @param start The start time in milliseconds since the epoch
+	 * @param duration The duration in milliseconds. Negative if the phase did not complete
+	 * @param depth The nesting depth
+	 * @return The span
+	 */
+	public static Map<String, String> createSpan(String name, long start, long duration, int depth) {
+		Map<String, String> span = new LinkedHashMap<String, String>();
+		span.put(NAME, name);
+		span.put(START, String.valueOf(start));
+		span.put(DEPTH, String.valueOf(depth));
+		if (duration >= 0) {
+			span.put(DURATION, String.valueOf(duration));
+		}
+		return span;
+	}
+
+	/**
+	 * Add a span timed on the agent to the spans returned by the facade, ahead of them
+	 * @param result The result of the facade call. May be <code>null</code>
+	 * @param span The span to add
+	 */
+	@SuppressWarnings("unchecked")
+	public static void addAgentSpan(Map<String, Object> result, Map<String, String> span) {
+		if (result == null) {
+			return;
+		}
+		Object spans = result.get(TIMINGS_PROPERTY_NAME);
+		if (spans instanceof List) {
+			((List<Object>) spans).add(0, span);
+		} else {
+			List<Object> newSpans = new ArrayList<Object>();
+			newSpans.add(span);
+			result.put(TIMINGS_PROPERTY_NAME, newSpans);
+		}
+	}
+
+	/**
+	 * Write the spans as JSON
+	 * @param file The file to write
+	 * @throws IOException If the file could not be written
+	 */
+	public void writeTo(File file) throws IOException {
+		JSONObject json = new JSONObject();
+		json.put(SPANS, JSONArray.fromObject(spans));
+		Files.write(file.toPath(), json.toString(1).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Read the spans written by {@link #writeTo(File)}
+	 * @param file The file to read
+	 * @return The spans
+	 * @throws IOException If the file could not be read
+	 */
+	public static List<Map<String, String>> readFrom(File file) throws IOException {
+		String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		JSONArray array = JSONObject.fromObject(content).optJSONArray(SPANS);
+		List<Map<String, String>> result = new ArrayList<Map<String, String>>();
+		if (array == null) {
+			return result;
+		}
+		for (int i = 0; i < array.size(); i++) {
+			JSONObject jsonSpan = array.optJSONObject(i);
+			if (jsonSpan == null) {
+				continue;
+			}
+			Map<String, String> span = new LinkedHashMap<String, String>();
+			for (Object key : jsonSpan.keySet()) {
+				span.put(String.valueOf(key), jsonSpan.optString(String.valueOf(key)));
+			}
+			result.add(span);
+		}
+		return result;
+	}
+
+	/**
+	 * @return The value of a numeric span field, or the default if it is missing or not a number
+	 */
+	public static int parseInt(String value, int defaultValue) {
+		try {
+			return value == null ? defaultValue : Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * @return The value of a numeric span field, or the default if it is missing or not a number
+	 */
+	public static long parseLong(String value, long defaultValue) {
+		try {
+			return value == null ? defaultValue : Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+}
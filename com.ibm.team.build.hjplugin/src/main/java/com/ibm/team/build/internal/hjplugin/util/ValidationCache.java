@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.util;
+
+import hudson.util.FormValidation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Remembers the successful results of the configuration checks done against an EWM
+ * server for a short while, so that validating the fields of a configuration page
+ * one after the other does not log in to the server and look up the same items each
+ * time. The same check requested again while it is running waits for the running
+ * one instead of going to the server as well.
+ *
+ * Only {@link FormValidation.Kind#OK} results are remembered, so a problem fixed on
+ * the server is noticed as soon as the field is validated again. Entries expire after
+ * {@link #TTL_PROPERTY} seconds. At most {@link #MAX_ENTRIES} results are kept.
+ */
+public final class ValidationCache {
+
+	private static final Logger LOGGER = Logger.getLogger(ValidationCache.class.getName());
+
+	/**
+	 * System property for the number of seconds a successful validation is kept.
+	 * 0 disables the cache.
+	 */
+	public static final String TTL_PROPERTY = "com.ibm.team.build.validationCacheTTL"; //$NON-NLS-1$
+
+	private static final long DEFAULT_TTL_SECONDS = 30;
+
+	/**
+	 * The maximum number of results kept
+	 */
+	public static final int MAX_ENTRIES = 1000;
+
+	private static final String HMAC_ALGORITHM = "HmacSHA256"; //$NON-NLS-1$
+
+	/**
+	 * The secret the password is keyed with, so that the key of a check never holds
+	 * something the password can be guessed from outside this JVM
+	 */
+	private static final byte[] PASSWORD_SECRET = new byte[32];
+
+	static {
+		new SecureRandom().nextBytes(PASSWORD_SECRET);
+	}
+
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<Key, Entry>();
+
+	private final Map<Key, CompletableFuture<FormValidation>> running = new ConcurrentHashMap<Key, CompletableFuture<FormValidation>>();
+
+	/**
+	 * The key of a check. Its string form is only the kind of check, so that it can be logged.
+	 */
+	public static final class Key {
+		private final String kind;
+		private final String value;
+
+		private Key(String kind, String value) {
+			this.kind = kind;
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && value.equals(((Key) obj).value);
+		}
+
+		@Override
+		public int hashCode() {
+			return value.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return kind;
+		}
+	}
+
+	private static final class Entry {
+		private final FormValidation result;
+		private final long expiry;
+
+		Entry(FormValidation result, long expiry) {
+			this.result = result;
+			this.expiry = expiry;
+		}
+	}
+
+	private static long getTTLMillis() {
+		return TimeUnit.SECONDS.toMillis(Long.getLong(TTL_PROPERTY, DEFAULT_TTL_SECONDS));
+	}
+
+	/**
+	 * Build the key of a check. The password is only part of the key as an HMAC
+	 * keyed with a secret of this JVM.
+	 * @param serverURI The EWM server URI
+	 * @param userId The user the check is done as
+	 * @param password The password of the user
+	 * @param check What is checked and the values it depends on, for example the
+	 * kind of item, its name and the build toolkit used. The first value is the kind of check.
+	 * @return The key
+	 */
+	public static Key getKey(String serverURI, String userId, String password, Object... check) {
+		StringBuilder key = new StringBuilder();
+		appendPart(key, serverURI);
+		appendPart(key, userId);
+		appendPart(key, hmac(password));
+		for (Object value : check) {
+			appendPart(key, value);
+		}
+		return new Key(check.length == 0 ? "" : String.valueOf(check[0]), key.toString()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Append a part of a key with its length first, so that the parts cannot run into
+	 * each other whatever characters they contain
+	 */
+	private static void appendPart(StringBuilder key, Object part) {
+		if (part == null) {
+			key.append('-');
+			return;
+		}
+		String value = String.valueOf(part);
+		key.append(value.length()).append(':').append(value);
+	}
+
+	private static String hmac(String password) {
+		if (password == null) {
+			return null;
+		}
+		try {
+			Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(new SecretKeySpec(PASSWORD_SECRET, HMAC_ALGORITHM));
+			byte[] hmac = mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder();
+			for (byte b : hmac) {
+				hex.append(String.format("%02x", b)); //$NON-NLS-1$
+			}
+			return hex.toString();
+		} catch (GeneralSecurityException e) {
+			// every JVM has HmacSHA256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Get the result of a check, from the cache if it has been successful recently,
+	 * otherwise by running it. If the same check is running, its result is used.
+	 * @param key The key of the check, see {@link #getKey(String, String, String, Object...)}
+	 * @param check The check. Expected to report problems as a result rather than throw.
+	 * @return The result of the check. Never <code>null</code> unless the check returns it.
+	 */
+	public FormValidation validate(Key key, Supplier<FormValidation> check) {
+		long ttl = getTTLMillis();
+		if (ttl <= 0) {
+			return check.get();
+		}
+		Entry entry = entries.get(key);
+		if (entry != null) {
+			if (entry.expiry > System.currentTimeMillis()) {
+				LOGGER.finest("Using the cached validation result for " + key); //$NON-NLS-1$
+				return entry.result;
+			}
+			entries.remove(key, entry);
+		}
+
+		CompletableFuture<FormValidation> future = new CompletableFuture<FormValidation>();
+		CompletableFuture<FormValidation> other = running.putIfAbsent(key, future);
+		if (other != null) {
+			LOGGER.finest("Waiting for the running validation of " + key); //$NON-NLS-1$
+			try {
+				return other.join();
+			} catch (CompletionException e) {
+				// rethrow what the running check threw
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw e;
+			}
+		}
+		try {
+			FormValidation result = check.get();
+			if (result != null && result.kind == FormValidation.Kind.OK) {
+				long now = System.currentTimeMillis();
+				if (entries.size() >= MAX_ENTRIES) {
+					removeExpired(now);
+				}
+				entries.put(key, new Entry(result, now + ttl));
+			}
+			future.complete(result);
+			return result;
+		} catch (RuntimeException | Error e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			running.remove(key, future);
+		}
+	}
+
+	/**
+	 * Drop the expired results, and all of them if none expired
+	 */
+	private void removeExpired(long now) {
+		for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext();) {
+			if (iterator.next().expiry <= now) {
+				iterator.remove();
+			}
+		}
+		if (entries.size() >= MAX_ENTRIES) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * @return The number of results kept, expired or not
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Forget all results
+	 */
+	public void clear() {
+		entries.clear();
+	}
+}
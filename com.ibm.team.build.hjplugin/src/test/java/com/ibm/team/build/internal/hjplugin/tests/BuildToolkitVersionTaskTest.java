@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.ibm.team.build.internal.hjplugin.BuildToolkitVersionTask;
+
+@SuppressWarnings({"static-method"})
+public class BuildToolkitVersionTaskTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static void writeVersion(File buildToolkit, String version, long lastModified) throws Exception {
+		File versionFile = new File(buildToolkit, "VERSION");
+		Files.write(versionFile.toPath(), ("product_name=EWM\nproduct_version=" + version + "\n").getBytes(StandardCharsets.UTF_8));
+		versionFile.setLastModified(lastModified);
+		buildToolkit.setLastModified(lastModified);
+	}
+
+	private static String getVersion(File buildToolkit, String nodeName) throws Exception {
+		return BuildToolkitVersionTask.getBuildToolkitVersion(buildToolkit.getAbsolutePath(), nodeName, false, Locale.ROOT, null);
+	}
+
+	@Test
+	public void testVersionCachedUntilModified() throws Exception {
+		File buildToolkit = folder.newFolder("buildtoolkit");
+		long lastModified = buildToolkit.lastModified() - 60000;
+		writeVersion(buildToolkit, "7.0.2", lastModified);
+		assertEquals("7.0.2", getVersion(buildToolkit, "node1"));
+
+		// the same timestamps, so the cached version is returned
+		writeVersion(buildToolkit, "7.0.3", lastModified);
+		assertEquals("7.0.2", getVersion(buildToolkit, "node1"));
+		// but not for another node
+		assertEquals("7.0.3", getVersion(buildToolkit, "node2"));
+
+		// the build toolkit is replaced
+		writeVersion(buildToolkit, "7.0.3", lastModified + 2000);
+		assertEquals("7.0.3", getVersion(buildToolkit, "node1"));
+	}
+}
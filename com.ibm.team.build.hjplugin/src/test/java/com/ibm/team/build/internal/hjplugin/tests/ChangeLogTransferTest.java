@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.ibm.team.build.internal.hjplugin.util.ChangeLogTransfer;
+
+@SuppressWarnings({"static-method"})
+public class ChangeLogTransferTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Stands in for the remoting channel, counting what crosses it
+	 */
+	private static class ChannelStream extends FilterOutputStream {
+		private long bytes;
+		private int writes;
+
+		ChannelStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			bytes += len;
+			writes++;
+			out.write(b, off, len);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] {(byte) b}, 0, 1);
+		}
+	}
+
+	private static String writeChangeLog(OutputStream changeLog) {
+		// written the way the change report writes it, a line at a time
+		StringBuilder expected = new StringBuilder();
+		PrintWriter writer = new PrintWriter(new OutputStreamWriter(changeLog, StandardCharsets.UTF_8));
+		writer.println("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+		expected.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>").append(System.lineSeparator());
+		for (int i = 0; i < 20000; i++) {
+			String line = "<changeset action=\"Added\" changeSetItemId=\"_Ab3dEfGhIjKlMnOpQrSt" + i
+					+ "\" owner=\"Bill Cassavelli\" comment=\"Fix the \u00e9t\u00e9 build\"/>";
+			writer.println(line);
+			writer.flush();
+			expected.append(line).append(System.lineSeparator());
+		}
+		writer.close();
+		return expected.toString();
+	}
+
+	@Test
+	public void testCompressedTransfer() throws Exception {
+		File changeLogFile = new File(folder.getRoot(), "changelog.xml");
+		ChannelStream channel = new ChannelStream(ChangeLogTransfer.openChangeLogFile(changeLogFile, true));
+		OutputStream agentStream = ChangeLogTransfer.wrapChangeLog(channel, true);
+		String expected = writeChangeLog(agentStream);
+		// closing again, as the task does once the facade returns, has no effect
+		ChangeLogTransfer.close(agentStream);
+
+		String actual = new String(Files.readAllBytes(changeLogFile.toPath()), StandardCharsets.UTF_8);
+		assertEquals(expected, actual);
+		byte[] raw = expected.getBytes(StandardCharsets.UTF_8);
+		assertTrue("sent " + channel.bytes + " of " + raw.length, channel.bytes * 5 < raw.length);
+		assertTrue("writes " + channel.writes, channel.writes < 100);
+	}
+
+	@Test
+	public void testUncompressedTransfer() throws Exception {
+		File changeLogFile = new File(folder.getRoot(), "changelog.xml");
+		ChannelStream channel = new ChannelStream(ChangeLogTransfer.openChangeLogFile(changeLogFile, false));
+		OutputStream agentStream = ChangeLogTransfer.wrapChangeLog(channel, false);
+		String expected = writeChangeLog(agentStream);
+		ChangeLogTransfer.close(agentStream);
+
+		assertEquals(expected, new String(Files.readAllBytes(changeLogFile.toPath()), StandardCharsets.UTF_8));
+		assertEquals(expected.getBytes(StandardCharsets.UTF_8).length, channel.bytes);
+	}
+
+	@Test
+	public void testNoChangeLog() throws Exception {
+		assertNull(ChangeLogTransfer.wrapChangeLog(null, true));
+		ChangeLogTransfer.close(null);
+		assertTrue(!ChangeLogTransfer.isCompressed(false));
+
+		// nothing written, the stream is only closed
+		ByteArrayOutputStream channel = new ByteArrayOutputStream();
+		ChangeLogTransfer.close(ChangeLogTransfer.wrapChangeLog(channel, true));
+		assertTrue(channel.size() > 0);
+	}
+}
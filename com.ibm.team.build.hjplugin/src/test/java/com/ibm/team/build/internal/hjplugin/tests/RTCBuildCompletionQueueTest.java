@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import com.ibm.team.build.internal.hjplugin.RTCBuildCompletionQueue;
+import com.ibm.team.build.internal.hjplugin.RTCBuildCompletionQueue.Completer;
+import com.ibm.team.build.internal.hjplugin.RTCBuildResultAction;
+
+import hudson.model.FreeStyleBuild;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+
+public class RTCBuildCompletionQueueTest {
+
+	private static final String SERVER_URI = "https://localhost:9443/ccm";
+	private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+	@Rule
+	public JenkinsRule r = new JenkinsRule();
+
+	/**
+	 * Stands in for EWM, fails the first attempts if asked to
+	 */
+	private static class StubCompleter implements Completer {
+		private final AtomicInteger terminateCalls = new AtomicInteger();
+		private final AtomicInteger deleteCalls = new AtomicInteger();
+		private final AtomicInteger failures;
+		private final boolean scmFound;
+
+		StubCompleter(int failures, boolean scmFound) {
+			this.failures = new AtomicInteger(failures);
+			this.scmFound = scmFound;
+		}
+
+		@Override
+		public boolean terminateBuildResult(Run<?, ?> build, RTCBuildResultAction action, TaskListener listener) throws Exception {
+			terminateCalls.incrementAndGet();
+			if (failures.getAndDecrement() > 0) {
+				throw new Exception("EWM is not available");
+			}
+			return scmFound;
+		}
+
+		@Override
+		public boolean deleteTempRepositoryWorkspace(Run<?, ?> build, RTCBuildResultAction action, TaskListener listener) throws Exception {
+			deleteCalls.incrementAndGet();
+			return scmFound;
+		}
+	}
+
+	private FreeStyleBuild createBuild(RTCBuildResultAction action) throws Exception {
+		FreeStyleBuild build = r.buildAndAssertSuccess(r.createFreeStyleProject());
+		if (action != null) {
+			build.addAction(action);
+		}
+		return build;
+	}
+
+	private static void waitFor(RTCBuildCompletionQueue queue, long completed, long failed) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while ((queue.getCompletedCount() < completed || queue.getFailedCount() < failed)
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(completed, queue.getCompletedCount());
+		assertEquals(failed, queue.getFailedCount());
+		assertEquals(0, queue.getQueueDepth());
+	}
+
+	@Test
+	public void testCompletion() throws Exception {
+		StubCompleter completer = new StubCompleter(0, true);
+		RTCBuildCompletionQueue queue = new RTCBuildCompletionQueue(completer, 10);
+		RTCBuildResultAction action = new RTCBuildResultAction(SERVER_URI, "_buildResultUUID", true, null);
+		queue.enqueue(createBuild(action), 0, action);
+
+		waitFor(queue, 1, 0);
+		assertEquals(1, completer.terminateCalls.get());
+		assertEquals(1, completer.deleteCalls.get());
+		assertEquals(0, queue.getRetryCount());
+	}
+
+	@Test
+	public void testRetry() throws Exception {
+		StubCompleter completer = new StubCompleter(2, true);
+		RTCBuildCompletionQueue queue = new RTCBuildCompletionQueue(completer, 10);
+		RTCBuildResultAction action = new RTCBuildResultAction(SERVER_URI, "_buildResultUUID", true, null);
+		queue.enqueue(createBuild(action), 0, action);
+
+		waitFor(queue, 1, 0);
+		assertEquals(3, completer.terminateCalls.get());
+		assertEquals(1, completer.deleteCalls.get());
+		assertEquals(2, queue.getRetryCount());
+	}
+
+	@Test
+	public void testMaxAttempts() throws Exception {
+		System.setProperty(RTCBuildCompletionQueue.MAX_ATTEMPTS_PROPERTY, "3");
+		try {
+			StubCompleter completer = new StubCompleter(Integer.MAX_VALUE, true);
+			RTCBuildCompletionQueue queue = new RTCBuildCompletionQueue(completer, 10);
+			RTCBuildResultAction action = new RTCBuildResultAction(SERVER_URI, "_buildResultUUID", true, null);
+			queue.enqueue(createBuild(action), 0, action);
+
+			waitFor(queue, 0, 1);
+			assertEquals(3, completer.terminateCalls.get());
+			assertEquals(0, completer.deleteCalls.get());
+			assertEquals(2, queue.getRetryCount());
+		} finally {
+			System.clearProperty(RTCBuildCompletionQueue.MAX_ATTEMPTS_PROPERTY);
+		}
+	}
+
+	/**
+	 * Work that cannot be done without the SCM configuration is not completed, nor retried
+	 */
+	@Test
+	public void testScmNotFound() throws Exception {
+		StubCompleter completer = new StubCompleter(0, false);
+		RTCBuildCompletionQueue queue = new RTCBuildCompletionQueue(completer, 10);
+		RTCBuildResultAction action = new RTCBuildResultAction(SERVER_URI, "_buildResultUUID", true, null);
+		queue.enqueue(createBuild(action), 0, action);
+
+		waitFor(queue, 0, 1);
+		assertEquals(1, completer.terminateCalls.get());
+		assertEquals(1, completer.deleteCalls.get());
+		assertEquals(0, queue.getRetryCount());
+	}
+
+	/**
+	 * The action is found by build result UUID, or by position when there is no build result
+	 */
+	@Test
+	public void testActionLookup() throws Exception {
+		StubCompleter completer = new StubCompleter(0, true);
+		RTCBuildCompletionQueue queue = new RTCBuildCompletionQueue(completer, 10);
+
+		// not in the build
+		RTCBuildResultAction missing = new RTCBuildResultAction(SERVER_URI, "_missingUUID", true, null);
+		queue.enqueue(createBuild(new RTCBuildResultAction(SERVER_URI, "_buildResultUUID", true, null)), 0, missing);
+		waitFor(queue, 0, 1);
+		assertEquals(0, completer.terminateCalls.get());
+
+		// no build result, by position
+		RTCBuildResultAction noBuildResult = new RTCBuildResultAction(SERVER_URI, null, false, null);
+		queue.enqueue(createBuild(noBuildResult), 0, noBuildResult);
+		waitFor(queue, 1, 1);
+
+		// no build result, beyond the actions of the build
+		queue.enqueue(createBuild(noBuildResult), 1, noBuildResult);
+		waitFor(queue, 1, 2);
+		assertEquals(1, completer.terminateCalls.get());
+	}
+
+	@Test
+	public void testRetryDelay() {
+		RTCBuildCompletionQueue queue = new RTCBuildCompletionQueue(new StubCompleter(0, true), TimeUnit.SECONDS.toMillis(30));
+		assertEquals(TimeUnit.SECONDS.toMillis(30), queue.getRetryDelayMillis(1));
+		assertEquals(TimeUnit.SECONDS.toMillis(60), queue.getRetryDelayMillis(2));
+		assertEquals(TimeUnit.SECONDS.toMillis(120), queue.getRetryDelayMillis(3));
+		assertEquals(TimeUnit.MINUTES.toMillis(30), queue.getRetryDelayMillis(10));
+		assertEquals(TimeUnit.MINUTES.toMillis(30), queue.getRetryDelayMillis(Integer.MAX_VALUE));
+	}
+
+	/**
+	 * Pending work is persisted and resumed by the next queue, as after a restart
+	 */
+	@Test
+	public void testResume() throws Exception {
+		StubCompleter failing = new StubCompleter(Integer.MAX_VALUE, true);
+		RTCBuildCompletionQueue stopped = new RTCBuildCompletionQueue(failing, TimeUnit.HOURS.toMillis(1));
+		RTCBuildResultAction action = new RTCBuildResultAction(SERVER_URI, "_buildResultUUID", true, null);
+		stopped.enqueue(createBuild(action), 0, action);
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (stopped.getRetryCount() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(1, stopped.getQueueDepth());
+
+		StubCompleter completer = new StubCompleter(0, true);
+		RTCBuildCompletionQueue resumed = new RTCBuildCompletionQueue(completer, 10);
+		resumed.resume();
+		waitFor(resumed, 1, 0);
+		assertEquals(1, completer.terminateCalls.get());
+
+		// nothing left to resume
+		RTCBuildCompletionQueue again = new RTCBuildCompletionQueue(completer, 10);
+		again.resume();
+		assertEquals(0, again.getQueueDepth());
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.ibm.team.build.internal.hjplugin.RTCBuildResultAction;
+
+import hudson.EnvVars;
+
+/**
+ * Compares contributing the build properties to the environment of a step entry by entry,
+ * as it used to be done, with contributing the precomputed environment of the action.
+ *
+ * Not a test, it is not part of the test run. Run it by hand with the test classpath:
+ * <code>java -cp ... com.ibm.team.build.internal.hjplugin.tests.RTCBuildResultActionEnvironmentBenchmark
+ * [buildProperties] [nodeVariables] [steps]</code>
+ *
+ * The environment of a step already holds the variables of the node and the build, so the
+ * build properties are merged into an environment of {@code nodeVariables} entries.
+ * Merging into an empty EnvVars is not representative, TreeMap.putAll copies a sorted
+ * map with the same comparator into an empty map without comparing the keys.
+ */
+public class RTCBuildResultActionEnvironmentBenchmark {
+
+	private static final int RUNS = 5;
+
+	public static void main(String[] args) {
+		int properties = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		int nodeVariables = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+		int steps = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+
+		RTCBuildResultAction action = new RTCBuildResultAction("https://localhost:9443/ccm", "_buildResultUUID", true, null);
+		Map<String, String> buildProperties = new HashMap<String, String>();
+		for (int i = 0; i < properties; i++) {
+			buildProperties.put("team_build_property" + i, "value" + i);
+		}
+		action.addBuildProperties(buildProperties);
+
+		EnvVars nodeEnv = new EnvVars();
+		for (int i = 0; i < nodeVariables; i++) {
+			nodeEnv.put("NODE_VARIABLE" + i, "value" + i);
+		}
+
+		EnvVars expected = perEntry(action, nodeEnv);
+		assertEquals(expected, precomputed(action, nodeEnv));
+
+		for (int run = 0; run < RUNS; run++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < steps; i++) {
+				perEntry(action, nodeEnv);
+			}
+			long perEntryNanos = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < steps; i++) {
+				precomputed(action, nodeEnv);
+			}
+			long precomputedNanos = System.nanoTime() - start;
+
+			// the first runs warm up
+			System.out.println(String.format("Run %d, %d build properties into %d variables for %d steps: per entry %d ms, precomputed %d ms", //$NON-NLS-1$
+					run + 1, properties, nodeVariables, steps, perEntryNanos / 1000000, precomputedNanos / 1000000));
+		}
+	}
+
+	private static EnvVars perEntry(RTCBuildResultAction action, EnvVars nodeEnv) {
+		EnvVars env = new EnvVars(nodeEnv);
+		for (Map.Entry<String, String> entry : action.getBuildProperties().entrySet()) {
+			env.put(entry.getKey(), entry.getValue());
+		}
+		return env;
+	}
+
+	private static EnvVars precomputed(RTCBuildResultAction action, EnvVars nodeEnv) {
+		EnvVars env = new EnvVars(nodeEnv);
+		action.buildEnvVars(null, env);
+		return env;
+	}
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+
+import org.junit.Test;
+
+import com.ibm.team.build.internal.hjplugin.RTCBuildResultAction;
+
+import hudson.EnvVars;
+
+@SuppressWarnings({"static-method"})
+public class RTCBuildResultActionEnvironmentTest {
+
+	private static RTCBuildResultAction createAction(int properties) {
+		RTCBuildResultAction action = new RTCBuildResultAction("https://localhost:9443/ccm", "_buildResultUUID", true, null);
+		Map<String, String> buildProperties = new HashMap<String, String>();
+		for (int i = 0; i < properties; i++) {
+			buildProperties.put("team_build_property" + i, "value" + i);
+		}
+		action.addBuildProperties(buildProperties);
+		return action;
+	}
+
+	@Test
+	public void testEnvironmentHasBuildProperties() {
+		RTCBuildResultAction action = createAction(10);
+		EnvVars env = new EnvVars();
+		action.buildEnvVars(null, env);
+		assertEquals(action.getBuildProperties(), env);
+		assertEquals(action.getBuildProperties(), action.getEnvironment());
+	}
+
+	@Test
+	public void testEnvironmentRebuiltOnlyWhenPropertiesChange() {
+		RTCBuildResultAction action = createAction(10);
+		SortedMap<String, String> environment = action.getEnvironment();
+		assertSame(environment, action.getEnvironment());
+
+		// same values, nothing to rebuild
+		action.addBuildProperties(Collections.singletonMap("team_build_property1", "value1"));
+		action.addBuildProperties(null);
+		assertSame(environment, action.getEnvironment());
+
+		action.addBuildProperties(Collections.singletonMap("team_build_property1", "changed"));
+		SortedMap<String, String> changed = action.getEnvironment();
+		assertNotSame(environment, changed);
+		assertEquals("changed", changed.get("team_build_property1"));
+
+		action.addBuildProperties(Collections.singletonMap("team_build_added", "added"));
+		assertEquals("added", action.getEnvironment().get("team_build_added"));
+		assertEquals(action.getBuildProperties(), action.getEnvironment());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testEnvironmentIsImmutable() {
+		createAction(10).getEnvironment().put("team_build_property1", "changed");
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testBuildPropertiesAreUnmodifiable() {
+		createAction(10).getBuildProperties().put("team_build_property1", "changed");
+	}
+}
@@ -11,9 +11,15 @@
 
 package com.ibm.team.build.internal.hjplugin.tests;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -29,6 +35,7 @@ import com.ibm.team.build.internal.hjplugin.RTCScm;
 import com.ibm.team.build.internal.hjplugin.RTCScm.BuildType;
 import com.ibm.team.build.internal.hjplugin.tests.utils.AbstractTestCase;
 import com.ibm.team.build.internal.hjplugin.tests.utils.Utils;
+import com.ibm.team.build.internal.hjplugin.util.RTCBuildResultDeleter;
 import com.ibm.team.build.internal.hjplugin.util.RTCBuildResultHelper;
 import com.ibm.team.build.internal.hjplugin.util.RTCBuildStatus;
 
@@ -114,6 +121,62 @@ public class RTCBuildResultHelperIT extends AbstractTestCase {
 		}
 	}
 
+	/**
+	 * Test that build results deleted in the background (as when a project with
+	 * builds is deleted) are deleted once the pending deletions have been processed,
+	 * and that actions without a build result are ignored.
+	 * @throws Exception If the test fails
+	 */
+	@SuppressWarnings("unchecked")
+	@Test public void testDeleteRTCBuildResultsInBackground() throws Exception {
+		
+		if (Config.DEFAULT.isConfigured()) {
+			RTCLoginInfo loginInfo = Config.DEFAULT.getLoginInfo();
+			
+			Map<String, String> setupArtifacts = (Map<String, String>) getTestingFacade().invoke(
+					"testBuildTerminationSetup",
+				new Class[] { String.class, // serverURL,
+					String.class, // userId,
+					String.class, // password,
+					int.class, // timeout,
+					String.class}, // testName
+				loginInfo.getServerUri(),
+				loginInfo.getUserId(),
+				loginInfo.getPassword(),
+				Integer.valueOf(loginInfo.getTimeout()), getBuildDefinitionUniqueName());
+			
+			try {
+				setupBuildTerminationTest(loginInfo, true, false, RTCBuildStatus.OK.name(), setupArtifacts);
+				String buildResultUUID = setupArtifacts.get(ARTIFACT_BUILD_RESULT_ITEM_ID);
+				FreeStyleProject project = getJenkinsRule().createFreeStyleProject();
+				RTCScm scm = getRTCScm();
+				project.setScm(scm);
+				Set<RTCScm> rtcScmConfigs = Collections.singleton(scm);
+				List<RTCBuildResultAction> actions = Arrays.asList(
+						new RTCBuildResultAction(loginInfo.getServerUri(), buildResultUUID, true, null),
+						new RTCBuildResultAction(loginInfo.getServerUri(), null, true, null));
+				RTCBuildResultHelper.deleteRTCBuildResultsInBackground(actions, project, rtcScmConfigs);
+				assertTrue(RTCBuildResultDeleter.getInstance().waitForPendingDeletions(5, TimeUnit.MINUTES));
+				assertEquals(0, RTCBuildResultDeleter.getInstance().getPendingCount());
+				verifyBuildResultDeleted(loginInfo, setupArtifacts);
+
+			} finally {
+				// clean up
+				getTestingFacade().invoke(
+						"tearDown",
+						new Class[] { String.class, // serverURL,
+								String.class, // userId,
+								String.class, // password,
+								int.class, // timeout,
+								Map.class}, // setupArtifacts
+						loginInfo.getServerUri(),
+						loginInfo.getUserId(),
+						loginInfo.getPassword(),
+						Integer.valueOf(loginInfo.getTimeout()), setupArtifacts);
+			}
+		}
+	}
+
 	private RTCScm getRTCScm() throws InvalidCredentialsException {
 		RTCBuildToolInstallation tool = new RTCBuildToolInstallation("config_toolkit", Config.DEFAULT.getToolkit(), 
 				Collections.<ToolProperty<?>>emptyList());
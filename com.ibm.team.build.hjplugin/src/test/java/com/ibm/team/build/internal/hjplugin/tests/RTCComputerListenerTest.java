@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import com.ibm.team.build.internal.hjplugin.RTCBuildToolInstallation;
+import com.ibm.team.build.internal.hjplugin.RTCComputerListener;
+
+import hudson.model.TaskListener;
+import hudson.slaves.DumbSlave;
+import hudson.tools.ToolLocationNodeProperty;
+
+public class RTCComputerListenerTest {
+
+	private static final String BUILDTOOLKITNAME = "rtc-build-toolkit";
+	private static final String GLOBAL_HOME = "/opt/ibm/buildtoolkit";
+	private static final String NODE_HOME = "/opt/agent/buildtoolkit";
+
+	@Rule
+	public JenkinsRule r = new JenkinsRule();
+
+	/**
+	 * Only the nodes with a location of their own for the build toolkit are prepared, not the
+	 * nodes that would fall back to the home of the installation
+	 */
+	@Test
+	public void testOnlyNodesWithToolkitLocation() throws Exception {
+		System.setProperty(RTCComputerListener.DISABLE_PREWARM_PROPERTY, "true");
+		try {
+			RTCBuildToolInstallation.DescriptorImpl descriptor = r.jenkins.getDescriptorByType(RTCBuildToolInstallation.DescriptorImpl.class);
+			RTCBuildToolInstallation install = new RTCBuildToolInstallation(BUILDTOOLKITNAME, GLOBAL_HOME, null);
+			descriptor.setInstallations(install);
+
+			DumbSlave configured = r.createSlave();
+			configured.getNodeProperties().add(new ToolLocationNodeProperty(
+					new ToolLocationNodeProperty.ToolLocation(descriptor, BUILDTOOLKITNAME, NODE_HOME)));
+			DumbSlave notConfigured = r.createSlave();
+			DumbSlave otherToolkit = r.createSlave();
+			otherToolkit.getNodeProperties().add(new ToolLocationNodeProperty(
+					new ToolLocationNodeProperty.ToolLocation(descriptor, "other-toolkit", NODE_HOME)));
+
+			assertEquals(NODE_HOME, RTCComputerListener.getConfiguredBuildToolkit(configured, install));
+			assertNull(RTCComputerListener.getConfiguredBuildToolkit(notConfigured, install));
+			assertNull(RTCComputerListener.getConfiguredBuildToolkit(otherToolkit, install));
+			// which the tool home would fall back to
+			assertEquals(GLOBAL_HOME, ToolLocationNodeProperty.getToolHome(notConfigured, install, TaskListener.NULL));
+		} finally {
+			System.clearProperty(RTCComputerListener.DISABLE_PREWARM_PROPERTY);
+		}
+	}
+}
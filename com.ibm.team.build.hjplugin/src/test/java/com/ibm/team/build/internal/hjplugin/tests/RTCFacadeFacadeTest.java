@@ -27,6 +27,7 @@ import com.ibm.team.build.internal.hjplugin.util.HttpUtils.GetResult;
 import com.ibm.team.build.internal.hjplugin.util.RTCBuildConstants;
 import com.ibm.team.build.internal.hjplugin.util.RTCFacadeFacade;
 import com.ibm.team.build.internal.hjplugin.util.RTCFacadeFacade.CompatibilityResult;
+import com.ibm.team.build.internal.hjplugin.util.RTCRestSession;
 import com.ibm.team.build.internal.hjplugin.util.Tuple;
 
 import hudson.Util;
@@ -560,6 +561,98 @@ public class RTCFacadeFacadeTest extends AbstractTestCase {
 		assertEquals(expectedPerformGetCallCount, RTCFacadeFacadeHelper.getPerformGetCallCount());
 		assertEquals(expectedValidateCredentialsCallCount, RTCFacadeFacadeHelper.getValidateCredentialsCallCount());
 	}
+
+	/**
+	 * Validate that {@link RTCFacadeFacade#testConnectionHTTPHelper} reuses the response of the 
+	 * compatibility service for the same server, but still validates the credentials each time.
+	 * 
+	 * @throws Exception
+	 */
+	@Test public void testHTTPConnectionHelperCachesCompatibilityResponse() throws Exception {
+		RTCFacadeFacadeHelper.reset();
+		RTCFacadeFacadeHelper.setPerformGetRunnable(RTCFacadeFacadeHelper.getCompatibleServerGetRunnable());
+		RTCFacadeFacadeHelper.setValidateCredentialsRunnable(RTCFacadeFacadeHelper.getValidValidateCredsRunnable());
+
+		for (int i = 0; i < 3; i++) {
+			Tuple<CompatibilityResult, GetResult> t = RTCFacadeFacadeHelper.testConnectionHTTPHelper("https://localhost:9443/ccm", "test", 
+					"test", 100, RTCBuildConstants.URI_COMPATIBILITY_CHECK);
+			assertEquals(null, Util.fixEmptyAndTrim(t.getFirst().getErrorMessage()));
+		}
+		assertEquals(1, RTCFacadeFacadeHelper.getPerformGetCallCount());
+		assertEquals(3, RTCFacadeFacadeHelper.getValidateCredentialsCallCount());
+	}
+
+	/**
+	 * Validate that a connection error discards the cached compatibility service response
+	 * for the server.
+	 * 
+	 * @throws Exception
+	 */
+	@Test public void testHTTPConnectionHelperClearsCacheOnConnectionError() throws Exception {
+		RTCFacadeFacadeHelper.reset();
+		RTCFacadeFacadeHelper.setPerformGetRunnable(RTCFacadeFacadeHelper.getCompatibleServerGetRunnable());
+		RTCFacadeFacadeHelper.setPerformGetRunnable2(RTCFacadeFacadeHelper.getCompatibleServerGetRunnable());
+		RTCFacadeFacadeHelper.setValidateCredentialsRunnable(RTCFacadeFacadeHelper.getValidValidateCredsRunnable());
+
+		RTCFacadeFacadeHelper.testConnectionHTTPHelper("https://localhost:9443/ccm", "test", 
+				"test", 100, RTCBuildConstants.URI_COMPATIBILITY_CHECK);
+		assertEquals(1, RTCFacadeFacadeHelper.getPerformGetCallCount());
+
+		// the cached response is used, then the connection fails
+		RTCFacadeFacadeHelper.setValidateCredentialsRunnable(RTCFacadeFacadeHelper.getIOExceptionValidateCredsRunnable());
+		Tuple<CompatibilityResult, GetResult> t = RTCFacadeFacadeHelper.testConnectionHTTPHelper("https://localhost:9443/ccm", "test", 
+				"test", 100, RTCBuildConstants.URI_COMPATIBILITY_CHECK);
+		assertTrue(t.getFirst().getErrorMessage() != null);
+		assertEquals(1, RTCFacadeFacadeHelper.getPerformGetCallCount());
+
+		// the server is asked again
+		RTCFacadeFacadeHelper.setValidateCredentialsRunnable(RTCFacadeFacadeHelper.getValidValidateCredsRunnable());
+		t = RTCFacadeFacadeHelper.testConnectionHTTPHelper("https://localhost:9443/ccm", "test", 
+				"test", 100, RTCBuildConstants.URI_COMPATIBILITY_CHECK);
+		assertEquals(null, Util.fixEmptyAndTrim(t.getFirst().getErrorMessage()));
+		assertEquals(2, RTCFacadeFacadeHelper.getPerformGetCallCount());
+	}
+
+	/**
+	 * Validate that {@link RTCRestSession#checkCompatibility()} performs the compatibility 
+	 * check only once for the session.
+	 * 
+	 * @throws Exception
+	 */
+	@Test public void testRestSessionChecksCompatibilityOnce() throws Exception {
+		RTCFacadeFacadeHelper.reset();
+		RTCFacadeFacadeHelper.setPerformGetRunnable(RTCFacadeFacadeHelper.getCompatibleServerGetRunnable());
+		RTCFacadeFacadeHelper.setValidateCredentialsRunnable(RTCFacadeFacadeHelper.getValidValidateCredsRunnable());
+
+		RTCRestSession session = new RTCRestSession("https://localhost:9443/ccm", "test", "test", 100);
+		assertEquals(null, session.checkCompatibility());
+		assertEquals(null, session.checkCompatibility());
+		assertEquals(1, RTCFacadeFacadeHelper.getPerformGetCallCount());
+		assertEquals(1, RTCFacadeFacadeHelper.getValidateCredentialsCallCount());
+		
+		assertTrue(session.matches("https://localhost:9443/ccm", "test", "test", 100));
+		assertFalse(session.matches("https://localhost:9443/ccm", "test", "other", 100));
+	}
+
+	/**
+	 * Validate that {@link RTCRestSession#checkCompatibility()} does not remember 
+	 * a check that failed because the server could not be reached.
+	 * 
+	 * @throws Exception
+	 */
+	@Test public void testRestSessionRetriesCompatibilityCheckAfterIOException() throws Exception {
+		RTCFacadeFacadeHelper.reset();
+		RTCFacadeFacadeHelper.setPerformGetRunnable(RTCFacadeFacadeHelper.getIOExceptionGetRunnable());
+		RTCFacadeFacadeHelper.setPerformGetRunnable2(RTCFacadeFacadeHelper.getCompatibleServerGetRunnable());
+		RTCFacadeFacadeHelper.setValidateCredentialsRunnable(RTCFacadeFacadeHelper.getValidValidateCredsRunnable());
+
+		RTCRestSession session = new RTCRestSession("https://localhost:9443/ccm", "test", "test", 100);
+		assertTrue(session.checkCompatibility() != null);
+		assertEquals(null, session.checkCompatibility());
+		assertEquals(null, session.checkCompatibility());
+		assertEquals(2, RTCFacadeFacadeHelper.getPerformGetCallCount());
+		assertEquals(1, RTCFacadeFacadeHelper.getValidateCredentialsCallCount());
+	}
 }
 
 class RTCFacadeFacadeHelper extends RTCFacadeFacade {
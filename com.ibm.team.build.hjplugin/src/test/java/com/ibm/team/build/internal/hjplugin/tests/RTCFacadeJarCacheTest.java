@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import com.ibm.team.build.internal.hjplugin.RTCFacadeFactory;
+import com.ibm.team.build.internal.hjplugin.RTCFacadeJarCache;
+
+import hudson.FilePath;
+import hudson.slaves.DumbSlave;
+import jenkins.security.MasterToSlaveCallable;
+
+public class RTCFacadeJarCacheTest {
+
+	private static final String JAR_CONTENT = "hjplugin-rtc jar content";
+
+	@Rule
+	public JenkinsRule r = new JenkinsRule();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Runs on the agent, returns the jar the facade would be loaded from
+	 */
+	private static final class GetFacadeJarURL extends MasterToSlaveCallable<String, IOException> {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public String call() throws IOException {
+			return String.valueOf(RTCFacadeFactory.getFacadeJarURL(null));
+		}
+	}
+
+	private File createJar() throws IOException {
+		File jar = folder.newFile("com.ibm.team.build.hjplugin-rtc.jar");
+		Files.write(jar.toPath(), JAR_CONTENT.getBytes(StandardCharsets.UTF_8));
+		return jar;
+	}
+
+	private static String digest(String content) throws IOException {
+		try (InputStream in = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))) {
+			return RTCFacadeJarCache.digest(in);
+		}
+	}
+
+	private static FilePath getCachedJar(DumbSlave agent) throws IOException {
+		return agent.getRootPath().child(RTCFacadeJarCache.CACHE_DIR_NAME).child(digest(JAR_CONTENT) + ".jar");
+	}
+
+	private void reconnect(DumbSlave agent) throws Exception {
+		agent.toComputer().disconnect(null).get();
+		agent.toComputer().connect(false).get();
+		r.waitOnline(agent);
+	}
+
+	@Test
+	public void testDigest() throws Exception {
+		assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", digest("abc"));
+		assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", digest(""));
+	}
+
+	/**
+	 * The jar is sent once, the facade on the agent is loaded from the copy, and the copy
+	 * is used again when the agent reconnects
+	 */
+	@Test
+	public void testJarSentOnceAndReused() throws Exception {
+		File jar = createJar();
+		DumbSlave agent = r.createOnlineSlave();
+		FilePath cachedJar = getCachedJar(agent);
+
+		RTCFacadeJarCache.sendJarToAgent(agent.getRootPath(), jar.toURI().toURL());
+		assertTrue(cachedJar.exists());
+		assertEquals(JAR_CONTENT, cachedJar.readToString());
+		assertEquals(new File(cachedJar.getRemote()).toURI().toURL().toString(), agent.getChannel().call(new GetFacadeJarURL()));
+
+		// not sent again to the same agent, nor after it reconnects
+		cachedJar.touch(1000L);
+		RTCFacadeJarCache.sendJarToAgent(agent.getRootPath(), jar.toURI().toURL());
+		reconnect(agent);
+		// on the new channel
+		cachedJar = getCachedJar(agent);
+		RTCFacadeJarCache.sendJarToAgent(agent.getRootPath(), jar.toURI().toURL());
+		assertEquals(1000L, cachedJar.lastModified());
+		assertEquals(new File(cachedJar.getRemote()).toURI().toURL().toString(), agent.getChannel().call(new GetFacadeJarURL()));
+	}
+
+	/**
+	 * A copy that does not match its digest is sent again, and the copies of other versions
+	 * of the jar are deleted
+	 */
+	@Test
+	public void testCorruptJarResent() throws Exception {
+		File jar = createJar();
+		DumbSlave agent = r.createOnlineSlave();
+		FilePath cachedJar = getCachedJar(agent);
+		FilePath cacheDir = agent.getRootPath().child(RTCFacadeJarCache.CACHE_DIR_NAME);
+		cacheDir.mkdirs();
+		FilePath otherVersion = cacheDir.child(digest("older") + ".jar");
+		otherVersion.write("older", "UTF-8");
+		cachedJar.write("corrupt", "UTF-8");
+
+		RTCFacadeJarCache.sendJarToAgent(agent.getRootPath(), jar.toURI().toURL());
+		assertEquals(JAR_CONTENT, cachedJar.readToString());
+		assertFalse(otherVersion.exists());
+		assertEquals(new File(cachedJar.getRemote()).toURI().toURL().toString(), agent.getChannel().call(new GetFacadeJarURL()));
+	}
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+import org.junit.Test;
+
+import com.ibm.team.build.internal.hjplugin.util.RTCMetrics;
+import com.ibm.team.build.internal.hjplugin.util.RTCTimings;
+
+@SuppressWarnings({"static-method"})
+public class RTCMetricsTest {
+
+	@Test
+	public void testURITemplate() {
+		assertEquals("/ccm/resource/virtual/build/result/{id}/buildState",
+				RTCMetrics.getURITemplate("https://localhost:9443/ccm/resource/virtual/build/result/_Ab3dEfGhIjKlMnOpQrStUv/buildState"));
+		assertEquals("/ccm/service/com.ibm.team.build.internal.hjplugin.rtc.IVersionCompatibilityRestService/{id}",
+				RTCMetrics.getURITemplate("https://localhost:9443/ccm/service/com.ibm.team.build.internal.hjplugin.rtc.IVersionCompatibilityRestService/1202?clientVersion=1"));
+		assertEquals("resource/virtual/build/result/{id}", RTCMetrics.getURITemplate("resource/virtual/build/result/_Ab3dEfGhIjKlMnOpQrStUv"));
+		assertEquals("", RTCMetrics.getURITemplate(null));
+	}
+
+	@Test
+	public void testCounters() {
+		RTCMetrics metrics = new RTCMetrics(100);
+		metrics.restCall("GET", "https://localhost:9443/ccm/resource/virtual/build/result/_Ab3dEfGhIjKlMnOpQrStUv", 200);
+		metrics.restCall("GET", "https://localhost:9443/ccm/resource/virtual/build/result/_Zb3dEfGhIjKlMnOpQrStUv", 200);
+		metrics.restCall("GET", "https://localhost:9443/ccm/resource/virtual/build/result/_Zb3dEfGhIjKlMnOpQrStUv", 404);
+		metrics.facadeCache("classLoader", true);
+		metrics.facadeCache("classLoader", false);
+		metrics.facadeCache("classLoader", true);
+		metrics.poll("folder/job", 10, false);
+		metrics.poll("folder/job", 30, true);
+		metrics.waitForBuild(1);
+		metrics.waitForBuild(1);
+		metrics.waitForBuild(-1);
+
+		assertEquals(2, metrics.getValue(RTCMetrics.REST_CALLS, "GET", "/ccm/resource/virtual/build/result/{id}", "200"));
+		assertEquals(1, metrics.getValue(RTCMetrics.REST_CALLS, "GET", "/ccm/resource/virtual/build/result/{id}", "404"));
+		assertEquals(2, metrics.getValue(RTCMetrics.FACADE_CACHE, "classLoader", "hit"));
+		assertEquals(1, metrics.getValue(RTCMetrics.FACADE_CACHE, "classLoader", "miss"));
+		assertEquals(2, metrics.getValue(RTCMetrics.POLL_DURATION, "folder/job"));
+		assertEquals(1, metrics.getValue(RTCMetrics.POLL_FAILURES, "folder/job"));
+		assertEquals(1, metrics.getValue(RTCMetrics.WAIT_FOR_BUILD_PENDING));
+		assertEquals(0, metrics.getValue(RTCMetrics.LOGINS, "form"));
+	}
+
+	@Test
+	public void testAcceptSpans() {
+		RTCMetrics metrics = new RTCMetrics(100);
+		List<Object> spans = new ArrayList<Object>();
+		spans.add(RTCTimings.createSpan("accept", 1, 5, 0));
+		spans.add(RTCTimings.createSpan("login", 1, 1, 1));
+		Map<String, String> acceptSpan = RTCTimings.createSpan("acceptAllIncoming", 2, 3, 1);
+		acceptSpan.put("changesAccepted", "4");
+		spans.add(acceptSpan);
+
+		metrics.accept(20, spans);
+		metrics.load(40, null);
+
+		assertEquals(1, metrics.getValue(RTCMetrics.ACCEPT_DURATION));
+		assertEquals(1, metrics.getValue(RTCMetrics.LOAD_DURATION));
+		assertEquals(4, metrics.getValue(RTCMetrics.CHANGES_ACCEPTED));
+		assertEquals(1, metrics.getValue(RTCMetrics.LOGINS, "toolkit"));
+	}
+
+	@Test
+	public void testMaxSeries() {
+		RTCMetrics metrics = new RTCMetrics(2);
+		metrics.poll("a", 1, false);
+		metrics.poll("b", 1, false);
+		metrics.poll("c", 1, false);
+		metrics.poll("d", 1, false);
+		assertEquals(1, metrics.getValue(RTCMetrics.POLL_DURATION, "a"));
+		assertEquals(0, metrics.getValue(RTCMetrics.POLL_DURATION, "c"));
+		assertEquals(2, metrics.getValue(RTCMetrics.POLL_DURATION, RTCMetrics.OTHER));
+	}
+
+	@Test
+	public void testFormats() {
+		RTCMetrics metrics = new RTCMetrics(100);
+		metrics.poll("job \"quoted\"", 12, false);
+		metrics.restResponse(100);
+
+		String text = metrics.toPrometheusText();
+		assertTrue(text, text.contains("# TYPE teamconcert_poll_duration_ms summary\n"));
+		assertTrue(text, text.contains("teamconcert_poll_duration_ms_count{job=\"job \\\"quoted\\\"\"} 1\n"));
+		assertTrue(text, text.contains("teamconcert_poll_duration_ms_sum{job=\"job \\\"quoted\\\"\"} 12\n"));
+		assertTrue(text, text.contains("# TYPE teamconcert_rest_response_bytes_total counter\n"));
+		assertTrue(text, text.contains("teamconcert_rest_response_bytes_total 100\n"));
+
+		JSONArray json = metrics.toJSON().getJSONArray("metrics");
+		assertEquals(2, json.size());
+		JSONObject poll = json.getJSONObject(0);
+		assertEquals(RTCMetrics.POLL_DURATION, poll.getString("name"));
+		assertEquals("job \"quoted\"", poll.getJSONObject("labels").getString("job"));
+		assertEquals(12, poll.getLong("max"));
+		assertEquals(100, json.getJSONObject(1).getLong("value"));
+	}
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.ibm.team.build.internal.hjplugin.RTCMetronomeHistory;
+
+@SuppressWarnings({"static-method"})
+public class RTCMetronomeHistoryTest {
+
+	private static final String HEADER = "\"Interface/method\",\"Calls\",\"Time(ms)\",\"Time(%)\",\"Avg(ms)\",\"Worst(ms)\",\"Retries\",\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static String statistics(long calls, long time) {
+		return HEADER
+				+ "\"IScmService\"," + calls + "," + time + ",100,1.0," + time + ",0\n"
+				+ "\"IScmService.fetchItems\"," + calls + "," + time + ",100,1.0," + time + ",0\n";
+	}
+
+	@Test
+	public void testAppendAndRead() throws Exception {
+		File history = new File(folder.getRoot(), "history.csv");
+		RTCMetronomeHistory.append(history, 1, statistics(2, 20));
+		RTCMetronomeHistory.append(history, 2, statistics(3, 30));
+		// a second checkout in the same build adds to it
+		RTCMetronomeHistory.append(history, 2, statistics(1, 5));
+		RTCMetronomeHistory.append(history, 3, HEADER);
+
+		List<RTCMetronomeHistory.Series> series = RTCMetronomeHistory.read(history, 10);
+		assertEquals(2, series.size());
+		RTCMetronomeHistory.Series fetch = series.get(1);
+		assertEquals("IScmService.fetchItems", fetch.getName());
+		assertEquals(Arrays.asList(1, 2), fetch.getBuilds());
+		assertArrayEquals(new long[] {2, 4}, fetch.getCalls());
+		assertArrayEquals(new long[] {20, 35}, fetch.getTimes());
+		assertEquals(55, fetch.getTotalTime());
+	}
+
+	@Test
+	public void testReadLatestBuilds() throws Exception {
+		File history = new File(folder.getRoot(), "history.csv");
+		StringBuilder rows = new StringBuilder(HEADER);
+		for (int i = 0; i < 200; i++) {
+			rows.append("\"IScmService.method" + i + "\",1,1,1,1.0,1,0\n");
+		}
+		// enough builds for the file to span several read buffers
+		for (int build = 1; build <= 100; build++) {
+			RTCMetronomeHistory.append(history, build, rows.toString());
+		}
+		assertTrue(history.length() > 256 * 1024);
+
+		List<RTCMetronomeHistory.Series> series = RTCMetronomeHistory.read(history, 5);
+		assertEquals(200, series.size());
+		for (RTCMetronomeHistory.Series s : series) {
+			assertEquals(Arrays.asList(96, 97, 98, 99, 100), s.getBuilds());
+			assertArrayEquals(new long[] {1, 1, 1, 1, 1}, s.getCalls());
+		}
+		assertEquals("IScmService.method0", series.get(0).getName());
+	}
+
+	@Test
+	public void testReadMissing() throws Exception {
+		assertTrue(RTCMetronomeHistory.read(new File(folder.getRoot(), "missing.csv"), 5).isEmpty());
+	}
+}
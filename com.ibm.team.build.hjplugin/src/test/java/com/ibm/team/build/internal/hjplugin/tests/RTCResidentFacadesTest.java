@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.tests;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.ibm.team.build.internal.hjplugin.RTCResidentFacades;
+
+@SuppressWarnings({"static-method"})
+public class RTCResidentFacadesTest {
+
+	@Test
+	public void testHeapLimit() {
+		assertFalse(RTCResidentFacades.isAboveHeapLimit(80, 100, 80));
+		assertTrue(RTCResidentFacades.isAboveHeapLimit(81, 100, 80));
+		assertTrue(RTCResidentFacades.isAboveHeapLimit(1L << 40, (1L << 40) + 1, 99));
+		// not known
+		assertFalse(RTCResidentFacades.isAboveHeapLimit(-1, 100, 0));
+		assertFalse(RTCResidentFacades.isAboveHeapLimit(100, -1, 0));
+	}
+
+	/**
+	 * The heap used after collection is measured from the collected heap pools
+	 */
+	@Test
+	public void testHeapUsedAfterCollection() {
+		System.gc();
+		long afterCollection = RTCResidentFacades.getHeapUsedAfterCollection();
+		// -1 when no collector reports its usage
+		assertTrue(afterCollection >= -1);
+		assertTrue(afterCollection <= Runtime.getRuntime().maxMemory());
+	}
+}
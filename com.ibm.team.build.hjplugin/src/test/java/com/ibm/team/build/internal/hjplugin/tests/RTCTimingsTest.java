@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.ibm.team.build.internal.hjplugin.util.RTCTimings;
+
+@SuppressWarnings({"static-method"})
+public class RTCTimingsTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testNestedSpans() {
+		RTCTimings timings = new RTCTimings();
+		RTCTimings.Span checkout = timings.start("checkout");
+		RTCTimings.Span setup = timings.start("setup").attribute("remote", Boolean.TRUE);
+		setup.end();
+		RTCTimings.Span accept = timings.start("accept");
+		accept.end();
+		checkout.end();
+		RTCTimings.Span after = timings.start("after");
+
+		List<Map<String, String>> spans = timings.getSpans();
+		assertEquals(4, spans.size());
+		assertEquals("checkout", spans.get(0).get(RTCTimings.NAME));
+		assertEquals("0", spans.get(0).get(RTCTimings.DEPTH));
+		assertEquals("1", spans.get(1).get(RTCTimings.DEPTH));
+		assertEquals("true", spans.get(1).get("remote"));
+		assertEquals("1", spans.get(2).get(RTCTimings.DEPTH));
+		assertEquals("0", spans.get(3).get(RTCTimings.DEPTH));
+		assertNotNull(spans.get(0).get(RTCTimings.DURATION));
+		// not ended
+		assertNull(spans.get(3).get(RTCTimings.DURATION));
+		after.end();
+	}
+
+	/**
+	 * A span in a try-with-resources is ended when the phase fails
+	 */
+	@Test
+	public void testClosedOnFailure() {
+		RTCTimings timings = new RTCTimings();
+		try (RTCTimings.Span checkout = timings.start("checkout")) {
+			try (RTCTimings.Span accept = timings.start("accept")) {
+				throw new IllegalStateException("accept failed");
+			}
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		RTCTimings.Span after = timings.start("after");
+		after.end();
+
+		List<Map<String, String>> spans = timings.getSpans();
+		assertEquals(3, spans.size());
+		assertNotNull(spans.get(0).get(RTCTimings.DURATION));
+		assertNotNull(spans.get(1).get(RTCTimings.DURATION));
+		assertEquals("0", spans.get(2).get(RTCTimings.DEPTH));
+	}
+
+	@Test
+	public void testRemoteSpans() {
+		RTCTimings timings = new RTCTimings();
+		RTCTimings.Span checkout = timings.start("checkout");
+		RTCTimings.Span remote = timings.start("accept.remote");
+
+		Map<String, Object> result = new HashMap<String, Object>();
+		List<Object> agentSpans = new ArrayList<Object>();
+		agentSpans.add(RTCTimings.createSpan("accept", 2, 0, 0));
+		agentSpans.add(RTCTimings.createSpan("login", 2, 0, 1));
+		result.put(RTCTimings.TIMINGS_PROPERTY_NAME, agentSpans);
+		RTCTimings.addAgentSpan(result, RTCTimings.createSpan("getFacade", 1, 0, 0));
+
+		remote.endRemote(result.get(RTCTimings.TIMINGS_PROPERTY_NAME));
+		checkout.end();
+
+		List<Map<String, String>> spans = timings.getSpans();
+		assertEquals(5, spans.size());
+		assertEquals("accept.remote", spans.get(1).get(RTCTimings.NAME));
+		assertNotNull(spans.get(1).get(RTCTimings.REMOTING_OVERHEAD));
+		assertEquals("getFacade", spans.get(2).get(RTCTimings.NAME));
+		assertEquals("2", spans.get(2).get(RTCTimings.DEPTH));
+		assertEquals("accept", spans.get(3).get(RTCTimings.NAME));
+		assertEquals("2", spans.get(3).get(RTCTimings.DEPTH));
+		assertEquals("login", spans.get(4).get(RTCTimings.NAME));
+		assertEquals("3", spans.get(4).get(RTCTimings.DEPTH));
+	}
+
+	@Test
+	public void testWriteAndRead() throws Exception {
+		RTCTimings timings = new RTCTimings();
+		RTCTimings.Span checkout = timings.start("checkout").attribute("buildType", "buildStream");
+		timings.start("load.remote").endRemote(null);
+		checkout.end();
+
+		File file = new File(folder.getRoot(), "timings.json");
+		timings.writeTo(file);
+		List<Map<String, String>> spans = RTCTimings.readFrom(file);
+		assertEquals(timings.getSpans(), spans);
+	}
+}
@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.ibm.team.build.internal.hjplugin.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.ibm.team.build.internal.hjplugin.util.ValidationCache;
+
+import hudson.util.FormValidation;
+
+@SuppressWarnings({"static-method"})
+public class ValidationCacheTest {
+
+	@After
+	public void tearDown() {
+		System.clearProperty(ValidationCache.TTL_PROPERTY);
+	}
+
+	@Test
+	public void testOkResultsAreCached() {
+		ValidationCache cache = new ValidationCache();
+		AtomicInteger calls = new AtomicInteger();
+		FormValidation ok = FormValidation.ok("found");
+		ValidationCache.Key key = ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "workspace", "ws1");
+
+		assertSame(ok, cache.validate(key, () -> {
+			calls.incrementAndGet();
+			return ok;
+		}));
+		assertSame(ok, cache.validate(key, () -> {
+			calls.incrementAndGet();
+			return FormValidation.error("not expected");
+		}));
+		assertEquals(1, calls.get());
+
+		cache.clear();
+		cache.validate(key, () -> {
+			calls.incrementAndGet();
+			return ok;
+		});
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	public void testErrorsAreNotCached() {
+		ValidationCache cache = new ValidationCache();
+		AtomicInteger calls = new AtomicInteger();
+		ValidationCache.Key key = ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "stream", "s1");
+		for (int i = 0; i < 3; i++) {
+			FormValidation result = cache.validate(key, () -> {
+				calls.incrementAndGet();
+				return FormValidation.error("not found");
+			});
+			assertEquals(FormValidation.Kind.ERROR, result.kind);
+		}
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void testDisabled() {
+		System.setProperty(ValidationCache.TTL_PROPERTY, "0");
+		ValidationCache cache = new ValidationCache();
+		AtomicInteger calls = new AtomicInteger();
+		ValidationCache.Key key = ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "connect");
+		cache.validate(key, () -> {
+			calls.incrementAndGet();
+			return FormValidation.ok();
+		});
+		cache.validate(key, () -> {
+			calls.incrementAndGet();
+			return FormValidation.ok();
+		});
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	public void testKey() {
+		ValidationCache.Key key = ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "workspace", "ws1");
+		// only the kind of check is logged
+		assertEquals("workspace", key.toString());
+		assertFalse(key.toString().contains("secret"));
+		assertEquals(key, ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "workspace", "ws1"));
+		assertNotEquals(key, ValidationCache.getKey("https://localhost:9443/ccm", "bill", "changed", "workspace", "ws1"));
+		assertNotEquals(key, ValidationCache.getKey("https://localhost:9443/ccm", "ted", "secret", "workspace", "ws1"));
+		assertNotEquals(key, ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "workspace", "ws2"));
+		assertNotEquals(key, ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "stream", "ws1"));
+
+		// the parts cannot run into each other
+		assertNotEquals(ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "stream", "A#B", "C"),
+				ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "stream", "A", "B#C"));
+		assertNotEquals(ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "stream", "1:A", "B"),
+				ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "stream", "1", "A1:B"));
+		assertNotEquals(ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "stream", null),
+				ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "stream", "null"));
+		assertNotEquals(ValidationCache.getKey("https://localhost:9443/ccm", "bill", null, "stream"),
+				ValidationCache.getKey("https://localhost:9443/ccm", "bill", "", "stream"));
+	}
+
+	/**
+	 * When the cache is full the expired results are dropped, and all results if none expired
+	 */
+	@Test
+	public void testMaxEntries() throws Exception {
+		ValidationCache cache = new ValidationCache();
+		System.setProperty(ValidationCache.TTL_PROPERTY, "1");
+		for (int i = 0; i < ValidationCache.MAX_ENTRIES / 2; i++) {
+			cache.validate(ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "expiring", i), () -> FormValidation.ok());
+		}
+		System.clearProperty(ValidationCache.TTL_PROPERTY);
+		for (int i = ValidationCache.MAX_ENTRIES / 2; i < ValidationCache.MAX_ENTRIES; i++) {
+			cache.validate(ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "workspace", i), () -> FormValidation.ok());
+		}
+		assertEquals(ValidationCache.MAX_ENTRIES, cache.size());
+		Thread.sleep(1100);
+
+		cache.validate(ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "added"), () -> FormValidation.ok());
+		assertEquals(ValidationCache.MAX_ENTRIES - ValidationCache.MAX_ENTRIES / 2 + 1, cache.size());
+
+		for (int i = 0; cache.size() < ValidationCache.MAX_ENTRIES; i++) {
+			cache.validate(ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "stream", i), () -> FormValidation.ok());
+		}
+		cache.validate(ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "last"), () -> FormValidation.ok());
+		assertEquals(1, cache.size());
+	}
+
+	/**
+	 * A check that joins a running check that fails gets the failure of the running check
+	 */
+	@Test
+	public void testJoinedCheckFails() throws Exception {
+		ValidationCache cache = new ValidationCache();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ValidationCache.Key key = ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "connect");
+		IllegalStateException failure = new IllegalStateException("toolkit not found");
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<FormValidation> first = executor.submit(() -> cache.validate(key, () -> {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				throw failure;
+			}));
+			assertTrue(started.await(10, TimeUnit.SECONDS));
+			Future<FormValidation> joined = executor.submit(() -> cache.validate(key, () -> FormValidation.ok()));
+			// give it the time to join the running check
+			Thread.sleep(200);
+			release.countDown();
+
+			for (Future<FormValidation> future : Arrays.asList(first, joined)) {
+				try {
+					FormValidation result = future.get(10, TimeUnit.SECONDS);
+					// ran its own check after the running one completed
+					assertSame(future, joined);
+					assertEquals(FormValidation.Kind.OK, result.kind);
+				} catch (ExecutionException e) {
+					assertSame(failure, e.getCause());
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testConcurrentChecksAreCoalesced() throws Exception {
+		ValidationCache cache = new ValidationCache();
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ValidationCache.Key key = ValidationCache.getKey("https://localhost:9443/ccm", "bill", "secret", "definition", "def1");
+		FormValidation error = FormValidation.error("not a Jenkins build definition");
+
+		ExecutorService executor = Executors.newFixedThreadPool(5);
+		try {
+			Future<FormValidation> first = executor.submit(() -> cache.validate(key, () -> {
+				calls.incrementAndGet();
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return error;
+			}));
+			assertTrue(started.await(10, TimeUnit.SECONDS));
+			@SuppressWarnings("unchecked")
+			Future<FormValidation>[] others = new Future[4];
+			for (int i = 0; i < others.length; i++) {
+				others[i] = executor.submit(() -> cache.validate(key, () -> {
+					calls.incrementAndGet();
+					return FormValidation.ok();
+				}));
+			}
+			// give the others the time to join the running check
+			Thread.sleep(200);
+			release.countDown();
+
+			assertSame(error, first.get(10, TimeUnit.SECONDS));
+			for (Future<FormValidation> other : others) {
+				FormValidation result = other.get(10, TimeUnit.SECONDS);
+				// joined the running check, or ran its own after it completed
+				assertTrue(result == error || result.kind == FormValidation.Kind.OK);
+			}
+			assertTrue("calls " + calls.get(), calls.get() < 1 + others.length);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}